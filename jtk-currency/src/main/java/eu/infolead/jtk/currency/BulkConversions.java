@@ -0,0 +1,412 @@
+package eu.infolead.jtk.currency;
+
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ResourceError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Conversions and sums of many amounts at once, stored in columns: a
+ * {@code long[]} of minor units and an {@code int[]} of
+ * {@link IsoCurrency#index() currency indexes} or group numbers, at the same
+ * positions.
+ *
+ * <p>
+ * The loops read the rates of a conversion from a table indexed by currency,
+ * built once per call, and have no allocation nor branch other than the
+ * overflow checks, so that the JIT compiler can unroll and vectorize them.
+ * Sums are kept on 128 bits, so only the totals must fit in a {@code long}.
+ * The methods taking a {@link ForkJoinPool} split large columns across its
+ * threads.
+ *
+ * <p>
+ * Errors are returned for the first failing position: a currency without a
+ * rate, a converted amount or a total that does not fit in a {@code long}, or
+ * a group number out of range. Currency indexes must be valid indexes of
+ * {@link CurrencyRepository#iso4217()}.
+ */
+public final class BulkConversions {
+    /** Columns shorter than this are processed by a single task. */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+    /**
+     * Ranges summed per group by a single task have at least this many
+     * amounts per group, so that the totals of a task, and their merge, cost a
+     * fraction of the amounts summed whatever the number of groups.
+     */
+    static final int AMOUNTS_PER_GROUP = 8;
+
+    private BulkConversions() {
+        // Utility class
+    }
+
+    // ====================== CONVERSIONS ======================
+
+    /**
+     * Converts amounts into a currency.
+     *
+     * @param rates        the exchange rates.
+     * @param amounts      the amounts, in minor units of their currencies.
+     * @param currencies   the currency indexes of the amounts.
+     * @param from         the first position.
+     * @param length       the number of amounts.
+     * @param target       the target currency.
+     * @param roundingMode how to round the converted amounts to minor units.
+     * @param converted    receives the converted amounts, in minor units of the
+     *                     target currency, at the same positions. May be
+     *                     {@code amounts} itself.
+     * @return {@code converted}, or an error for the first amount that cannot
+     *         be converted; the following positions are then not written.
+     */
+    public static Result<SystemError, long[]> convert(@Nonnull final ExchangeRates.Snapshot rates,
+            final long[] amounts, final int[] currencies, final int from, final int length,
+            @Nonnull final IsoCurrency target, @Nonnull final RoundingMode roundingMode, final long[] converted) {
+        checkColumns(amounts, currencies, from, length);
+        Objects.checkFromIndexSize(from, length, converted.length);
+        final double[] table = rateTable(rates, target);
+        final int failed = convertRange(table, amounts, currencies, from, from + length, roundingMode, converted);
+        return failed < 0 ? Result.success(converted) : Result.failure(conversionError(table, amounts, currencies,
+                failed, target));
+    }
+
+    /**
+     * Converts amounts into a currency, splitting large columns across a pool.
+     *
+     * @param rates        the exchange rates.
+     * @param amounts      the amounts, in minor units of their currencies.
+     * @param currencies   the currency indexes of the amounts.
+     * @param target       the target currency.
+     * @param roundingMode how to round the converted amounts to minor units.
+     * @param pool         the pool running the conversion.
+     * @return the converted amounts, in minor units of the target currency, or
+     *         an error for the first amount that cannot be converted.
+     */
+    public static Result<SystemError, long[]> convert(@Nonnull final ExchangeRates.Snapshot rates,
+            final long[] amounts, final int[] currencies, @Nonnull final IsoCurrency target,
+            @Nonnull final RoundingMode roundingMode, @Nonnull final ForkJoinPool pool) {
+        checkColumns(amounts, currencies, 0, amounts.length);
+        final double[] table = rateTable(rates, target);
+        final long[] converted = new long[amounts.length];
+        final int failed = pool.invoke(
+                new ConvertTask(table, amounts, currencies, 0, amounts.length, roundingMode, converted));
+        return failed < 0 ? Result.success(converted) : Result.failure(conversionError(table, amounts, currencies,
+                failed, target));
+    }
+
+    /**
+     * Converts amounts into a currency and sums them, splitting large columns
+     * across a pool. Each amount is rounded before being summed.
+     *
+     * @param rates        the exchange rates.
+     * @param amounts      the amounts, in minor units of their currencies.
+     * @param currencies   the currency indexes of the amounts.
+     * @param target       the target currency.
+     * @param roundingMode how to round the converted amounts to minor units.
+     * @param pool         the pool running the conversion.
+     * @return the total, or an error.
+     */
+    public static Result<SystemError, Money> convertAndSum(@Nonnull final ExchangeRates.Snapshot rates,
+            final long[] amounts, final int[] currencies, @Nonnull final IsoCurrency target,
+            @Nonnull final RoundingMode roundingMode, @Nonnull final ForkJoinPool pool) {
+        checkColumns(amounts, currencies, 0, amounts.length);
+        final double[] table = rateTable(rates, target);
+        final Sums sums = pool.invoke(new SumTask(table, roundingMode, amounts, currencies, 1, leafSize(1), 0,
+                amounts.length));
+        if (sums.failedAt >= 0) {
+            return Result.failure(conversionError(table, amounts, currencies, sums.failedAt, target));
+        }
+        return sums.toResult(currencies).map(totals -> Money.ofMinor(totals[0], target));
+    }
+
+    // ====================== SUMS ======================
+
+    /**
+     * Sums amounts per currency.
+     *
+     * @param amounts    the amounts, in minor units of their currencies.
+     * @param currencies the currency indexes of the amounts.
+     * @param from       the first position.
+     * @param length     the number of amounts.
+     * @return the total of each currency, by currency index, or an error if a
+     *         total does not fit in a {@code long}.
+     */
+    public static Result<SystemError, long[]> sumByCurrency(final long[] amounts, final int[] currencies,
+            final int from, final int length) {
+        return sumByGroup(amounts, currencies, CurrencyRepository.iso4217().size(), from, length);
+    }
+
+    /**
+     * Sums amounts per currency, splitting large columns across a pool.
+     *
+     * @param amounts    the amounts, in minor units of their currencies.
+     * @param currencies the currency indexes of the amounts.
+     * @param pool       the pool running the sum.
+     * @return the total of each currency, by currency index, or an error.
+     */
+    public static Result<SystemError, long[]> sumByCurrency(final long[] amounts, final int[] currencies,
+            @Nonnull final ForkJoinPool pool) {
+        return sumByGroup(amounts, currencies, CurrencyRepository.iso4217().size(), pool);
+    }
+
+    /**
+     * Sums amounts per group, such as an account or a counterparty. The amounts
+     * of a group should all be in the same currency.
+     *
+     * @param amounts    the amounts, in minor units.
+     * @param groups     the group number of each amount.
+     * @param groupCount the number of groups; group numbers range from 0 to
+     *                   {@code groupCount} exclusive.
+     * @param from       the first position.
+     * @param length     the number of amounts.
+     * @return the total of each group, or an error if a group number is out of
+     *         range or if a total does not fit in a {@code long}.
+     */
+    public static Result<SystemError, long[]> sumByGroup(final long[] amounts, final int[] groups,
+            final int groupCount, final int from, final int length) {
+        checkColumns(amounts, groups, from, length);
+        final Sums sums = new Sums(groupCount);
+        sums.addRange(amounts, groups, from, from + length);
+        return sums.toResult(groups);
+    }
+
+    /**
+     * Sums amounts per group, splitting large columns across a pool.
+     *
+     * @param amounts    the amounts, in minor units.
+     * @param groups     the group number of each amount.
+     * @param groupCount the number of groups.
+     * @param pool       the pool running the sum.
+     * @return the total of each group, or an error.
+     */
+    public static Result<SystemError, long[]> sumByGroup(final long[] amounts, final int[] groups,
+            final int groupCount, @Nonnull final ForkJoinPool pool) {
+        checkColumns(amounts, groups, 0, amounts.length);
+        return pool.invoke(new SumTask(null, null, amounts, groups, groupCount, leafSize(groupCount), 0,
+                amounts.length)).toResult(groups);
+    }
+
+    // ====================== KERNELS ======================
+
+    /**
+     * @return the minor units of the target currency per minor unit of each
+     *         currency, by index, or NaN.
+     */
+    private static double[] rateTable(final ExchangeRates.Snapshot rates, final IsoCurrency target) {
+        final double[] table = new double[CurrencyRepository.iso4217().size()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = rates.minorRate(i, target.index());
+        }
+        return table;
+    }
+
+    /**
+     * @return the first position that cannot be converted, or -1.
+     */
+    private static int convertRange(final double[] table, final long[] amounts, final int[] currencies,
+            final int from, final int to, final RoundingMode roundingMode, final long[] converted) {
+        if (roundingMode == RoundingMode.HALF_EVEN) {
+            // the most common mode, without the dispatch of Rounding.
+            for (int i = from; i < to; i++) {
+                final double value = Math.rint(amounts[i] * table[currencies[i]]);
+                if (!(value > -0x1p63 && value < 0x1p63)) {
+                    return i;
+                }
+                converted[i] = (long) value;
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            final long value = Rounding.round(amounts[i] * table[currencies[i]], roundingMode);
+            if (value == Rounding.INVALID) {
+                return i;
+            }
+            converted[i] = value;
+        }
+        return -1;
+    }
+
+    private static SystemError conversionError(final double[] table, final long[] amounts, final int[] currencies,
+            final int position, final IsoCurrency target) {
+        final int currency = currencies[position];
+        if (Double.isNaN(table[currency])) {
+            return ResourceError.notFound("exchange rate",
+                    CurrencyRepository.iso4217().get(currency).code() + "/" + target.code());
+        }
+        return overflow("amounts[" + position + "]", amounts[position]);
+    }
+
+    private static SystemError overflow(final String name, final Object value) {
+        return ParameterError.outOfRange(name, value, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the number of amounts below which a range is summed by a single
+     *         task.
+     */
+    static int leafSize(final int groupCount) {
+        return (int) Math.min(Integer.MAX_VALUE,
+                Math.max(PARALLEL_THRESHOLD, (long) groupCount * AMOUNTS_PER_GROUP));
+    }
+
+    private static void checkColumns(final long[] amounts, final int[] keys, final int from, final int length) {
+        Objects.checkFromIndexSize(from, length, amounts.length);
+        Objects.checkFromIndexSize(from, length, keys.length);
+    }
+
+    /**
+     * Sums on 128 bits per group.
+     */
+    private static final class Sums {
+        private final WideSums sums;
+        /** First position that cannot be summed, or -1. */
+        private int failedAt = -1;
+
+        Sums(final int groupCount) {
+            this.sums = new WideSums(groupCount);
+        }
+
+        void addRange(final long[] amounts, final int[] groups, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                final int group = groups[i];
+                if (group < 0 || group >= sums.size()) {
+                    failedAt = i;
+                    return;
+                }
+                sums.add(group, amounts[i]);
+            }
+        }
+
+        void addConverted(final double[] table, final RoundingMode roundingMode, final long[] amounts,
+                final int[] currencies, final int from, final int to) {
+            for (int i = from; i < to; i++) {
+                final long value = Rounding.round(amounts[i] * table[currencies[i]], roundingMode);
+                if (value == Rounding.INVALID) {
+                    failedAt = i;
+                    return;
+                }
+                sums.add(0, value);
+            }
+        }
+
+        /**
+         * Merges the sums of the positions that follow those of these sums.
+         */
+        Sums merge(final Sums next) {
+            if (failedAt >= 0) {
+                return this;
+            }
+            if (next.failedAt >= 0) {
+                return next;
+            }
+            for (int group = 0; group < sums.size(); group++) {
+                sums.merge(group, next.sums);
+            }
+            return this;
+        }
+
+        /**
+         * @param groups the group numbers that were summed.
+         */
+        Result<SystemError, long[]> toResult(final int[] groups) {
+            if (failedAt >= 0) {
+                return Result.failure(ParameterError.outOfRange("groups[" + failedAt + "]", groups[failedAt], 0,
+                        sums.size() - 1));
+            }
+            for (int group = 0; group < sums.size(); group++) {
+                if (!sums.fits(group)) {
+                    return Result.failure(overflow("total[" + group + "]", null));
+                }
+            }
+            return Result.success(sums.values());
+        }
+    }
+
+    private static final class ConvertTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient double[] table;
+        private final transient long[] amounts;
+        private final transient int[] currencies;
+        private final int from;
+        private final int to;
+        private final RoundingMode roundingMode;
+        private final transient long[] converted;
+
+        ConvertTask(final double[] table, final long[] amounts, final int[] currencies, final int from, final int to,
+                final RoundingMode roundingMode, final long[] converted) {
+            this.table = table;
+            this.amounts = amounts;
+            this.currencies = currencies;
+            this.from = from;
+            this.to = to;
+            this.roundingMode = roundingMode;
+            this.converted = converted;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return convertRange(table, amounts, currencies, from, to, roundingMode, converted);
+            }
+            final int middle = (from + to) >>> 1;
+            final ConvertTask left = new ConvertTask(table, amounts, currencies, from, middle, roundingMode,
+                    converted);
+            left.fork();
+            final int rightFailed = new ConvertTask(table, amounts, currencies, middle, to, roundingMode, converted)
+                    .compute();
+            final int leftFailed = left.join();
+            return leftFailed >= 0 ? leftFailed : rightFailed;
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<Sums> {
+        private static final long serialVersionUID = 1L;
+
+        /** Conversion rates, or null to sum the amounts per group as they are. */
+        private final transient double[] table;
+        private final RoundingMode roundingMode;
+        private final transient long[] amounts;
+        private final transient int[] keys;
+        private final int groupCount;
+        /** Ranges of at most this many amounts are summed by a single task. */
+        private final int leafSize;
+        private final int from;
+        private final int to;
+
+        SumTask(final double[] table, final RoundingMode roundingMode, final long[] amounts, final int[] keys,
+                final int groupCount, final int leafSize, final int from, final int to) {
+            this.table = table;
+            this.roundingMode = roundingMode;
+            this.amounts = amounts;
+            this.keys = keys;
+            this.groupCount = groupCount;
+            this.leafSize = leafSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Sums compute() {
+            if (to - from <= leafSize) {
+                final Sums sums = new Sums(groupCount);
+                if (table == null) {
+                    sums.addRange(amounts, keys, from, to);
+                } else {
+                    sums.addConverted(table, roundingMode, amounts, keys, from, to);
+                }
+                return sums;
+            }
+            final int middle = (from + to) >>> 1;
+            final SumTask left = new SumTask(table, roundingMode, amounts, keys, groupCount, leafSize, from, middle);
+            left.fork();
+            final Sums right = new SumTask(table, roundingMode, amounts, keys, groupCount, leafSize, middle, to)
+                    .compute();
+            return left.join().merge(right);
+        }
+    }
+}
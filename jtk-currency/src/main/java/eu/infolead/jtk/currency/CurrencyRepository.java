@@ -1,5 +1,281 @@
 package eu.infolead.jtk.currency;
 
-public class CurrencyRepository {
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ResourceError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.either.Result;
+import eu.infolead.jtk.lang.CompilerWarning;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Immutable registry of the ISO 4217 currencies.
+ *
+ * <p>
+ * The registry is read from a file in the format of the ISO 4217 list one, as
+ * published by the maintenance agency. {@link #iso4217()} returns the registry
+ * of the list bundled with this module.
+ *
+ * <p>
+ * Lookups are constant-time, lock-free and do not allocate: an alphabetic code
+ * is packed into an index over the 26<sup>3</sup> possible codes, a numeric
+ * code indexes an array of the 1000 possible codes, and the returned
+ * {@link Maybe} instances are built when the registry is loaded. Each currency
+ * also has a dense {@link IsoCurrency#index() index}, which compact value types
+ * can store instead of a reference.
+ */
+public final class CurrencyRepository {
+    /** The ISO 4217 list bundled with this module. */
+    public static final String RESOURCE = "/list-one.xml";
+
+    private static final int CODE_LENGTH = 3;
+    private static final int LETTERS = 26;
+    private static final int ALPHA_CODES = LETTERS * LETTERS * LETTERS;
+    private static final int NUMERIC_CODES = 1000;
+    private static final String NOT_APPLICABLE = "N.A.";
+
+    private final String published;
+    private final IsoCurrency[] currencies;
+    private final List<IsoCurrency> currencyList;
+    private final Maybe<IsoCurrency>[] maybes;
+    /** Currency index by packed alphabetic code, or -1. */
+    private final short[] byCode;
+    /** Currency index by numeric code, or -1. */
+    private final short[] byNumericCode;
+
+    @SuppressWarnings(CompilerWarning.UNCHECKED)
+    private CurrencyRepository(final String published, final IsoCurrency[] currencies) {
+        this.published = published;
+        this.currencies = currencies;
+        this.currencyList = List.of(currencies);
+        this.maybes = new Maybe[currencies.length];
+        this.byCode = new short[ALPHA_CODES];
+        this.byNumericCode = new short[NUMERIC_CODES];
+        Arrays.fill(byCode, (short) -1);
+        Arrays.fill(byNumericCode, (short) -1);
+        for (final IsoCurrency currency : currencies) {
+            maybes[currency.index()] = Maybe.of(currency);
+            byCode[pack(currency.code())] = (short) currency.index();
+            byNumericCode[currency.numericCode()] = (short) currency.index();
+        }
+    }
+
+    /**
+     * @return the registry of the ISO 4217 list bundled with this module.
+     */
+    public static CurrencyRepository iso4217() {
+        return Bundled.INSTANCE;
+    }
+
+    /**
+     * Reads a registry from a file in the format of the ISO 4217 list one.
+     *
+     * <p>
+     * Entries without a currency, such as the one of Antarctica, are ignored. A
+     * currency listed for several entities is registered once, with all the
+     * entities; entries without an entity name add no entity.
+     *
+     * @param in the content of the file; it is not closed.
+     * @return the registry, or an error if the content cannot be read or is
+     *         invalid.
+     */
+    public static Result<SystemError, CurrencyRepository> read(@Nonnull final InputStream in) {
+        Objects.requireNonNull(in, "in cannot be null");
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            final XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                return parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | IllegalArgumentException e) {
+            return Result.failure(ParameterError.invalidFormat("currencies", e.getMessage()));
+        }
+    }
+
+    /**
+     * @return the publication date of the list, such as {@code 2023-01-01}, or
+     *         an empty string if the list does not have one.
+     */
+    public String published() {
+        return published;
+    }
+
+    /**
+     * @return the number of currencies.
+     */
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * @return the currencies, by index, which is also the order of their codes.
+     */
+    public List<IsoCurrency> currencies() {
+        return currencyList;
+    }
+
+    /**
+     * @param index the index of a currency.
+     * @return the currency.
+     * @throws IndexOutOfBoundsException if there is no currency with that index.
+     */
+    public IsoCurrency get(final int index) {
+        return currencies[index];
+    }
+
+    /**
+     * @param code an alphabetic code, such as {@code EUR}.
+     * @return the index of the currency, or -1 if there is none with that code.
+     */
+    public int indexOf(@Nonnull final CharSequence code) {
+        final int packed = pack(code);
+        return packed < 0 ? -1 : byCode[packed];
+    }
+
+    /**
+     * @param code an alphabetic code, such as {@code EUR}.
+     * @return the currency, or none if there is none with that code.
+     */
+    public Maybe<IsoCurrency> byCode(@Nonnull final CharSequence code) {
+        return maybe(indexOf(code));
+    }
+
+    /**
+     * @param numericCode a numeric code, such as {@code 978}.
+     * @return the currency, or none if there is none with that code.
+     */
+    public Maybe<IsoCurrency> byNumericCode(final int numericCode) {
+        return numericCode < 0 || numericCode >= NUMERIC_CODES ? Maybe.none() : maybe(byNumericCode[numericCode]);
+    }
+
+    private Maybe<IsoCurrency> maybe(final int index) {
+        return index < 0 ? Maybe.none() : maybes[index];
+    }
+
+    /**
+     * @return the index of the code among all the codes of three upper-case
+     *         letters, or -1 if it is not such a code.
+     */
+    private static int pack(final CharSequence code) {
+        if (code.length() != CODE_LENGTH) {
+            return -1;
+        }
+        final int c0 = code.charAt(0) - 'A';
+        final int c1 = code.charAt(1) - 'A';
+        final int c2 = code.charAt(2) - 'A';
+        if ((c0 | c1 | c2) < 0 || c0 >= LETTERS || c1 >= LETTERS || c2 >= LETTERS) {
+            return -1;
+        }
+        return (c0 * LETTERS + c1) * LETTERS + c2;
+    }
+
+    // ====================== PARSING ======================
+
+    private static Result<SystemError, CurrencyRepository> parse(final XMLStreamReader reader)
+            throws XMLStreamException {
+        final TreeMap<String, Entry> entries = new TreeMap<>();
+        String published = "";
+        Entry entry = null;
+        String entity = null;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && entry == null) {
+                if ("CcyNtry".equals(reader.getLocalName())) {
+                    entry = new Entry();
+                } else if ("ISO_4217".equals(reader.getLocalName())) {
+                    published = Objects.requireNonNullElse(reader.getAttributeValue(null, "Pblshd"), "");
+                }
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "CtryNm" -> entity = reader.getElementText().trim();
+                    case "CcyNm" -> {
+                        entry.fund = Boolean.parseBoolean(reader.getAttributeValue(null, "IsFund"));
+                        entry.name = reader.getElementText().trim();
+                    }
+                    case "Ccy" -> entry.code = reader.getElementText().trim();
+                    case "CcyNbr" -> entry.numericCode = reader.getElementText().trim();
+                    case "CcyMnrUnts" -> entry.minorUnits = reader.getElementText().trim();
+                    default -> {
+                        // not used
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && entry != null
+                    && "CcyNtry".equals(reader.getLocalName())) {
+                if (entry.code != null) {
+                    final Entry previous = entries.putIfAbsent(entry.code, entry);
+                    if (entity != null) {
+                        (previous == null ? entry : previous).entities.add(entity);
+                    }
+                }
+                entry = null;
+                entity = null;
+            }
+        }
+        final IsoCurrency[] currencies = new IsoCurrency[entries.size()];
+        int index = 0;
+        for (final Entry e : entries.values()) {
+            final Maybe<IsoCurrency> currency = e.toCurrency(index);
+            if (currency.toOptional().isEmpty()) {
+                return Result.failure(ParameterError.invalidFormat("currency", e.code));
+            }
+            currencies[index++] = currency.toOptional().get();
+        }
+        return Result.success(new CurrencyRepository(published, currencies));
+    }
+
+    private static final class Entry {
+        private String name;
+        private boolean fund;
+        private String code;
+        private String numericCode;
+        private String minorUnits;
+        private final List<String> entities = new ArrayList<>();
+
+        private Maybe<IsoCurrency> toCurrency(final int index) {
+            if (pack(code) < 0 || numericCode == null || !numericCode.matches("[0-9]{3}") || minorUnits == null
+                    || !(NOT_APPLICABLE.equals(minorUnits) || minorUnits.matches("[0-9]"))) {
+                return Maybe.none();
+            }
+            return Maybe.of(new IsoCurrency(index, code, Integer.parseInt(numericCode),
+                    NOT_APPLICABLE.equals(minorUnits) ? IsoCurrency.NO_MINOR_UNITS : Integer.parseInt(minorUnits),
+                    Objects.requireNonNullElse(name, code), fund, entities));
+        }
+    }
+
+    private static final class Bundled {
+        private static final CurrencyRepository INSTANCE = load();
+
+        private Bundled() {
+        }
+
+        private static CurrencyRepository load() {
+            try (InputStream in = CurrencyRepository.class.getResourceAsStream(RESOURCE)) {
+                final Result<SystemError, CurrencyRepository> loaded = in == null
+                        ? Result.failure(ResourceError.notFound("currencies", RESOURCE))
+                        : read(in);
+                return loaded.fold(error -> {
+                    throw new IllegalStateException("invalid bundled ISO 4217 list: " + error);
+                }, repository -> repository);
+            } catch (IOException e) {
+                throw new IllegalStateException("cannot read the bundled ISO 4217 list", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package eu.infolead.jtk.currency;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Mutable sums of amounts per currency, with one slot per
+ * {@link IsoCurrency#index() currency index} of
+ * {@link CurrencyRepository#iso4217()}: adding an amount is an array update,
+ * without lookup nor allocation.
+ *
+ * <p>
+ * As with {@link MoneyAccumulator}, the sums are kept on 128 bits, so that
+ * only the final sums must fit in a {@code long}.
+ *
+ * <p>
+ * Instances are not thread-safe: parallel sums use one instance per thread or
+ * task and {@link #merge(CurrencySums) merge} them.
+ */
+public final class CurrencySums {
+    private final WideSums sums;
+    /** Bit set of the currency indexes that were added. */
+    private final long[] used;
+
+    public CurrencySums() {
+        final int size = CurrencyRepository.iso4217().size();
+        this.sums = new WideSums(size);
+        this.used = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * @param amount an amount.
+     * @return these sums.
+     */
+    public CurrencySums add(@Nonnull final Money amount) {
+        return addMinorUnits(amount.currencyIndex(), amount.minorUnits());
+    }
+
+    /**
+     * @param currencyIndex the currency index of the amount.
+     * @param minorUnits    the amount, in minor units of the currency.
+     * @return these sums.
+     */
+    public CurrencySums addMinorUnits(final int currencyIndex, final long minorUnits) {
+        sums.add(currencyIndex, minorUnits);
+        used[currencyIndex >>> 6] |= 1L << currencyIndex;
+        return this;
+    }
+
+    /**
+     * Adds the sums of another instance to these ones.
+     *
+     * @param other the other sums.
+     * @return these sums.
+     */
+    public CurrencySums merge(@Nonnull final CurrencySums other) {
+        for (int word = 0; word < used.length; word++) {
+            long bits = other.used[word];
+            used[word] |= bits;
+            while (bits != 0L) {
+                sums.merge(word << 6 | Long.numberOfTrailingZeros(bits), other.sums);
+                bits &= bits - 1;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the sum of each currency that was added, in the order of the
+     *         currency indexes, or an error if a sum does not fit in a
+     *         {@code long}.
+     */
+    public Result<SystemError, Map<IsoCurrency, Money>> result() {
+        final CurrencyRepository currencies = CurrencyRepository.iso4217();
+        final Map<IsoCurrency, Money> result = new LinkedHashMap<>();
+        for (int word = 0; word < used.length; word++) {
+            for (long bits = used[word]; bits != 0L; bits &= bits - 1) {
+                final int i = word << 6 | Long.numberOfTrailingZeros(bits);
+                if (!sums.fits(i)) {
+                    return Result.failure(ParameterError.outOfRange("sum[" + currencies.get(i).code() + "]", null,
+                            Long.MIN_VALUE, Long.MAX_VALUE));
+                }
+                result.put(currencies.get(i), new Money(sums.get(i), i));
+            }
+        }
+        return Result.success(Collections.unmodifiableMap(result));
+    }
+
+    /**
+     * Resets all the sums to zero.
+     */
+    public void reset() {
+        for (int word = 0; word < used.length; word++) {
+            for (long bits = used[word]; bits != 0L; bits &= bits - 1) {
+                sums.clear(word << 6 | Long.numberOfTrailingZeros(bits));
+            }
+            used[word] = 0L;
+        }
+    }
+}
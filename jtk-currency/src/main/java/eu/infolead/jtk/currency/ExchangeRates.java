@@ -0,0 +1,274 @@
+package eu.infolead.jtk.currency;
+
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ResourceError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Store of exchange rates between the currencies of
+ * {@link CurrencyRepository#iso4217()}, quoted against a pivot currency.
+ *
+ * <p>
+ * The rates in use form an immutable, numbered {@link Snapshot} holding the
+ * precomputed cross rates of every pair of quoted currencies. Readers get the
+ * current snapshot with a single volatile read and are never blocked. Writers
+ * build a new snapshot, copying the rates they do not change, and publish it
+ * with the next version number. A reader that needs consistent rates across
+ * several conversions keeps the snapshot it got, or gets a recent one back by
+ * version with {@link #snapshot(long)}.
+ *
+ * <p>
+ * A rate from {@code A} to {@code B} is the number of units of {@code B} for
+ * one unit of {@code A}.
+ */
+public final class ExchangeRates {
+    public static final int DEFAULT_HISTORY = 16;
+
+    private final IsoCurrency pivot;
+    private final AtomicReferenceArray<Snapshot> history;
+    private volatile Snapshot current;
+
+    private ExchangeRates(final IsoCurrency pivot, final int historySize) {
+        this.pivot = pivot;
+        this.history = new AtomicReferenceArray<>(historySize);
+        final double[] pivotRates = new double[CurrencyRepository.iso4217().size()];
+        Arrays.fill(pivotRates, Double.NaN);
+        pivotRates[pivot.index()] = 1.0;
+        publishSnapshot(new Snapshot(0L, pivot, pivotRates));
+    }
+
+    /**
+     * @param pivot the currency the rates are quoted against.
+     * @return an empty store, whose initial snapshot, of version 0, only has
+     *         the pivot currency.
+     */
+    public static ExchangeRates create(@Nonnull final IsoCurrency pivot) {
+        return create(pivot, DEFAULT_HISTORY);
+    }
+
+    /**
+     * @param pivot       the currency the rates are quoted against.
+     * @param historySize the number of recent snapshots kept for
+     *                    {@link #snapshot(long)}, at least 1.
+     * @return an empty store.
+     */
+    public static ExchangeRates create(@Nonnull final IsoCurrency pivot, final int historySize) {
+        Objects.requireNonNull(pivot, "pivot cannot be null");
+        if (historySize < 1) {
+            throw new IllegalArgumentException("historySize must be at least 1");
+        }
+        return new ExchangeRates(pivot, historySize);
+    }
+
+    public IsoCurrency pivot() {
+        return pivot;
+    }
+
+    /**
+     * @return the current snapshot.
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * @param version the version of a snapshot.
+     * @return the snapshot, or an error if it is not one of the recent
+     *         snapshots kept by the store.
+     */
+    public Result<SystemError, Snapshot> snapshot(final long version) {
+        final Snapshot snapshot = version < 0 ? null : history.get((int) (version % history.length()));
+        return snapshot != null && snapshot.version == version ? Result.success(snapshot)
+                : Result.failure(ResourceError.notFound("exchange rates", version));
+    }
+
+    /**
+     * Publishes new rates for some currencies; the others keep their rates.
+     *
+     * @param unitsPerPivot the number of units of each currency for one unit of
+     *                      the pivot currency.
+     * @return the new current snapshot, or an error if a rate is not a finite
+     *         positive number or if the rate of the pivot currency is not 1;
+     *         the current snapshot is unchanged then.
+     */
+    public synchronized Result<SystemError, Snapshot> update(@Nonnull final Map<IsoCurrency, Double> unitsPerPivot) {
+        return publish(current.pivotRates.clone(), unitsPerPivot);
+    }
+
+    /**
+     * Publishes new rates for all the currencies: the currencies that are not
+     * in the map no longer have a rate.
+     *
+     * @param unitsPerPivot the number of units of each currency for one unit of
+     *                      the pivot currency.
+     * @return the new current snapshot, or an error as for
+     *         {@link #update(Map)}.
+     */
+    public synchronized Result<SystemError, Snapshot> replace(@Nonnull final Map<IsoCurrency, Double> unitsPerPivot) {
+        final double[] pivotRates = new double[current.pivotRates.length];
+        Arrays.fill(pivotRates, Double.NaN);
+        pivotRates[pivot.index()] = 1.0;
+        return publish(pivotRates, unitsPerPivot);
+    }
+
+    private Result<SystemError, Snapshot> publish(final double[] pivotRates,
+            final Map<IsoCurrency, Double> unitsPerPivot) {
+        for (final Map.Entry<IsoCurrency, Double> entry : unitsPerPivot.entrySet()) {
+            final IsoCurrency currency = entry.getKey();
+            final Double rate = entry.getValue();
+            if (rate == null || !(rate > 0.0) || rate.isInfinite()) {
+                return Result.failure(ParameterError.outOfRange(currency.code(), rate, 0.0, Double.MAX_VALUE));
+            }
+            if (currency.index() == pivot.index() && rate != 1.0) {
+                return Result.failure(ParameterError.unsupportedValue(currency.code(), rate));
+            }
+            pivotRates[currency.index()] = rate;
+        }
+        final Snapshot snapshot = new Snapshot(current.version + 1, pivot, pivotRates);
+        publishSnapshot(snapshot);
+        return Result.success(snapshot);
+    }
+
+    private void publishSnapshot(final Snapshot snapshot) {
+        history.set((int) (snapshot.version % history.length()), snapshot);
+        current = snapshot;
+    }
+
+    /**
+     * An immutable, numbered set of rates, with the cross rates of all the
+     * pairs of quoted currencies.
+     *
+     * <p>
+     * The cross rates are stored in dense matrices of primitive doubles over the
+     * quoted currencies only, both per unit and per minor unit, so that a rate
+     * lookup is two array reads and a conversion a multiplication and a
+     * rounding.
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final IsoCurrency pivot;
+        /** Units of each currency, by index, per pivot unit, or NaN. */
+        private final double[] pivotRates;
+        /** Slot of each currency, by index, in the matrices, or -1 if it has no rate. */
+        private final int[] slots;
+        private final int quoted;
+        /** Units of the column currency per unit of the row currency. */
+        private final double[] rates;
+        /** Minor units of the column currency per minor unit of the row currency. */
+        private final double[] minorRates;
+
+        private Snapshot(final long version, final IsoCurrency pivot, final double[] pivotRates) {
+            final CurrencyRepository repository = CurrencyRepository.iso4217();
+            this.version = version;
+            this.pivot = pivot;
+            this.pivotRates = pivotRates;
+            this.slots = new int[pivotRates.length];
+            final int[] indexes = new int[pivotRates.length];
+            int count = 0;
+            for (int i = 0; i < pivotRates.length; i++) {
+                slots[i] = Double.isNaN(pivotRates[i]) ? -1 : count;
+                if (slots[i] >= 0) {
+                    indexes[count++] = i;
+                }
+            }
+            this.quoted = count;
+            this.rates = new double[count * count];
+            this.minorRates = new double[count * count];
+            for (int from = 0; from < count; from++) {
+                final int fromScale = Math.max(0, repository.get(indexes[from]).minorUnits());
+                for (int to = 0; to < count; to++) {
+                    final int toScale = Math.max(0, repository.get(indexes[to]).minorUnits());
+                    final double rate = from == to ? 1.0 : pivotRates[indexes[to]] / pivotRates[indexes[from]];
+                    rates[from * count + to] = rate;
+                    minorRates[from * count + to] = rate * Math.pow(10, toScale - fromScale);
+                }
+            }
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public IsoCurrency pivot() {
+            return pivot;
+        }
+
+        /**
+         * @param currency a currency.
+         * @return whether the snapshot has a rate for the currency.
+         */
+        public boolean hasRate(@Nonnull final IsoCurrency currency) {
+            return slots[currency.index()] >= 0;
+        }
+
+        /**
+         * @param from the {@link IsoCurrency#index() index} of the source currency.
+         * @param to   the index of the target currency.
+         * @return the units of {@code to} per unit of {@code from}, or NaN if
+         *         either currency has no rate.
+         */
+        public double rate(final int from, final int to) {
+            final int fromSlot = slots[from];
+            final int toSlot = slots[to];
+            return fromSlot < 0 || toSlot < 0 ? Double.NaN : rates[fromSlot * quoted + toSlot];
+        }
+
+        /**
+         * @param from the source currency.
+         * @param to   the target currency.
+         * @return the units of {@code to} per unit of {@code from}, or none if
+         *         either currency has no rate.
+         */
+        public Maybe<Double> rate(@Nonnull final IsoCurrency from, @Nonnull final IsoCurrency to) {
+            final double rate = rate(from.index(), to.index());
+            return Double.isNaN(rate) ? Maybe.none() : Maybe.of(rate);
+        }
+
+        /**
+         * @param from the index of the source currency.
+         * @param to   the index of the target currency.
+         * @return the minor units of {@code to} per minor unit of {@code from},
+         *         or NaN if either currency has no rate.
+         */
+        double minorRate(final int from, final int to) {
+            final int fromSlot = slots[from];
+            final int toSlot = slots[to];
+            return fromSlot < 0 || toSlot < 0 ? Double.NaN : minorRates[fromSlot * quoted + toSlot];
+        }
+
+        /**
+         * @param amount       the amount to convert.
+         * @param to           the target currency.
+         * @param roundingMode how to round the result to minor units.
+         * @return the converted amount, or an error if either currency has no
+         *         rate, or if the result cannot be rounded to a {@code long}.
+         */
+        public Result<SystemError, Money> convert(@Nonnull final Money amount, @Nonnull final IsoCurrency to,
+                @Nonnull final RoundingMode roundingMode) {
+            final double rate = minorRate(amount.currencyIndex(), to.index());
+            if (Double.isNaN(rate)) {
+                return Result.failure(ResourceError.notFound("exchange rate",
+                        amount.currency().code() + "/" + to.code()));
+            }
+            final long minorUnits = Rounding.round(amount.minorUnits() * rate, roundingMode);
+            return minorUnits == Rounding.INVALID
+                    ? Result.failure(ParameterError.outOfRange("minorUnits", amount.minorUnits() * rate,
+                            Long.MIN_VALUE, Long.MAX_VALUE))
+                    : Result.success(Money.ofMinor(minorUnits, to));
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[version " + version + ", " + quoted + " currencies against " + pivot + "]";
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package eu.infolead.jtk.currency;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.PostconditionError;
+import eu.infolead.jtk.anomaly.PreconditionError;
+import eu.infolead.jtk.anomaly.ResourceError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Daily exchange rates over long periods, in a memory-mapped columnar file.
+ *
+ * <p>
+ * The file has one row per day, in increasing date order, with the number of
+ * units of each of its currencies per unit of a pivot currency, or NaN for a
+ * missing rate. Rows are stored in blocks of {@value #BLOCK_ROWS} days; a
+ * block holds the column of the dates followed by one column of rates per
+ * currency. Blocks are mapped on first use, so opening a file reads only its
+ * header, and a lookup binary-searches the date columns and reads one rate per
+ * currency. The mappings are shared: processes on the same host that open the
+ * same file share its pages in the page cache.
+ *
+ * <p>
+ * A file has a single writer at a time: appends are serialized within a JVM
+ * and hold a lock on the file across JVMs. Appended rows are published by
+ * updating the row count of the header last, so readers, including those of
+ * other JVMs, never see a partially written row.
+ *
+ * <p>
+ * The layout, in big-endian order, is a header page with the magic number,
+ * the format version, the numeric code of the pivot currency, the number of
+ * currencies, the number of rows and the numeric codes of the currencies;
+ * followed by the blocks, each with {@value #BLOCK_ROWS} {@code int} epoch days
+ * and {@value #BLOCK_ROWS} {@code double} rates per currency.
+ */
+public final class HistoricalRates implements AutoCloseable {
+    static final int BLOCK_ROWS = 1024;
+
+    private static final int MAGIC = 0x4A544B52; // JTKR
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4096;
+    private static final int PIVOT_OFFSET = 6;
+    private static final int COLUMN_COUNT_OFFSET = 8;
+    private static final int ROW_COUNT_OFFSET = 12;
+    private static final int COLUMNS_OFFSET = 16;
+    private static final int MAX_COLUMNS = (HEADER_SIZE - COLUMNS_OFFSET) / Short.BYTES;
+    private static final int DATES_SIZE = BLOCK_ROWS * Integer.BYTES;
+    private static final int COLUMN_SIZE = BLOCK_ROWS * Double.BYTES;
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    /** Days are stored as {@code int} epoch days. */
+    private static final LocalDate MIN_DATE = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+    private static final LocalDate MAX_DATE = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final boolean writable;
+    private final MappedByteBuffer header;
+    private final IsoCurrency pivot;
+    /** Column of each currency, by index, or -1. */
+    private final int[] columns;
+    private final IsoCurrency[] currencies;
+    private final long blockSize;
+    private volatile MappedByteBuffer[] blocks = new MappedByteBuffer[0];
+
+    private HistoricalRates(final Path file, final FileChannel channel, final boolean writable,
+            final MappedByteBuffer header, final IsoCurrency pivot, final IsoCurrency[] currencies) {
+        this.file = file;
+        this.channel = channel;
+        this.writable = writable;
+        this.header = header;
+        this.pivot = pivot;
+        this.currencies = currencies;
+        this.columns = new int[CurrencyRepository.iso4217().size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < currencies.length; i++) {
+            columns[currencies[i].index()] = i;
+        }
+        this.blockSize = DATES_SIZE + (long) currencies.length * COLUMN_SIZE;
+    }
+
+    /**
+     * Creates an empty file.
+     *
+     * @param file       the file, which must not exist.
+     * @param pivot      the currency the rates are quoted against.
+     * @param currencies the currencies of the file, other than the pivot.
+     * @return the rates, open for appending, or an error if the file exists or
+     *         cannot be written.
+     */
+    public static Result<SystemError, HistoricalRates> create(@Nonnull final Path file,
+            @Nonnull final IsoCurrency pivot, @Nonnull final List<IsoCurrency> currencies) {
+        Objects.requireNonNull(file, "file cannot be null");
+        final IsoCurrency[] columns = currencies.stream().distinct().toArray(IsoCurrency[]::new);
+        if (columns.length > MAX_COLUMNS || Arrays.asList(columns).contains(pivot)) {
+            return Result.failure(ParameterError.unsupportedValue("currencies", currencies));
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC).putShort(4, FORMAT_VERSION).putShort(PIVOT_OFFSET, (short) pivot.numericCode())
+                    .putInt(COLUMN_COUNT_OFFSET, columns.length).putInt(ROW_COUNT_OFFSET, 0);
+            for (int i = 0; i < columns.length; i++) {
+                header.putShort(COLUMNS_OFFSET + i * Short.BYTES, (short) columns[i].numericCode());
+            }
+            header.force();
+            return Result.success(new HistoricalRates(file, channel, true, header, pivot, columns));
+        } catch (FileAlreadyExistsException e) {
+            return Result.failure(ResourceError.alreadyExists("rates file", file));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            return Result.failure(PostconditionError.persistenceFailed("rates file", file));
+        }
+    }
+
+    /**
+     * Opens an existing file for reading and appending.
+     *
+     * @param file the file.
+     * @return the rates, or an error if the file does not exist or is invalid.
+     */
+    public static Result<SystemError, HistoricalRates> open(@Nonnull final Path file) {
+        return open(file, true);
+    }
+
+    /**
+     * Opens an existing file for reading only.
+     *
+     * @param file the file.
+     * @return the rates, or an error if the file does not exist or is invalid.
+     */
+    public static Result<SystemError, HistoricalRates> openReadOnly(@Nonnull final Path file) {
+        return open(file, false);
+    }
+
+    private static Result<SystemError, HistoricalRates> open(final Path file, final boolean writable) {
+        Objects.requireNonNull(file, "file cannot be null");
+        FileChannel channel = null;
+        try {
+            channel = writable
+                    ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(file, StandardOpenOption.READ);
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("truncated header");
+            }
+            final MappedByteBuffer header = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            final CurrencyRepository repository = CurrencyRepository.iso4217();
+            final int columnCount = header.getInt(COLUMN_COUNT_OFFSET);
+            if (header.getInt(0) != MAGIC || header.getShort(4) != FORMAT_VERSION || columnCount < 0
+                    || columnCount > MAX_COLUMNS) {
+                throw new IOException("not a rates file");
+            }
+            final IsoCurrency pivot = repository.byNumericCode(header.getShort(PIVOT_OFFSET)).toOptional()
+                    .orElseThrow(() -> new IOException("unknown pivot currency"));
+            final IsoCurrency[] currencies = new IsoCurrency[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                currencies[i] = repository.byNumericCode(header.getShort(COLUMNS_OFFSET + i * Short.BYTES))
+                        .toOptional().orElseThrow(() -> new IOException("unknown currency"));
+            }
+            return Result.success(new HistoricalRates(file, channel, writable, header, pivot, currencies));
+        } catch (NoSuchFileException e) {
+            return Result.failure(ResourceError.notFound("rates file", file));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            return Result.failure(ParameterError.invalidFormat("file", file));
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public IsoCurrency pivot() {
+        return pivot;
+    }
+
+    /**
+     * @return the currencies of the file, other than the pivot.
+     */
+    public List<IsoCurrency> currencies() {
+        return List.of(currencies);
+    }
+
+    /**
+     * @return the number of days, including those appended by other JVMs.
+     */
+    public int size() {
+        return (int) INT.getAcquire(header, ROW_COUNT_OFFSET);
+    }
+
+    /**
+     * @return the first day, or none if the file is empty or cannot be mapped.
+     */
+    public Maybe<LocalDate> firstDate() {
+        return mappedSize() <= 0 ? Maybe.none() : Maybe.of(LocalDate.ofEpochDay(epochDayAt(0)));
+    }
+
+    /**
+     * @return the last day, or none if the file is empty or cannot be mapped.
+     */
+    public Maybe<LocalDate> lastDate() {
+        final int size = mappedSize();
+        return size <= 0 ? Maybe.none() : Maybe.of(LocalDate.ofEpochDay(epochDayAt(size - 1)));
+    }
+
+    // ====================== LOOKUPS ======================
+
+    /**
+     * @param epochDay a day.
+     * @return the row of the last day at or before the specified one, or -1 if
+     *         there is none or if the file cannot be mapped.
+     */
+    public int rowAsOf(final long epochDay) {
+        return rowAsOf(epochDay, mappedSize());
+    }
+
+    /**
+     * @param size the number of mapped days, or -1.
+     */
+    private int rowAsOf(final long epochDay, final int size) {
+        int low = 0;
+        int high = Math.max(size, 0) - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (epochDayAt(mid) <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @param epochDay a day.
+     * @param from     the {@link IsoCurrency#index() index} of the source
+     *                 currency.
+     * @param to       the index of the target currency.
+     * @return the units of {@code to} per unit of {@code from} on the last day
+     *         at or before the specified one, or NaN if there is no such day, if
+     *         a currency has no rate on that day or if the file cannot be mapped.
+     */
+    public double rateAsOf(final long epochDay, final int from, final int to) {
+        final int row = rowAsOf(epochDay);
+        return row < 0 ? Double.NaN : rateAt(row, from, to);
+    }
+
+    /**
+     * @param date the date.
+     * @param from the source currency.
+     * @param to   the target currency.
+     * @return the units of {@code to} per unit of {@code from} as of the date,
+     *         or none if there is no rate or if the file cannot be mapped.
+     */
+    public Maybe<Double> rateAsOf(@Nonnull final LocalDate date, @Nonnull final IsoCurrency from,
+            @Nonnull final IsoCurrency to) {
+        final double rate = rateAsOf(date.toEpochDay(), from.index(), to.index());
+        return Double.isNaN(rate) ? Maybe.none() : Maybe.of(rate);
+    }
+
+    /**
+     * Passes the rates of the days in a range, in increasing date order.
+     *
+     * @param fromDate the first day, inclusive.
+     * @param toDate   the last day, inclusive.
+     * @param from     the source currency.
+     * @param to       the target currency.
+     * @param consumer receives each day of the range that is in the file, with
+     *                 its rate, which may be NaN.
+     * @return these rates, or an error if the file cannot be mapped, in which
+     *         case the consumer received no day.
+     */
+    public Result<SystemError, HistoricalRates> scan(@Nonnull final LocalDate fromDate,
+            @Nonnull final LocalDate toDate, @Nonnull final IsoCurrency from, @Nonnull final IsoCurrency to,
+            @Nonnull final RateConsumer consumer) {
+        final int size = mappedSize();
+        if (size < 0) {
+            return Result.failure(ParameterError.invalidFormat("file", file));
+        }
+        final long last = toDate.toEpochDay();
+        for (int row = rowAsOf(fromDate.toEpochDay() - 1, size) + 1; row < size; row++) {
+            final long epochDay = epochDayAt(row);
+            if (epochDay > last) {
+                break;
+            }
+            consumer.accept(epochDay, rateAt(row, from.index(), to.index()));
+        }
+        return Result.success(this);
+    }
+
+    /**
+     * A consumer of the rate of one day.
+     */
+    @FunctionalInterface
+    public interface RateConsumer {
+        void accept(long epochDay, double rate);
+    }
+
+    private double rateAt(final int row, final int from, final int to) {
+        return unitsPerPivot(row, to) / unitsPerPivot(row, from);
+    }
+
+    private double unitsPerPivot(final int row, final int currencyIndex) {
+        if (currencyIndex == pivot.index()) {
+            return 1.0;
+        }
+        final int column = columns[currencyIndex];
+        return column < 0 ? Double.NaN
+                : block(row / BLOCK_ROWS).getDouble(DATES_SIZE + column * COLUMN_SIZE + row % BLOCK_ROWS * Double.BYTES);
+    }
+
+    private int epochDayAt(final int row) {
+        return block(row / BLOCK_ROWS).getInt(row % BLOCK_ROWS * Integer.BYTES);
+    }
+
+    // ====================== APPENDING ======================
+
+    /**
+     * Appends the rates of a day after the last one.
+     *
+     * @param date          the day, after the last day of the file.
+     * @param unitsPerPivot the units of some of the currencies of the file per
+     *                      unit of the pivot; the others have no rate that day.
+     * @return these rates, or an error if the day is not after the last one or
+     *         is outside of the range of {@code int} epoch days, if a currency is
+     *         not in the file or has a rate that is not a finite positive number,
+     *         if the file is read-only or cannot be written.
+     */
+    public synchronized Result<SystemError, HistoricalRates> append(@Nonnull final LocalDate date,
+            @Nonnull final Map<IsoCurrency, Double> unitsPerPivot) {
+        if (!writable) {
+            return Result.failure(PreconditionError.operationNotAllowed("append", "read-only"));
+        }
+        for (final Map.Entry<IsoCurrency, Double> entry : unitsPerPivot.entrySet()) {
+            final Double rate = entry.getValue();
+            if (columns[entry.getKey().index()] < 0) {
+                return Result.failure(ParameterError.unsupportedValue("currency", entry.getKey().code()));
+            }
+            if (rate == null || !(rate > 0.0) || rate.isInfinite()) {
+                return Result.failure(ParameterError.outOfRange(entry.getKey().code(), rate, 0.0, Double.MAX_VALUE));
+            }
+        }
+        try (FileLock lock = channel.lock()) {
+            final int row = size();
+            mapRows(row + 1);
+            final long epochDay = date.toEpochDay();
+            final LocalDate first = row > 0 ? LocalDate.ofEpochDay(epochDayAt(row - 1) + 1L) : MIN_DATE;
+            if (epochDay < first.toEpochDay() || epochDay > Integer.MAX_VALUE) {
+                return Result.failure(ParameterError.outOfRange("date", date, first, MAX_DATE));
+            }
+            final ByteBuffer block = block(row / BLOCK_ROWS);
+            final int offset = row % BLOCK_ROWS;
+            block.putInt(offset * Integer.BYTES, (int) epochDay);
+            for (int column = 0; column < currencies.length; column++) {
+                final Double rate = unitsPerPivot.get(currencies[column]);
+                block.putDouble(DATES_SIZE + column * COLUMN_SIZE + offset * Double.BYTES,
+                        rate == null ? Double.NaN : rate);
+            }
+            INT.setRelease(header, ROW_COUNT_OFFSET, row + 1);
+            return Result.success(this);
+        } catch (IOException e) {
+            return Result.failure(PostconditionError.persistenceFailed("rates file", file));
+        }
+    }
+
+    /**
+     * Forces the appended rows to the storage device.
+     */
+    public void force() {
+        for (final MappedByteBuffer block : blocks) {
+            block.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return the number of days, with their blocks mapped, or -1 if the blocks
+     *         cannot be mapped.
+     */
+    private int mappedSize() {
+        final int size = size();
+        try {
+            mapRows(size);
+            return size;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the mapping of a block, which {@link #mapRows(int)} mapped.
+     */
+    private MappedByteBuffer block(final int index) {
+        return blocks[index];
+    }
+
+    /**
+     * Maps the blocks of the first rows that are not mapped yet; mapping in
+     * read-write mode extends the file.
+     */
+    private void mapRows(final int rows) throws IOException {
+        if (rows > 0 && (rows - 1) / BLOCK_ROWS >= blocks.length) {
+            mapBlocks((rows - 1) / BLOCK_ROWS);
+        }
+    }
+
+    private synchronized void mapBlocks(final int index) throws IOException {
+        if (index >= blocks.length) {
+            final MappedByteBuffer[] mapped = Arrays.copyOf(blocks, index + 1);
+            for (int i = blocks.length; i <= index; i++) {
+                mapped[i] = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + i * blockSize, blockSize);
+            }
+            blocks = mapped;
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already failing
+            }
+        }
+    }
+}
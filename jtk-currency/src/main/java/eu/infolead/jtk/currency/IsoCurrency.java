@@ -0,0 +1,38 @@
+package eu.infolead.jtk.currency;
+
+import java.util.List;
+
+/**
+ * A currency of the ISO 4217 list.
+ *
+ * @param index       the position of the currency in its
+ *                    {@link CurrencyRepository}, from 0 to
+ *                    {@link CurrencyRepository#size()} exclusive.
+ * @param code        the alphabetic code, such as {@code EUR}.
+ * @param numericCode the numeric code, such as {@code 978}.
+ * @param minorUnits  the number of digits after the decimal separator, or -1
+ *                    if minor units are not applicable, as for {@code XAU}.
+ * @param name        the English name, such as {@code Euro}.
+ * @param fund        whether the code denotes a fund rather than a currency.
+ * @param entities    the countries and other entities using the currency.
+ */
+public record IsoCurrency(int index, String code, int numericCode, int minorUnits, String name, boolean fund,
+        List<String> entities) {
+    public static final int NO_MINOR_UNITS = -1;
+
+    public IsoCurrency {
+        entities = List.copyOf(entities);
+    }
+
+    /**
+     * @return whether the currency has minor units; it may have 0, as the yen.
+     */
+    public boolean hasMinorUnits() {
+        return minorUnits != NO_MINOR_UNITS;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,293 @@
+package eu.infolead.jtk.currency;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * An amount of money, as a number of minor units of a currency of
+ * {@link CurrencyRepository#iso4217()}, such as 1234 cents for 12.34 EUR.
+ *
+ * <p>
+ * Arithmetic is exact on {@code long} values and never throws: an operation
+ * on amounts of different currencies, an overflow of the {@code long} range or
+ * a division that would need a rounding mode it was not given returns a
+ * failure instead. Divisions round with an explicit {@link RoundingMode}, with
+ * the semantics of {@link BigDecimal}, and multiply before dividing on 128 bits
+ * so that the intermediate product cannot overflow.
+ *
+ * <p>
+ * Currencies whose minor units are not applicable, such as {@code XAU}, are
+ * counted in whole units.
+ *
+ * @param minorUnits    the amount, in minor units of the currency.
+ * @param currencyIndex the {@link IsoCurrency#index() index} of the currency.
+ */
+public record Money(long minorUnits, int currencyIndex) {
+    private static final Result<SystemError, Money> OVERFLOW = Result
+            .failure(ParameterError.outOfRange("minorUnits", null, Long.MIN_VALUE, Long.MAX_VALUE));
+    private static final Result<SystemError, Money> ZERO_DIVISOR = Result
+            .failure(ParameterError.unsupportedValue("divisor", 0L));
+    private static final Result<SystemError, Money> ROUNDING_NECESSARY = Result
+            .failure(ParameterError.unsupportedValue("roundingMode", RoundingMode.UNNECESSARY));
+
+    public Money {
+        Objects.checkIndex(currencyIndex, CurrencyRepository.iso4217().size());
+    }
+
+    /**
+     * @param currency the currency.
+     * @return zero in the currency.
+     */
+    public static Money zero(@Nonnull final IsoCurrency currency) {
+        return new Money(0L, currency.index());
+    }
+
+    /**
+     * @param minorUnits the amount, in minor units of the currency.
+     * @param currency   the currency.
+     * @return the amount.
+     */
+    public static Money ofMinor(final long minorUnits, @Nonnull final IsoCurrency currency) {
+        return new Money(minorUnits, currency.index());
+    }
+
+    /**
+     * @param minorUnits the amount, in minor units of the currency.
+     * @param code       the alphabetic code of the currency, such as {@code EUR}.
+     * @return the amount, or an error if there is no currency with that code.
+     */
+    public static Result<SystemError, Money> ofMinor(final long minorUnits, @Nonnull final CharSequence code) {
+        final int index = CurrencyRepository.iso4217().indexOf(code);
+        return index < 0 ? Result.failure(ParameterError.unsupportedValue("currency", code.toString()))
+                : Result.success(new Money(minorUnits, index));
+    }
+
+    /**
+     * @param amount       the amount, in units of the currency, such as
+     *                     {@code 12.34}.
+     * @param currency     the currency.
+     * @param roundingMode how to round the amount to minor units.
+     * @return the amount, or an error if it does not fit in a {@code long}
+     *         number of minor units or needs rounding with
+     *         {@link RoundingMode#UNNECESSARY}.
+     */
+    public static Result<SystemError, Money> of(@Nonnull final BigDecimal amount, @Nonnull final IsoCurrency currency,
+            @Nonnull final RoundingMode roundingMode) {
+        final int scale = Math.max(0, currency.minorUnits());
+        if (roundingMode == RoundingMode.UNNECESSARY && amount.stripTrailingZeros().scale() > scale) {
+            return ROUNDING_NECESSARY;
+        }
+        final BigInteger unscaled = amount.setScale(scale, roundingMode).unscaledValue();
+        return unscaled.bitLength() > Long.SIZE - 1 ? OVERFLOW
+                : Result.success(new Money(unscaled.longValue(), currency.index()));
+    }
+
+    /**
+     * @return the currency.
+     */
+    public IsoCurrency currency() {
+        return CurrencyRepository.iso4217().get(currencyIndex);
+    }
+
+    /**
+     * @return the number of digits of the minor units.
+     */
+    public int scale() {
+        return Math.max(0, currency().minorUnits());
+    }
+
+    public boolean isSameCurrency(@Nonnull final Money other) {
+        return currencyIndex == other.currencyIndex;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    // ====================== ARITHMETIC ======================
+
+    /**
+     * @param other an amount in the same currency.
+     * @return the sum, or an error if the currencies differ or on overflow.
+     */
+    public Result<SystemError, Money> add(@Nonnull final Money other) {
+        if (!isSameCurrency(other)) {
+            return currencyMismatch(other);
+        }
+        final long sum = minorUnits + other.minorUnits;
+        return ((minorUnits ^ sum) & (other.minorUnits ^ sum)) < 0 ? OVERFLOW : Result.success(withMinorUnits(sum));
+    }
+
+    /**
+     * @param other an amount in the same currency.
+     * @return the difference, or an error if the currencies differ or on
+     *         overflow.
+     */
+    public Result<SystemError, Money> subtract(@Nonnull final Money other) {
+        if (!isSameCurrency(other)) {
+            return currencyMismatch(other);
+        }
+        final long difference = minorUnits - other.minorUnits;
+        return ((minorUnits ^ other.minorUnits) & (minorUnits ^ difference)) < 0 ? OVERFLOW
+                : Result.success(withMinorUnits(difference));
+    }
+
+    /**
+     * @return the opposite amount, or an error on overflow.
+     */
+    public Result<SystemError, Money> negate() {
+        return minorUnits == Long.MIN_VALUE ? OVERFLOW : Result.success(withMinorUnits(-minorUnits));
+    }
+
+    /**
+     * @param factor the factor.
+     * @return the product, or an error on overflow.
+     */
+    public Result<SystemError, Money> multiply(final long factor) {
+        final long product = minorUnits * factor;
+        return Math.multiplyHigh(minorUnits, factor) != product >> 63 ? OVERFLOW
+                : Result.success(withMinorUnits(product));
+    }
+
+    /**
+     * @param divisor      the divisor.
+     * @param roundingMode how to round the quotient to minor units.
+     * @return the quotient, or an error if the divisor is 0, on overflow, or if
+     *         it needs rounding with {@link RoundingMode#UNNECESSARY}.
+     */
+    public Result<SystemError, Money> divide(final long divisor, @Nonnull final RoundingMode roundingMode) {
+        return multiply(1L, divisor, roundingMode);
+    }
+
+    /**
+     * Multiplies the amount by {@code numerator / denominator}, such as a rate
+     * or a percentage, rounding only once.
+     *
+     * @param numerator    the numerator.
+     * @param denominator  the denominator.
+     * @param roundingMode how to round the result to minor units.
+     * @return the result, or an error if the denominator is 0, on overflow, or
+     *         if it needs rounding with {@link RoundingMode#UNNECESSARY}.
+     */
+    public Result<SystemError, Money> multiply(final long numerator, final long denominator,
+            @Nonnull final RoundingMode roundingMode) {
+        if (denominator == 0L) {
+            return ZERO_DIVISOR;
+        }
+        final int sign = Long.signum(minorUnits) * Long.signum(numerator) * Long.signum(denominator);
+        if (sign == 0) {
+            return Result.success(withMinorUnits(0L));
+        }
+        // magnitudes, as unsigned values: the magnitude of Long.MIN_VALUE is 2^63.
+        final long a = Math.abs(minorUnits);
+        final long n = Math.abs(numerator);
+        final long d = Math.abs(denominator);
+        final long low = a * n;
+        final long high = Math.multiplyHigh(a, n) + ((a >> 63) & n) + ((n >> 63) & a);
+        long quotient;
+        long remainder;
+        if (high == 0L) {
+            quotient = Long.divideUnsigned(low, d);
+            remainder = Long.remainderUnsigned(low, d);
+        } else if (Long.compareUnsigned(high, d) >= 0) {
+            return OVERFLOW;
+        } else {
+            // the quotient fits in 64 bits: long division, one bit at a time.
+            quotient = 0L;
+            remainder = high;
+            for (int bit = 63; bit >= 0; bit--) {
+                final boolean carry = remainder < 0L;
+                remainder = remainder << 1 | (low >>> bit) & 1L;
+                quotient <<= 1;
+                if (carry || Long.compareUnsigned(remainder, d) >= 0) {
+                    remainder -= d;
+                    quotient |= 1L;
+                }
+            }
+        }
+        if (remainder != 0L) {
+            if (roundingMode == RoundingMode.UNNECESSARY) {
+                return ROUNDING_NECESSARY;
+            }
+            if (roundsAway(roundingMode, sign, quotient, Long.compareUnsigned(remainder, d - remainder))) {
+                quotient++;
+                if (quotient == 0L) {
+                    return OVERFLOW;
+                }
+            }
+        }
+        if (sign > 0) {
+            return quotient < 0L ? OVERFLOW : Result.success(withMinorUnits(quotient));
+        }
+        return Long.compareUnsigned(quotient, Long.MIN_VALUE) > 0 ? OVERFLOW
+                : Result.success(withMinorUnits(-quotient));
+    }
+
+    /**
+     * @param sign the sign of the exact result.
+     * @param half the comparison of the discarded fraction with one half.
+     * @return whether the magnitude of the truncated quotient must be
+     *         incremented.
+     */
+    private static boolean roundsAway(final RoundingMode roundingMode, final int sign, final long quotient,
+            final int half) {
+        return switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || half == 0 && (quotient & 1L) != 0L;
+            case UNNECESSARY -> false;
+        };
+    }
+
+    // ====================== COMPARISON & CONVERSION ======================
+
+    /**
+     * @param other an amount in the same currency.
+     * @return a negative number, 0 or a positive number as this amount is less
+     *         than, equal to or greater than the other one, or an error if the
+     *         currencies differ.
+     */
+    public Result<SystemError, Integer> compareTo(@Nonnull final Money other) {
+        return isSameCurrency(other) ? Result.success(Long.compare(minorUnits, other.minorUnits))
+                : Result.failure(mismatch(other));
+    }
+
+    /**
+     * @return the amount in units of the currency, such as {@code 12.34}.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    @Override
+    public String toString() {
+        return currency().code() + " " + toBigDecimal().toPlainString();
+    }
+
+    private Money withMinorUnits(final long newMinorUnits) {
+        return new Money(newMinorUnits, currencyIndex);
+    }
+
+    private Result<SystemError, Money> currencyMismatch(final Money other) {
+        return Result.failure(mismatch(other));
+    }
+
+    private ParameterError mismatch(final Money other) {
+        return ParameterError.invalidCombination("currency", currency().code() + " and " + other.currency().code());
+    }
+}
@@ -0,0 +1,105 @@
+package eu.infolead.jtk.currency;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Mutable sum of amounts of one currency, for loops that would otherwise
+ * allocate a {@link Money} and a {@link Result} per addition.
+ *
+ * <p>
+ * The sum is kept on 128 bits, so intermediate overflows that later cancel out
+ * do not fail; only the final sum must fit in a {@code long}. Adding an amount
+ * in another currency records an error, which {@link #result()} returns;
+ * further additions are then ignored.
+ *
+ * <p>
+ * Instances are not thread-safe: parallel sums use one instance per task and
+ * {@link #merge(MoneyAccumulator) merge} them.
+ */
+public final class MoneyAccumulator {
+    private final int currencyIndex;
+    private final WideSums sum = new WideSums(1);
+    private SystemError error;
+
+    /**
+     * @param currency the currency of the amounts.
+     */
+    public MoneyAccumulator(@Nonnull final IsoCurrency currency) {
+        this.currencyIndex = currency.index();
+    }
+
+    /**
+     * @param amount an amount in the currency of the accumulator.
+     * @return this accumulator.
+     */
+    public MoneyAccumulator add(@Nonnull final Money amount) {
+        if (amount.currencyIndex() != currencyIndex) {
+            if (error == null) {
+                error = ParameterError.invalidCombination("currency", CurrencyRepository.iso4217()
+                        .get(currencyIndex).code() + " and " + amount.currency().code());
+            }
+            return this;
+        }
+        return addMinorUnits(amount.minorUnits());
+    }
+
+    /**
+     * @param minorUnits an amount in minor units of the currency of the
+     *                   accumulator.
+     * @return this accumulator.
+     */
+    public MoneyAccumulator addMinorUnits(final long minorUnits) {
+        sum.add(0, minorUnits);
+        return this;
+    }
+
+    /**
+     * Adds the sum of another accumulator of the same currency to this one.
+     *
+     * @param other the other accumulator.
+     * @return this accumulator.
+     */
+    public MoneyAccumulator merge(@Nonnull final MoneyAccumulator other) {
+        if (other.error != null || other.currencyIndex != currencyIndex) {
+            if (error == null) {
+                error = other.error != null ? other.error
+                        : ParameterError.invalidCombination("currency", "accumulators of different currencies");
+            }
+            return this;
+        }
+        sum.merge(0, other.sum);
+        return this;
+    }
+
+    /**
+     * @return whether an amount of another currency was added.
+     */
+    public boolean hasFailed() {
+        return error != null;
+    }
+
+    /**
+     * @return the sum, or an error if an amount of another currency was added
+     *         or if the sum does not fit in a {@code long}.
+     */
+    public Result<SystemError, Money> result() {
+        if (error != null) {
+            return Result.failure(error);
+        }
+        if (!sum.fits(0)) {
+            return Result.failure(ParameterError.outOfRange("minorUnits", null, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        return Result.success(new Money(sum.get(0), currencyIndex));
+    }
+
+    /**
+     * Resets the sum to zero and clears the error.
+     */
+    public void reset() {
+        sum.clear(0);
+        error = null;
+    }
+}
@@ -0,0 +1,213 @@
+package eu.infolead.jtk.currency;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Splits amounts of money into parts proportional to weights, such as the
+ * installments of a payment or the lines of a tax, without losing or creating
+ * minor units: the parts always add up to the amount.
+ *
+ * <p>
+ * Each part first gets the truncated share of its weight, computed exactly on
+ * 128 bits. The minor units left are then given one by one to the parts with
+ * the largest discarded fractions, the lower index first on ties (the largest
+ * remainder method). Negative amounts are split as their opposite, so that
+ * {@code allocate(-x)} is the opposite of {@code allocate(x)}.
+ *
+ * <p>
+ * Instances are immutable and thread safe. The batch method
+ * {@link #allocate(long[], int, int, long[])} splits many amounts with the
+ * same weights and only allocates its working arrays once.
+ */
+public final class MoneyAllocator {
+    private final long[] weights;
+    private final long total;
+
+    private MoneyAllocator(final long[] weights, final long total) {
+        this.weights = weights;
+        this.total = total;
+    }
+
+    /**
+     * @param weights the weights of the parts, such as {@code 1, 1, 2} for a
+     *                quarter, a quarter and a half.
+     * @return the allocator, or an error if a weight is negative, if there is
+     *         no positive weight or if their sum overflows.
+     */
+    public static Result<SystemError, MoneyAllocator> of(@Nonnull final long... weights) {
+        if (weights.length == 0) {
+            return Result.failure(ParameterError.empty("weights"));
+        }
+        long total = 0L;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0L) {
+                return Result.failure(ParameterError.outOfRange("weights[" + i + "]", weights[i], 0L, Long.MAX_VALUE));
+            }
+            total += weights[i];
+            if (total < 0L) {
+                return Result.failure(ParameterError.outOfRange("weights", null, 1L, Long.MAX_VALUE));
+            }
+        }
+        if (total == 0L) {
+            return Result.failure(ParameterError.outOfRange("weights", 0L, 1L, Long.MAX_VALUE));
+        }
+        return Result.success(new MoneyAllocator(weights.clone(), total));
+    }
+
+    /**
+     * @param parts the number of parts.
+     * @return an allocator into equal parts, the first ones getting one more
+     *         minor unit than the last ones when the amount does not divide
+     *         evenly, or an error if the number of parts is not positive.
+     */
+    public static Result<SystemError, MoneyAllocator> equalParts(final int parts) {
+        if (parts < 1) {
+            return Result.failure(ParameterError.outOfRange("parts", parts, 1, Integer.MAX_VALUE));
+        }
+        final long[] weights = new long[parts];
+        Arrays.fill(weights, 1L);
+        return Result.success(new MoneyAllocator(weights, parts));
+    }
+
+    /**
+     * @return the number of parts.
+     */
+    public int parts() {
+        return weights.length;
+    }
+
+    // ====================== ALLOCATION ======================
+
+    /**
+     * @param amount the amount to split.
+     * @return the parts, in the currency of the amount.
+     */
+    public Money[] allocate(@Nonnull final Money amount) {
+        final long[] minorUnits = new long[weights.length];
+        allocate(amount.minorUnits(), minorUnits, 0, new long[weights.length], new int[weights.length]);
+        final Money[] parts = new Money[weights.length];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new Money(minorUnits[i], amount.currencyIndex());
+        }
+        return parts;
+    }
+
+    /**
+     * Splits amounts of minor units.
+     *
+     * @param amounts the amounts.
+     * @param from    the index of the first amount.
+     * @param length  the number of amounts.
+     * @param out     receives the parts of the {@code i}-th amount from index
+     *                {@code i * parts()}; its length must be at least
+     *                {@code length * parts()}.
+     */
+    public void allocate(@Nonnull final long[] amounts, final int from, final int length, @Nonnull final long[] out) {
+        Objects.checkFromIndexSize(from, length, amounts.length);
+        Objects.checkFromIndexSize(0, Math.multiplyExact(length, weights.length), out.length);
+        final long[] remainders = new long[weights.length];
+        final int[] order = new int[weights.length];
+        for (int i = 0; i < length; i++) {
+            allocate(amounts[from + i], out, i * weights.length, remainders, order);
+        }
+    }
+
+    private void allocate(final long minorUnits, final long[] out, final int offset, final long[] remainders,
+            final int[] order) {
+        // the magnitude, as an unsigned value: the magnitude of Long.MIN_VALUE is 2^63.
+        final long magnitude = Math.abs(minorUnits);
+        long left = magnitude;
+        for (int i = 0; i < weights.length; i++) {
+            final long w = weights[i];
+            final long low = magnitude * w;
+            final long high = Math.multiplyHigh(magnitude, w) + ((magnitude >> 63) & w);
+            final long share = high == 0L ? Long.divideUnsigned(low, total) : divide(high, low, total);
+            out[offset + i] = share;
+            remainders[i] = low - share * total;
+            left -= share;
+        }
+        if (left != 0L) {
+            // fewer units left than parts: give one to each of the largest remainders.
+            sortByRemainder(remainders, order);
+            for (int k = 0; k < left; k++) {
+                out[offset + order[k]]++;
+            }
+        }
+        if (minorUnits < 0L) {
+            for (int i = 0; i < weights.length; i++) {
+                out[offset + i] = -out[offset + i];
+            }
+        }
+    }
+
+    /**
+     * @return the quotient of the unsigned 128-bit value by the divisor, which
+     *         must be greater than the high bits.
+     */
+    private static long divide(final long high, final long low, final long divisor) {
+        long quotient = 0L;
+        long remainder = high;
+        for (int bit = 63; bit >= 0; bit--) {
+            final boolean carry = remainder < 0L;
+            remainder = remainder << 1 | (low >>> bit) & 1L;
+            quotient <<= 1;
+            if (carry || Long.compareUnsigned(remainder, divisor) >= 0) {
+                remainder -= divisor;
+                quotient |= 1L;
+            }
+        }
+        return quotient;
+    }
+
+    // ====================== ORDERING ======================
+
+    /**
+     * Heap sorts the indexes by decreasing remainder, then increasing index.
+     */
+    private static void sortByRemainder(final long[] remainders, final int[] order) {
+        final int n = order.length;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(remainders, order, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            final int first = order[0];
+            order[0] = order[end];
+            order[end] = first;
+            siftDown(remainders, order, 0, end);
+        }
+    }
+
+    private static void siftDown(final long[] remainders, final int[] order, final int start, final int size) {
+        int parent = start;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && after(remainders, order[child + 1], order[child])) {
+                child++;
+            }
+            if (!after(remainders, order[child], order[parent])) {
+                return;
+            }
+            final int swap = order[parent];
+            order[parent] = order[child];
+            order[child] = swap;
+            parent = child;
+        }
+    }
+
+    /**
+     * @return whether index {@code a} comes after index {@code b}; the heap
+     *         puts the last one at the root, so the sort is in order.
+     */
+    private static boolean after(final long[] remainders, final int a, final int b) {
+        return remainders[a] < remainders[b] || remainders[a] == remainders[b] && a > b;
+    }
+}
@@ -0,0 +1,110 @@
+package eu.infolead.jtk.currency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Collectors and fork/join reducers summing amounts of {@link Money}.
+ *
+ * <p>
+ * The collectors accumulate into a {@link MoneyAccumulator} or a
+ * {@link CurrencySums} per thread, merged at the end, so they scale with
+ * parallel streams. Overflows are detected on 128 bits and returned as
+ * failures rather than thrown.
+ */
+public final class MoneyCollectors {
+    /** Lists shorter than this are summed by a single task. */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private MoneyCollectors() {
+        // Utility class
+    }
+
+    /**
+     * @param currency the currency of the amounts.
+     * @return a collector of the sum of the amounts, or an error if an amount
+     *         is in another currency or if the sum does not fit in a
+     *         {@code long}.
+     */
+    public static Collector<Money, MoneyAccumulator, Result<SystemError, Money>> sum(
+            @Nonnull final IsoCurrency currency) {
+        Objects.requireNonNull(currency, "currency cannot be null");
+        return Collector.of(() -> new MoneyAccumulator(currency), MoneyAccumulator::add, MoneyAccumulator::merge,
+                MoneyAccumulator::result, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @return a collector of the sum of the amounts of each currency, or an
+     *         error if a sum does not fit in a {@code long}.
+     */
+    public static Collector<Money, CurrencySums, Result<SystemError, Map<IsoCurrency, Money>>> sumByCurrency() {
+        return Collector.of(CurrencySums::new, CurrencySums::add, CurrencySums::merge, CurrencySums::result,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param <T>    the type of the elements.
+     * @param amount the amount of an element.
+     * @return a collector of the sum of the amounts of the elements for each
+     *         currency, or an error if a sum does not fit in a {@code long}.
+     */
+    public static <T> Collector<T, CurrencySums, Result<SystemError, Map<IsoCurrency, Money>>> summingByCurrency(
+            @Nonnull final Function<? super T, Money> amount) {
+        Objects.requireNonNull(amount, "amount cannot be null");
+        return Collector.of(CurrencySums::new, (sums, element) -> sums.add(amount.apply(element)),
+                CurrencySums::merge, CurrencySums::result, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Sums the amounts of a list per currency, splitting large lists across a
+     * pool.
+     *
+     * @param amounts the amounts; the list should have fast random access.
+     * @param pool    the pool running the sum.
+     * @return the sum of the amounts of each currency, or an error if a sum
+     *         does not fit in a {@code long}.
+     */
+    public static Result<SystemError, Map<IsoCurrency, Money>> sumByCurrency(
+            @Nonnull final List<? extends Money> amounts, @Nonnull final ForkJoinPool pool) {
+        return pool.invoke(new SumTask(amounts, 0, amounts.size())).result();
+    }
+
+    private static final class SumTask extends RecursiveTask<CurrencySums> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<? extends Money> amounts;
+        private final int from;
+        private final int to;
+
+        SumTask(final List<? extends Money> amounts, final int from, final int to) {
+            this.amounts = amounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CurrencySums compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                final CurrencySums sums = new CurrencySums();
+                for (int i = from; i < to; i++) {
+                    sums.add(amounts.get(i));
+                }
+                return sums;
+            }
+            final int middle = (from + to) >>> 1;
+            final SumTask left = new SumTask(amounts, from, middle);
+            left.fork();
+            final CurrencySums right = new SumTask(amounts, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
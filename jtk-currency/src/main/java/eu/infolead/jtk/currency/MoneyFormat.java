@@ -0,0 +1,379 @@
+package eu.infolead.jtk.currency;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Formats and parses amounts of {@link Money} as the currency format of a
+ * locale, such as {@code $1,234.56} in {@link Locale#US} or
+ * {@code 1.234,56 €} in {@link Locale#GERMANY}.
+ *
+ * <p>
+ * The symbols, affixes and grouping of a currency in a locale are read once
+ * from {@link NumberFormat#getCurrencyInstance(Locale)} and cached, so that
+ * formatting only appends the digits of the minor units to a
+ * {@link StringBuilder}, or writes them in UTF-8 to a {@link ByteBuffer},
+ * without creating or cloning a {@link NumberFormat}.
+ * The number of fraction digits is the number of
+ * {@link IsoCurrency#minorUnits() minor units} of the currency. The output is
+ * that of the JDK format, except that only the primary grouping size is used.
+ *
+ * <p>
+ * Instances are thread safe. The formats of the
+ * {@value #MAX_CACHED_LOCALES} most recently used locales are cached, with the
+ * styles of their currencies; the least recently used one is evicted when
+ * another locale is needed. Getting a cached format does not lock: recency is
+ * tracked per cache miss, so formats used since the last miss are equally
+ * recent.
+ */
+public final class MoneyFormat {
+    public static final int MAX_CACHED_LOCALES = 64;
+
+    /** The formats of the most recently used locales; only modified under the class lock. */
+    private static final Map<Locale, MoneyFormat> FORMATS = new ConcurrentHashMap<>();
+    private static final long[] POWERS_OF_TEN = powersOfTen();
+    /** Number of cache misses so far; only incremented under the class lock. */
+    private static volatile long misses;
+
+    private final Locale locale;
+    private final AtomicReferenceArray<Style> styles;
+    /** The number of cache misses when this format was last used. */
+    private volatile long lastUsed;
+
+    private MoneyFormat(final Locale locale) {
+        this.locale = locale;
+        this.styles = new AtomicReferenceArray<>(CurrencyRepository.iso4217().size());
+    }
+
+    /**
+     * @param locale the locale.
+     * @return the format of the locale.
+     */
+    public static MoneyFormat of(@Nonnull final Locale locale) {
+        Objects.requireNonNull(locale, "locale cannot be null");
+        final MoneyFormat format = FORMATS.get(locale);
+        if (format == null) {
+            return load(locale);
+        }
+        final long now = misses;
+        // written once per miss at most, so that hits do not share a written cache line.
+        if (format.lastUsed != now) {
+            format.lastUsed = now;
+        }
+        return format;
+    }
+
+    /**
+     * Caches the format of a locale, evicting the least recently used one if
+     * the cache is full. The styles are created outside of the lock, on first
+     * use.
+     */
+    private static synchronized MoneyFormat load(final Locale locale) {
+        MoneyFormat format = FORMATS.get(locale);
+        if (format == null) {
+            if (FORMATS.size() >= MAX_CACHED_LOCALES) {
+                MoneyFormat eldest = null;
+                for (final MoneyFormat cached : FORMATS.values()) {
+                    if (eldest == null || cached.lastUsed < eldest.lastUsed) {
+                        eldest = cached;
+                    }
+                }
+                FORMATS.remove(eldest.locale);
+            }
+            format = new MoneyFormat(locale);
+            FORMATS.put(locale, format);
+        }
+        misses++;
+        format.lastUsed = misses;
+        return format;
+    }
+
+    public Locale locale() {
+        return locale;
+    }
+
+    // ====================== FORMATTING ======================
+
+    /**
+     * @param money the amount.
+     * @return the formatted amount.
+     */
+    public String format(@Nonnull final Money money) {
+        return format(money, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * @param money the amount.
+     * @param out   receives the formatted amount.
+     * @return {@code out}.
+     */
+    public StringBuilder format(@Nonnull final Money money, @Nonnull final StringBuilder out) {
+        final Style style = style(money.currencyIndex());
+        final long minorUnits = money.minorUnits();
+        out.append(minorUnits < 0 ? style.negativePrefix : style.positivePrefix);
+        // digits of the negative value, so that Long.MIN_VALUE has an opposite.
+        final long negative = minorUnits > 0 ? -minorUnits : minorUnits;
+        final int scale = style.scale;
+        appendInteger(style, negative / POWERS_OF_TEN[scale], out);
+        if (scale > 0) {
+            out.append(style.decimalSeparator);
+            final long fraction = -(negative % POWERS_OF_TEN[scale]);
+            for (int i = scale - 1; i >= 0; i--) {
+                out.append((char) (style.zeroDigit + fraction / POWERS_OF_TEN[i] % 10));
+            }
+        }
+        return out.append(minorUnits < 0 ? style.negativeSuffix : style.positiveSuffix);
+    }
+
+    /**
+     * Writes the formatted amount in UTF-8.
+     *
+     * @param money the amount.
+     * @param out   receives the bytes of the formatted amount, from its
+     *              position.
+     * @return {@code out}.
+     * @throws java.nio.BufferOverflowException if {@code out} has not enough
+     *                                          remaining bytes.
+     */
+    public ByteBuffer format(@Nonnull final Money money, @Nonnull final ByteBuffer out) {
+        final Style style = style(money.currencyIndex());
+        final long minorUnits = money.minorUnits();
+        out.put(minorUnits < 0 ? style.negativePrefixBytes : style.positivePrefixBytes);
+        final long negative = minorUnits > 0 ? -minorUnits : minorUnits;
+        final int scale = style.scale;
+        appendInteger(style, negative / POWERS_OF_TEN[scale], out);
+        if (scale > 0) {
+            putUtf8(style.decimalSeparator, out);
+            final long fraction = -(negative % POWERS_OF_TEN[scale]);
+            for (int i = scale - 1; i >= 0; i--) {
+                putUtf8((char) (style.zeroDigit + fraction / POWERS_OF_TEN[i] % 10), out);
+            }
+        }
+        return out.put(minorUnits < 0 ? style.negativeSuffixBytes : style.positiveSuffixBytes);
+    }
+
+    /**
+     * Appends the digits of the opposite of a non-positive value.
+     */
+    private static void appendInteger(final Style style, final long negative, final StringBuilder out) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && negative <= -POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            out.append((char) (style.zeroDigit - negative / POWERS_OF_TEN[i] % 10));
+            if (i > 0 && style.groupingSize > 0 && i % style.groupingSize == 0) {
+                out.append(style.groupingSeparator);
+            }
+        }
+    }
+
+    /**
+     * Writes the digits of the opposite of a non-positive value in UTF-8.
+     */
+    private static void appendInteger(final Style style, final long negative, final ByteBuffer out) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && negative <= -POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            putUtf8((char) (style.zeroDigit - negative / POWERS_OF_TEN[i] % 10), out);
+            if (i > 0 && style.groupingSize > 0 && i % style.groupingSize == 0) {
+                putUtf8(style.groupingSeparator, out);
+            }
+        }
+    }
+
+    /**
+     * Writes a character of the basic multilingual plane, other than a
+     * surrogate, in UTF-8.
+     */
+    private static void putUtf8(final char c, final ByteBuffer out) {
+        if (c < 0x80) {
+            out.put((byte) c);
+        } else if (c < 0x800) {
+            out.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else {
+            out.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    private static long[] powersOfTen() {
+        final long[] powers = new long[19];
+        powers[0] = 1L;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1] * 10L;
+        }
+        return powers;
+    }
+
+    // ====================== PARSING ======================
+
+    /**
+     * Parses an amount formatted by {@link #format(Money)}. Grouping
+     * separators are optional, and spaces match any space character.
+     *
+     * @param text     the formatted amount.
+     * @param currency the currency of the amount.
+     * @return the amount, or an error if the text is not an amount of the
+     *         currency in this format or has more fraction digits than the
+     *         currency.
+     */
+    public Result<SystemError, Money> parse(@Nonnull final CharSequence text, @Nonnull final IsoCurrency currency) {
+        final Style style = style(currency.index());
+        boolean negative = true;
+        int start = match(text, 0, style.negativePrefix);
+        int end = start < 0 ? -1 : matchEnd(text, start, style.negativeSuffix);
+        if (end < 0) {
+            negative = false;
+            start = match(text, 0, style.positivePrefix);
+            end = start < 0 ? -1 : matchEnd(text, start, style.positiveSuffix);
+        }
+        if (end < 0) {
+            return invalid(text);
+        }
+        long value = 0L;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            final int digit = c - style.zeroDigit;
+            if (digit >= 0 && digit <= 9) {
+                if (fractionDigits == style.scale || value < (Long.MIN_VALUE + digit) / 10) {
+                    return invalid(text);
+                }
+                // accumulates the negative value, so that Long.MIN_VALUE can be parsed.
+                value = value * 10 - digit;
+                digits++;
+                fractionDigits += fractionDigits >= 0 ? 1 : 0;
+            } else if (c == style.decimalSeparator && fractionDigits < 0 && style.scale > 0) {
+                fractionDigits = 0;
+            } else if (!(fractionDigits < 0 && digits > 0 && style.groupingSize > 0
+                    && sameChar(c, style.groupingSeparator))) {
+                return invalid(text);
+            }
+        }
+        if (digits == 0) {
+            return invalid(text);
+        }
+        for (int i = Math.max(0, fractionDigits); i < style.scale; i++) {
+            if (value < Long.MIN_VALUE / 10) {
+                return invalid(text);
+            }
+            value *= 10;
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            return invalid(text);
+        }
+        return Result.success(new Money(negative ? value : -value, currency.index()));
+    }
+
+    private static Result<SystemError, Money> invalid(final CharSequence text) {
+        return Result.failure(ParameterError.invalidFormat("text", text.toString()));
+    }
+
+    /**
+     * @return the index after the affix at the start, or -1.
+     */
+    private static int match(final CharSequence text, final int from, final String affix) {
+        if (text.length() - from < affix.length()) {
+            return -1;
+        }
+        for (int i = 0; i < affix.length(); i++) {
+            if (!sameChar(text.charAt(from + i), affix.charAt(i))) {
+                return -1;
+            }
+        }
+        return from + affix.length();
+    }
+
+    /**
+     * @return the index of the affix at the end, or -1.
+     */
+    private static int matchEnd(final CharSequence text, final int from, final String affix) {
+        final int end = text.length() - affix.length();
+        return end >= from && match(text, end, affix) >= 0 ? end : -1;
+    }
+
+    private static boolean sameChar(final char a, final char b) {
+        return a == b || Character.isSpaceChar(a) && Character.isSpaceChar(b);
+    }
+
+    // ====================== STYLES ======================
+
+    private Style style(final int currencyIndex) {
+        Style style = styles.get(currencyIndex);
+        if (style == null) {
+            style = Style.of(locale, CurrencyRepository.iso4217().get(currencyIndex));
+            styles.lazySet(currencyIndex, style);
+        }
+        return style;
+    }
+
+    /**
+     * The format of a currency in a locale.
+     */
+    private static final class Style {
+        final String positivePrefix;
+        final String positiveSuffix;
+        final String negativePrefix;
+        final String negativeSuffix;
+        final byte[] positivePrefixBytes;
+        final byte[] positiveSuffixBytes;
+        final byte[] negativePrefixBytes;
+        final byte[] negativeSuffixBytes;
+        final char zeroDigit;
+        final char decimalSeparator;
+        final char groupingSeparator;
+        final int groupingSize;
+        final int scale;
+
+        private Style(final DecimalFormat format, final int scale) {
+            final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            this.positivePrefix = format.getPositivePrefix();
+            this.positiveSuffix = format.getPositiveSuffix();
+            this.negativePrefix = format.getNegativePrefix();
+            this.negativeSuffix = format.getNegativeSuffix();
+            this.positivePrefixBytes = positivePrefix.getBytes(StandardCharsets.UTF_8);
+            this.positiveSuffixBytes = positiveSuffix.getBytes(StandardCharsets.UTF_8);
+            this.negativePrefixBytes = negativePrefix.getBytes(StandardCharsets.UTF_8);
+            this.negativeSuffixBytes = negativeSuffix.getBytes(StandardCharsets.UTF_8);
+            this.zeroDigit = symbols.getZeroDigit();
+            this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+            this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+            this.scale = Math.min(scale, POWERS_OF_TEN.length - 1);
+        }
+
+        static Style of(final Locale locale, final IsoCurrency currency) {
+            final NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+            if (!(format instanceof DecimalFormat decimalFormat)) {
+                return of(Locale.ROOT, currency);
+            }
+            try {
+                decimalFormat.setCurrency(Currency.getInstance(currency.code()));
+            } catch (IllegalArgumentException e) {
+                // a currency unknown to the JDK is shown by its code.
+                final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+                symbols.setCurrencySymbol(currency.code());
+                symbols.setInternationalCurrencySymbol(currency.code());
+                decimalFormat.setDecimalFormatSymbols(symbols);
+            }
+            return new Style(decimalFormat, Math.max(0, currency.minorUnits()));
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package eu.infolead.jtk.currency;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.StandardErrorType;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.either.Result;
+import eu.infolead.jtk.fp.validation.ValidationError;
+import eu.infolead.jtk.fp.validation.ValidationResult;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Streaming loader of exchange rate files in the formats published by the
+ * European Central Bank: the XML reference rates ({@code eurofxref-daily.xml},
+ * {@code eurofxref-hist.xml}) and the CSV history ({@code eurofxref-hist.csv},
+ * one row per day and one column per currency).
+ *
+ * <p>
+ * Files are read in a single pass and each day is passed to a {@link DaySink}
+ * as soon as it is complete, so memory use does not depend on the size of the
+ * file. XML is read with StAX; CSV with a byte-level parser that does not
+ * allocate per field. Currency codes are checked against
+ * {@link CurrencyRepository#iso4217()}.
+ *
+ * <p>
+ * Invalid values do not stop the loading: they are skipped, the other values
+ * of the day are still passed to the sink, and the load returns a failure with
+ * one {@link ValidationError} per invalid value or rejected day, up to a
+ * maximum number of errors.
+ */
+public final class RateFileLoader {
+    public static final int DEFAULT_MAX_ERRORS = 100;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_FIELD_LENGTH = 64;
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final IsoCurrency pivot;
+    private final int maxErrors;
+
+    private RateFileLoader(final IsoCurrency pivot, final int maxErrors) {
+        this.pivot = pivot;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @return a loader of the files of the ECB, whose rates are quoted against
+     *         the euro, that reports up to {@value #DEFAULT_MAX_ERRORS} errors.
+     */
+    public static RateFileLoader ecb() {
+        return of(CurrencyRepository.iso4217().byCode("EUR").toOptional().orElseThrow(), DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * @param pivot     the currency the rates of the files are quoted against.
+     * @param maxErrors the maximum number of errors reported by a load; the
+     *                  following ones are dropped.
+     * @return a loader.
+     */
+    public static RateFileLoader of(@Nonnull final IsoCurrency pivot, final int maxErrors) {
+        Objects.requireNonNull(pivot, "pivot cannot be null");
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1");
+        }
+        return new RateFileLoader(pivot, maxErrors);
+    }
+
+    /**
+     * @return the currency the rates of the files are quoted against.
+     */
+    public IsoCurrency pivot() {
+        return pivot;
+    }
+
+    /**
+     * Receives the rates of one day.
+     */
+    @FunctionalInterface
+    public interface DaySink {
+        /**
+         * @param date          the day.
+         * @param unitsPerPivot the units of each currency per unit of the pivot
+         *                      currency of the file; the sink may keep the map.
+         * @return a success, or an error if the sink rejects the day, which is
+         *         then reported by the load.
+         */
+        Result<SystemError, ?> accept(LocalDate date, Map<IsoCurrency, Double> unitsPerPivot);
+
+        /**
+         * Called once all the days of a file have been passed.
+         *
+         * @return a success, or an error, which is then reported by the load.
+         */
+        default Result<SystemError, ?> complete() {
+            return Result.success();
+        }
+    }
+
+    /**
+     * The numbers of days and rates passed to the sink.
+     *
+     * @param days  the number of days.
+     * @param rates the number of rates.
+     */
+    public record Summary(int days, int rates) {
+    }
+
+    /**
+     * Appends the days to a historical rates file. The rates of currencies
+     * that are not in the file are ignored; the days must be in increasing
+     * order.
+     *
+     * @param history the file.
+     * @return the sink, or an error if the pivot of the file is not the pivot
+     *         of this loader.
+     */
+    public Result<SystemError, DaySink> into(@Nonnull final HistoricalRates history) {
+        if (!pivot.equals(history.pivot())) {
+            return Result.failure(ParameterError.invalidCombination("history", "pivot is not " + pivot));
+        }
+        final List<IsoCurrency> currencies = history.currencies();
+        return Result.success((date, unitsPerPivot) -> {
+            unitsPerPivot.keySet().retainAll(currencies);
+            return history.append(date, unitsPerPivot);
+        });
+    }
+
+    /**
+     * Publishes the rates of the most recent day to an exchange rate store,
+     * whatever the order of the days in the file. The day is published once,
+     * when the load completes, and only if it is more recent than the days of
+     * the previous loads into the sink.
+     *
+     * @param rates the store.
+     * @return the sink, or an error if the pivot of the store is not the pivot
+     *         of this loader.
+     */
+    public Result<SystemError, DaySink> latestInto(@Nonnull final ExchangeRates rates) {
+        if (!pivot.equals(rates.pivot())) {
+            return Result.failure(ParameterError.invalidCombination("rates", "pivot is not " + pivot));
+        }
+        return Result.success(new LatestSink(rates));
+    }
+
+    /**
+     * Keeps the most recent day of a load, to publish it when the load completes.
+     */
+    private static final class LatestSink implements DaySink {
+        private final ExchangeRates rates;
+        private LocalDate latest = LocalDate.MIN;
+        /** The rates of the latest day, if they are not published yet. */
+        private Map<IsoCurrency, Double> pending;
+
+        LatestSink(final ExchangeRates rates) {
+            this.rates = rates;
+        }
+
+        @Override
+        public Result<SystemError, ?> accept(final LocalDate date, final Map<IsoCurrency, Double> unitsPerPivot) {
+            if (date.isAfter(latest)) {
+                latest = date;
+                pending = unitsPerPivot;
+            }
+            return Result.success();
+        }
+
+        @Override
+        public Result<SystemError, ?> complete() {
+            final Map<IsoCurrency, Double> unitsPerPivot = pending;
+            if (unitsPerPivot == null) {
+                return Result.success();
+            }
+            pending = null;
+            return rates.update(unitsPerPivot);
+        }
+    }
+
+    // ====================== XML ======================
+
+    /**
+     * Loads a file in the XML format of the ECB reference rates, where each
+     * {@code <Cube time="...">} element holds the
+     * {@code <Cube currency="..." rate="..."/>} elements of a day.
+     *
+     * @param in   the content of the file; it is not closed.
+     * @param sink receives the days, in the order of the file.
+     * @return the summary of the load, or the errors.
+     */
+    public ValidationResult<Summary> loadXml(@Nonnull final InputStream in, @Nonnull final DaySink sink) {
+        Objects.requireNonNull(in, "in cannot be null");
+        final Load load = new Load(sink);
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            final XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "Cube".equals(reader.getLocalName())) {
+                        readCube(reader, load);
+                    }
+                }
+                load.endDay();
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            // the last day may be incomplete: it is not passed to the sink.
+            load.dropDay();
+            load.error(ValidationError.invalidFormat("line[" + lineOf(e) + "]", e.getMessage()));
+        }
+        return load.result();
+    }
+
+    private static void readCube(final XMLStreamReader reader, final Load load) {
+        final String time = reader.getAttributeValue(null, "time");
+        final String code = reader.getAttributeValue(null, "currency");
+        if (time != null) {
+            load.endDay();
+            try {
+                load.startDay(LocalDate.parse(time));
+            } catch (DateTimeException e) {
+                load.error(ValidationError.invalidFormat(path(reader, "time"), time));
+            }
+        } else if (code != null && load.inDay()) {
+            final IsoCurrency currency = load.quoted(code);
+            if (currency == null) {
+                load.error(unknownCurrency(path(reader, "currency"), code));
+                return;
+            }
+            final String rate = reader.getAttributeValue(null, "rate");
+            final double value;
+            try {
+                value = Double.parseDouble(rate);
+            } catch (NumberFormatException | NullPointerException e) {
+                load.error(ValidationError.invalidFormat(path(reader, "rate"), rate));
+                return;
+            }
+            if (!load.rate(currency, value)) {
+                load.error(ValidationError.outOfRange(path(reader, "rate"), value, 0.0, Double.MAX_VALUE));
+            }
+        }
+    }
+
+    private static String path(final XMLStreamReader reader, final String attribute) {
+        return "line[" + reader.getLocation().getLineNumber() + "]." + attribute;
+    }
+
+    private static int lineOf(final XMLStreamException e) {
+        return e.getLocation() == null ? -1 : e.getLocation().getLineNumber();
+    }
+
+    // ====================== CSV ======================
+
+    /**
+     * Loads a file in the CSV format of the ECB history: a header line with
+     * {@code Date} and the currency codes, then one line per day with the date
+     * in ISO format and the rates, where {@code N/A} or an empty field mark a
+     * missing rate.
+     *
+     * @param in   the content of the file, in ASCII or UTF-8; it is not closed.
+     * @param sink receives the days, in the order of the file.
+     * @return the summary of the load, or the errors.
+     */
+    public ValidationResult<Summary> loadCsv(@Nonnull final InputStream in, @Nonnull final DaySink sink) {
+        Objects.requireNonNull(in, "in cannot be null");
+        final CsvParser parser = new CsvParser(new Load(sink));
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    parser.accept(buffer[i]);
+                }
+            }
+            parser.accept((byte) '\n');
+        } catch (IOException e) {
+            parser.load.error(new ValidationError("input", StandardErrorType.INTERNAL_ERROR, new Object[0],
+                    Maybe.ofNullable(e.getMessage()), Maybe.none()));
+        }
+        return parser.load.result();
+    }
+
+    private static final class CsvParser {
+        private final Load load;
+        private final byte[] field = new byte[MAX_FIELD_LENGTH];
+        private final List<IsoCurrency> columns = new ArrayList<>();
+        private int fieldLength;
+        private boolean fieldTooLong;
+        private int column;
+        private int line = 1;
+        private boolean header = true;
+        private boolean rowValid;
+
+        CsvParser(final Load load) {
+            this.load = load;
+        }
+
+        void accept(final byte b) {
+            switch (b) {
+                case ',' -> endField();
+                case '\n' -> {
+                    if (column > 0 || fieldLength > 0) {
+                        endField();
+                        endLine();
+                    }
+                    column = 0;
+                    line++;
+                }
+                case '\r' -> {
+                    // line ends are the line feeds
+                }
+                default -> {
+                    if (fieldLength < MAX_FIELD_LENGTH) {
+                        field[fieldLength++] = b;
+                    } else {
+                        fieldTooLong = true;
+                    }
+                }
+            }
+        }
+
+        private void endField() {
+            if (fieldTooLong) {
+                load.error(ValidationError.tooLong(path(), null, MAX_FIELD_LENGTH));
+            } else if (header) {
+                headerField();
+            } else if (column == 0) {
+                dateField();
+            } else if (rowValid && column <= columns.size() && columns.get(column - 1) != null) {
+                rateField(columns.get(column - 1));
+            } else if (rowValid && column > columns.size() && fieldLength > 0) {
+                load.error(ValidationError.invalidFormat(path(), text()));
+            }
+            column++;
+            fieldLength = 0;
+            fieldTooLong = false;
+        }
+
+        private void endLine() {
+            if (header) {
+                header = false;
+            } else if (rowValid) {
+                load.endDay();
+            }
+        }
+
+        private void headerField() {
+            final String name = text().trim();
+            if (column == 0) {
+                if (!"Date".equalsIgnoreCase(name)) {
+                    load.error(ValidationError.invalidFormat(path(), name));
+                }
+                return;
+            }
+            final IsoCurrency currency = load.quoted(name);
+            if (currency == null && !name.isEmpty()) {
+                load.error(unknownCurrency(path(), name));
+            }
+            columns.add(currency);
+        }
+
+        private void dateField() {
+            rowValid = false;
+            if (fieldLength != 10 || field[4] != '-' || field[7] != '-') {
+                load.error(ValidationError.invalidFormat(path(), text()));
+                return;
+            }
+            final int year = digits(0, 4);
+            final int month = digits(5, 7);
+            final int day = digits(8, 10);
+            if (year < 0 || month < 0 || day < 0) {
+                load.error(ValidationError.invalidFormat(path(), text()));
+                return;
+            }
+            try {
+                load.startDay(LocalDate.of(year, month, day));
+                rowValid = true;
+            } catch (DateTimeException e) {
+                load.error(ValidationError.invalidFormat(path(), text()));
+            }
+        }
+
+        private void rateField(final IsoCurrency currency) {
+            if (fieldLength == 0 || fieldLength == 3 && field[0] == 'N' && field[1] == '/' && field[2] == 'A') {
+                return;
+            }
+            final double rate = number();
+            if (Double.isNaN(rate)) {
+                load.error(ValidationError.invalidFormat(path(), text()));
+            } else if (!load.rate(currency, rate)) {
+                load.error(ValidationError.outOfRange(path(), rate, 0.0, Double.MAX_VALUE));
+            }
+        }
+
+        /**
+         * @return the value of the field, or -1 if it has a non-digit.
+         */
+        private int digits(final int from, final int to) {
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                final int digit = field[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        /**
+         * @return the decimal number of the field, or NaN if it is not one.
+         */
+        private double number() {
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            int i = field[0] == '-' ? 1 : 0;
+            for (; i < fieldLength; i++) {
+                final byte b = field[i];
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else {
+                    return Double.NaN;
+                }
+            }
+            if (digits == 0) {
+                return Double.NaN;
+            }
+            if (digits > MAX_EXACT_DIGITS) {
+                return Double.parseDouble(text());
+            }
+            // both operands are exact, so the quotient is correctly rounded.
+            final double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return field[0] == '-' ? -value : value;
+        }
+
+        private String text() {
+            return new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        }
+
+        private String path() {
+            return "line[" + line + "][" + column + "]";
+        }
+    }
+
+    // ====================== LOAD STATE ======================
+
+    private static ValidationError unknownCurrency(final String path, final String code) {
+        return new ValidationError(path, StandardErrorType.NOT_FOUND, new Object[0], Maybe.of(code), Maybe.none());
+    }
+
+    /**
+     * The day being read, the counts and the errors of a load.
+     */
+    private final class Load {
+        private final DaySink sink;
+        private final List<ValidationError> errors = new ArrayList<>();
+        private LocalDate date;
+        private Map<IsoCurrency, Double> day;
+        private int days;
+        private int rates;
+
+        Load(final DaySink sink) {
+            this.sink = Objects.requireNonNull(sink, "sink cannot be null");
+        }
+
+        boolean inDay() {
+            return date != null;
+        }
+
+        void startDay(final LocalDate newDate) {
+            date = newDate;
+            day = new HashMap<>();
+        }
+
+        /**
+         * @return the currency of the code if it can be quoted against the
+         *         pivot, otherwise null.
+         */
+        IsoCurrency quoted(final String code) {
+            final IsoCurrency currency = CurrencyRepository.iso4217().byCode(code).toOptional().orElse(null);
+            return pivot.equals(currency) ? null : currency;
+        }
+
+        /**
+         * @return false if the rate is not positive and finite.
+         */
+        boolean rate(final IsoCurrency currency, final double rate) {
+            if (!(rate > 0.0) || Double.isInfinite(rate)) {
+                return false;
+            }
+            day.put(currency, rate);
+            return true;
+        }
+
+        void endDay() {
+            if (date != null && !day.isEmpty()) {
+                final int count = day.size();
+                final LocalDate current = date;
+                sink.accept(current, day).fold(error -> {
+                    error(new ValidationError(current.toString(), error.getErrorType(), error.getContextArgs(),
+                            error.getActualValue(), error.getErrorId()));
+                    return null;
+                }, accepted -> {
+                    days++;
+                    rates += count;
+                    return null;
+                });
+            }
+            dropDay();
+        }
+
+        /**
+         * Forgets the day being read without passing it to the sink.
+         */
+        void dropDay() {
+            date = null;
+            day = null;
+        }
+
+        void error(final ValidationError error) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+
+        ValidationResult<Summary> result() {
+            sink.complete().fold(error -> {
+                error(new ValidationError("file", error.getErrorType(), error.getContextArgs(),
+                        error.getActualValue(), error.getErrorId()));
+                return null;
+            }, completed -> null);
+            return errors.isEmpty() ? ValidationResult.success(new Summary(days, rates))
+                    : ValidationResult.failure(errors);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package eu.infolead.jtk.currency;
+
+import java.math.RoundingMode;
+
+/**
+ * Rounding of {@code double} amounts of minor units to {@code long} values,
+ * with the semantics of {@link RoundingMode}.
+ */
+final class Rounding {
+    /** Marks a value that cannot be rounded: not finite, out of range, or not exact with UNNECESSARY. */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final double LONG_RANGE = 0x1p63;
+
+    private Rounding() {
+        // Utility class
+    }
+
+    /**
+     * @param value the value.
+     * @param mode  the rounding mode.
+     * @return the rounded value, or {@link #INVALID} if it cannot be rounded to
+     *         a {@code long} greater than {@link Long#MIN_VALUE}.
+     */
+    static long round(final double value, final RoundingMode mode) {
+        final double rounded = switch (mode) {
+            case UP -> value > 0 ? Math.ceil(value) : Math.floor(value);
+            case DOWN -> value > 0 ? Math.floor(value) : Math.ceil(value);
+            case CEILING -> Math.ceil(value);
+            case FLOOR -> Math.floor(value);
+            case HALF_UP -> Math.copySign(half(Math.abs(value), true), value);
+            case HALF_DOWN -> Math.copySign(half(Math.abs(value), false), value);
+            case HALF_EVEN -> Math.rint(value);
+            case UNNECESSARY -> Math.rint(value) == value ? value : Double.NaN;
+        };
+        return rounded > -LONG_RANGE && rounded < LONG_RANGE ? (long) rounded : INVALID;
+    }
+
+    /**
+     * Rounds a non-negative value to the nearest integer. The fraction is
+     * computed exactly, unlike with {@code floor(value + 0.5)}.
+     */
+    private static double half(final double magnitude, final boolean tieUp) {
+        final double floor = Math.floor(magnitude);
+        final double fraction = magnitude - floor;
+        return fraction > 0.5 || tieUp && fraction == 0.5 ? floor + 1 : floor;
+    }
+}
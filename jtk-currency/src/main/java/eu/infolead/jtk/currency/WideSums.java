@@ -0,0 +1,76 @@
+package eu.infolead.jtk.currency;
+
+/**
+ * Sums of {@code long} values kept on 128 bits, as a low and a high
+ * {@code long} per slot: intermediate overflows that later cancel out do not
+ * fail, only the final sums must fit in a {@code long}.
+ *
+ * <p>
+ * Instances are not thread-safe.
+ */
+final class WideSums {
+    private final long[] low;
+    private final long[] high;
+
+    /**
+     * @param size the number of slots, all zero.
+     */
+    WideSums(final int size) {
+        this.low = new long[size];
+        this.high = new long[size];
+    }
+
+    int size() {
+        return low.length;
+    }
+
+    /**
+     * Adds a value to the sum of a slot.
+     */
+    void add(final int slot, final long value) {
+        final long sum = low[slot] + value;
+        // carry of the unsigned addition, plus the sign extension of the value.
+        high[slot] += (Long.compareUnsigned(sum, low[slot]) < 0 ? 1L : 0L) + (value >> 63);
+        low[slot] = sum;
+    }
+
+    /**
+     * Adds the sum of the same slot of other sums to the sum of a slot.
+     */
+    void merge(final int slot, final WideSums other) {
+        final long sum = low[slot] + other.low[slot];
+        high[slot] += other.high[slot] + (Long.compareUnsigned(sum, low[slot]) < 0 ? 1L : 0L);
+        low[slot] = sum;
+    }
+
+    /**
+     * @return whether the sum of the slot fits in a {@code long}.
+     */
+    boolean fits(final int slot) {
+        return high[slot] == low[slot] >> 63;
+    }
+
+    /**
+     * @return the sum of the slot, if it {@link #fits(int) fits} in a
+     *         {@code long}.
+     */
+    long get(final int slot) {
+        return low[slot];
+    }
+
+    /**
+     * @return the sums of all the slots, if they all {@link #fits(int) fit} in
+     *         a {@code long}; the array is not copied.
+     */
+    long[] values() {
+        return low;
+    }
+
+    /**
+     * Resets the sum of a slot to zero.
+     */
+    void clear(final int slot) {
+        low[slot] = 0L;
+        high[slot] = 0L;
+    }
+}
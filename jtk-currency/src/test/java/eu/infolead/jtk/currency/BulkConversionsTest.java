@@ -0,0 +1,108 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.SystemError;
+
+/**
+ * Tests {@link BulkConversions} against conversions and sums of single amounts.
+ */
+class BulkConversionsTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final IsoCurrency EUR = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CURRENCIES.byCode("USD").toOptional().orElseThrow();
+    private static final IsoCurrency JPY = CURRENCIES.byCode("JPY").toOptional().orElseThrow();
+    private static final IsoCurrency BHD = CURRENCIES.byCode("BHD").toOptional().orElseThrow();
+    private static final IsoCurrency GBP = CURRENCIES.byCode("GBP").toOptional().orElseThrow();
+    private static final IsoCurrency[] QUOTED = { EUR, USD, JPY, BHD };
+
+    private final ExchangeRates.Snapshot rates = value(ExchangeRates.create(EUR)
+            .update(Map.of(USD, 1.0843, JPY, 161.37, BHD, 0.4087)));
+
+    @Test
+    void testConversionsMatchSingleAmounts() {
+        final Random random = new Random(5);
+        final int size = BulkConversions.PARALLEL_THRESHOLD * 3 + 17;
+        final long[] amounts = new long[size];
+        final int[] currencies = new int[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = random.nextInt(2_000_000_000) - 1_000_000_000L;
+            currencies[i] = QUOTED[random.nextInt(QUOTED.length)].index();
+        }
+        for (final RoundingMode mode : new RoundingMode[] { RoundingMode.HALF_EVEN, RoundingMode.HALF_UP,
+                RoundingMode.FLOOR }) {
+            final long[] sequential = value(BulkConversions.convert(rates, amounts, currencies, 0, size, USD, mode,
+                    new long[size]));
+            final long[] parallel = value(BulkConversions.convert(rates, amounts, currencies, USD, mode,
+                    ForkJoinPool.commonPool()));
+            assertArrayEquals(sequential, parallel);
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                final Money single = value(rates.convert(new Money(amounts[i], currencies[i]), USD, mode));
+                assertEquals(single.minorUnits(), sequential[i], i + " " + mode);
+                total += single.minorUnits();
+            }
+            assertEquals(Money.ofMinor(total, USD), value(BulkConversions.convertAndSum(rates, amounts, currencies,
+                    USD, mode, ForkJoinPool.commonPool())));
+        }
+
+        final long[] totals = value(BulkConversions.sumByCurrency(amounts, currencies, ForkJoinPool.commonPool()));
+        assertArrayEquals(totals, value(BulkConversions.sumByCurrency(amounts, currencies, 0, size)));
+        for (final IsoCurrency currency : QUOTED) {
+            long expected = 0;
+            for (int i = 0; i < size; i++) {
+                expected += currencies[i] == currency.index() ? amounts[i] : 0;
+            }
+            assertEquals(expected, totals[currency.index()]);
+        }
+    }
+
+    @Test
+    void testManyGroupsSplitIntoFewerTasks() {
+        final int groupCount = 100_000;
+        assertEquals(BulkConversions.PARALLEL_THRESHOLD, BulkConversions.leafSize(1));
+        assertEquals(groupCount * BulkConversions.AMOUNTS_PER_GROUP, BulkConversions.leafSize(groupCount));
+        assertEquals(Integer.MAX_VALUE, BulkConversions.leafSize(Integer.MAX_VALUE));
+
+        final Random random = new Random(5);
+        final int count = 3 * BulkConversions.leafSize(groupCount);
+        final long[] amounts = new long[count];
+        final int[] groups = new int[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = random.nextInt();
+            groups[i] = random.nextInt(groupCount);
+        }
+        assertArrayEquals(value(BulkConversions.sumByGroup(amounts, groups, groupCount, 0, count)),
+                value(BulkConversions.sumByGroup(amounts, groups, groupCount, ForkJoinPool.commonPool())));
+    }
+
+    @Test
+    void testErrors() {
+        final long[] amounts = { 1, 2, 3 };
+        assertTrue(failed(BulkConversions.convert(rates, amounts, new int[] { EUR.index(), GBP.index(),
+                USD.index() }, 0, 3, USD, RoundingMode.HALF_EVEN, new long[3])));
+        assertTrue(failed(BulkConversions.convert(rates, new long[] { Long.MAX_VALUE }, new int[] { EUR.index() },
+                0, 1, JPY, RoundingMode.HALF_EVEN, new long[1])));
+
+        // intermediate overflows cancel out, final ones fail.
+        final int[] groups = { 0, 0, 0, 1 };
+        final long[] values = { Long.MAX_VALUE, Long.MAX_VALUE, -Long.MAX_VALUE, 5 };
+        assertArrayEquals(new long[] { Long.MAX_VALUE, 5 }, value(BulkConversions.sumByGroup(values, groups, 2, 0, 4)));
+        assertTrue(failed(BulkConversions.sumByGroup(values, groups, 2, 0, 2)));
+        assertTrue(failed(BulkConversions.sumByGroup(values, groups, 1, ForkJoinPool.commonPool())));
+        final SystemError outOfRange = BulkConversions.sumByGroup(values, new int[] { 0, 7, 0, 0 }, 2, 0, 4)
+                .fold(error -> error, totals -> null);
+        assertEquals("groups[1]", ((ParameterError) outOfRange).parameterName());
+        assertEquals(7, outOfRange.getActualValue().toOptional().orElseThrow());
+    }
+}
@@ -0,0 +1,82 @@
+package eu.infolead.jtk.currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CurrencyRepository} with the bundled ISO 4217 list.
+ */
+class CurrencyRepositoryTest {
+    private final CurrencyRepository repository = CurrencyRepository.iso4217();
+
+    @Test
+    void testLookups() {
+        assertEquals("2023-01-01", repository.published());
+        final IsoCurrency euro = repository.byCode("EUR").toOptional().orElseThrow();
+        assertEquals(978, euro.numericCode());
+        assertEquals(2, euro.minorUnits());
+        assertEquals("Euro", euro.name());
+        assertTrue(euro.entities().contains("BELGIUM"));
+        assertSame(euro, repository.byNumericCode(978).toOptional().orElseThrow());
+        assertSame(euro, repository.get(repository.indexOf(new StringBuilder("EUR"))));
+
+        assertEquals(0, repository.byCode("JPY").toOptional().orElseThrow().minorUnits());
+        assertFalse(repository.byCode("XAU").toOptional().orElseThrow().hasMinorUnits());
+        assertTrue(repository.byCode("BOV").toOptional().orElseThrow().fund());
+
+        assertTrue(repository.byCode("eur").toOptional().isEmpty());
+        assertTrue(repository.byCode("EURO").toOptional().isEmpty());
+        assertTrue(repository.byCode("ZZZ").toOptional().isEmpty());
+        assertTrue(repository.byNumericCode(1000).toOptional().isEmpty());
+        assertEquals(-1, repository.indexOf("E1R"));
+    }
+
+    @Test
+    void testIndexesAndCodesAgree() {
+        for (int i = 0; i < repository.size(); i++) {
+            final IsoCurrency currency = repository.get(i);
+            assertEquals(i, currency.index());
+            assertEquals(i, repository.indexOf(currency.code()));
+            assertSame(currency, repository.byNumericCode(currency.numericCode()).toOptional().orElseThrow());
+            if (i > 0) {
+                assertTrue(repository.get(i - 1).code().compareTo(currency.code()) < 0);
+            }
+        }
+        // the currencies in use that the JDK also knows have the same numeric codes.
+        for (final String code : new String[] { "USD", "GBP", "CHF", "CNY", "BHD", "CLF" }) {
+            final IsoCurrency currency = repository.byCode(code).toOptional().orElseThrow();
+            final Currency jdk = Currency.getInstance(code);
+            assertEquals(jdk.getNumericCode(), currency.numericCode());
+            assertEquals(jdk.getDefaultFractionDigits(), currency.minorUnits());
+        }
+    }
+
+    @Test
+    void testReadInvalidList() {
+        final String xml = "<ISO_4217><CcyTbl><CcyNtry><CtryNm>X</CtryNm><CcyNm>X</CcyNm><Ccy>XX1</Ccy>"
+                + "<CcyNbr>1</CcyNbr><CcyMnrUnts>2</CcyMnrUnts></CcyNtry></CcyTbl></ISO_4217>";
+        assertTrue(CurrencyRepository.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+                .<Boolean>fold(error -> true, repository -> false));
+        assertTrue(CurrencyRepository.read(new ByteArrayInputStream("<ISO_4217>".getBytes(StandardCharsets.UTF_8)))
+                .<Boolean>fold(error -> true, repository -> false));
+    }
+
+    @Test
+    void testReadEntryWithoutEntity() {
+        final String xml = "<ISO_4217><CcyTbl><CcyNtry><CcyNm>Euro</CcyNm><Ccy>EUR</Ccy><CcyNbr>978</CcyNbr>"
+                + "<CcyMnrUnts>2</CcyMnrUnts></CcyNtry><CcyNtry><CtryNm>FRANCE</CtryNm><CcyNm>Euro</CcyNm>"
+                + "<Ccy>EUR</Ccy><CcyNbr>978</CcyNbr><CcyMnrUnts>2</CcyMnrUnts></CcyNtry></CcyTbl></ISO_4217>";
+        final CurrencyRepository read = CurrencyRepository
+                .read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).fold(error -> null, r -> r);
+
+        assertNotNull(read);
+        assertEquals(1, read.size());
+        assertEquals(List.of("FRANCE"), read.currencies().get(0).entities());
+    }
+}
@@ -0,0 +1,65 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.RoundingMode;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ExchangeRates}.
+ */
+class ExchangeRatesTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final IsoCurrency EUR = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CURRENCIES.byCode("USD").toOptional().orElseThrow();
+    private static final IsoCurrency JPY = CURRENCIES.byCode("JPY").toOptional().orElseThrow();
+    private static final IsoCurrency GBP = CURRENCIES.byCode("GBP").toOptional().orElseThrow();
+
+    @Test
+    void testCrossRatesAndConversion() {
+        final ExchangeRates rates = ExchangeRates.create(EUR);
+        final ExchangeRates.Snapshot snapshot = value(rates.update(Map.of(USD, 1.25, JPY, 160.0)));
+
+        assertEquals(1L, snapshot.version());
+        assertEquals(1.25, snapshot.rate(EUR.index(), USD.index()));
+        assertEquals(128.0, snapshot.rate(USD.index(), JPY.index()), 1e-12);
+        assertEquals(0.8, snapshot.rate(USD, EUR).toOptional().orElseThrow(), 1e-15);
+        assertTrue(Double.isNaN(snapshot.rate(GBP.index(), EUR.index())));
+        assertTrue(snapshot.rate(EUR, GBP).toOptional().isEmpty());
+
+        // 10.00 USD is 1280 JPY, which has no minor units.
+        assertEquals(Money.ofMinor(1280, JPY), value(snapshot.convert(Money.ofMinor(1000, USD), JPY,
+                RoundingMode.HALF_EVEN)));
+        assertEquals(Money.ofMinor(781, USD), value(snapshot.convert(Money.ofMinor(1000, JPY), USD,
+                RoundingMode.HALF_EVEN)));
+        assertTrue(failed(snapshot.convert(Money.ofMinor(1000, GBP), USD, RoundingMode.HALF_EVEN)));
+    }
+
+    @Test
+    void testVersionsAndPinning() {
+        final ExchangeRates rates = ExchangeRates.create(EUR, 2);
+        final ExchangeRates.Snapshot first = value(rates.update(Map.of(USD, 1.25)));
+        value(rates.update(Map.of(GBP, 0.85)));
+        final ExchangeRates.Snapshot third = value(rates.update(Map.of(USD, 1.30)));
+
+        assertSame(third, rates.current());
+        assertEquals(3L, third.version());
+        assertEquals(0.85, third.rate(EUR.index(), GBP.index()));
+        // a pinned snapshot keeps its rates.
+        assertEquals(1.25, first.rate(EUR.index(), USD.index()));
+        assertTrue(failed(rates.snapshot(1L)));
+        assertSame(third, value(rates.snapshot(3L)));
+
+        assertTrue(failed(rates.update(Map.of(USD, -1.0))));
+        assertTrue(failed(rates.update(Map.of(EUR, 2.0))));
+        assertSame(third, rates.current());
+
+        final ExchangeRates.Snapshot replaced = value(rates.replace(Map.of(JPY, 160.0)));
+        assertFalse(replaced.hasRate(USD));
+        assertTrue(replaced.hasRate(EUR));
+    }
+}
@@ -0,0 +1,112 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link HistoricalRates}.
+ */
+class HistoricalRatesTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final IsoCurrency EUR = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CURRENCIES.byCode("USD").toOptional().orElseThrow();
+    private static final IsoCurrency JPY = CURRENCIES.byCode("JPY").toOptional().orElseThrow();
+    private static final IsoCurrency GBP = CURRENCIES.byCode("GBP").toOptional().orElseThrow();
+    private static final LocalDate START = LocalDate.of(1999, 1, 4);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendAndLookupAcrossBlocks() throws Exception {
+        final Path file = directory.resolve("rates.bin");
+        final int days = HistoricalRates.BLOCK_ROWS * 2 + 100;
+        try (HistoricalRates rates = value(HistoricalRates.create(file, EUR, List.of(USD, JPY)))) {
+            for (int i = 0; i < days; i++) {
+                // every other day, without the week-ends.
+                value(rates.append(START.plusDays(2L * i), i % 10 == 0 ? Map.of(USD, 1.0 + i / 10_000.0)
+                        : Map.of(USD, 1.0 + i / 10_000.0, JPY, 100.0 + i)));
+            }
+            assertTrue(failed(rates.append(START, Map.of(USD, 1.0))));
+            assertTrue(failed(rates.append(START.plusDays(2L * days), Map.of(GBP, 1.0))));
+            assertTrue(failed(rates.append(START.plusDays(2L * days), Map.of(USD, 0.0))));
+            assertEquals(days, rates.size());
+        }
+
+        try (HistoricalRates rates = value(HistoricalRates.openReadOnly(file))) {
+            assertEquals(EUR, rates.pivot());
+            assertEquals(List.of(USD, JPY), rates.currencies());
+            assertEquals(START, rates.firstDate().toOptional().orElseThrow());
+            assertEquals(START.plusDays(2L * (days - 1)), rates.lastDate().toOptional().orElseThrow());
+
+            final int i = HistoricalRates.BLOCK_ROWS + 3;
+            final LocalDate date = START.plusDays(2L * i);
+            assertEquals(1.0 + i / 10_000.0, rates.rateAsOf(date, EUR, USD).toOptional().orElseThrow());
+            // the day after is not in the file: the rate is the one of the day before.
+            assertEquals(1.0 + i / 10_000.0, rates.rateAsOf(date.plusDays(1), EUR, USD).toOptional().orElseThrow());
+            assertEquals((100.0 + i) / (1.0 + i / 10_000.0),
+                    rates.rateAsOf(date, USD, JPY).toOptional().orElseThrow(), 1e-9);
+            assertTrue(rates.rateAsOf(START.plusDays(20), EUR, JPY).toOptional().isEmpty());
+            assertTrue(rates.rateAsOf(START.minusDays(1), EUR, USD).toOptional().isEmpty());
+            assertTrue(rates.rateAsOf(date, EUR, GBP).toOptional().isEmpty());
+
+            final List<Long> scanned = new ArrayList<>();
+            value(rates.scan(date.minusDays(1), date.plusDays(4), EUR, USD,
+                    (epochDay, rate) -> scanned.add(epochDay)));
+            assertEquals(List.of(date.toEpochDay(), date.plusDays(2).toEpochDay(), date.plusDays(4).toEpochDay()),
+                    scanned);
+
+            assertTrue(failed(rates.append(LocalDate.of(2100, 1, 1), Map.of(USD, 1.0))));
+        }
+    }
+
+    @Test
+    void testDatesOutsideIntEpochDays() throws Exception {
+        try (HistoricalRates rates = value(HistoricalRates.create(directory.resolve("rates.bin"), EUR,
+                List.of(USD)))) {
+            assertTrue(failed(rates.append(LocalDate.MIN, Map.of(USD, 1.0))));
+            value(rates.append(LocalDate.ofEpochDay(Integer.MIN_VALUE), Map.of(USD, 1.0)));
+            value(rates.append(LocalDate.ofEpochDay(Integer.MAX_VALUE), Map.of(USD, 2.0)));
+            assertTrue(failed(rates.append(LocalDate.ofEpochDay(Integer.MAX_VALUE + 1L), Map.of(USD, 3.0))));
+            assertTrue(failed(rates.append(LocalDate.MAX, Map.of(USD, 3.0))));
+            assertEquals(2, rates.size());
+            assertEquals(LocalDate.ofEpochDay(Integer.MAX_VALUE), rates.lastDate().toOptional().orElseThrow());
+            assertEquals(2.0, rates.rateAsOf(LocalDate.MAX, EUR, USD).toOptional().orElseThrow());
+        }
+    }
+
+    @Test
+    void testUnmappableFileHasNoRates() throws Exception {
+        final Path file = directory.resolve("rates.bin");
+        try (HistoricalRates rates = value(HistoricalRates.create(file, EUR, List.of(USD)))) {
+            value(rates.append(START, Map.of(USD, 1.1)));
+        }
+        final HistoricalRates rates = value(HistoricalRates.openReadOnly(file));
+        rates.close();
+
+        assertEquals(1, rates.size());
+        assertTrue(rates.firstDate().toOptional().isEmpty());
+        assertTrue(rates.rateAsOf(START, EUR, USD).toOptional().isEmpty());
+        assertEquals(-1, rates.rowAsOf(START.toEpochDay()));
+        assertTrue(failed(rates.scan(START, START, EUR, USD, (epochDay, rate) -> fail("no day expected"))));
+    }
+
+    @Test
+    void testOpenErrors() throws Exception {
+        assertTrue(failed(HistoricalRates.openReadOnly(directory.resolve("missing.bin"))));
+        final Path file = directory.resolve("rates.bin");
+        value(HistoricalRates.create(file, EUR, List.of(USD))).close();
+        assertTrue(failed(HistoricalRates.create(file, EUR, List.of(USD))));
+        assertTrue(failed(HistoricalRates.create(directory.resolve("pivot.bin"), EUR, List.of(EUR))));
+    }
+}
@@ -0,0 +1,98 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MoneyAllocator} against the largest remainder method on
+ * {@link BigInteger} values.
+ */
+class MoneyAllocatorTest {
+    private static final IsoCurrency EUR = CurrencyRepository.iso4217().byCode("EUR").toOptional().orElseThrow();
+
+    @Test
+    void testAllocate() {
+        final MoneyAllocator thirds = value(MoneyAllocator.equalParts(3));
+        assertArrayEquals(new Money[] { Money.ofMinor(34, EUR), Money.ofMinor(33, EUR), Money.ofMinor(33, EUR) },
+                thirds.allocate(Money.ofMinor(100, EUR)));
+        assertArrayEquals(new Money[] { Money.ofMinor(-34, EUR), Money.ofMinor(-33, EUR), Money.ofMinor(-33, EUR) },
+                thirds.allocate(Money.ofMinor(-100, EUR)));
+
+        // 70/30 of 0.05: 3.5 and 1.5, the tie goes to the first part.
+        final MoneyAllocator split = value(MoneyAllocator.of(70, 30));
+        assertArrayEquals(new Money[] { Money.ofMinor(4, EUR), Money.ofMinor(1, EUR) },
+                split.allocate(Money.ofMinor(5, EUR)));
+        // 5/6 and 25/6: the first part has the largest fraction, the empty one gets nothing.
+        assertArrayEquals(new Money[] { Money.ofMinor(1, EUR), Money.ofMinor(0, EUR), Money.ofMinor(4, EUR) },
+                value(MoneyAllocator.of(1, 0, 5)).allocate(Money.ofMinor(5, EUR)));
+
+        assertTrue(failed(MoneyAllocator.of()));
+        assertTrue(failed(MoneyAllocator.of(0, 0)));
+        assertTrue(failed(MoneyAllocator.of(1, -1)));
+        assertTrue(failed(MoneyAllocator.of(Long.MAX_VALUE, 1)));
+        assertTrue(failed(MoneyAllocator.equalParts(0)));
+    }
+
+    @Test
+    void testBatchMatchesBigInteger() {
+        final Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            final long[] weights = new long[1 + random.nextInt(20)];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = round % 2 == 0 ? random.nextInt(1000) : random.nextLong() >>> 8;
+            }
+            weights[0]++;
+            final MoneyAllocator allocator = value(MoneyAllocator.of(weights));
+            final long[] amounts = { random.nextLong(), random.nextInt(), random.nextInt(100), Long.MIN_VALUE,
+                    Long.MAX_VALUE, 0L };
+            final long[] parts = new long[amounts.length * weights.length];
+            allocator.allocate(amounts, 0, amounts.length, parts);
+            for (int a = 0; a < amounts.length; a++) {
+                final long[] expected = largestRemainder(amounts[a], weights);
+                BigInteger sum = BigInteger.ZERO;
+                for (int i = 0; i < weights.length; i++) {
+                    assertEquals(expected[i], parts[a * weights.length + i]);
+                    sum = sum.add(BigInteger.valueOf(parts[a * weights.length + i]));
+                }
+                assertEquals(BigInteger.valueOf(amounts[a]), sum);
+            }
+        }
+    }
+
+    private static long[] largestRemainder(final long amount, final long[] weights) {
+        final BigInteger magnitude = BigInteger.valueOf(amount).abs();
+        BigInteger total = BigInteger.ZERO;
+        for (final long weight : weights) {
+            total = total.add(BigInteger.valueOf(weight));
+        }
+        final long[] parts = new long[weights.length];
+        final BigInteger[] remainders = new BigInteger[weights.length];
+        BigInteger left = magnitude;
+        for (int i = 0; i < weights.length; i++) {
+            final BigInteger[] division = magnitude.multiply(BigInteger.valueOf(weights[i])).divideAndRemainder(total);
+            parts[i] = division[0].longValue();
+            remainders[i] = division[1];
+            left = left.subtract(division[0]);
+        }
+        for (int k = 0; k < left.intValue(); k++) {
+            int best = -1;
+            for (int i = 0; i < weights.length; i++) {
+                if (remainders[i] != null && (best < 0 || remainders[i].compareTo(remainders[best]) > 0)) {
+                    best = i;
+                }
+            }
+            parts[best]++;
+            remainders[best] = null;
+        }
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = amount < 0 ? -parts[i] : parts[i];
+        }
+        return parts;
+    }
+}
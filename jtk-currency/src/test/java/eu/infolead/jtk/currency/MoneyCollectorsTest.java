@@ -0,0 +1,65 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MoneyCollectors} and {@link CurrencySums}.
+ */
+class MoneyCollectorsTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final IsoCurrency EUR = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CURRENCIES.byCode("USD").toOptional().orElseThrow();
+    private static final IsoCurrency ZWL = CURRENCIES.byCode("ZWL").toOptional().orElseThrow();
+    private static final IsoCurrency[] USED = { EUR, USD, ZWL };
+
+    @Test
+    void testSumsMatchSequentialSums() {
+        final Random random = new Random(7);
+        final List<Money> amounts = new ArrayList<>();
+        final long[] expected = new long[CURRENCIES.size()];
+        for (int i = 0; i < MoneyCollectors.PARALLEL_THRESHOLD * 5 + 3; i++) {
+            final Money amount = Money.ofMinor(random.nextInt(), USED[random.nextInt(USED.length)]);
+            amounts.add(amount);
+            expected[amount.currencyIndex()] += amount.minorUnits();
+        }
+        final Map<IsoCurrency, Money> sequential = value(amounts.stream().collect(MoneyCollectors.sumByCurrency()));
+        assertEquals(List.of(EUR, USD, ZWL), List.copyOf(sequential.keySet()));
+        for (final IsoCurrency currency : USED) {
+            assertEquals(Money.ofMinor(expected[currency.index()], currency), sequential.get(currency));
+        }
+        assertEquals(sequential, value(amounts.parallelStream().collect(MoneyCollectors.sumByCurrency())));
+        assertEquals(sequential, value(amounts.parallelStream()
+                .collect(MoneyCollectors.summingByCurrency(amount -> amount))));
+        assertEquals(sequential, value(MoneyCollectors.sumByCurrency(amounts, ForkJoinPool.commonPool())));
+        assertEquals(sequential.get(EUR), value(amounts.parallelStream().filter(amount -> amount.currencyIndex()
+                == EUR.index()).collect(MoneyCollectors.sum(EUR))));
+        assertTrue(value(Stream.<Money>empty().collect(MoneyCollectors.sumByCurrency())).isEmpty());
+    }
+
+    @Test
+    void testOverflow() {
+        final Money max = Money.ofMinor(Long.MAX_VALUE, EUR);
+        // intermediate overflows cancel out, final ones fail.
+        assertEquals(max, value(Stream.of(max, max, Money.ofMinor(-Long.MAX_VALUE, EUR), Money.zero(USD))
+                .parallel().collect(MoneyCollectors.sumByCurrency())).get(EUR));
+        assertTrue(failed(Stream.of(max, Money.ofMinor(1, EUR)).collect(MoneyCollectors.sumByCurrency())));
+        assertTrue(failed(Stream.of(max, max).collect(MoneyCollectors.sum(EUR))));
+        assertTrue(failed(Stream.of(Money.zero(USD)).collect(MoneyCollectors.sum(EUR))));
+
+        final CurrencySums sums = new CurrencySums().add(max).add(max);
+        assertTrue(failed(sums.result()));
+        sums.reset();
+        assertTrue(value(sums.add(Money.zero(USD)).result()).containsKey(USD));
+    }
+}
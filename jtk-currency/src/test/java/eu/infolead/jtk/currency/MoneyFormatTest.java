@@ -0,0 +1,94 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MoneyFormat} against {@link NumberFormat#getCurrencyInstance(Locale)}.
+ */
+class MoneyFormatTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final Locale[] LOCALES = { Locale.US, Locale.FRANCE, Locale.GERMANY, Locale.JAPAN,
+            Locale.forLanguageTag("de-CH"), Locale.forLanguageTag("nl-BE"), Locale.forLanguageTag("ar-EG"),
+            Locale.forLanguageTag("hi-IN") };
+    private static final String[] CODES = { "EUR", "USD", "JPY", "BHD", "CHF", "CLF" };
+
+    @Test
+    void testFormatMatchesNumberFormat() {
+        final Random random = new Random(11);
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        for (final Locale locale : LOCALES) {
+            final MoneyFormat format = MoneyFormat.of(locale);
+            assertSame(format, MoneyFormat.of(locale));
+            for (final String code : CODES) {
+                final IsoCurrency currency = CURRENCIES.byCode(code).toOptional().orElseThrow();
+                final NumberFormat expected = numberFormat(locale, currency);
+                for (final long minorUnits : new long[] { 0L, 5L, -5L, 123_456_789L, -1_000_000L, Long.MAX_VALUE,
+                        Long.MIN_VALUE, random.nextLong(), random.nextInt() }) {
+                    final Money money = Money.ofMinor(minorUnits, currency);
+                    final String text = format.format(money);
+                    assertEquals(expected.format(money.toBigDecimal()), text, locale + " " + code);
+                    assertEquals(money, value(format.parse(text, currency)), text);
+                    buffer.clear();
+                    format.format(money, buffer).flip();
+                    assertEquals(text, StandardCharsets.UTF_8.decode(buffer).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParse() {
+        final IsoCurrency eur = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+        final IsoCurrency jpy = CURRENCIES.byCode("JPY").toOptional().orElseThrow();
+        final MoneyFormat us = MoneyFormat.of(Locale.US);
+        final MoneyFormat france = MoneyFormat.of(Locale.FRANCE);
+
+        assertEquals(Money.ofMinor(123_450, eur), value(us.parse("€1234.5", eur)));
+        assertEquals(Money.ofMinor(-100, eur), value(us.parse("-€1", eur)));
+        assertEquals(Money.ofMinor(123_456, eur), value(france.parse("1 234,56 €", eur)));
+        assertEquals(Money.ofMinor(1_000, jpy), value(us.parse("¥1,000", jpy)));
+
+        assertTrue(failed(us.parse("€1.234", eur)));
+        assertTrue(failed(us.parse("¥1.5", jpy)));
+        assertTrue(failed(us.parse("$1.00", eur)));
+        assertTrue(failed(us.parse("€", eur)));
+        assertTrue(failed(us.parse("€,1", eur)));
+        assertTrue(failed(us.parse("€1x", eur)));
+        assertTrue(failed(us.parse("€92,233,720,368,547,758.08", eur)));
+        assertEquals(Money.ofMinor(Long.MIN_VALUE, eur), value(us.parse("-€92,233,720,368,547,758.08", eur)));
+    }
+
+    @Test
+    void testLeastRecentlyUsedLocalesAreEvicted() {
+        final MoneyFormat evicted = MoneyFormat.of(Locale.forLanguageTag("en-x-evicted"));
+        final MoneyFormat kept = MoneyFormat.of(Locale.forLanguageTag("en-x-kept"));
+        for (int i = 0; i < MoneyFormat.MAX_CACHED_LOCALES; i++) {
+            MoneyFormat.of(Locale.forLanguageTag("en-x-l" + i));
+            assertSame(kept, MoneyFormat.of(Locale.forLanguageTag("en-x-kept")));
+        }
+        assertNotSame(evicted, MoneyFormat.of(Locale.forLanguageTag("en-x-evicted")));
+    }
+
+    private static NumberFormat numberFormat(final Locale locale, final IsoCurrency currency) {
+        final NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+        format.setCurrency(Currency.getInstance(currency.code()));
+        final int scale = Math.max(0, currency.minorUnits());
+        format.setMinimumFractionDigits(scale);
+        format.setMaximumFractionDigits(scale);
+        ((DecimalFormat) format).setParseBigDecimal(true);
+        return format;
+    }
+}
@@ -0,0 +1,92 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Money} and {@link MoneyAccumulator} against {@link BigDecimal}.
+ */
+class MoneyTest {
+    private static final IsoCurrency EUR = CurrencyRepository.iso4217().byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CurrencyRepository.iso4217().byCode("USD").toOptional().orElseThrow();
+
+    @Test
+    void testAdditionAndMismatch() {
+        final Money a = Money.ofMinor(1234, EUR);
+        assertEquals(Money.ofMinor(2468, EUR), value(a.add(a)));
+        assertEquals(Money.ofMinor(0, EUR), value(a.subtract(a)));
+        assertEquals("EUR 12.34", a.toString());
+        assertTrue(failed(a.add(Money.ofMinor(1, USD))));
+        assertTrue(failed(Money.ofMinor(Long.MAX_VALUE, EUR).add(Money.ofMinor(1, EUR))));
+        assertTrue(failed(Money.ofMinor(Long.MIN_VALUE, EUR).subtract(Money.ofMinor(1, EUR))));
+        assertTrue(failed(Money.ofMinor(Long.MIN_VALUE, EUR).negate()));
+        assertTrue(failed(Money.ofMinor(Long.MAX_VALUE / 2 + 1, EUR).multiply(2)));
+        assertEquals(-1, Money.ofMinor(1, EUR).compareTo(Money.ofMinor(2, EUR)).<Integer>fold(e -> 99, c -> c));
+        assertTrue(failed(Money.ofMinor(1, EUR).compareTo(Money.ofMinor(1, USD))));
+        assertTrue(failed(Money.ofMinor(1, "ABC")));
+        assertEquals(Money.ofMinor(1235, EUR), value(Money.of(new BigDecimal("12.345"), EUR, RoundingMode.HALF_UP)));
+        assertTrue(failed(Money.of(new BigDecimal("12.345"), EUR, RoundingMode.UNNECESSARY)));
+    }
+
+    @Test
+    void testScaledMultiplicationMatchesBigDecimal() {
+        final Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            final long amount = i % 3 == 0 ? random.nextLong() : random.nextInt();
+            final long numerator = i % 5 == 0 ? random.nextLong() : random.nextInt(2_000_001) - 1_000_000;
+            long denominator = i % 7 == 0 ? random.nextLong() : random.nextInt(20_001) - 10_000;
+            if (denominator == 0) {
+                denominator = 3;
+            }
+            for (final RoundingMode mode : RoundingMode.values()) {
+                final Money money = Money.ofMinor(amount, EUR);
+                final var result = money.multiply(numerator, denominator, mode);
+                final BigDecimal product = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(numerator));
+                final BigInteger expected;
+                try {
+                    expected = product.divide(BigDecimal.valueOf(denominator), 0, mode).toBigIntegerExact();
+                } catch (ArithmeticException e) {
+                    assertTrue(failed(result), "UNNECESSARY " + amount + " " + numerator + " " + denominator);
+                    continue;
+                }
+                if (expected.bitLength() > 63) {
+                    assertTrue(failed(result), amount + " * " + numerator + " / " + denominator);
+                } else {
+                    assertEquals(expected.longValue(), value(result).minorUnits(),
+                            mode + " " + amount + " * " + numerator + " / " + denominator);
+                }
+            }
+        }
+        assertTrue(failed(Money.ofMinor(1, EUR).divide(0, RoundingMode.HALF_EVEN)));
+        assertEquals(Long.MIN_VALUE, value(Money.ofMinor(Long.MIN_VALUE, EUR).divide(1, RoundingMode.DOWN))
+                .minorUnits());
+    }
+
+    @Test
+    void testAccumulator() {
+        final MoneyAccumulator accumulator = new MoneyAccumulator(EUR);
+        accumulator.addMinorUnits(Long.MAX_VALUE).addMinorUnits(Long.MAX_VALUE).addMinorUnits(-Long.MAX_VALUE);
+        assertEquals(Money.ofMinor(Long.MAX_VALUE, EUR), value(accumulator.result()));
+        accumulator.addMinorUnits(1);
+        assertTrue(failed(accumulator.result()));
+
+        accumulator.reset();
+        final MoneyAccumulator other = new MoneyAccumulator(EUR);
+        for (int i = 1; i <= 100; i++) {
+            accumulator.add(Money.ofMinor(-i, EUR));
+            other.add(Money.ofMinor(i * 2L, EUR));
+        }
+        assertEquals(Money.ofMinor(5050, EUR), value(accumulator.merge(other).result()));
+        accumulator.add(Money.ofMinor(1, USD));
+        assertTrue(accumulator.hasFailed());
+        assertTrue(failed(accumulator.result()));
+    }
+}
@@ -0,0 +1,156 @@
+package eu.infolead.jtk.currency;
+
+import static eu.infolead.jtk.currency.Results.failed;
+import static eu.infolead.jtk.currency.Results.value;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.infolead.jtk.fp.either.Result;
+import eu.infolead.jtk.fp.validation.ValidationError;
+import eu.infolead.jtk.fp.validation.ValidationResult;
+
+/**
+ * Tests {@link RateFileLoader} on the sample files, which have invalid values.
+ */
+class RateFileLoaderTest {
+    private static final CurrencyRepository CURRENCIES = CurrencyRepository.iso4217();
+    private static final IsoCurrency EUR = CURRENCIES.byCode("EUR").toOptional().orElseThrow();
+    private static final IsoCurrency USD = CURRENCIES.byCode("USD").toOptional().orElseThrow();
+    private static final IsoCurrency JPY = CURRENCIES.byCode("JPY").toOptional().orElseThrow();
+    private static final IsoCurrency CHF = CURRENCIES.byCode("CHF").toOptional().orElseThrow();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testXmlIntoExchangeRates() throws Exception {
+        final ExchangeRates rates = ExchangeRates.create(EUR);
+        final ValidationResult<RateFileLoader.Summary> result;
+        try (InputStream in = sample("eurofxref-hist-sample.xml")) {
+            result = RateFileLoader.ecb().loadXml(in, value(RateFileLoader.ecb().latestInto(rates)));
+        }
+        // the unknown currency, the missing and the negative rate.
+        assertEquals(List.of("line[18].currency", "line[23].rate", "line[25].rate"), paths(result));
+        assertEquals(1.0921, rates.current().rate(EUR, USD).toOptional().orElseThrow());
+        assertEquals(158.83, rates.current().rate(EUR, JPY).toOptional().orElseThrow());
+        assertEquals(1, rates.current().version());
+
+        assertTrue(failed(RateFileLoader.ecb().latestInto(ExchangeRates.create(USD))));
+    }
+
+    @Test
+    void testLatestIsPublishedOnceAtTheEnd() throws Exception {
+        final ExchangeRates rates = ExchangeRates.create(EUR);
+        final RateFileLoader.DaySink sink = value(RateFileLoader.ecb().latestInto(rates));
+        try (InputStream in = sample("eurofxref-hist-sample.csv")) {
+            RateFileLoader.ecb().loadCsv(in, sink);
+        }
+        // the days are in increasing order, but only the last one is published.
+        assertEquals(1, rates.current().version());
+        assertEquals(1.0921, rates.current().rate(EUR, USD).toOptional().orElseThrow());
+
+        // an older file does not replace the published day.
+        try (InputStream in = sample("eurofxref-hist-sample.csv")) {
+            RateFileLoader.ecb().loadCsv(in, sink);
+        }
+        assertEquals(1, rates.current().version());
+    }
+
+    @Test
+    void testCsvIntoHistoricalRates() throws Exception {
+        final List<LocalDate> days = new ArrayList<>();
+        final ValidationResult<RateFileLoader.Summary> result;
+        try (InputStream in = sample("eurofxref-hist-sample.csv")) {
+            result = RateFileLoader.ecb().loadCsv(in, (date, rates) -> {
+                days.add(date);
+                return Result.success();
+            });
+        }
+        // the unknown currency, the invalid rate and the invalid date.
+        assertEquals(List.of("line[1][4]", "line[4][5]", "line[5][0]"), paths(result));
+        assertEquals(List.of(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4),
+                LocalDate.of(2024, 1, 5)), days);
+
+        try (HistoricalRates history = value(HistoricalRates.create(directory.resolve("rates.bin"), EUR,
+                List.of(USD, CHF)))) {
+            try (InputStream in = sample("eurofxref-hist-sample.csv")) {
+                RateFileLoader.ecb().loadCsv(in, value(RateFileLoader.ecb().into(history)));
+            }
+            assertEquals(4, history.size());
+            assertEquals(1.0919, history.rateAsOf(LocalDate.of(2024, 1, 3), EUR, USD).toOptional().orElseThrow());
+            // the rate of the 4th is invalid and was not appended.
+            assertTrue(history.rateAsOf(LocalDate.of(2024, 1, 4), EUR, CHF).toOptional().isEmpty());
+            assertEquals(0.9316, history.rateAsOf(LocalDate.of(2024, 1, 5), EUR, CHF).toOptional().orElseThrow());
+
+            // the days of the XML file are in decreasing order and cannot be appended.
+            final ValidationResult<RateFileLoader.Summary> xml;
+            try (InputStream in = sample("eurofxref-hist-sample.xml")) {
+                xml = RateFileLoader.of(EUR, 2).loadXml(in, value(RateFileLoader.ecb().into(history)));
+            }
+            assertEquals(2, xml.getErrors().size());
+            assertEquals(4, history.size());
+        }
+    }
+
+    @Test
+    void testCleanCsv() {
+        final Map<LocalDate, Map<IsoCurrency, Double>> days = new TreeMap<>();
+        final String csv = "Date,USD,JPY\n2024-01-02,1.0956,155.67\n\n2024-01-03,1.09190000000000001,N/A";
+        final ValidationResult<RateFileLoader.Summary> result = RateFileLoader.ecb().loadCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)), (date, rates) -> {
+                    days.put(date, rates);
+                    return Result.success();
+                });
+        assertEquals(new RateFileLoader.Summary(2, 3), result.getValue().toOptional().orElseThrow());
+        assertEquals(Map.of(USD, 1.0956, JPY, 155.67), days.get(LocalDate.of(2024, 1, 2)));
+        assertEquals(Map.of(USD, 1.0919), days.get(LocalDate.of(2024, 1, 3)));
+    }
+
+    @Test
+    void testNonDigitDatesAreRejected() {
+        final List<LocalDate> days = new ArrayList<>();
+        final String csv = "Date,USD\n20x4-01-02,1.0956\n2024-0a-02,1.0956\n2024-01-03,1.0919";
+        final ValidationResult<RateFileLoader.Summary> result = RateFileLoader.ecb().loadCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.US_ASCII)), (date, rates) -> {
+                    days.add(date);
+                    return Result.success();
+                });
+        assertEquals(List.of("line[2][0]", "line[3][0]"), paths(result));
+        assertEquals(List.of(LocalDate.of(2024, 1, 3)), days);
+    }
+
+    @Test
+    void testTruncatedXmlDropsItsLastDay() {
+        final List<LocalDate> days = new ArrayList<>();
+        final String xml = "<Envelope><Cube><Cube time=\"2024-01-03\"><Cube currency=\"USD\" rate=\"1.0919\"/>"
+                + "</Cube><Cube time=\"2024-01-02\"><Cube currency=\"USD\" rate=\"1.0956\"/><Cube curr";
+        final ValidationResult<RateFileLoader.Summary> result = RateFileLoader.ecb().loadXml(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.US_ASCII)), (date, rates) -> {
+                    days.add(date);
+                    return Result.success();
+                });
+        assertEquals(1, result.getErrors().size());
+        assertEquals(List.of(LocalDate.of(2024, 1, 3)), days);
+    }
+
+    private static InputStream sample(final String name) {
+        return RateFileLoaderTest.class.getResourceAsStream("/" + name);
+    }
+
+    private static List<String> paths(final ValidationResult<?> result) {
+        assertFalse(result.isSuccess().toBoolean());
+        return result.getErrors().stream().map(ValidationError::fieldPath).toList();
+    }
+}
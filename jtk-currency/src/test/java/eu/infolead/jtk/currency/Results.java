@@ -0,0 +1,29 @@
+package eu.infolead.jtk.currency;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import eu.infolead.jtk.fp.either.Result;
+
+/**
+ * Assertions on the {@link Result} values returned by this module, shared by
+ * its tests.
+ */
+final class Results {
+    private Results() {
+    }
+
+    /**
+     * @return whether the result is a failure.
+     */
+    static <F> boolean failed(final Result<F, ?> result) {
+        return result.<Boolean>fold(error -> true, value -> false);
+    }
+
+    /**
+     * @return the value of the result, failing the test with the error if it is a
+     *         failure.
+     */
+    static <F, S> S value(final Result<F, S> result) {
+        return result.fold(error -> fail(String.valueOf(error)), value -> value);
+    }
+}
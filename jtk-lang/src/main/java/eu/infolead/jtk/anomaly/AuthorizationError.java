@@ -29,7 +29,7 @@ public record AuthorizationError(
     }
 
     @Override public ErrorType getErrorType() { return errorType; }
-    @Override public String getMessage() { return String.format("Authorization: %s", errorType.formatMessage(contextArgs)); }
+    @Override public String getMessage() { return "Authorization: " + errorType.formatMessage(contextArgs); }
     @Override public Maybe<String> getErrorId() { return errorId; }
     @Override public Object[] getContextArgs() { return contextArgs.clone(); }
     @Override public Maybe<Object> getActualValue() { return actualValue; }
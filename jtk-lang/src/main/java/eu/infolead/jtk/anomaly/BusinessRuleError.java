@@ -33,7 +33,7 @@ public record BusinessRuleError(
 
     @Override
     public String getMessage() {
-        return String.format("Business rule '%s': %s", rule, errorType.formatMessage(contextArgs));
+        return "Business rule '" + rule + "': " + errorType.formatMessage(contextArgs);
     }
 
     @Override
@@ -0,0 +1,16 @@
+package eu.infolead.jtk.anomaly;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder of the {@link ErrorIdGenerator} in use, initialized on first use.
+ */
+final class CurrentErrorIdGenerator {
+
+    static final AtomicReference<ErrorIdGenerator> GENERATOR =
+        new AtomicReference<>(SnowflakeErrorIdGenerator.fromSystemProperty());
+
+    private CurrentErrorIdGenerator() {
+        // Utility class
+    }
+}
@@ -0,0 +1,45 @@
+package eu.infolead.jtk.anomaly;
+
+import java.util.Objects;
+
+/**
+ * Generates the instance identifiers of error IDs, see {@link ErrorType#generateErrorId()}.
+ *
+ * <p>The generator in use is process-wide and can be replaced with
+ * {@link #setCurrent(ErrorIdGenerator)}. The default one is a
+ * {@link SnowflakeErrorIdGenerator} whose node id is read from the
+ * {@value SnowflakeErrorIdGenerator#NODE_PROPERTY} system property.</p>
+ *
+ * <p>Implementations must be thread-safe and should be cheap enough to be called
+ * for every error.</p>
+ */
+@FunctionalInterface
+public interface ErrorIdGenerator {
+
+    /**
+     * Returns a new identifier, different from those returned before.
+     *
+     * @return the identifier
+     */
+    long nextId();
+
+    /**
+     * Returns the generator in use.
+     *
+     * @return the current generator
+     */
+    static ErrorIdGenerator current() {
+        return CurrentErrorIdGenerator.GENERATOR.get();
+    }
+
+    /**
+     * Replaces the generator in use.
+     *
+     * @param generator the new generator
+     * @return the previous generator
+     */
+    static ErrorIdGenerator setCurrent(ErrorIdGenerator generator) {
+        Objects.requireNonNull(generator, "generator cannot be null");
+        return CurrentErrorIdGenerator.GENERATOR.getAndSet(generator);
+    }
+}
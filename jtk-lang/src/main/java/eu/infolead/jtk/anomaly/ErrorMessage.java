@@ -0,0 +1,53 @@
+package eu.infolead.jtk.anomaly;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The error of a {@link SystemErrorException} and its message, shared by the
+ * implementations of that interface.
+ *
+ * <p>The message is the {@link SystemError#format() formatted error}, built when first
+ * read. The error itself is not serialized, but the message is: it is built before
+ * the exception is written, so that a deserialized exception keeps its message.</p>
+ */
+final class ErrorMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final transient SystemError error;
+    private String message;
+
+    ErrorMessage(SystemError error) {
+        this.error = Objects.requireNonNull(error, "error cannot be null");
+    }
+
+    /**
+     * Returns the error, or null if the exception was deserialized.
+     *
+     * @return the error
+     */
+    SystemError error() {
+        return error;
+    }
+
+    /**
+     * Returns the formatted error.
+     *
+     * @return the message
+     */
+    String message() {
+        String result = message;
+        if (result == null && error != null) {
+            result = error.format();
+            message = result;
+        }
+        return result;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        message();
+        out.defaultWriteObject();
+    }
+}
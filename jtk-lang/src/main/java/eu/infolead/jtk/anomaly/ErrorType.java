@@ -110,20 +110,15 @@ public interface ErrorType {
 
     /**
      * Formats the error message with the provided arguments.
-     * Default implementation returns the message template as-is.
+     * Default implementation returns the message template as-is if there are no
+     * arguments or if they do not match its placeholders. The template of an enum
+     * constant is parsed once, see {@link MessageTemplate}.
      * 
      * @param args arguments to substitute in the message template
      * @return the formatted error message
      */
     default String formatMessage(Object... args) {
-        if (args.length == 0) {
-            return getMessageTemplate();
-        }
-        try {
-            return String.format(getMessageTemplate(), args);
-        } catch (Exception e) {
-            return getMessageTemplate();
-        }
+        return MessageTemplate.of(this).format(args);
     }
 
     /**
@@ -183,13 +178,13 @@ public interface ErrorType {
     }
 
     /**
-     * Generates a unique error ID with a timestamp-based instance identifier.
-     * Uses current system time in milliseconds as the instance ID.
+     * Generates a unique error ID with an instance identifier from the current
+     * {@link ErrorIdGenerator}, unique and roughly time-ordered by default.
      * 
-     * @return the formatted error ID with timestamp instance
+     * @return the formatted error ID with a generated instance identifier
      */
     default String generateErrorId() {
-        return generateErrorId(System.currentTimeMillis());
+        return generateErrorId(ErrorIdGenerator.current().nextId());
     }
 
     /**
@@ -29,7 +29,7 @@ public record InvariantError(
     }
 
     @Override public ErrorType getErrorType() { return errorType; }
-    @Override public String getMessage() { return String.format("Invariant '%s': %s", invariant, errorType.formatMessage(contextArgs)); }
+    @Override public String getMessage() { return "Invariant '" + invariant + "': " + errorType.formatMessage(contextArgs); }
     @Override public Maybe<String> getErrorId() { return errorId; }
     @Override public Object[] getContextArgs() { return contextArgs.clone(); }
     @Override public Maybe<Object> getActualValue() { return actualValue; }
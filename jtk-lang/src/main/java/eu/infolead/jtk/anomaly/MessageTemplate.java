@@ -0,0 +1,216 @@
+package eu.infolead.jtk.anomaly;
+
+import java.math.BigInteger;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A message template parsed once into literal text and placeholders, rendered by
+ * appending its parts instead of calling {@link String#format(String, Object...)}.
+ *
+ * <p>Templates of enum error types are parsed on first use and cached per constant.
+ * The rendered text is the same as {@link String#format(String, Object...)}: the
+ * {@code %s} and {@code %d} placeholders, {@code %%} and {@code %n} are rendered
+ * directly, while any other specifier, a {@link Formattable} argument or a default
+ * locale with non-ASCII digits falls back to {@link String#format(String, Object...)}.
+ * As before, a template that cannot be formatted with the given arguments is
+ * returned as-is.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class MessageTemplate {
+
+    /** Templates of the enum error types, indexed by ordinal. */
+    private static final ClassValue<AtomicReferenceArray<MessageTemplate>> BY_ENUM = new ClassValue<>() {
+        @Override
+        protected AtomicReferenceArray<MessageTemplate> computeValue(Class<?> type) {
+            return new AtomicReferenceArray<>(type.getEnumConstants().length);
+        }
+    };
+
+    /** Whether the digits of the last default locale seen are ASCII. */
+    private static volatile LocaleDigits localeDigits;
+
+    private final String template;
+    /** Text around the placeholders, or null if the template needs {@link String#format}. */
+    private final String[] literals;
+    /** Conversion of each placeholder, {@code 's'} or {@code 'd'}. */
+    private final char[] conversions;
+
+    private MessageTemplate(String template, String[] literals, char[] conversions) {
+        this.template = template;
+        this.literals = literals;
+        this.conversions = conversions;
+    }
+
+    /**
+     * Returns the parsed message template of an error type, cached if the error type
+     * is an enum constant.
+     *
+     * @param errorType the error type
+     * @return the parsed message template
+     */
+    public static MessageTemplate of(ErrorType errorType) {
+        if (errorType instanceof Enum<?> constant) {
+            AtomicReferenceArray<MessageTemplate> templates = BY_ENUM.get(constant.getDeclaringClass());
+            MessageTemplate template = templates.get(constant.ordinal());
+            if (template == null) {
+                template = compile(errorType.getMessageTemplate());
+                templates.lazySet(constant.ordinal(), template);
+            }
+            return template;
+        }
+        return compile(errorType.getMessageTemplate());
+    }
+
+    /**
+     * Parses a message template.
+     *
+     * @param template the template, in the syntax of {@link java.util.Formatter}
+     * @return the parsed message template
+     */
+    public static MessageTemplate compile(String template) {
+        if (template == null) {
+            return new MessageTemplate(null, null, null);
+        }
+        List<String> literals = new ArrayList<>();
+        StringBuilder conversions = new StringBuilder();
+        StringBuilder literal = new StringBuilder(template.length());
+        int length = template.length();
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            char conversion = ++i < length ? template.charAt(i) : 0;
+            switch (conversion) {
+                case 's', 'd' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    conversions.append(conversion);
+                }
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                default -> {
+                    return new MessageTemplate(template, null, null);
+                }
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(template, literals.toArray(new String[0]), conversions.toString().toCharArray());
+    }
+
+    /**
+     * Returns the raw template.
+     *
+     * @return the template
+     */
+    public String template() {
+        return template;
+    }
+
+    /**
+     * Formats the template with the provided arguments.
+     *
+     * @param args arguments to substitute in the template
+     * @return the formatted message, or the template if it has no arguments, is null
+     *         or cannot be formatted with them
+     */
+    public String format(Object... args) {
+        if (args.length == 0 || template == null) {
+            return template;
+        }
+        return appendTo(new StringBuilder(template.length() + 16 * args.length), args).toString();
+    }
+
+    /**
+     * Appends the template formatted with the provided arguments.
+     *
+     * @param out the builder to append to
+     * @param args arguments to substitute in the template
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder out, Object... args) {
+        if (args.length == 0) {
+            return out.append(template);
+        }
+        if (!renderable(args)) {
+            return out.append(formatWithFormatter(args));
+        }
+        int start = out.length();
+        try {
+            for (int i = 0; i < conversions.length; i++) {
+                out.append(literals[i]).append(args[i]);
+            }
+            return out.append(literals[conversions.length]);
+        } catch (RuntimeException e) {
+            out.setLength(start);
+            return out.append(template);
+        }
+    }
+
+    /**
+     * Appends a value as a {@code %s} placeholder would render it.
+     *
+     * @param out the builder to append to
+     * @param value the value, may be null
+     * @return the builder
+     */
+    public static StringBuilder appendValue(StringBuilder out, Object value) {
+        return value instanceof Formattable ? out.append(String.format("%s", value)) : out.append(value);
+    }
+
+    /**
+     * Checks that the arguments can be rendered without a formatter, as
+     * {@link String#format} would render them.
+     */
+    private boolean renderable(Object[] args) {
+        if (literals == null || args.length < conversions.length) {
+            return false;
+        }
+        boolean integers = false;
+        for (int i = 0; i < conversions.length; i++) {
+            Object arg = args[i];
+            if (conversions[i] == 'd') {
+                integers = true;
+                if (arg != null && !(arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                        || arg instanceof Byte || arg instanceof BigInteger)) {
+                    return false;
+                }
+            } else if (arg instanceof Formattable) {
+                return false;
+            }
+        }
+        return !integers || asciiDigits();
+    }
+
+    private String formatWithFormatter(Object[] args) {
+        try {
+            return String.format(template, args);
+        } catch (Exception e) {
+            return template;
+        }
+    }
+
+    /**
+     * Checks whether the default format locale writes integers with ASCII digits, as
+     * {@link java.util.Formatter} localizes them.
+     */
+    private static boolean asciiDigits() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleDigits digits = localeDigits;
+        if (digits == null || !digits.locale().equals(locale)) {
+            digits = new LocaleDigits(locale, DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0');
+            localeDigits = digits;
+        }
+        return digits.ascii();
+    }
+
+    private record LocaleDigits(Locale locale, boolean ascii) {
+    }
+}
@@ -62,7 +62,7 @@ public record ParameterError(
     @Override
     public String getMessage() {
         String baseMessage = errorType.formatMessage(contextArgs);
-        return String.format("%s: %s", parameterName, baseMessage);
+        return parameterName + ": " + baseMessage;
     }
 
     @Override
@@ -139,6 +139,14 @@ public record ParameterError(
         return new ParameterError(parameterName, ParameterErrorType.EMPTY);
     }
 
+    /**
+     * Creates a parameter error for parameters whose values cannot be used together.
+     */
+    public static ParameterError invalidCombination(String parameterName, Object description) {
+        return new ParameterError(parameterName, ParameterErrorType.INVALID_COMBINATION, 
+                                 new Object[]{description}, Maybe.none(), Maybe.none());
+    }
+
     /**
      * Creates a parameter error for an unsupported value.
      */
@@ -63,7 +63,7 @@ public record PostconditionError(
     @Override
     public String getMessage() {
         String baseMessage = errorType.formatMessage(contextArgs);
-        return String.format("%s: %s", condition, baseMessage);
+        return condition + ": " + baseMessage;
     }
 
     @Override
@@ -63,7 +63,7 @@ public record PreconditionError(
     @Override
     public String getMessage() {
         String baseMessage = errorType.formatMessage(contextArgs);
-        return String.format("%s: %s", condition, baseMessage);
+        return condition + ": " + baseMessage;
     }
 
     @Override
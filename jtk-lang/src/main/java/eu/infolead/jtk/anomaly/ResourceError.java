@@ -25,7 +25,7 @@ public record ResourceError(
     }
 
     @Override public ErrorType getErrorType() { return errorType; }
-    @Override public String getMessage() { return String.format("%s: %s", resourceType, errorType.formatMessage(contextArgs)); }
+    @Override public String getMessage() { return resourceType + ": " + errorType.formatMessage(contextArgs); }
     @Override public Maybe<String> getErrorId() { return errorId; }
     @Override public Object[] getContextArgs() { return contextArgs.clone(); }
     @Override public Maybe<Object> getActualValue() { return actualValue; }
@@ -0,0 +1,34 @@
+package eu.infolead.jtk.anomaly;
+
+/**
+ * Thrown for errors of the {@link ErrorType.ErrorCategory#SECURITY} category.
+ */
+public final class SecurityViolationException extends SecurityException implements SystemErrorException {
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorMessage message;
+
+    /**
+     * Creates the exception of an error.
+     *
+     * @param error the error
+     */
+    public SecurityViolationException(SystemError error) {
+        this.message = new ErrorMessage(error);
+    }
+
+    @Override
+    public SystemError getError() {
+        return message.error();
+    }
+
+    @Override
+    public String getMessage() {
+        return message.message();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return StackTracePolicy.current().captureStackTrace() ? super.fillInStackTrace() : this;
+    }
+}
@@ -0,0 +1,123 @@
+package eu.infolead.jtk.anomaly;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of unique, roughly time-ordered 63-bit identifiers.
+ *
+ * <p>An identifier is made of the milliseconds since {@link #EPOCH} (41 bits,
+ * enough for about 69 years), the node id (10 bits) and a sequence number within
+ * the millisecond (12 bits). Identifiers of a generator strictly increase: when
+ * more than 4096 are requested in a millisecond, or when the clock goes back,
+ * the generator runs on the following milliseconds instead of waiting, and falls
+ * back in step with the clock once it catches up.</p>
+ *
+ * <p>Generators of different JVMs produce different identifiers as long as their
+ * node ids differ. The node id of the default generator is read from the
+ * {@value #NODE_PROPERTY} system property; if it is missing or invalid, a random
+ * node id is used.</p>
+ */
+public final class SnowflakeErrorIdGenerator implements ErrorIdGenerator {
+
+    /** System property holding the node id of the default generator, from 0 to {@value #MAX_NODE_ID}. */
+    public static final String NODE_PROPERTY = "jtk.errorId.node";
+
+    /** Start of the timestamps of the identifiers, 2020-01-01T00:00:00Z, in epoch milliseconds. */
+    public static final long EPOCH = 1_577_836_800_000L;
+
+    /** Largest node id. */
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    /** Timestamp and sequence number of the last identifier, without the node id. */
+    private final AtomicLong last = new AtomicLong();
+
+    SnowflakeErrorIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param nodeId the node id, unique among the JVMs sharing the identifiers
+     * @return a new generator
+     */
+    public static SnowflakeErrorIdGenerator of(int nodeId) {
+        return new SnowflakeErrorIdGenerator(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a generator whose node id is read from the {@value #NODE_PROPERTY}
+     * system property, or chosen at random if the property is missing or invalid.
+     *
+     * @return a new generator
+     */
+    public static SnowflakeErrorIdGenerator fromSystemProperty() {
+        String property = System.getProperty(NODE_PROPERTY);
+        if (property != null) {
+            try {
+                int nodeId = Integer.parseInt(property.trim());
+                if (nodeId >= 0 && nodeId <= MAX_NODE_ID) {
+                    return of(nodeId);
+                }
+            } catch (NumberFormatException e) {
+                // Falls back to a random node id
+            }
+        }
+        return of(new SecureRandom().nextInt(MAX_NODE_ID + 1));
+    }
+
+    @Override
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            next = Math.max(previous + 1, now);
+        } while (!last.compareAndSet(previous, next));
+        return (next >>> SEQUENCE_BITS << (SEQUENCE_BITS + NODE_BITS)) | node | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Returns the node id of the identifiers of this generator.
+     *
+     * @return the node id
+     */
+    public int nodeId() {
+        return (int) (node >>> SEQUENCE_BITS);
+    }
+
+    /**
+     * Returns the node id of an identifier.
+     *
+     * @param id an identifier produced by a generator of this class
+     * @return the node id
+     */
+    public static int nodeIdOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * Returns the time encoded in an identifier, which is the generation time unless
+     * the generator was running ahead of the clock.
+     *
+     * @param id an identifier produced by a generator of this class
+     * @return the time of the identifier
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (SEQUENCE_BITS + NODE_BITS)) + EPOCH);
+    }
+}
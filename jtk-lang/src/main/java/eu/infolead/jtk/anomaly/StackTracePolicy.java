@@ -0,0 +1,177 @@
+package eu.infolead.jtk.anomaly;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether the exceptions created by {@link SystemError#toException()} capture
+ * their stack trace.
+ *
+ * <p>Capturing a stack trace usually costs far more than the rest of the exception.
+ * When contract violations or validation failures are frequent and expected, such as
+ * for untrusted input, stack traces can be skipped, or captured for a sample of the
+ * exceptions only. The exceptions keep their type, message and {@link SystemError}.</p>
+ *
+ * <p>The policy in use is process-wide. It is read from the {@value #PROPERTY} system
+ * property, whose value is {@code full} (the default), {@code none}, {@code sampled}
+ * (one exception in {@value #DEFAULT_SAMPLE_RATE}) or {@code sampled:N} (one exception
+ * in N), and can be replaced with {@link #setCurrent(StackTracePolicy)}. An invalid
+ * value is ignored.</p>
+ */
+public final class StackTracePolicy {
+
+    /** System property holding the initial policy. */
+    public static final String PROPERTY = "jtk.exception.stackTrace";
+
+    /** Sample rate of the {@code sampled} property value. */
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    private static final StackTracePolicy FULL = new StackTracePolicy(Mode.FULL, 1);
+    private static final StackTracePolicy NONE = new StackTracePolicy(Mode.NONE, 0);
+
+    private static volatile StackTracePolicy current = fromSystemProperty();
+
+    /**
+     * Stack trace capture modes.
+     */
+    public enum Mode {
+        /** Every exception captures its stack trace. */
+        FULL,
+
+        /** No exception captures its stack trace. */
+        NONE,
+
+        /** A random sample of the exceptions capture their stack trace. */
+        SAMPLED
+    }
+
+    private final Mode mode;
+    private final int sampleRate;
+
+    private StackTracePolicy(Mode mode, int sampleRate) {
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Returns the policy capturing all stack traces.
+     *
+     * @return the full policy
+     */
+    public static StackTracePolicy full() {
+        return FULL;
+    }
+
+    /**
+     * Returns the policy capturing no stack trace.
+     *
+     * @return the stackless policy
+     */
+    public static StackTracePolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a policy capturing the stack trace of one exception in {@code rate}, on
+     * average.
+     *
+     * @param rate the number of exceptions per captured stack trace
+     * @return the sampled policy
+     */
+    public static StackTracePolicy sampled(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        return new StackTracePolicy(Mode.SAMPLED, rate);
+    }
+
+    /**
+     * Returns the policy in use.
+     *
+     * @return the current policy
+     */
+    public static StackTracePolicy current() {
+        return current;
+    }
+
+    /**
+     * Replaces the policy in use.
+     *
+     * @param policy the new policy
+     */
+    public static void setCurrent(StackTracePolicy policy) {
+        current = Objects.requireNonNull(policy, "policy cannot be null");
+    }
+
+    /**
+     * Parses a policy in the syntax of the {@value #PROPERTY} system property.
+     *
+     * @param value the value, such as {@code none} or {@code sampled:1000}
+     * @return the policy, or the full policy if the value is null or invalid
+     */
+    public static StackTracePolicy parse(String value) {
+        if (value == null) {
+            return FULL;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("none")) {
+            return NONE;
+        }
+        if (normalized.equals("sampled")) {
+            return sampled(DEFAULT_SAMPLE_RATE);
+        }
+        if (normalized.startsWith("sampled:")) {
+            try {
+                int rate = Integer.parseInt(normalized.substring("sampled:".length()).trim());
+                if (rate >= 1) {
+                    return sampled(rate);
+                }
+            } catch (NumberFormatException e) {
+                // Falls back to full stack traces
+            }
+        }
+        return FULL;
+    }
+
+    /**
+     * Returns the capture mode.
+     *
+     * @return the mode
+     */
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of exceptions per captured stack trace: 1 when all are
+     * captured, 0 when none is.
+     *
+     * @return the sample rate
+     */
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Decides whether the exception being created captures its stack trace.
+     *
+     * @return whether to capture the stack trace
+     */
+    public boolean captureStackTrace() {
+        return switch (mode) {
+            case FULL -> true;
+            case NONE -> false;
+            case SAMPLED -> sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SAMPLED ? "sampled:" + sampleRate : mode.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static StackTracePolicy fromSystemProperty() {
+        return parse(System.getProperty(PROPERTY));
+    }
+}
@@ -129,19 +129,16 @@ public sealed interface SystemError permits
 
     /**
      * Converts this error to a RuntimeException for exception-based handling.
+     * The exception implements {@link SystemErrorException} and extends
+     * IllegalArgumentException for validation errors, IllegalStateException for
+     * contract, business logic and resource errors, SecurityException for security
+     * errors and RuntimeException otherwise. Whether it captures its stack trace is
+     * decided by the current {@link StackTracePolicy}.
      * 
      * @return a RuntimeException representing this error
      */
     default RuntimeException toException() {
-        return switch (getCategory()) {
-            case VALIDATION -> new IllegalArgumentException(format());
-            case CONTRACT -> new IllegalStateException(format());
-            case SECURITY -> new SecurityException(format());
-            case BUSINESS_LOGIC -> new IllegalStateException(format());
-            case RESOURCE -> new IllegalStateException(format());
-            case SYSTEM -> new RuntimeException(format());
-            default -> new RuntimeException(format());
-        };
+        return SystemErrorException.of(this);
     }
 
     /**
@@ -150,15 +147,12 @@ public sealed interface SystemError permits
      * @return formatted error description
      */
     default String format() {
-        String baseFormat = getErrorId().fold(
-            () -> String.format("[%s] %s", getErrorType().getCode(), getMessage()),
-            id -> String.format("[%s|%s] %s", getErrorType().getCode(), id, getMessage())
-        );
-        
-        return getActualValue().fold(
-            () -> baseFormat,
-            value -> baseFormat + String.format(" (actual value: %s)", value)
-        );
+        StringBuilder out = new StringBuilder(64).append('[').append(getErrorType().getCode());
+        getErrorId().fold(() -> out, id -> out.append('|').append(id));
+        out.append("] ").append(getMessage());
+        getActualValue().fold(() -> out, value ->
+            MessageTemplate.appendValue(out.append(" (actual value: "), value).append(')'));
+        return out.toString();
     }
 
     /**
@@ -0,0 +1,47 @@
+package eu.infolead.jtk.anomaly;
+
+/**
+ * An exception created by {@link SystemError#toException()}, carrying the error it
+ * represents.
+ *
+ * <p>There is one implementation per group of error categories, each extending the
+ * JDK exception that was thrown for these categories before, so that existing
+ * handlers keep catching them. Whether they capture their stack trace is decided by
+ * the current {@link StackTracePolicy}. Their message is the
+ * {@link SystemError#format() formatted error}, built when first read.</p>
+ */
+public interface SystemErrorException {
+
+    /**
+     * Returns the error represented by this exception.
+     *
+     * @return the error
+     */
+    SystemError getError();
+
+    /**
+     * Returns the category of the error.
+     *
+     * @return the error category
+     */
+    default ErrorType.ErrorCategory getCategory() {
+        return getError().getCategory();
+    }
+
+    /**
+     * Creates the exception representing an error, according to its category.
+     *
+     * @param error the error
+     * @return the exception
+     */
+    static RuntimeException of(SystemError error) {
+        return switch (error.getCategory()) {
+            case VALIDATION -> new ValidationException(error);
+            case CONTRACT -> new ContractViolationException(error);
+            case SECURITY -> new SecurityViolationException(error);
+            case BUSINESS_LOGIC -> new BusinessRuleException(error);
+            case RESOURCE -> new ResourceException(error);
+            default -> new SystemFailureException(error);
+        };
+    }
+}
@@ -10,7 +10,9 @@ import eu.infolead.jtk.anomaly.PostconditionError;
 import eu.infolead.jtk.anomaly.PostconditionErrorType;
 import eu.infolead.jtk.anomaly.PreconditionError;
 import eu.infolead.jtk.anomaly.PreconditionErrorType;
+import eu.infolead.jtk.anomaly.StackTracePolicy;
 import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.anomaly.SystemErrorException;
 import eu.infolead.jtk.fp.either.Either;
 import eu.infolead.jtk.fp.either.Result;
 
@@ -20,6 +22,10 @@ import eu.infolead.jtk.fp.either.Result;
  * 
  * <p>Uses the unified SystemError hierarchy to provide both exception-based
  * and functional error handling approaches for contract violations.</p>
+ * 
+ * <p>The exceptions thrown carry their error, see {@link SystemErrorException}.
+ * Their stack traces can be skipped or sampled with {@link StackTracePolicy}, for
+ * code where violations are frequent, such as checks of untrusted input.</p>
  */
 public final class Contracts {
 
@@ -5,9 +5,28 @@ import static eu.infolead.jtk.lang.SonarLintWarning.JAVA_S1172;
 import static eu.infolead.jtk.lang.SonarLintWarning.JAVA_S119;
 import static eu.infolead.jtk.lang.SonarLintWarning.JAVA_S2326;
 
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
+import eu.infolead.jtk.lang.CompilerWarning;
 import eu.infolead.jtk.logic.Bool;
 import jakarta.annotation.Nullable;
 
@@ -164,6 +183,17 @@ public final class Fn {
      */
     @FunctionalInterface
     public interface FN1<U, T1> extends Function<T1, U> {
+        default ToIntFN1<T1> andThenToInt(final ToIntFunction<? super U> after) {
+            return v -> after.applyAsInt(apply(v));
+        }
+
+        default ToLongFN1<T1> andThenToLong(final ToLongFunction<? super U> after) {
+            return v -> after.applyAsLong(apply(v));
+        }
+
+        default ToDoubleFN1<T1> andThenToDouble(final ToDoubleFunction<? super U> after) {
+            return v -> after.applyAsDouble(apply(v));
+        }
     }
 
     /**
@@ -180,6 +210,14 @@ public final class Fn {
         default <N> FN2<N, T1, T2> andThen(final FN1<N, U> function) {
             return (v1, v2) -> function.apply(apply(v1, v2));
         }
+
+        default FN1<FN1<U, T2>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN1<U, T2>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -192,6 +230,22 @@ public final class Fn {
         default <N> FN3<N, T1, T2, T3> andThen(FN1<N, U> function) {
             return (v1, v2, v3) -> function.apply(apply(v1, v2, v3));
         }
+
+        default FN2<U, T2, T3> bind(final T1 param) {
+            return (v2, v3) -> apply(param, v2, v3);
+        }
+
+        default FN1<U, T3> bind(final T1 param1, final T2 param2) {
+            return v3 -> apply(param1, param2, v3);
+        }
+
+        default FN1<FN2<U, T2, T3>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN2<U, T2, T3>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -204,6 +258,22 @@ public final class Fn {
         default <N> FN4<N, T1, T2, T3, T4> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4) -> function.apply(apply(v1, v2, v3, v4));
         }
+
+        default FN3<U, T2, T3, T4> bind(final T1 param) {
+            return (v2, v3, v4) -> apply(param, v2, v3, v4);
+        }
+
+        default FN2<U, T3, T4> bind(final T1 param1, final T2 param2) {
+            return (v3, v4) -> apply(param1, param2, v3, v4);
+        }
+
+        default FN1<FN3<U, T2, T3, T4>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN3<U, T2, T3, T4>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -216,6 +286,22 @@ public final class Fn {
         default <N> FN5<N, T1, T2, T3, T4, T5> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4, v5) -> function.apply(apply(v1, v2, v3, v4, v5));
         }
+
+        default FN4<U, T2, T3, T4, T5> bind(final T1 param) {
+            return (v2, v3, v4, v5) -> apply(param, v2, v3, v4, v5);
+        }
+
+        default FN3<U, T3, T4, T5> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5) -> apply(param1, param2, v3, v4, v5);
+        }
+
+        default FN1<FN4<U, T2, T3, T4, T5>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN4<U, T2, T3, T4, T5>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -228,6 +314,22 @@ public final class Fn {
         default <N> FN6<N, T1, T2, T3, T4, T5, T6> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4, v5, v6) -> function.apply(apply(v1, v2, v3, v4, v5, v6));
         }
+
+        default FN5<U, T2, T3, T4, T5, T6> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6) -> apply(param, v2, v3, v4, v5, v6);
+        }
+
+        default FN4<U, T3, T4, T5, T6> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6) -> apply(param1, param2, v3, v4, v5, v6);
+        }
+
+        default FN1<FN5<U, T2, T3, T4, T5, T6>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN5<U, T2, T3, T4, T5, T6>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -240,6 +342,22 @@ public final class Fn {
         default <N> FN7<N, T1, T2, T3, T4, T5, T6, T7> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4, v5, v6, v7) -> function.apply(apply(v1, v2, v3, v4, v5, v6, v7));
         }
+
+        default FN6<U, T2, T3, T4, T5, T6, T7> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7) -> apply(param, v2, v3, v4, v5, v6, v7);
+        }
+
+        default FN5<U, T3, T4, T5, T6, T7> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7) -> apply(param1, param2, v3, v4, v5, v6, v7);
+        }
+
+        default FN1<FN6<U, T2, T3, T4, T5, T6, T7>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN6<U, T2, T3, T4, T5, T6, T7>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -253,6 +371,22 @@ public final class Fn {
         default <N> FN8<N, T1, T2, T3, T4, T5, T6, T7, T8> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4, v5, v6, v7, v8) -> function.apply(apply(v1, v2, v3, v4, v5, v6, v7, v8));
         }
+
+        default FN7<U, T2, T3, T4, T5, T6, T7, T8> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8) -> apply(param, v2, v3, v4, v5, v6, v7, v8);
+        }
+
+        default FN6<U, T3, T4, T5, T6, T7, T8> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8) -> apply(param1, param2, v3, v4, v5, v6, v7, v8);
+        }
+
+        default FN1<FN7<U, T2, T3, T4, T5, T6, T7, T8>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN7<U, T2, T3, T4, T5, T6, T7, T8>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -266,6 +400,22 @@ public final class Fn {
         default <N> FN9<N, T1, T2, T3, T4, T5, T6, T7, T8, T9> andThen(FN1<N, U> function) {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9) -> function.apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9));
         }
+
+        default FN8<U, T2, T3, T4, T5, T6, T7, T8, T9> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9) -> apply(param, v2, v3, v4, v5, v6, v7, v8, v9);
+        }
+
+        default FN7<U, T3, T4, T5, T6, T7, T8, T9> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9) -> apply(param1, param2, v3, v4, v5, v6, v7, v8, v9);
+        }
+
+        default FN1<FN8<U, T2, T3, T4, T5, T6, T7, T8, T9>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN8<U, T2, T3, T4, T5, T6, T7, T8, T9>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -282,6 +432,22 @@ public final class Fn {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9, va) -> function
                     .apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9, va));
         }
+
+        default FN9<U, T2, T3, T4, T5, T6, T7, T8, T9, TA> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9, va) -> apply(param, v2, v3, v4, v5, v6, v7, v8, v9, va);
+        }
+
+        default FN8<U, T3, T4, T5, T6, T7, T8, T9, TA> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9, va) -> apply(param1, param2, v3, v4, v5, v6, v7, v8, v9, va);
+        }
+
+        default FN1<FN9<U, T2, T3, T4, T5, T6, T7, T8, T9, TA>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN9<U, T2, T3, T4, T5, T6, T7, T8, T9, TA>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -298,6 +464,22 @@ public final class Fn {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb) -> function
                     .apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb));
         }
+
+        default FN10<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9, va, vb) -> apply(param, v2, v3, v4, v5, v6, v7, v8, v9, va, vb);
+        }
+
+        default FN9<U, T3, T4, T5, T6, T7, T8, T9, TA, TB> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9, va, vb) -> apply(param1, param2, v3, v4, v5, v6, v7, v8, v9, va, vb);
+        }
+
+        default FN1<FN10<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN10<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -314,6 +496,24 @@ public final class Fn {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc) -> function
                     .apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc));
         }
+
+        default FN11<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc) -> apply(
+                    param, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc);
+        }
+
+        default FN10<U, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9, va, vb, vc) -> apply(
+                    param1, param2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc);
+        }
+
+        default FN1<FN11<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN11<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -330,6 +530,24 @@ public final class Fn {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd) -> function
                     .apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd));
         }
+
+        default FN12<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd) -> apply(
+                    param, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd);
+        }
+
+        default FN11<U, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd) -> apply(
+                    param1, param2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd);
+        }
+
+        default FN1<FN12<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN12<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
     }
 
     /**
@@ -346,5 +564,678 @@ public final class Fn {
             return (v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve) -> function
                     .apply(apply(v1, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve));
         }
+
+        default FN13<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD, TE> bind(final T1 param) {
+            return (v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve) -> apply(
+                    param, v2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve);
+        }
+
+        default FN12<U, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD, TE> bind(final T1 param1, final T2 param2) {
+            return (v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve) -> apply(
+                    param1, param2, v3, v4, v5, v6, v7, v8, v9, va, vb, vc, vd, ve);
+        }
+
+        default FN1<FN13<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD, TE>, T1> curry() {
+            return this::bind;
+        }
+
+        default Binder<FN13<U, T2, T3, T4, T5, T6, T7, T8, T9, TA, TB, TC, TD, TE>, T1> binder() {
+            return new Binder<>(this::bind);
+        }
+    }
+
+    /**
+     * Function that binds its argument as the first parameter of another function
+     * and interns the resulting bound function: binding the same argument (by
+     * identity) again returns the very same function object instead of allocating a
+     * new capturing lambda. This keeps call sites that repeatedly bind the same
+     * configuration objects monomorphic. Only the first bind of an argument
+     * allocates; later binds of it, alternating or not, allocate nothing.
+     * <p>
+     * Instances are thread-safe. Bound functions are kept for the lifetime of the
+     * binder, which is why a binder SHOULD be held next to the function it binds
+     * and only be used with a bounded set of arguments (configuration objects,
+     * services...), not with per-request values. Use {@link #clear()} to release
+     * them.
+     *
+     * @param <F> the type of the bound function
+     * @param <T> the type of the bound argument
+     */
+    public static final class Binder<F, T> implements FN1<F, T> {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final FN1<F, T> binding;
+        /**
+         * Open-addressing table of the bound functions, probed by identity hash of the
+         * argument so that lookups allocate nothing. Slots are only written under the
+         * lock; {@link Bound} is immutable, so readers see either an empty slot or a
+         * complete entry.
+         */
+        private volatile Bound<F, T>[] table = newTable(INITIAL_CAPACITY);
+        private volatile Bound<F, T> last;
+        private int size;
+
+        Binder(final FN1<F, T> binding) {
+            this.binding = binding;
+        }
+
+        @Override
+        public F apply(final T argument) {
+            final Bound<F, T> previous = last;
+            if (previous != null && previous.argument == argument) {
+                return previous.function;
+            }
+            Bound<F, T> entry = find(table, argument);
+            if (entry == null) {
+                entry = bind(argument);
+            }
+            last = entry;
+            return entry.function;
+        }
+
+        /**
+         * @return the number of distinct arguments bound so far.
+         */
+        public synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Forgets all bound functions.
+         */
+        public synchronized void clear() {
+            last = null;
+            table = newTable(INITIAL_CAPACITY);
+            size = 0;
+        }
+
+        private synchronized Bound<F, T> bind(final T argument) {
+            Bound<F, T>[] current = table;
+            final Bound<F, T> existing = find(current, argument);
+            if (existing != null) {
+                return existing;
+            }
+            final Bound<F, T> entry = new Bound<>(argument, binding.apply(argument));
+            if (2 * (size + 1) > current.length) {
+                final Bound<F, T>[] grown = newTable(2 * current.length);
+                for (final Bound<F, T> bound : current) {
+                    if (bound != null) {
+                        grown[freeSlot(grown, bound.argument)] = bound;
+                    }
+                }
+                grown[freeSlot(grown, argument)] = entry;
+                table = grown;
+            } else {
+                current[freeSlot(current, argument)] = entry;
+            }
+            size++;
+            return entry;
+        }
+
+        private static <F, T> Bound<F, T> find(final Bound<F, T>[] table, final T argument) {
+            final int mask = table.length - 1;
+            for (int i = System.identityHashCode(argument) & mask;; i = (i + 1) & mask) {
+                final Bound<F, T> bound = table[i];
+                if (bound == null || bound.argument == argument) {
+                    return bound;
+                }
+            }
+        }
+
+        private static int freeSlot(final Bound<?, ?>[] table, final Object argument) {
+            final int mask = table.length - 1;
+            int i = System.identityHashCode(argument) & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        @SuppressWarnings(CompilerWarning.UNCHECKED)
+        private static <F, T> Bound<F, T>[] newTable(final int capacity) {
+            return (Bound<F, T>[]) new Bound<?, ?>[capacity];
+        }
+
+        private record Bound<F, T>(T argument, F function) {
+        }
+    }
+
+    // ====================== PRIMITIVE SPECIALIZATIONS ======================
+    //
+    // The following interfaces are primitive specializations of FN1 and FN2 for
+    // int, long and double. They extend the corresponding java.util.function
+    // interfaces, so that they can be passed wherever the JDK expects those, and
+    // they never box their parameters nor their results. Use boxed() to obtain a
+    // Mapper or FN2 when an object function is required (e.g. Result#map).
+
+    /**
+     * Function with one {@code int} parameter and one {@code int} return value.
+     * Primitive specialization of {@link FN1} which neither boxes its parameter
+     * nor its result.
+     */
+    @FunctionalInterface
+    public interface IntFN1 extends IntUnaryOperator {
+        static IntFN1 of(final IntUnaryOperator operator) {
+            return operator::applyAsInt;
+        }
+
+        default int apply(final int param) {
+            return applyAsInt(param);
+        }
+
+        @Override
+        default IntFN1 andThen(final IntUnaryOperator after) {
+            return v -> after.applyAsInt(applyAsInt(v));
+        }
+
+        @Override
+        default IntFN1 compose(final IntUnaryOperator before) {
+            return v -> applyAsInt(before.applyAsInt(v));
+        }
+
+        default IntToLongFN1 andThenToLong(final IntToLongFunction after) {
+            return v -> after.applyAsLong(applyAsInt(v));
+        }
+
+        default IntToDoubleFN1 andThenToDouble(final IntToDoubleFunction after) {
+            return v -> after.applyAsDouble(applyAsInt(v));
+        }
+
+        default <N> IntToObjFN1<N> andThenToObj(final IntFunction<? extends N> after) {
+            return v -> after.apply(applyAsInt(v));
+        }
+
+        default Mapper<Integer, Integer> boxed() {
+            return this::applyAsInt;
+        }
+    }
+
+    /**
+     * Function with one {@code long} parameter and one {@code long} return value.
+     * Primitive specialization of {@link FN1} which neither boxes its parameter
+     * nor its result.
+     */
+    @FunctionalInterface
+    public interface LongFN1 extends LongUnaryOperator {
+        static LongFN1 of(final LongUnaryOperator operator) {
+            return operator::applyAsLong;
+        }
+
+        default long apply(final long param) {
+            return applyAsLong(param);
+        }
+
+        @Override
+        default LongFN1 andThen(final LongUnaryOperator after) {
+            return v -> after.applyAsLong(applyAsLong(v));
+        }
+
+        @Override
+        default LongFN1 compose(final LongUnaryOperator before) {
+            return v -> applyAsLong(before.applyAsLong(v));
+        }
+
+        default LongToIntFN1 andThenToInt(final LongToIntFunction after) {
+            return v -> after.applyAsInt(applyAsLong(v));
+        }
+
+        default LongToDoubleFN1 andThenToDouble(final LongToDoubleFunction after) {
+            return v -> after.applyAsDouble(applyAsLong(v));
+        }
+
+        default <N> LongToObjFN1<N> andThenToObj(final LongFunction<? extends N> after) {
+            return v -> after.apply(applyAsLong(v));
+        }
+
+        default Mapper<Long, Long> boxed() {
+            return this::applyAsLong;
+        }
+    }
+
+    /**
+     * Function with one {@code double} parameter and one {@code double} return value.
+     * Primitive specialization of {@link FN1} which neither boxes its parameter
+     * nor its result.
+     */
+    @FunctionalInterface
+    public interface DoubleFN1 extends DoubleUnaryOperator {
+        static DoubleFN1 of(final DoubleUnaryOperator operator) {
+            return operator::applyAsDouble;
+        }
+
+        default double apply(final double param) {
+            return applyAsDouble(param);
+        }
+
+        @Override
+        default DoubleFN1 andThen(final DoubleUnaryOperator after) {
+            return v -> after.applyAsDouble(applyAsDouble(v));
+        }
+
+        @Override
+        default DoubleFN1 compose(final DoubleUnaryOperator before) {
+            return v -> applyAsDouble(before.applyAsDouble(v));
+        }
+
+        default DoubleToIntFN1 andThenToInt(final DoubleToIntFunction after) {
+            return v -> after.applyAsInt(applyAsDouble(v));
+        }
+
+        default DoubleToLongFN1 andThenToLong(final DoubleToLongFunction after) {
+            return v -> after.applyAsLong(applyAsDouble(v));
+        }
+
+        default <N> DoubleToObjFN1<N> andThenToObj(final DoubleFunction<? extends N> after) {
+            return v -> after.apply(applyAsDouble(v));
+        }
+
+        default Mapper<Double, Double> boxed() {
+            return this::applyAsDouble;
+        }
+    }
+
+    /**
+     * Function with two {@code int} parameters and one {@code int} return value.
+     * Primitive specialization of {@link FN2}.
+     */
+    @FunctionalInterface
+    public interface IntFN2 extends IntBinaryOperator {
+        static IntFN2 of(final IntBinaryOperator operator) {
+            return operator::applyAsInt;
+        }
+
+        default int apply(final int param1, final int param2) {
+            return applyAsInt(param1, param2);
+        }
+
+        default IntFN1 bind(final int param) {
+            return v2 -> applyAsInt(param, v2);
+        }
+
+        default IntFN2 andThen(final IntUnaryOperator after) {
+            return (v1, v2) -> after.applyAsInt(applyAsInt(v1, v2));
+        }
+
+        default FN2<Integer, Integer, Integer> boxed() {
+            return this::applyAsInt;
+        }
+    }
+
+    /**
+     * Function with two {@code long} parameters and one {@code long} return value.
+     * Primitive specialization of {@link FN2}.
+     */
+    @FunctionalInterface
+    public interface LongFN2 extends LongBinaryOperator {
+        static LongFN2 of(final LongBinaryOperator operator) {
+            return operator::applyAsLong;
+        }
+
+        default long apply(final long param1, final long param2) {
+            return applyAsLong(param1, param2);
+        }
+
+        default LongFN1 bind(final long param) {
+            return v2 -> applyAsLong(param, v2);
+        }
+
+        default LongFN2 andThen(final LongUnaryOperator after) {
+            return (v1, v2) -> after.applyAsLong(applyAsLong(v1, v2));
+        }
+
+        default FN2<Long, Long, Long> boxed() {
+            return this::applyAsLong;
+        }
+    }
+
+    /**
+     * Function with two {@code double} parameters and one {@code double} return value.
+     * Primitive specialization of {@link FN2}.
+     */
+    @FunctionalInterface
+    public interface DoubleFN2 extends DoubleBinaryOperator {
+        static DoubleFN2 of(final DoubleBinaryOperator operator) {
+            return operator::applyAsDouble;
+        }
+
+        default double apply(final double param1, final double param2) {
+            return applyAsDouble(param1, param2);
+        }
+
+        default DoubleFN1 bind(final double param) {
+            return v2 -> applyAsDouble(param, v2);
+        }
+
+        default DoubleFN2 andThen(final DoubleUnaryOperator after) {
+            return (v1, v2) -> after.applyAsDouble(applyAsDouble(v1, v2));
+        }
+
+        default FN2<Double, Double, Double> boxed() {
+            return this::applyAsDouble;
+        }
+    }
+
+    /**
+     * Function with one parameter and one {@code int} return value. Primitive
+     * specialization of {@link FN1} which does not box its result.
+     */
+    @FunctionalInterface
+    public interface ToIntFN1<T1> extends ToIntFunction<T1> {
+        static <T1> ToIntFN1<T1> of(final ToIntFunction<T1> function) {
+            return function::applyAsInt;
+        }
+
+        default int apply(final T1 param) {
+            return applyAsInt(param);
+        }
+
+        default ToIntFN1<T1> andThen(final IntUnaryOperator after) {
+            return v -> after.applyAsInt(applyAsInt(v));
+        }
+
+        default <V> ToIntFN1<V> compose(final Function<? super V, ? extends T1> before) {
+            return v -> applyAsInt(before.apply(v));
+        }
+
+        default <N> FN1<N, T1> andThenToObj(final IntFunction<? extends N> after) {
+            return v -> after.apply(applyAsInt(v));
+        }
+
+        default Mapper<Integer, T1> boxed() {
+            return this::applyAsInt;
+        }
+    }
+
+    /**
+     * Function with one parameter and one {@code long} return value. Primitive
+     * specialization of {@link FN1} which does not box its result.
+     */
+    @FunctionalInterface
+    public interface ToLongFN1<T1> extends ToLongFunction<T1> {
+        static <T1> ToLongFN1<T1> of(final ToLongFunction<T1> function) {
+            return function::applyAsLong;
+        }
+
+        default long apply(final T1 param) {
+            return applyAsLong(param);
+        }
+
+        default ToLongFN1<T1> andThen(final LongUnaryOperator after) {
+            return v -> after.applyAsLong(applyAsLong(v));
+        }
+
+        default <V> ToLongFN1<V> compose(final Function<? super V, ? extends T1> before) {
+            return v -> applyAsLong(before.apply(v));
+        }
+
+        default <N> FN1<N, T1> andThenToObj(final LongFunction<? extends N> after) {
+            return v -> after.apply(applyAsLong(v));
+        }
+
+        default Mapper<Long, T1> boxed() {
+            return this::applyAsLong;
+        }
+    }
+
+    /**
+     * Function with one parameter and one {@code double} return value. Primitive
+     * specialization of {@link FN1} which does not box its result.
+     */
+    @FunctionalInterface
+    public interface ToDoubleFN1<T1> extends ToDoubleFunction<T1> {
+        static <T1> ToDoubleFN1<T1> of(final ToDoubleFunction<T1> function) {
+            return function::applyAsDouble;
+        }
+
+        default double apply(final T1 param) {
+            return applyAsDouble(param);
+        }
+
+        default ToDoubleFN1<T1> andThen(final DoubleUnaryOperator after) {
+            return v -> after.applyAsDouble(applyAsDouble(v));
+        }
+
+        default <V> ToDoubleFN1<V> compose(final Function<? super V, ? extends T1> before) {
+            return v -> applyAsDouble(before.apply(v));
+        }
+
+        default <N> FN1<N, T1> andThenToObj(final DoubleFunction<? extends N> after) {
+            return v -> after.apply(applyAsDouble(v));
+        }
+
+        default Mapper<Double, T1> boxed() {
+            return this::applyAsDouble;
+        }
+    }
+
+    /**
+     * Function with one {@code int} parameter and one return value. Primitive
+     * specialization of {@link FN1} which does not box its parameter.
+     */
+    @FunctionalInterface
+    public interface IntToObjFN1<U> extends IntFunction<U> {
+        static <U> IntToObjFN1<U> of(final IntFunction<U> function) {
+            return function::apply;
+        }
+
+        default <N> IntToObjFN1<N> andThen(final Function<? super U, ? extends N> after) {
+            return v -> after.apply(apply(v));
+        }
+
+        default IntToObjFN1<U> compose(final IntUnaryOperator before) {
+            return v -> apply(before.applyAsInt(v));
+        }
+
+        default Mapper<U, Integer> boxed() {
+            return this::apply;
+        }
+    }
+
+    /**
+     * Function with one {@code long} parameter and one return value. Primitive
+     * specialization of {@link FN1} which does not box its parameter.
+     */
+    @FunctionalInterface
+    public interface LongToObjFN1<U> extends LongFunction<U> {
+        static <U> LongToObjFN1<U> of(final LongFunction<U> function) {
+            return function::apply;
+        }
+
+        default <N> LongToObjFN1<N> andThen(final Function<? super U, ? extends N> after) {
+            return v -> after.apply(apply(v));
+        }
+
+        default LongToObjFN1<U> compose(final LongUnaryOperator before) {
+            return v -> apply(before.applyAsLong(v));
+        }
+
+        default Mapper<U, Long> boxed() {
+            return this::apply;
+        }
+    }
+
+    /**
+     * Function with one {@code double} parameter and one return value. Primitive
+     * specialization of {@link FN1} which does not box its parameter.
+     */
+    @FunctionalInterface
+    public interface DoubleToObjFN1<U> extends DoubleFunction<U> {
+        static <U> DoubleToObjFN1<U> of(final DoubleFunction<U> function) {
+            return function::apply;
+        }
+
+        default <N> DoubleToObjFN1<N> andThen(final Function<? super U, ? extends N> after) {
+            return v -> after.apply(apply(v));
+        }
+
+        default DoubleToObjFN1<U> compose(final DoubleUnaryOperator before) {
+            return v -> apply(before.applyAsDouble(v));
+        }
+
+        default Mapper<U, Double> boxed() {
+            return this::apply;
+        }
+    }
+
+    /**
+     * Function with one {@code int} parameter and one {@code long} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface IntToLongFN1 extends IntToLongFunction {
+        static IntToLongFN1 of(final IntToLongFunction function) {
+            return function::applyAsLong;
+        }
+
+        default long apply(final int param) {
+            return applyAsLong(param);
+        }
+
+        default IntToLongFN1 andThen(final LongUnaryOperator after) {
+            return v -> after.applyAsLong(applyAsLong(v));
+        }
+
+        default IntToLongFN1 compose(final IntUnaryOperator before) {
+            return v -> applyAsLong(before.applyAsInt(v));
+        }
+
+        default Mapper<Long, Integer> boxed() {
+            return this::applyAsLong;
+        }
+    }
+
+    /**
+     * Function with one {@code int} parameter and one {@code double} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface IntToDoubleFN1 extends IntToDoubleFunction {
+        static IntToDoubleFN1 of(final IntToDoubleFunction function) {
+            return function::applyAsDouble;
+        }
+
+        default double apply(final int param) {
+            return applyAsDouble(param);
+        }
+
+        default IntToDoubleFN1 andThen(final DoubleUnaryOperator after) {
+            return v -> after.applyAsDouble(applyAsDouble(v));
+        }
+
+        default IntToDoubleFN1 compose(final IntUnaryOperator before) {
+            return v -> applyAsDouble(before.applyAsInt(v));
+        }
+
+        default Mapper<Double, Integer> boxed() {
+            return this::applyAsDouble;
+        }
+    }
+
+    /**
+     * Function with one {@code long} parameter and one {@code int} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface LongToIntFN1 extends LongToIntFunction {
+        static LongToIntFN1 of(final LongToIntFunction function) {
+            return function::applyAsInt;
+        }
+
+        default int apply(final long param) {
+            return applyAsInt(param);
+        }
+
+        default LongToIntFN1 andThen(final IntUnaryOperator after) {
+            return v -> after.applyAsInt(applyAsInt(v));
+        }
+
+        default LongToIntFN1 compose(final LongUnaryOperator before) {
+            return v -> applyAsInt(before.applyAsLong(v));
+        }
+
+        default Mapper<Integer, Long> boxed() {
+            return this::applyAsInt;
+        }
+    }
+
+    /**
+     * Function with one {@code long} parameter and one {@code double} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface LongToDoubleFN1 extends LongToDoubleFunction {
+        static LongToDoubleFN1 of(final LongToDoubleFunction function) {
+            return function::applyAsDouble;
+        }
+
+        default double apply(final long param) {
+            return applyAsDouble(param);
+        }
+
+        default LongToDoubleFN1 andThen(final DoubleUnaryOperator after) {
+            return v -> after.applyAsDouble(applyAsDouble(v));
+        }
+
+        default LongToDoubleFN1 compose(final LongUnaryOperator before) {
+            return v -> applyAsDouble(before.applyAsLong(v));
+        }
+
+        default Mapper<Double, Long> boxed() {
+            return this::applyAsDouble;
+        }
+    }
+
+    /**
+     * Function with one {@code double} parameter and one {@code int} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface DoubleToIntFN1 extends DoubleToIntFunction {
+        static DoubleToIntFN1 of(final DoubleToIntFunction function) {
+            return function::applyAsInt;
+        }
+
+        default int apply(final double param) {
+            return applyAsInt(param);
+        }
+
+        default DoubleToIntFN1 andThen(final IntUnaryOperator after) {
+            return v -> after.applyAsInt(applyAsInt(v));
+        }
+
+        default DoubleToIntFN1 compose(final DoubleUnaryOperator before) {
+            return v -> applyAsInt(before.applyAsDouble(v));
+        }
+
+        default Mapper<Integer, Double> boxed() {
+            return this::applyAsInt;
+        }
+    }
+
+    /**
+     * Function with one {@code double} parameter and one {@code long} return value.
+     * Primitive specialization of {@link FN1}.
+     */
+    @FunctionalInterface
+    public interface DoubleToLongFN1 extends DoubleToLongFunction {
+        static DoubleToLongFN1 of(final DoubleToLongFunction function) {
+            return function::applyAsLong;
+        }
+
+        default long apply(final double param) {
+            return applyAsLong(param);
+        }
+
+        default DoubleToLongFN1 andThen(final LongUnaryOperator after) {
+            return v -> after.applyAsLong(applyAsLong(v));
+        }
+
+        default DoubleToLongFN1 compose(final DoubleUnaryOperator before) {
+            return v -> applyAsLong(before.applyAsDouble(v));
+        }
+
+        default Mapper<Long, Double> boxed() {
+            return this::applyAsLong;
+        }
     }
 }
@@ -0,0 +1,327 @@
+package eu.infolead.jtk.fp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import eu.infolead.jtk.lang.CompilerWarning;
+import jakarta.annotation.Nonnull;
+
+/**
+ * A memoized thunk: the value is computed by the supplier on first access and
+ * then returned from the cache.
+ *
+ * <p>
+ * Three modes control how concurrent first accesses are handled:
+ * <ul>
+ * <li>{@link Mode#SYNCHRONIZED}: the supplier is invoked at most once per
+ * initialization, other threads wait for its result;</li>
+ * <li>{@link Mode#PUBLICATION}: racing threads may all invoke the supplier,
+ * but only the first published value is ever returned;</li>
+ * <li>{@link Mode#NONE}: no synchronization at all, for values confined to a
+ * single thread.</li>
+ * </ul>
+ *
+ * <p>
+ * Once initialized, {@link #get()} costs a single volatile read of the cached
+ * cell in the thread-safe modes (and a plain read in {@link Mode#NONE}). An
+ * optional time-to-live makes the value expire, in which case it is recomputed
+ * on the next access; {@link #reset()} discards the value explicitly. If the
+ * supplier throws, nothing is cached and the exception propagates to the
+ * caller.
+ *
+ * <p>
+ * {@link #map(Function)} and {@link #flatMap(Function)} do not force the
+ * value: they return a new lazy of the same mode that memoizes the derived
+ * value independently of this one.
+ *
+ * @param <T> the type of the value.
+ */
+public abstract sealed class Lazy<T> implements Provider<T> permits Lazy.Synchronized, Lazy.Publication, Lazy.Unsafe {
+
+    /**
+     * How concurrent initializations of a {@link Lazy} are handled.
+     */
+    public enum Mode {
+        SYNCHRONIZED,
+        PUBLICATION,
+        NONE
+    }
+
+    private final Supplier<? extends T> supplier;
+    private final long ttlNanos;
+
+    private Lazy(final Supplier<? extends T> supplier, final long ttlNanos) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier cannot be null");
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Creates a lazy value that is computed at most once, even when accessed
+     * concurrently.
+     *
+     * @param <T>      the type of the value.
+     * @param supplier the supplier of the value.
+     * @return a new {@link Mode#SYNCHRONIZED} lazy value.
+     */
+    public static <T> Lazy<T> of(@Nonnull final Supplier<? extends T> supplier) {
+        return of(Mode.SYNCHRONIZED, supplier);
+    }
+
+    /**
+     * Creates a lazy value that never expires.
+     *
+     * @param <T>      the type of the value.
+     * @param mode     the initialization mode.
+     * @param supplier the supplier of the value.
+     * @return a new lazy value.
+     */
+    public static <T> Lazy<T> of(@Nonnull final Mode mode, @Nonnull final Supplier<? extends T> supplier) {
+        return create(mode, supplier, 0L);
+    }
+
+    /**
+     * Creates a lazy value that is recomputed on the first access after the
+     * specified time-to-live has elapsed since its computation.
+     *
+     * @param <T>        the type of the value.
+     * @param mode       the initialization mode.
+     * @param timeToLive how long a computed value remains valid; must be
+     *                   positive.
+     * @param supplier   the supplier of the value.
+     * @return a new expiring lazy value.
+     */
+    public static <T> Lazy<T> of(@Nonnull final Mode mode, @Nonnull final Duration timeToLive,
+            @Nonnull final Supplier<? extends T> supplier) {
+        final long ttl = timeToLive.toNanos();
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        return create(mode, supplier, ttl);
+    }
+
+    private static <T> Lazy<T> create(final Mode mode, final Supplier<? extends T> supplier, final long ttlNanos) {
+        return switch (Objects.requireNonNull(mode, "mode cannot be null")) {
+            case SYNCHRONIZED -> new Synchronized<>(supplier, ttlNanos);
+            case PUBLICATION -> new Publication<>(supplier, ttlNanos);
+            case NONE -> new Unsafe<>(supplier, ttlNanos);
+        };
+    }
+
+    /**
+     * Returns the value, computing it first if it has not been computed yet or
+     * if it has expired.
+     *
+     * @return the value.
+     */
+    @Override
+    public abstract T get();
+
+    /**
+     * Discards the cached value, if any, so that the next access recomputes it.
+     */
+    public abstract void reset();
+
+    /**
+     * @return the initialization mode of this lazy value.
+     */
+    public abstract Mode mode();
+
+    /**
+     * Tells whether the value has been computed and has not expired, without
+     * forcing it.
+     *
+     * @return {@code true} if {@link #get()} would return a cached value.
+     */
+    public boolean isInitialized() {
+        return isFresh(cell());
+    }
+
+    /**
+     * Returns a lazy value that applies the specified function to this value
+     * when first accessed. This value is not forced by the call.
+     *
+     * @param <U> the type of the mapped value.
+     * @param f   the mapping function.
+     * @return a new lazy value of the same mode.
+     */
+    public <U> Lazy<U> map(@Nonnull final Function<? super T, ? extends U> f) {
+        Objects.requireNonNull(f, "f cannot be null");
+        return of(mode(), () -> f.apply(get()));
+    }
+
+    /**
+     * Returns a lazy value that, when first accessed, applies the specified
+     * function to this value and forces the resulting lazy value. This value
+     * is not forced by the call.
+     *
+     * @param <U> the type of the mapped value.
+     * @param f   the mapping function.
+     * @return a new lazy value of the same mode.
+     */
+    public <U> Lazy<U> flatMap(@Nonnull final Function<? super T, ? extends Supplier<? extends U>> f) {
+        Objects.requireNonNull(f, "f cannot be null");
+        return of(mode(), () -> f.apply(get()).get());
+    }
+
+    @Override
+    public String toString() {
+        final Cell<T> c = cell();
+        return isFresh(c) ? "Lazy[" + c.value() + "]" : "Lazy[?]";
+    }
+
+    abstract Cell<T> cell();
+
+    final boolean isFresh(final Cell<T> c) {
+        return c != null && (ttlNanos == 0L || System.nanoTime() - c.deadline() < 0L);
+    }
+
+    final Cell<T> compute() {
+        final T value = supplier.get();
+        return new Cell<>(value, ttlNanos == 0L ? 0L : System.nanoTime() + ttlNanos);
+    }
+
+    record Cell<T>(T value, long deadline) {
+    }
+
+    // ====================== MODES ======================
+
+    static final class Synchronized<T> extends Lazy<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Cell<T> cell;
+
+        private Synchronized(final Supplier<? extends T> supplier, final long ttlNanos) {
+            super(supplier, ttlNanos);
+        }
+
+        @Override
+        public T get() {
+            final Cell<T> c = cell;
+            if (isFresh(c)) {
+                return c.value();
+            }
+            return initialize();
+        }
+
+        private T initialize() {
+            lock.lock();
+            try {
+                Cell<T> c = cell;
+                if (!isFresh(c)) {
+                    c = compute();
+                    cell = c;
+                }
+                return c.value();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void reset() {
+            cell = null;
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.SYNCHRONIZED;
+        }
+
+        @Override
+        Cell<T> cell() {
+            return cell;
+        }
+    }
+
+    static final class Publication<T> extends Lazy<T> {
+        private static final VarHandle CELL;
+
+        static {
+            try {
+                CELL = MethodHandles.lookup().findVarHandle(Publication.class, "cell", Cell.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile Cell<T> cell;
+
+        private Publication(final Supplier<? extends T> supplier, final long ttlNanos) {
+            super(supplier, ttlNanos);
+        }
+
+        @Override
+        @SuppressWarnings(CompilerWarning.UNCHECKED)
+        public T get() {
+            final Cell<T> c = cell;
+            if (isFresh(c)) {
+                return c.value();
+            }
+            final Cell<T> computed = compute();
+            Cell<T> expected = c;
+            while (true) {
+                final Cell<T> witness = (Cell<T>) CELL.compareAndExchange(this, expected, computed);
+                if (witness == expected) {
+                    return computed.value();
+                }
+                // another thread published a fresh value first: that one wins.
+                if (isFresh(witness)) {
+                    return witness.value();
+                }
+                expected = witness;
+            }
+        }
+
+        @Override
+        public void reset() {
+            cell = null;
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.PUBLICATION;
+        }
+
+        @Override
+        Cell<T> cell() {
+            return cell;
+        }
+    }
+
+    static final class Unsafe<T> extends Lazy<T> {
+        private Cell<T> cell;
+
+        private Unsafe(final Supplier<? extends T> supplier, final long ttlNanos) {
+            super(supplier, ttlNanos);
+        }
+
+        @Override
+        public T get() {
+            Cell<T> c = cell;
+            if (!isFresh(c)) {
+                c = compute();
+                cell = c;
+            }
+            return c.value();
+        }
+
+        @Override
+        public void reset() {
+            cell = null;
+        }
+
+        @Override
+        public Mode mode() {
+            return Mode.NONE;
+        }
+
+        @Override
+        Cell<T> cell() {
+            return cell;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package eu.infolead.jtk.fp;
 import java.util.Objects;
 
 import eu.infolead.jtk.fp.either.Result;
+import eu.infolead.jtk.lang.CompilerWarning;
 
 /**
  * This class explicitly indicates that any variable, method argument or
@@ -27,18 +28,24 @@ import eu.infolead.jtk.fp.either.Result;
  * @param <T> the type of the contained value
  */
 public final class NN<T> implements Filterable<NN<T>>, Mappable<NN<T>>, Testable<NN<T>> {
+    /**
+     * Shared failure for {@code null} inputs: rejecting a {@code null} value
+     * neither throws nor allocates.
+     */
+    private static final Result<Void, ?> NULL_VALUE = Result.failure(null/* TODO */);
+
     private final T value;
 
     private NN(final T value) {
         this.value = Objects.requireNonNull(value, "The specified value must not be null.");
     }
 
+    @SuppressWarnings(CompilerWarning.UNCHECKED)
     public static <V> Result<Void, NN<V>> of(final V value) {
-        try {
-            return Result.success(new NN<>(value));
-        } catch (final NullPointerException npe) {
-            return Result.failure(null/* TODO */);
+        if (value == null) {
+            return (Result<Void, NN<V>>) NULL_VALUE;
         }
+        return Result.success(new NN<>(value));
     }
 
     public T get() {
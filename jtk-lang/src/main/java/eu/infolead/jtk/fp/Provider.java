@@ -25,6 +25,17 @@ public interface Provider<U> extends Supplier<U> {
         return t -> get();
     }
 
+    /**
+     * Returns a provider that invokes this one at most once and then returns the
+     * memoized value.
+     * 
+     * @return a {@link Lazy.Mode#SYNCHRONIZED} lazy view of this provider.
+     * @see Lazy
+     */
+    default Lazy<U> lazy() {
+        return Lazy.of(this);
+    }
+
     /**
      * 
      * @param <T>
@@ -0,0 +1,194 @@
+package eu.infolead.jtk.fp.validation;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable list of validation errors whose appends and concatenations share the
+ * structure of their operands instead of copying them.
+ *
+ * <p>A concatenation is a node referencing both operands, created in constant time, so
+ * accumulating errors from many results costs no copy. The first read of a node
+ * flattens it once into an array, which later reads use directly, and releases the
+ * operands. The array has spare capacity: appending to a flattened sequence fills it
+ * in place, so alternating appends and reads cost amortized constant time instead of
+ * a copy of the whole sequence per read.</p>
+ *
+ * <p>Instances are thread-safe. Mutators of {@link List} throw
+ * {@link UnsupportedOperationException}.</p>
+ */
+public final class ErrorSequence extends AbstractList<ValidationError> implements RandomAccess {
+
+    private static final ErrorSequence EMPTY = new ErrorSequence(new ValidationError[0]);
+
+    /** Operands of a concatenation until it is flattened, null otherwise. */
+    private volatile ErrorSequence left;
+    private volatile ErrorSequence right;
+    private final int size;
+    /** Storage of the elements of a leaf, or of a concatenation once read. */
+    private volatile Chunk chunk;
+
+    private ErrorSequence(ValidationError[] elements) {
+        this(new Chunk(elements, elements.length), elements.length);
+    }
+
+    private ErrorSequence(Chunk chunk, int size) {
+        this.size = size;
+        this.chunk = chunk;
+    }
+
+    private ErrorSequence(ErrorSequence left, ErrorSequence right) {
+        this.left = left;
+        this.right = right;
+        this.size = Math.addExact(left.size, right.size);
+    }
+
+    /**
+     * Returns the empty sequence.
+     *
+     * @return the empty sequence
+     */
+    public static ErrorSequence empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a sequence of one error.
+     *
+     * @param error the error
+     * @return a sequence of the error
+     */
+    public static ErrorSequence of(ValidationError error) {
+        Objects.requireNonNull(error, "error cannot be null");
+        return new ErrorSequence(new ValidationError[] { error });
+    }
+
+    /**
+     * Returns a sequence of errors: the given collection if it is a sequence, otherwise
+     * a copy of it.
+     *
+     * @param errors the errors
+     * @return a sequence of the errors
+     */
+    public static ErrorSequence of(Collection<? extends ValidationError> errors) {
+        if (errors instanceof ErrorSequence sequence) {
+            return sequence;
+        }
+        if (errors.isEmpty()) {
+            return EMPTY;
+        }
+        ValidationError[] copy = errors.toArray(new ValidationError[0]);
+        for (ValidationError error : copy) {
+            Objects.requireNonNull(error, "errors cannot contain null");
+        }
+        return new ErrorSequence(copy);
+    }
+
+    /**
+     * Appends an error, in constant time.
+     *
+     * @param error the error
+     * @return a sequence of the errors of this sequence followed by the error
+     */
+    public ErrorSequence append(ValidationError error) {
+        return concat(of(error));
+    }
+
+    /**
+     * Concatenates errors, in constant time if they are a sequence. If both sequences
+     * are flattened and the array of this one has room for the errors, they are
+     * copied after its elements instead.
+     *
+     * @param errors the errors
+     * @return a sequence of the errors of this sequence followed by the given ones
+     */
+    public ErrorSequence concat(Collection<? extends ValidationError> errors) {
+        ErrorSequence other = of(errors);
+        if (other.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return other;
+        }
+        Chunk storage = chunk;
+        Chunk otherStorage = other.chunk;
+        if (storage != null && otherStorage != null) {
+            int newSize = Math.addExact(size, other.size);
+            // only the first sequence to extend a chunk past this size may write to it
+            if (newSize <= storage.elements.length && storage.length.compareAndSet(size, newSize)) {
+                System.arraycopy(otherStorage.elements, 0, storage.elements, size, other.size);
+                return new ErrorSequence(storage, newSize);
+            }
+        }
+        return new ErrorSequence(this, other);
+    }
+
+    @Override
+    public ValidationError get(int index) {
+        Objects.checkIndex(index, size);
+        return flatten().elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the storage of the elements, gathering those of the leaves on the first
+     * call and then releasing the operands. The tree is walked with an explicit stack,
+     * since long chains of appends make it deep.
+     */
+    private Chunk flatten() {
+        Chunk result = chunk;
+        if (result != null) {
+            return result;
+        }
+        ValidationError[] elements = new ValidationError[size + Math.min(size >> 1, Integer.MAX_VALUE - 8 - size)];
+        int position = 0;
+        Deque<ErrorSequence> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            ErrorSequence node = pending.pop();
+            Chunk nodeChunk = node.chunk;
+            ErrorSequence nodeLeft = nodeChunk == null ? node.left : null;
+            ErrorSequence nodeRight = nodeChunk == null ? node.right : null;
+            if (nodeChunk == null && (nodeLeft == null || nodeRight == null)) {
+                // flattened concurrently: the chunk was published before the operands were released
+                nodeChunk = node.chunk;
+            }
+            if (nodeChunk != null) {
+                System.arraycopy(nodeChunk.elements, 0, elements, position, node.size);
+                position += node.size;
+            } else {
+                pending.push(nodeRight);
+                pending.push(nodeLeft);
+            }
+        }
+        result = new Chunk(elements, size);
+        chunk = result;
+        left = null;
+        right = null;
+        return result;
+    }
+
+    /**
+     * An array shared by the sequences of its first elements. Its length is the number
+     * of elements written, which an append claims before writing after them.
+     */
+    private static final class Chunk {
+        private final ValidationError[] elements;
+        private final AtomicInteger length;
+
+        Chunk(ValidationError[] elements, int length) {
+            this.elements = elements;
+            this.length = new AtomicInteger(length);
+        }
+    }
+}
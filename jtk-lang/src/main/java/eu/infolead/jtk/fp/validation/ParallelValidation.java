@@ -0,0 +1,88 @@
+package eu.infolead.jtk.fp.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fork/join implementation of
+ * {@link ValidationResult#validateAllParallel(List, Function, ForkJoinPool, int)}.
+ */
+final class ParallelValidation {
+
+    /** Ranges of at most this many items are validated by a single task. */
+    static final int THRESHOLD = 1 << 10;
+
+    private ParallelValidation() {
+        // Utility class
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, U> ValidationResult<List<U>> validateAll(List<T> items, Function<T, ValidationResult<U>> validator,
+                                                        ForkJoinPool pool, int errorBudget) {
+        Object[] array = items.toArray();
+        Object[] values = new Object[array.length];
+        ErrorSequence errors = pool.invoke(new Task<>(array, validator, values, new AtomicInteger(),
+            errorBudget, 0, array.length));
+        return errors.isEmpty()
+            ? ValidationResult.success(Collections.unmodifiableList(Arrays.asList((U[]) values)))
+            : new ValidationResult.Failure<>(errors);
+    }
+
+    /**
+     * Validates a range of items, writing the values at their positions and returning the
+     * errors in the order of the items.
+     */
+    private static final class Task<T, U> extends RecursiveTask<ErrorSequence> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Object[] items;
+        private final transient Function<T, ValidationResult<U>> validator;
+        private final transient Object[] values;
+        /** Errors found by all the tasks, to stop once the budget is exceeded. */
+        private final AtomicInteger errorCount;
+        private final int errorBudget;
+        private final int from;
+        private final int to;
+
+        Task(Object[] items, Function<T, ValidationResult<U>> validator, Object[] values,
+             AtomicInteger errorCount, int errorBudget, int from, int to) {
+            this.items = items;
+            this.validator = validator;
+            this.values = values;
+            this.errorCount = errorCount;
+            this.errorBudget = errorBudget;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected ErrorSequence compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                Task<T, U> left = new Task<>(items, validator, values, errorCount, errorBudget, from, middle);
+                left.fork();
+                ErrorSequence right = new Task<>(items, validator, values, errorCount, errorBudget, middle, to)
+                    .compute();
+                return left.join().concat(right);
+            }
+            ErrorSequence errors = ErrorSequence.empty();
+            for (int i = from; i < to && errorCount.get() <= errorBudget; i++) {
+                ValidationResult<U> result = validator.apply((T) items[i]);
+                if (result instanceof ValidationResult.Success<U> success) {
+                    values[i] = success.value();
+                } else {
+                    List<ValidationError> itemErrors = result.getErrors();
+                    errors = errors.concat(itemErrors);
+                    errorCount.addAndGet(itemErrors.size());
+                }
+            }
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package eu.infolead.jtk.fp.validation;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Validation of sources too large to hold in memory, such as the rows of a file.
+ *
+ * <p>Unlike {@link ValidationResult#validateAll(java.util.Collection, Function)}, items
+ * are pulled one at a time from an {@link Iterator} or a {@link Stream}, valid values
+ * are passed downstream as soon as they are validated, and only the first errors are
+ * kept: the following ones are only counted. Memory use is thus bounded by the
+ * maximum number of errors, whatever the size of the source.</p>
+ *
+ * <p>A {@link Summary} of the counts is returned at the end and can also be sent to a
+ * listener every given number of items, to report progress.</p>
+ *
+ * <pre>{@code
+ * StreamingValidation<Row, Payment> validation = StreamingValidation.of(Payment::validate, 1000)
+ *     .onProgress(100_000, summary -> log.info("{} rows validated", summary.items()));
+ *
+ * Summary summary = validation.validate(rows, repository::save);
+ * if (summary.invalid() > 0) {
+ *     ProblemDetail problem = summary.toValidationResult().toProblemDetail();
+ * }
+ * }</pre>
+ *
+ * <p>Instances are immutable and can be reused for several sources, including
+ * concurrently.</p>
+ *
+ * @param <T> the type of the items
+ * @param <U> the type of the valid values
+ */
+public final class StreamingValidation<T, U> {
+
+    private final Function<? super T, ValidationResult<U>> validator;
+    private final int maxErrors;
+    private final long progressInterval;
+    private final Consumer<? super Summary> progressListener;
+
+    private StreamingValidation(Function<? super T, ValidationResult<U>> validator, int maxErrors,
+                                long progressInterval, Consumer<? super Summary> progressListener) {
+        this.validator = validator;
+        this.maxErrors = maxErrors;
+        this.progressInterval = progressInterval;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Creates a streaming validation.
+     *
+     * @param <T> the type of the items
+     * @param <U> the type of the valid values
+     * @param validator the validation function of an item
+     * @param maxErrors the maximum number of errors kept; the following ones are counted
+     * @return a new StreamingValidation
+     */
+    public static <T, U> StreamingValidation<T, U> of(Function<? super T, ValidationResult<U>> validator,
+                                                      int maxErrors) {
+        Objects.requireNonNull(validator, "validator cannot be null");
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive");
+        }
+        return new StreamingValidation<>(validator, maxErrors, 0, null);
+    }
+
+    /**
+     * Returns a validation that also reports its progress.
+     *
+     * @param interval the number of items between two reports
+     * @param listener receives the summary of the items validated so far
+     * @return a new StreamingValidation
+     */
+    public StreamingValidation<T, U> onProgress(long interval, Consumer<? super Summary> listener) {
+        Objects.requireNonNull(listener, "listener cannot be null");
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        return new StreamingValidation<>(validator, maxErrors, interval, listener);
+    }
+
+    /**
+     * Validates all the items of an iterator.
+     *
+     * @param items the items
+     * @param sink receives the valid values, in the order of the items
+     * @return the summary of the validation
+     */
+    public Summary validate(Iterator<? extends T> items, Consumer<? super U> sink) {
+        Objects.requireNonNull(sink, "sink cannot be null");
+        Tally tally = new Tally();
+        while (items.hasNext()) {
+            tally.validate(items.next(), sink);
+        }
+        return tally.summary();
+    }
+
+    /**
+     * Validates all the items of a stream, sequentially.
+     *
+     * @param items the items
+     * @param sink receives the valid values, in the order of the items
+     * @return the summary of the validation
+     */
+    public Summary validate(Stream<? extends T> items, Consumer<? super U> sink) {
+        return validate(items.sequential().iterator(), sink);
+    }
+
+    /**
+     * Returns a lazy stream of the valid values of the items. The items are validated as
+     * the returned stream is consumed, and the summary is sent to a listener once the
+     * items are exhausted.
+     *
+     * @param items the items
+     * @param onComplete receives the summary of the validation
+     * @return the valid values, in the order of the items
+     */
+    public Stream<U> validValues(Stream<? extends T> items, Consumer<? super Summary> onComplete) {
+        Objects.requireNonNull(onComplete, "onComplete cannot be null");
+        Iterator<? extends T> iterator = items.sequential().iterator();
+        Tally tally = new Tally();
+        Spliterator<U> values = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean completed;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super U> action) {
+                while (iterator.hasNext()) {
+                    if (tally.validate(iterator.next(), action)) {
+                        return true;
+                    }
+                }
+                if (!completed) {
+                    completed = true;
+                    onComplete.accept(tally.summary());
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(values, false).onClose(items::close);
+    }
+
+    /**
+     * Counts and first errors of a validation.
+     *
+     * @param items the number of items validated
+     * @param valid the number of valid items
+     * @param invalid the number of invalid items
+     * @param errorCount the number of errors, including those not kept
+     * @param errors the first errors, in the order of the items
+     * @param elapsed the time since the start of the validation
+     */
+    public record Summary(long items, long valid, long invalid, long errorCount, List<ValidationError> errors,
+                          Duration elapsed) {
+
+        /**
+         * Returns the number of errors that were counted but not kept.
+         *
+         * @return the number of dropped errors
+         */
+        public long droppedErrors() {
+            return errorCount - errors.size();
+        }
+
+        /**
+         * Converts the summary to a validation result.
+         *
+         * @return the number of valid items if all the items were valid, or the errors kept
+         */
+        public ValidationResult<Long> toValidationResult() {
+            return invalid == 0 ? ValidationResult.success(valid) : new ValidationResult.Failure<>(errors);
+        }
+    }
+
+    /**
+     * State of one validation.
+     */
+    private final class Tally {
+        private final long start = System.nanoTime();
+        private ErrorSequence errors = ErrorSequence.empty();
+        private long items;
+        private long invalid;
+        private long errorCount;
+
+        /**
+         * Validates an item, passing its value to the sink if it is valid.
+         *
+         * @return whether the item is valid
+         */
+        boolean validate(T item, Consumer<? super U> sink) {
+            ValidationResult<U> result = validator.apply(item);
+            items++;
+            boolean valid = result instanceof ValidationResult.Success<U>;
+            if (valid) {
+                sink.accept(((ValidationResult.Success<U>) result).value());
+            } else {
+                invalid++;
+                List<ValidationError> itemErrors = result.getErrors();
+                errorCount += itemErrors.size();
+                int room = maxErrors - errors.size();
+                if (room > 0) {
+                    errors = errors.concat(itemErrors.size() <= room ? itemErrors : itemErrors.subList(0, room));
+                }
+            }
+            if (progressListener != null && items % progressInterval == 0) {
+                progressListener.accept(summary());
+            }
+            return valid;
+        }
+
+        Summary summary() {
+            return new Summary(items, items - invalid, invalid, errorCount, errors,
+                Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package eu.infolead.jtk.fp.validation;
 import java.util.Objects;
 
 import eu.infolead.jtk.anomaly.ErrorType;
+import eu.infolead.jtk.anomaly.MessageTemplate;
 import eu.infolead.jtk.anomaly.http.ProblemDetail;
 import eu.infolead.jtk.anomaly.StandardErrorType;
 import eu.infolead.jtk.fp.either.Maybe;
@@ -252,7 +253,7 @@ public record ValidationError(
      * @return a ProblemDetail representing this error
      */
     public ProblemDetail toProblemDetail() {
-        String detail = String.format("%s: %s", fieldPath, getMessage());
+        String detail = fieldPath + ": " + getMessage();
         return errorType.toProblemDetail(detail);
     }
 
@@ -262,14 +263,11 @@ public record ValidationError(
      * @return formatted error description
      */
     public String format() {
-        String baseFormat = errorId.fold(
-            () -> String.format("[%s] %s: %s", getErrorCode(), fieldPath, getMessage()),
-            id -> String.format("[%s|%s] %s: %s", getErrorCode(), id, fieldPath, getMessage())
-        );
-        
-        return rejectedValue.fold(
-            () -> baseFormat,
-            value -> baseFormat + String.format(" (rejected value: %s)", value)
-        );
+        StringBuilder out = new StringBuilder(64).append('[').append(getErrorCode());
+        errorId.fold(() -> out, id -> out.append('|').append(id));
+        out.append("] ").append(fieldPath).append(": ").append(getMessage());
+        rejectedValue.fold(() -> out, value ->
+            MessageTemplate.appendValue(out.append(" (rejected value: "), value).append(')'));
+        return out.toString();
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -44,7 +45,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
      * @return a failed ValidationResult
      */
     static <T> ValidationResult<T> failure(ValidationError error) {
-        return new Failure<>(List.of(error));
+        return new Failure<>(ErrorSequence.of(error));
     }
 
     /**
@@ -58,7 +59,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
         if (errors.isEmpty()) {
             throw new IllegalArgumentException("Cannot create failure with empty error list");
         }
-        return new Failure<>(new ArrayList<>(errors));
+        return new Failure<>(errors);
     }
 
     /**
@@ -114,6 +115,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
 
     /**
      * Returns the validation errors if failed, or empty list if successful.
+     * The list is immutable and is not copied.
      * 
      * @return list of validation errors
      */
@@ -348,6 +350,8 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
 
     /**
      * Failed validation result with accumulated errors.
+     * The errors are kept in an {@link ErrorSequence}, shared with the results
+     * derived from this one rather than copied.
      */
     record Failure<T>(List<ValidationError> errors) implements ValidationResult<T> {
         public Failure {
@@ -355,7 +359,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
             if (errors.isEmpty()) {
                 throw new IllegalArgumentException("errors cannot be empty");
             }
-            errors = new ArrayList<>(errors); // defensive copy
+            errors = ErrorSequence.of(errors); // copies unless already immutable
         }
 
         @Override
@@ -370,7 +374,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
 
         @Override
         public List<ValidationError> getErrors() {
-            return new ArrayList<>(errors); // defensive copy
+            return errors;
         }
 
         @Override
@@ -386,9 +390,7 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
         @Override
         public <U, R> ValidationResult<R> combine(ValidationResult<U> other, 
                                                  Function<T, Function<U, R>> combiner) {
-            List<ValidationError> combinedErrors = new ArrayList<>(errors);
-            combinedErrors.addAll(other.getErrors());
-            return new Failure<>(combinedErrors);
+            return new Failure<>(((ErrorSequence) errors).concat(other.getErrors()));
         }
 
         @Override
@@ -423,18 +425,18 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
      * @return a list of all successful values, or accumulated errors
      */
     static <T> ValidationResult<List<T>> sequence(Collection<ValidationResult<T>> results) {
-        List<ValidationError> allErrors = new ArrayList<>();
+        ErrorSequence allErrors = ErrorSequence.empty();
         List<T> allValues = new ArrayList<>();
 
         for (ValidationResult<T> result : results) {
             if (result.isSuccess().toBoolean()) {
                 result.getValue().apply(() -> {}, allValues::add);
             } else {
-                allErrors.addAll(result.getErrors());
+                allErrors = allErrors.concat(result.getErrors());
             }
         }
 
-        return allErrors.isEmpty() ? success(allValues) : failure(allErrors);
+        return allErrors.isEmpty() ? success(allValues) : new Failure<>(allErrors);
     }
 
     /**
@@ -448,9 +450,66 @@ public sealed interface ValidationResult<T> permits ValidationResult.Success, Va
      */
     static <T, U> ValidationResult<List<U>> validateAll(Collection<T> items, 
                                                        Function<T, ValidationResult<U>> validator) {
-        List<ValidationResult<U>> results = items.stream()
-            .map(validator)
-            .collect(Collectors.toList());
-        return sequence(results);
+        ErrorSequence allErrors = ErrorSequence.empty();
+        List<U> allValues = new ArrayList<>(items.size());
+
+        for (T item : items) {
+            ValidationResult<U> result = validator.apply(item);
+            if (result instanceof Success<U> success) {
+                if (allValues != null) {
+                    allValues.add(success.value());
+                }
+            } else {
+                // the values are discarded once an error is found
+                allValues = null;
+                allErrors = allErrors.concat(result.getErrors());
+            }
+        }
+
+        return allErrors.isEmpty() ? success(allValues) : new Failure<>(allErrors);
+    }
+
+    /**
+     * Validates all items of a list in parallel, accumulating errors.
+     * Chunks of items are validated by separate tasks of the pool, and their values
+     * and errors are merged in the order of the items, whatever the scheduling.
+     * 
+     * @param <T> the item type
+     * @param <U> the validated type
+     * @param items the items to validate
+     * @param validator the validation function, which must be thread-safe
+     * @param pool the pool running the validation
+     * @return ValidationResult with all validated items or accumulated errors
+     */
+    static <T, U> ValidationResult<List<U>> validateAllParallel(List<T> items,
+                                                               Function<T, ValidationResult<U>> validator,
+                                                               ForkJoinPool pool) {
+        return validateAllParallel(items, validator, pool, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates all items of a list in parallel, stopping early once more errors than a
+     * budget are found.
+     * The errors are in the order of the items. When the budget is exceeded, the tasks
+     * stop validating new items, so which errors beyond the budget are reported depends
+     * on the scheduling.
+     * 
+     * @param <T> the item type
+     * @param <U> the validated type
+     * @param items the items to validate
+     * @param validator the validation function, which must be thread-safe
+     * @param pool the pool running the validation
+     * @param errorBudget the number of errors after which the validation may stop
+     * @return ValidationResult with all validated items or accumulated errors
+     */
+    static <T, U> ValidationResult<List<U>> validateAllParallel(List<T> items,
+                                                               Function<T, ValidationResult<U>> validator,
+                                                               ForkJoinPool pool, int errorBudget) {
+        Objects.requireNonNull(validator, "validator cannot be null");
+        Objects.requireNonNull(pool, "pool cannot be null");
+        if (errorBudget < 0) {
+            throw new IllegalArgumentException("errorBudget cannot be negative");
+        }
+        return ParallelValidation.validateAll(items, validator, pool, errorBudget);
     }
 }
\ No newline at end of file
@@ -0,0 +1,365 @@
+package eu.infolead.jtk.fp.validation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+import eu.infolead.jtk.anomaly.ErrorType;
+import eu.infolead.jtk.anomaly.StandardErrorType;
+import eu.infolead.jtk.fp.either.Maybe;
+
+/**
+ * A validator declared once per type and reused for every object.
+ *
+ * <p>The rules are declared per field with a {@link Builder}, then compiled into flat
+ * arrays, grouped by field. {@link #validate(Object)} checks all the rules in a single
+ * loop and only allocates when a rule fails: a valid object costs no
+ * {@link ValidationResult} per field and no error list.</p>
+ *
+ * <p>All the fields are checked and their errors accumulated, but the rules of a field
+ * stop at its first failure, so that a missing value is reported once as required
+ * and not again by the rules of its format. Rules other than {@code required} accept
+ * null values.</p>
+ *
+ * <pre>{@code
+ * static final ValidationSchema<User> USER = ValidationSchema.<User>builder()
+ *     .required("email", User::getEmail)
+ *     .matches("email", User::getEmail, EMAIL, StandardErrorType.INVALID_EMAIL)
+ *     .length("name", User::getName, 2, 50)
+ *     .range("age", User::getAge, 0, 120)
+ *     .nested("address", User::getAddress, ADDRESS)
+ *     .build();
+ *
+ * ValidationResult<User> result = USER.validate(user);
+ * }</pre>
+ *
+ * <p>Schemas are immutable and thread-safe, provided the functions given to the
+ * builder are.</p>
+ *
+ * @param <T> the type of the validated objects
+ */
+public final class ValidationSchema<T> {
+
+    private static final int REQUIRED = 0;
+    private static final int LENGTH = 1;
+    private static final int RANGE = 2;
+    private static final int COMPARABLE_RANGE = 3;
+    private static final int PATTERN = 4;
+    private static final int CHECK = 5;
+    private static final int NESTED = 6;
+
+    private final int[] kinds;
+    private final String[] paths;
+    /** Index of the first rule of the next field, for each rule. */
+    private final int[] fieldEnds;
+    private final Function<Object, Object>[] getters;
+    private final ToLongFunction<Object>[] longGetters;
+    private final long[] mins;
+    private final long[] maxs;
+    /** Bounds of comparable ranges, pattern, predicate or nested schema. */
+    private final Object[] firstArgs;
+    private final Object[] secondArgs;
+    private final ErrorType[] errorTypes;
+    private final Object[][] contextArgs;
+
+    @SuppressWarnings("unchecked")
+    private ValidationSchema(List<Rule> rules) {
+        int size = rules.size();
+        this.kinds = new int[size];
+        this.paths = new String[size];
+        this.fieldEnds = new int[size];
+        this.getters = new Function[size];
+        this.longGetters = new ToLongFunction[size];
+        this.mins = new long[size];
+        this.maxs = new long[size];
+        this.firstArgs = new Object[size];
+        this.secondArgs = new Object[size];
+        this.errorTypes = new ErrorType[size];
+        this.contextArgs = new Object[size][];
+        for (int i = 0; i < size; i++) {
+            Rule rule = rules.get(i);
+            kinds[i] = rule.kind;
+            paths[i] = rule.path;
+            getters[i] = rule.getter;
+            longGetters[i] = rule.longGetter;
+            mins[i] = rule.min;
+            maxs[i] = rule.max;
+            firstArgs[i] = rule.first;
+            secondArgs[i] = rule.second;
+            errorTypes[i] = rule.errorType;
+            contextArgs[i] = rule.contextArgs;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            fieldEnds[i] = i + 1 < size && paths[i + 1].equals(paths[i]) ? fieldEnds[i + 1] : i + 1;
+        }
+    }
+
+    /**
+     * Creates a builder of schema.
+     *
+     * @param <T> the type of the validated objects
+     * @return a new Builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Validates an object against all the rules.
+     *
+     * @param object the object to validate
+     * @return the object if all the rules pass, or the errors of all the fields; a null
+     *         object fails as required, with an empty path
+     */
+    public ValidationResult<T> validate(T object) {
+        if (object == null) {
+            return ValidationResult.failure(ValidationError.required(""));
+        }
+        List<ValidationError> errors = check(object, null, null);
+        return errors == null ? ValidationResult.success(object) : ValidationResult.failure(errors);
+    }
+
+    /**
+     * Checks the rules, adding the errors to a list created on the first error.
+     *
+     * @param object the object to validate
+     * @param prefix the path of the object within the validated object, or null
+     * @param errors the errors so far, or null
+     * @return the errors, or null if there are none
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private List<ValidationError> check(Object object, String prefix, List<ValidationError> errors) {
+        int i = 0;
+        while (i < kinds.length) {
+            ValidationError error = null;
+            List<ValidationError> nestedErrors = null;
+            switch (kinds[i]) {
+                case REQUIRED -> {
+                    if (getters[i].apply(object) == null) {
+                        error = ValidationError.required(path(prefix, i));
+                    }
+                }
+                case LENGTH -> {
+                    CharSequence value = (CharSequence) getters[i].apply(object);
+                    if (value != null && value.length() < mins[i]) {
+                        error = ValidationError.tooShort(path(prefix, i), value, (int) mins[i]);
+                    } else if (value != null && value.length() > maxs[i]) {
+                        error = ValidationError.tooLong(path(prefix, i), value, (int) maxs[i]);
+                    }
+                }
+                case RANGE -> {
+                    long value = longGetters[i].applyAsLong(object);
+                    if (value < mins[i] || value > maxs[i]) {
+                        error = ValidationError.outOfRange(path(prefix, i), value, mins[i], maxs[i]);
+                    }
+                }
+                case COMPARABLE_RANGE -> {
+                    Comparable value = (Comparable) getters[i].apply(object);
+                    if (value != null && (value.compareTo(firstArgs[i]) < 0 || value.compareTo(secondArgs[i]) > 0)) {
+                        error = ValidationError.outOfRange(path(prefix, i), value, firstArgs[i], secondArgs[i]);
+                    }
+                }
+                case PATTERN -> {
+                    CharSequence value = (CharSequence) getters[i].apply(object);
+                    if (value != null && !((Pattern) firstArgs[i]).matcher(value).matches()) {
+                        error = new ValidationError(path(prefix, i), errorTypes[i], contextArgs[i],
+                            Maybe.<Object>of(value), Maybe.none());
+                    }
+                }
+                case CHECK -> {
+                    Object value = getters[i].apply(object);
+                    if (value != null && !((Predicate<Object>) firstArgs[i]).test(value)) {
+                        error = new ValidationError(path(prefix, i), errorTypes[i], contextArgs[i],
+                            Maybe.<Object>of(value), Maybe.none());
+                    }
+                }
+                case NESTED -> {
+                    Object value = getters[i].apply(object);
+                    if (value != null) {
+                        int before = errors == null ? 0 : errors.size();
+                        errors = ((ValidationSchema<Object>) firstArgs[i]).check(value, path(prefix, i), errors);
+                        nestedErrors = errors != null && errors.size() > before ? errors : null;
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown rule kind: " + kinds[i]);
+            }
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>(4);
+                }
+                errors.add(error);
+            }
+            // the other rules of a field are skipped after its first failure.
+            i = error != null || nestedErrors != null ? fieldEnds[i] : i + 1;
+        }
+        return errors;
+    }
+
+    private String path(String prefix, int rule) {
+        return prefix == null ? paths[rule] : prefix + "." + paths[rule];
+    }
+
+    /**
+     * A rule as declared, before compilation.
+     */
+    private record Rule(int kind, String path, Function<Object, Object> getter, ToLongFunction<Object> longGetter,
+                        long min, long max, Object first, Object second, ErrorType errorType, Object[] contextArgs) {
+    }
+
+    /**
+     * Builder declaring the rules of a schema, field by field. The rules of a field are
+     * checked in the order they are declared.
+     *
+     * @param <T> the type of the validated objects
+     */
+    public static final class Builder<T> {
+        private final Map<String, List<Rule>> rules = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Requires a field to be non-null.
+         *
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @return this Builder for method chaining
+         */
+        public Builder<T> required(String fieldPath, Function<? super T, ?> getter) {
+            return add(REQUIRED, fieldPath, getter, null, 0, 0, null, null, StandardErrorType.REQUIRED);
+        }
+
+        /**
+         * Requires the length of a text field to be within bounds.
+         *
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param minLength minimum length
+         * @param maxLength maximum length
+         * @return this Builder for method chaining
+         */
+        public Builder<T> length(String fieldPath, Function<? super T, ? extends CharSequence> getter,
+                                 int minLength, int maxLength) {
+            checkBounds(minLength, maxLength);
+            return add(LENGTH, fieldPath, getter, null, minLength, maxLength, null, null, StandardErrorType.TOO_LONG);
+        }
+
+        /**
+         * Requires a numeric field to be within bounds, without boxing its value.
+         *
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param min minimum value
+         * @param max maximum value
+         * @return this Builder for method chaining
+         */
+        public Builder<T> range(String fieldPath, ToLongFunction<? super T> getter, long min, long max) {
+            checkBounds(min, max);
+            Objects.requireNonNull(getter, "getter cannot be null");
+            return add(RANGE, fieldPath, null, getter, min, max, null, null, StandardErrorType.OUT_OF_RANGE);
+        }
+
+        /**
+         * Requires a comparable field to be within bounds.
+         *
+         * @param <N> the field type
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param min minimum value
+         * @param max maximum value
+         * @return this Builder for method chaining
+         */
+        public <N extends Comparable<? super N>> Builder<T> between(String fieldPath, Function<? super T, N> getter,
+                                                                    N min, N max) {
+            Objects.requireNonNull(min, "min cannot be null");
+            Objects.requireNonNull(max, "max cannot be null");
+            return add(COMPARABLE_RANGE, fieldPath, getter, null, 0, 0, min, max, StandardErrorType.OUT_OF_RANGE);
+        }
+
+        /**
+         * Requires a text field to match a pattern entirely.
+         *
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param pattern the pattern
+         * @param errorType the error type if the value does not match
+         * @param contextArgs arguments for error message formatting
+         * @return this Builder for method chaining
+         */
+        public Builder<T> matches(String fieldPath, Function<? super T, ? extends CharSequence> getter,
+                                  Pattern pattern, ErrorType errorType, Object... contextArgs) {
+            Objects.requireNonNull(pattern, "pattern cannot be null");
+            return add(PATTERN, fieldPath, getter, null, 0, 0, pattern, null, errorType, contextArgs);
+        }
+
+        /**
+         * Requires a field to pass a custom predicate.
+         *
+         * @param <F> the field type
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param predicate the validation predicate
+         * @param errorType the error type if validation fails
+         * @param contextArgs arguments for error message formatting
+         * @return this Builder for method chaining
+         */
+        public <F> Builder<T> check(String fieldPath, Function<? super T, F> getter, Predicate<? super F> predicate,
+                                    ErrorType errorType, Object... contextArgs) {
+            Objects.requireNonNull(predicate, "predicate cannot be null");
+            return add(CHECK, fieldPath, getter, null, 0, 0, predicate, null, errorType, contextArgs);
+        }
+
+        /**
+         * Validates a field with the schema of its type; its errors have paths prefixed by
+         * the field path, such as {@code address.city}.
+         *
+         * @param <F> the field type
+         * @param fieldPath the field path
+         * @param getter function extracting the field value
+         * @param schema the schema of the field
+         * @return this Builder for method chaining
+         */
+        public <F> Builder<T> nested(String fieldPath, Function<? super T, F> getter, ValidationSchema<F> schema) {
+            Objects.requireNonNull(schema, "schema cannot be null");
+            return add(NESTED, fieldPath, getter, null, 0, 0, schema, null, StandardErrorType.INVALID_FORMAT);
+        }
+
+        /**
+         * Compiles the rules declared so far.
+         *
+         * @return the schema
+         */
+        public ValidationSchema<T> build() {
+            List<Rule> flat = new ArrayList<>();
+            rules.values().forEach(flat::addAll);
+            return new ValidationSchema<>(flat);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder<T> add(int kind, String fieldPath, Function<? super T, ?> getter,
+                               ToLongFunction<? super T> longGetter, long min, long max, Object first, Object second,
+                               ErrorType errorType, Object... contextArgs) {
+            Objects.requireNonNull(fieldPath, "fieldPath cannot be null");
+            Objects.requireNonNull(errorType, "errorType cannot be null");
+            if (longGetter == null) {
+                Objects.requireNonNull(getter, "getter cannot be null");
+            }
+            rules.computeIfAbsent(fieldPath, path -> new ArrayList<>())
+                .add(new Rule(kind, fieldPath, (Function<Object, Object>) getter, (ToLongFunction<Object>) longGetter,
+                    min, max, first, second, errorType, contextArgs.clone()));
+            return this;
+        }
+
+        private static void checkBounds(long min, long max) {
+            if (min > max) {
+                throw new IllegalArgumentException("min cannot be greater than max");
+            }
+        }
+    }
+}
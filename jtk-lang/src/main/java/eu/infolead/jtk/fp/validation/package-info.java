@@ -35,6 +35,14 @@
  *   <li>Common validation patterns (required, length, range)</li>
  * </ul>
  * 
+ * <h3>{@link eu.infolead.jtk.fp.validation.ValidationSchema}</h3>
+ * <p>Validator declared once per type and reused for every object:</p>
+ * <ul>
+ *   <li>Rules declared per field, compiled into flat arrays</li>
+ *   <li>Thread-safe, so it can be kept in a constant</li>
+ *   <li>Allocates only when a rule fails</li>
+ * </ul>
+ * 
  * <h2>Usage Patterns</h2>
  * 
  * <h3>Single Field Validation</h3>
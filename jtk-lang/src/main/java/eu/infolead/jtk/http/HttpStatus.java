@@ -1,13 +1,11 @@
 package eu.infolead.jtk.http;
 
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 import eu.infolead.jtk.fp.Fn;
 import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.lang.CompilerWarning;
 import eu.infolead.jtk.rfc.RfcReference;
 import jakarta.annotation.Nonnull;
 
@@ -267,13 +265,17 @@ public enum HttpStatus implements HttpStatusCode {
     private final String description;
     private final Maybe<String> rfcSection;
     private final Maybe<String> additionalInformation;
-    private static final Map<Integer, HttpStatus> VALUES = initValues(); // init this once and for all to avoid
-                                                                         // reallocating an array each time
+    private static final int MIN_CODE = 100;
+    private static final int MAX_CODE = 599;
+    private static final Maybe<HttpStatus>[] BY_CODE = initByCode(); // init this once and for all: lookups by code
+                                                                     // neither box the code nor allocate a Maybe
 
-    private static Map<Integer, HttpStatus> initValues() {
-        final Map<Integer, HttpStatus> values = new HashMap<>();
-        Arrays.stream(HttpStatus.values()).forEach(v -> values.put(v.code(), v));
-        return Collections.unmodifiableMap(values);
+    @SuppressWarnings(CompilerWarning.UNCHECKED)
+    private static Maybe<HttpStatus>[] initByCode() {
+        final Maybe<HttpStatus>[] byCode = new Maybe[MAX_CODE - MIN_CODE + 1];
+        Arrays.fill(byCode, Maybe.none());
+        Arrays.stream(HttpStatus.values()).forEach(v -> byCode[v.code() - MIN_CODE] = Maybe.of(v));
+        return byCode;
     }
 
     HttpStatus(@Nonnull final int code, @Nonnull final String description, @Nonnull final int rfcNumber,
@@ -329,10 +331,24 @@ public enum HttpStatus implements HttpStatusCode {
         return additionalInformation;
     }
 
+    /**
+     * Looks up the registered status with the specified code, without
+     * throwing for unknown or out-of-range codes.
+     *
+     * @param code the HTTP status code.
+     * @return the matching status, or none.
+     */
+    public static Maybe<HttpStatus> fromCode(final int code) {
+        if (code < MIN_CODE || code > MAX_CODE) {
+            return Maybe.none();
+        }
+        return BY_CODE[code - MIN_CODE];
+    }
+
     public static HttpStatusCode of(@Nonnull final int code, @Nonnull final RfcReference rfcReference,
             @Nonnull final Maybe<String> rfcSection,
             @Nonnull final String description) {
-        final Maybe<HttpStatus> status = Maybe.ofNullable(VALUES.get(code));
+        final Maybe<HttpStatus> status = fromCode(code);
         return status.fold(v -> new HttpStatusCode.DefaultHttpStatus(code, rfcReference, rfcSection, description),
                 Fn::identity);
     }
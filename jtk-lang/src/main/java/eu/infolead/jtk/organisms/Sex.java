@@ -1,5 +1,8 @@
 package eu.infolead.jtk.organisms;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import eu.infolead.jtk.fp.NN;
 import eu.infolead.jtk.fp.either.Result;
 
@@ -22,11 +25,32 @@ public enum Sex {
      */
     UNSPECIFIED;
 
+    private static final Result<Void, Sex> UNKNOWN_NAME = Result.failure(null/* TODO */);
+    private static final Map<String, Result<Void, Sex>> BY_NAME = initByName(); // results are immutable: share them
+
+    private static Map<String, Result<Void, Sex>> initByName() {
+        final Map<String, Result<Void, Sex>> byName = new HashMap<>();
+        for (final Sex sex : values()) {
+            byName.put(sex.name(), Result.success(sex));
+        }
+        return Map.copyOf(byName);
+    }
+
     public static Result<Void, Sex> of(final NN<String> gender) {
-        try {
-            return Result.success(gender == null ? UNSPECIFIED : valueOf(gender.get()));
-        } catch (final IllegalArgumentException e) {
-            return Result.failure(null/* TODO */);
+        return gender == null ? BY_NAME.get(UNSPECIFIED.name()) : fromName(gender.get());
+    }
+
+    /**
+     * Looks up the constant with the specified name, like {@link #valueOf(String)},
+     * but reports unknown or {@code null} names as a failure instead of throwing.
+     *
+     * @param name the exact name of the constant.
+     * @return the matching constant, or a failure.
+     */
+    public static Result<Void, Sex> fromName(final String name) {
+        if (name == null) {
+            return UNKNOWN_NAME;
         }
+        return BY_NAME.getOrDefault(name, UNKNOWN_NAME);
     }
 }
@@ -2,42 +2,126 @@ package eu.infolead.jtk.rfc;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import eu.infolead.jtk.anomaly.ParameterError;
 import eu.infolead.jtk.fp.either.Result;
 
+/**
+ * A reference to an RFC by its number.
+ *
+ * <p>
+ * The URLs of an RFC only depend on its number, so they are built once per
+ * number and shared afterwards. Invalid numbers and section identifiers are
+ * rejected by explicit checks before any URL is built, so hostile input never
+ * goes through exception handling.
+ */
 public record RfcReference(int number) {
     public static final String BASE_URL = "https://www.rfc-editor.org/rfc/rfc";
 
-    public Result<Void, URL> jsonUrl() {
-        try {
-            return Result.success(new URL(BASE_URL + number() + ".json"));
-        } catch (MalformedURLException e) {
-            return Result.failure(/* TODO */null);
+    /**
+     * RFC numbers below this bound have their URLs cached; larger numbers are
+     * still valid but their URLs are built on each call.
+     */
+    static final int CACHED_NUMBERS = 16384;
+    static final int MAX_SECTION_LENGTH = 64;
+
+    private static final Result<Void, URL> INVALID = Result.failure(/* TODO */null);
+    private static final AtomicReferenceArray<Urls> URLS = new AtomicReferenceArray<>(CACHED_NUMBERS);
+
+    /**
+     * Creates a reference to the RFC with the specified number.
+     *
+     * @param number the RFC number; must be positive.
+     * @return the reference, or an out-of-range parameter error if the number is
+     *         not positive.
+     */
+    public static Result<ParameterError, RfcReference> of(final int number) {
+        if (!isValidNumber(number)) {
+            return Result.failure(ParameterError.outOfRange("number", number, 1, Integer.MAX_VALUE));
         }
+        return Result.success(new RfcReference(number));
+    }
+
+    public Result<Void, URL> jsonUrl() {
+        return urls().json();
     }
 
     public Result<Void, URL> textUrl() {
-        try {
-            return Result.success(new URL(BASE_URL + number() + ".txt"));
-        } catch (MalformedURLException e) {
-            return Result.failure(/* TODO */null);
-        }
+        return urls().text();
     }
 
     public Result<Void, URL> url() {
-        try {
-            return Result.success(new URL(BASE_URL + number()));
-        } catch (MalformedURLException e) {
-            return Result.failure(/* TODO */null);
-        }
+        return urls().html();
     }
 
+    /**
+     * Returns the URL of a section of this RFC.
+     *
+     * @param section the section identifier, such as {@code 15.2.1}: ASCII
+     *                letters, digits, dots and dashes.
+     * @return the URL, or a failure if the number or section is not valid.
+     */
     public Result<Void, URL> url(final String section) {
-        // TODO validate section format
+        if (!isValidNumber(number) || !isValidSection(section)) {
+            return INVALID;
+        }
+        return toUrl(BASE_URL + number() + "#section-" + section);
+    }
+
+    static boolean isValidNumber(final int number) {
+        return number > 0;
+    }
+
+    static boolean isValidSection(final String section) {
+        if (section == null || section.isEmpty() || section.length() > MAX_SECTION_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < section.length(); i++) {
+            final char c = section.charAt(i);
+            final boolean valid = c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                    || c == '.' || c == '-';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Urls urls() {
+        if (!isValidNumber(number)) {
+            return Urls.INVALID_URLS;
+        }
+        if (number >= CACHED_NUMBERS) {
+            return Urls.of(number);
+        }
+        Urls urls = URLS.get(number);
+        if (urls == null) {
+            // racing threads build equivalent instances: either one may be kept.
+            urls = Urls.of(number);
+            URLS.lazySet(number, urls);
+        }
+        return urls;
+    }
+
+    /**
+     * Only called with URLs made of the constant base, a validated number and
+     * validated characters, for which the checked exception cannot occur.
+     */
+    private static Result<Void, URL> toUrl(final String url) {
         try {
-            return Result.success(new URL(BASE_URL + number() + "#section-" + section));
+            return Result.success(new URL(url));
         } catch (MalformedURLException e) {
-            return Result.failure(/* TODO */null);
+            return INVALID;
+        }
+    }
+
+    private record Urls(Result<Void, URL> html, Result<Void, URL> text, Result<Void, URL> json) {
+        static final Urls INVALID_URLS = new Urls(INVALID, INVALID, INVALID);
+
+        static Urls of(final int number) {
+            final String base = BASE_URL + number;
+            return new Urls(toUrl(base), toUrl(base + ".txt"), toUrl(base + ".json"));
         }
     }
 }
@@ -0,0 +1,173 @@
+package eu.infolead.jtk.time;
+
+import java.util.Arrays;
+
+/**
+ * Count and sum of values per time bucket, keyed by the bucket id of
+ * {@link CalendarBuckets}, in an open-addressing table of primitive arrays so
+ * that accumulating a value neither boxes nor allocates.
+ *
+ * <p>
+ * Instances are not thread-safe: parallel aggregations accumulate into one
+ * instance per task and {@link #merge(BucketAccumulator) merge} them.
+ */
+public final class BucketAccumulator {
+    /** Marks a free slot; no bucket starts at the first millisecond of the epoch range. */
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] counts;
+    private double[] sums;
+    private int size;
+
+    /**
+     * A consumer of the accumulated values of one bucket.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(long bucketId, long count, double sum);
+    }
+
+    public BucketAccumulator() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedBuckets the expected number of distinct buckets.
+     */
+    public BucketAccumulator(final int expectedBuckets) {
+        allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedBuckets) * 2 - 1) * 2));
+    }
+
+    /**
+     * Adds a value to a bucket.
+     *
+     * @param bucketId the bucket id.
+     * @param value    the value.
+     */
+    public void add(final long bucketId, final double value) {
+        add(bucketId, 1L, value);
+    }
+
+    /**
+     * Adds a count and a sum to a bucket.
+     *
+     * @param bucketId the bucket id.
+     * @param count    the number of values.
+     * @param sum      the sum of the values.
+     */
+    public void add(final long bucketId, final long count, final double sum) {
+        if (bucketId == FREE) {
+            throw new IllegalArgumentException("invalid bucket id");
+        }
+        int slot = slotOf(bucketId, keys);
+        if (keys[slot] == FREE) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                allocate(keys.length * 2);
+                slot = slotOf(bucketId, keys);
+            }
+            keys[slot] = bucketId;
+            size++;
+        }
+        counts[slot] += count;
+        sums[slot] += sum;
+    }
+
+    /**
+     * Adds all the buckets of another accumulator to this one.
+     *
+     * @param other the other accumulator.
+     * @return this accumulator.
+     */
+    public BucketAccumulator merge(final BucketAccumulator other) {
+        other.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return the number of distinct buckets.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param bucketId the bucket id.
+     * @return the number of values added to the bucket.
+     */
+    public long count(final long bucketId) {
+        final int slot = slotOf(bucketId, keys);
+        return keys[slot] == bucketId ? counts[slot] : 0L;
+    }
+
+    /**
+     * @param bucketId the bucket id.
+     * @return the sum of the values added to the bucket.
+     */
+    public double sum(final long bucketId) {
+        final int slot = slotOf(bucketId, keys);
+        return keys[slot] == bucketId ? sums[slot] : 0.0;
+    }
+
+    /**
+     * @return the bucket ids, in increasing order.
+     */
+    public long[] bucketIds() {
+        final long[] ids = new long[size];
+        int i = 0;
+        for (final long key : keys) {
+            if (key != FREE) {
+                ids[i++] = key;
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Passes the values of each bucket to the consumer, in no particular order.
+     *
+     * @param consumer the consumer.
+     */
+    public void forEach(final BucketConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                consumer.accept(keys[slot], counts[slot], sums[slot]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldCounts = counts;
+        final double[] oldSums = sums;
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        counts = new long[capacity];
+        sums = new double[capacity];
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    final int slot = slotOf(oldKeys[i], keys);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                    sums[slot] = oldSums[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot where it would go.
+     */
+    private static int slotOf(final long key, final long[] keys) {
+        final int mask = keys.length - 1;
+        final long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
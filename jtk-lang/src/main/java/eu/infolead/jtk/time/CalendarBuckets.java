@@ -0,0 +1,302 @@
+package eu.infolead.jtk.time;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Maps instants to local calendar buckets (hours, days, weeks or months) of a
+ * zone, and aggregates values per bucket.
+ *
+ * <p>
+ * The id of a bucket is the instant, in epoch milliseconds, at which it starts.
+ * Bucket starts are local times resolved like
+ * {@link java.time.ZonedDateTime#ofLocal}: a bucket whose local start falls in
+ * a DST gap starts at the end of the gap (an hour bucket that entirely falls in
+ * the gap does not exist), and a local start in an overlap uses the earlier
+ * offset (the repeated hour is a single, longer bucket).
+ *
+ * <p>
+ * The bucket starts of each local year are computed on first use and cached
+ * for the years {@value EpochConverter#DEFAULT_FROM_YEAR} to
+ * {@value EpochConverter#DEFAULT_TO_YEAR}; finding the bucket of an instant is
+ * then a binary search in that table, and the bulk methods skip the year lookup
+ * while consecutive instants stay in the same year. The rules are those of the
+ * {@link TzRulesRegistry} snapshot that is current when the instance is
+ * created.
+ *
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class CalendarBuckets {
+    /** Batches smaller than this are aggregated sequentially by the parallel methods. */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * The length of the buckets.
+     */
+    public enum Unit {
+        HOUR,
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    private final TZ zone;
+    private final Unit unit;
+    private final DayOfWeek firstDayOfWeek;
+    private final EpochConverter converter;
+    /** Bucket starts of each cached local year, plus the start of the first bucket of the next year. */
+    private final AtomicReferenceArray<long[]> years;
+
+    private CalendarBuckets(final TZ zone, final Unit unit, final DayOfWeek firstDayOfWeek) {
+        this.zone = zone;
+        this.unit = unit;
+        this.firstDayOfWeek = firstDayOfWeek;
+        this.converter = EpochConverter.of(zone);
+        this.years = new AtomicReferenceArray<>(EpochConverter.DEFAULT_TO_YEAR - EpochConverter.DEFAULT_FROM_YEAR + 1);
+    }
+
+    /**
+     * @param zone the zone of the local calendar.
+     * @param unit the length of the buckets; weeks start on Monday.
+     * @return the buckets.
+     */
+    public static CalendarBuckets of(@Nonnull final TZ zone, @Nonnull final Unit unit) {
+        return of(zone, unit, DayOfWeek.MONDAY);
+    }
+
+    /**
+     * @param zone           the zone of the local calendar.
+     * @param unit           the length of the buckets.
+     * @param firstDayOfWeek the first day of week buckets.
+     * @return the buckets.
+     */
+    public static CalendarBuckets of(@Nonnull final TZ zone, @Nonnull final Unit unit,
+            @Nonnull final DayOfWeek firstDayOfWeek) {
+        return new CalendarBuckets(Objects.requireNonNull(zone, "zone cannot be null"),
+                Objects.requireNonNull(unit, "unit cannot be null"),
+                Objects.requireNonNull(firstDayOfWeek, "firstDayOfWeek cannot be null"));
+    }
+
+    public TZ zone() {
+        return zone;
+    }
+
+    public Unit unit() {
+        return unit;
+    }
+
+    // ====================== BUCKET IDS ======================
+
+    /**
+     * @param epochMilli the instant, in milliseconds since the epoch.
+     * @return the id of the bucket containing the instant.
+     */
+    public long bucketOf(final long epochMilli) {
+        final long[] starts = startsAround(epochMilli);
+        return starts[indexIn(starts, epochMilli)];
+    }
+
+    /**
+     * @param bucketId the id of a bucket.
+     * @return the id of the next bucket, which is also the end of the specified
+     *         bucket, exclusive.
+     */
+    public long nextBucket(final long bucketId) {
+        final long[] starts = startsAround(bucketId);
+        return starts[indexIn(starts, bucketId) + 1];
+    }
+
+    /**
+     * Computes the buckets of many instants.
+     *
+     * @param epochMillis the instants, in milliseconds since the epoch.
+     * @param from        the index of the first instant.
+     * @param length      the number of instants.
+     * @param bucketIds   receives the bucket ids, at the same indices as the
+     *                    instants. May be {@code epochMillis} itself.
+     */
+    public void bucketsOf(final long[] epochMillis, final int from, final int length, final long[] bucketIds) {
+        Objects.checkFromIndexSize(from, length, epochMillis.length);
+        Objects.checkFromIndexSize(from, length, bucketIds.length);
+        long[] starts = null;
+        for (int i = from; i < from + length; i++) {
+            final long epochMilli = epochMillis[i];
+            if (starts == null || epochMilli < starts[0] || epochMilli >= starts[starts.length - 1]) {
+                starts = startsAround(epochMilli);
+            }
+            bucketIds[i] = starts[indexIn(starts, epochMilli)];
+        }
+    }
+
+    // ====================== AGGREGATION ======================
+
+    /**
+     * Accumulates values into their buckets.
+     *
+     * @param epochMillis the instants of the values, in milliseconds since the
+     *                    epoch.
+     * @param values      the values, at the same indices as the instants, or
+     *                    {@code null} to only count the instants.
+     * @param from        the index of the first value.
+     * @param length      the number of values.
+     * @param into        the accumulator.
+     * @return the accumulator.
+     */
+    public BucketAccumulator aggregate(final long[] epochMillis, final double[] values, final int from,
+            final int length, final BucketAccumulator into) {
+        Objects.checkFromIndexSize(from, length, epochMillis.length);
+        if (values != null) {
+            Objects.checkFromIndexSize(from, length, values.length);
+        }
+        long[] starts = null;
+        for (int i = from; i < from + length; i++) {
+            final long epochMilli = epochMillis[i];
+            if (starts == null || epochMilli < starts[0] || epochMilli >= starts[starts.length - 1]) {
+                starts = startsAround(epochMilli);
+            }
+            into.add(starts[indexIn(starts, epochMilli)], values == null ? 0.0 : values[i]);
+        }
+        return into;
+    }
+
+    /**
+     * Accumulates values into their buckets, splitting large batches across the
+     * specified pool.
+     *
+     * @param epochMillis the instants of the values, in milliseconds since the
+     *                    epoch.
+     * @param values      the values, at the same indices as the instants, or
+     *                    {@code null} to only count the instants.
+     * @param pool        the pool running the aggregation.
+     * @return a new accumulator with the aggregated values.
+     */
+    public BucketAccumulator aggregate(final long[] epochMillis, final double[] values,
+            @Nonnull final ForkJoinPool pool) {
+        if (values != null && values.length != epochMillis.length) {
+            throw new IllegalArgumentException("epochMillis and values must have the same length");
+        }
+        return pool.invoke(new AggregateTask(epochMillis, values, 0, epochMillis.length));
+    }
+
+    private final class AggregateTask extends RecursiveTask<BucketAccumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient long[] epochMillis;
+        private final transient double[] values;
+        private final int from;
+        private final int length;
+
+        AggregateTask(final long[] epochMillis, final double[] values, final int from, final int length) {
+            this.epochMillis = epochMillis;
+            this.values = values;
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        protected BucketAccumulator compute() {
+            if (length <= PARALLEL_THRESHOLD) {
+                return aggregate(epochMillis, values, from, length, new BucketAccumulator());
+            }
+            final int half = length >>> 1;
+            final AggregateTask left = new AggregateTask(epochMillis, values, from, half);
+            left.fork();
+            final BucketAccumulator right = new AggregateTask(epochMillis, values, from + half, length - half)
+                    .compute();
+            return left.join().merge(right);
+        }
+    }
+
+    // ====================== BOUNDARIES ======================
+
+    private static int indexIn(final long[] starts, final long epochMilli) {
+        final int found = Arrays.binarySearch(starts, epochMilli);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * @return bucket starts whose range, from the first start inclusive to the
+     *         last one exclusive, contains the instant.
+     */
+    private long[] startsAround(final long epochMilli) {
+        final long localMilli = converter.toLocalEpochMilli(epochMilli);
+        final int year = CivilDays.year(CivilDays.toCivil(Math.floorDiv(localMilli, CivilDays.MILLIS_PER_DAY)));
+        long[] starts = startsOf(year);
+        // at the turn of a year, the offset of the instant may differ from the one that resolved the year start.
+        if (epochMilli < starts[0]) {
+            starts = startsOf(year - 1);
+        } else if (epochMilli >= starts[starts.length - 1]) {
+            starts = startsOf(year + 1);
+        }
+        return starts;
+    }
+
+    private long[] startsOf(final int year) {
+        final int index = year - EpochConverter.DEFAULT_FROM_YEAR;
+        if (index < 0 || index >= years.length()) {
+            return computeStarts(year);
+        }
+        long[] starts = years.get(index);
+        if (starts == null) {
+            // computing is idempotent: racing threads may compute twice, either result may be kept.
+            starts = computeStarts(year);
+            years.lazySet(index, starts);
+        }
+        return starts;
+    }
+
+    /**
+     * @return the instants of the local bucket starts from the bucket containing
+     *         January 1st of the year, to the first one at or after January 1st
+     *         of the next year, without the duplicates caused by DST gaps.
+     */
+    private long[] computeStarts(final int year) {
+        final long firstDay = CivilDays.toEpochDay(year, 1, 1);
+        final long nextYearDay = CivilDays.toEpochDay(year + 1, 1, 1);
+        long day = firstDay;
+        if (unit == Unit.WEEK) {
+            // ISO day of week of the epoch day: 1970-01-01 is a Thursday.
+            final int dayOfWeek = (int) Math.floorMod(day + 3, 7) + 1;
+            day -= Math.floorMod(dayOfWeek - firstDayOfWeek.getValue(), 7);
+        }
+        long[] starts = new long[unit == Unit.HOUR ? 24 * 367 : 56];
+        int count = 0;
+        long previous = Long.MIN_VALUE;
+        boolean last = false;
+        while (!last) {
+            last = day >= nextYearDay;
+            final int hours = unit == Unit.HOUR && !last ? 24 : 1;
+            for (int hour = 0; hour < hours; hour++) {
+                final long local = day * CivilDays.SECONDS_PER_DAY + hour * 3600L;
+                final long start = converter.toEpochSecond(local) * 1000L;
+                if (start > previous) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                    }
+                    starts[count++] = start;
+                    previous = start;
+                }
+            }
+            day = nextDay(day);
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private long nextDay(final long epochDay) {
+        return switch (unit) {
+            case HOUR, DAY -> epochDay + 1;
+            case WEEK -> epochDay + 7;
+            case MONTH -> {
+                final long civil = CivilDays.toCivil(epochDay);
+                yield epochDay + CivilDays.lengthOfMonth(CivilDays.year(civil), CivilDays.month(civil));
+            }
+        };
+    }
+}
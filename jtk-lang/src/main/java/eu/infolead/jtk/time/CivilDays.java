@@ -0,0 +1,85 @@
+package eu.infolead.jtk.time;
+
+/**
+ * Conversions between days since the epoch (1970-01-01) and proleptic
+ * Gregorian calendar dates, without going through {@link java.time.LocalDate}.
+ *
+ * <p>
+ * Uses the era-based algorithms of Howard Hinnant ("chrono-Compatible
+ * Low-Level Date Algorithms"), which only need integer arithmetic and are
+ * valid for the whole range of {@code int} years.
+ */
+final class CivilDays {
+    static final long MILLIS_PER_DAY = 86_400_000L;
+    static final long NANOS_PER_MILLI = 1_000_000L;
+    static final int SECONDS_PER_DAY = 86_400;
+
+    private static final int DAYS_PER_ERA = 146_097;
+    private static final int DAYS_FROM_0000_03_01_TO_EPOCH = 719_468;
+
+    private CivilDays() {
+    }
+
+    /**
+     * Returns the date of the specified epoch day, packed as
+     * {@code year << 9 | month << 5 | day}.
+     *
+     * @param epochDay the number of days since 1970-01-01.
+     * @return the packed date; use {@link #year(long)}, {@link #month(long)} and
+     *         {@link #day(long)} to unpack it.
+     */
+    static long toCivil(final long epochDay) {
+        final long z = epochDay + DAYS_FROM_0000_03_01_TO_EPOCH;
+        final long era = Math.floorDiv(z, DAYS_PER_ERA);
+        final long dayOfEra = z - era * DAYS_PER_ERA;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long shiftedMonth = (5 * dayOfYear + 2) / 153; // March = 0
+        final long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        final long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    static int year(final long civil) {
+        return (int) (civil >> 9);
+    }
+
+    static int month(final long civil) {
+        return (int) (civil >>> 5) & 0xF;
+    }
+
+    static int day(final long civil) {
+        return (int) civil & 0x1F;
+    }
+
+    /**
+     * Returns the epoch day of the specified date. The arguments are not
+     * validated.
+     *
+     * @param year  the proleptic year.
+     * @param month the month, from 1 to 12.
+     * @param day   the day of the month, from 1 to 31.
+     * @return the number of days since 1970-01-01.
+     */
+    static long toEpochDay(final int year, final int month, final int day) {
+        final long y = month <= 2 ? (long) year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_0000_03_01_TO_EPOCH;
+    }
+
+    static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth(final long year, final int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
@@ -0,0 +1,325 @@
+package eu.infolead.jtk.time;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Converts epoch milliseconds into local date-time fields of a zone, in bulk
+ * and without allocating per value, and local date-times back into instants.
+ *
+ * <p>
+ * The offset transitions of the zone over a range of years are precomputed into
+ * primitive arrays. The offset of an instant is found by binary search in that
+ * table; the bulk methods first check the transition interval of the previous
+ * value, which is almost always the right one for sorted or clustered input.
+ * Instants outside the precomputed range fall back to {@link ZoneRules}.
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class EpochConverter {
+    public static final int DEFAULT_FROM_YEAR = 1900;
+    public static final int DEFAULT_TO_YEAR = 2100;
+
+    private final ZoneRules rules;
+    private final int fromYear;
+    private final int toYear;
+    /** First second covered by the table, inclusive. */
+    private final long startEpochSecond;
+    /** Last second covered by the table, exclusive. */
+    private final long endEpochSecond;
+    /** Epoch second of each transition, in increasing order. */
+    private final long[] transitions;
+    /**
+     * Offset in seconds before the first transition ({@code offsets[0]}) and
+     * after each transition ({@code offsets[i + 1]}).
+     */
+    private final int[] offsets;
+
+    private EpochConverter(final ZoneRules rules, final int fromYear, final int toYear) {
+        this.rules = rules;
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+        // one day of margin on each side: no offset exceeds a day, so local years are fully covered.
+        this.startEpochSecond = (CivilDays.toEpochDay(fromYear, 1, 1) - 1) * CivilDays.SECONDS_PER_DAY;
+        this.endEpochSecond = (CivilDays.toEpochDay(toYear + 1, 1, 1) + 1) * CivilDays.SECONDS_PER_DAY;
+
+        long[] epochSeconds = new long[16];
+        int[] offsetsAfter = new int[17];
+        offsetsAfter[0] = rules.getOffset(Instant.ofEpochSecond(startEpochSecond)).getTotalSeconds();
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(startEpochSecond));
+        while (transition != null && transition.toEpochSecond() < endEpochSecond) {
+            if (count == epochSeconds.length) {
+                epochSeconds = Arrays.copyOf(epochSeconds, count * 2);
+                offsetsAfter = Arrays.copyOf(offsetsAfter, count * 2 + 1);
+            }
+            epochSeconds[count] = transition.toEpochSecond();
+            offsetsAfter[++count] = transition.getOffsetAfter().getTotalSeconds();
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        this.transitions = Arrays.copyOf(epochSeconds, count);
+        this.offsets = Arrays.copyOf(offsetsAfter, count + 1);
+    }
+
+    /**
+     * Returns the converter of the specified zone over the default range of
+     * years, {@value #DEFAULT_FROM_YEAR} to {@value #DEFAULT_TO_YEAR}, for the
+     * current rules of the {@link TzRulesRegistry}. It is built on first use and
+     * shared until the rules change.
+     *
+     * @param tz the zone.
+     * @return the shared converter of the zone.
+     */
+    public static EpochConverter of(@Nonnull final TZ tz) {
+        return TzRulesRegistry.current().converter(tz);
+    }
+
+    /**
+     * Creates a converter of the specified zone whose transition table covers the
+     * specified years. The converter is not cached.
+     *
+     * @param tz       the zone.
+     * @param fromYear the first year of the table, inclusive.
+     * @param toYear   the last year of the table, inclusive.
+     * @return a new converter.
+     */
+    public static EpochConverter of(@Nonnull final TZ tz, final int fromYear, final int toYear) {
+        return of(tz.toZoneRules(), fromYear, toYear);
+    }
+
+    /**
+     * Creates a converter for the specified rules whose transition table covers
+     * the specified years.
+     *
+     * @param rules    the zone rules.
+     * @param fromYear the first year of the table, inclusive.
+     * @param toYear   the last year of the table, inclusive.
+     * @return a new converter.
+     */
+    public static EpochConverter of(@Nonnull final ZoneRules rules, final int fromYear, final int toYear) {
+        Objects.requireNonNull(rules, "rules cannot be null");
+        if (fromYear > toYear || fromYear < -999_999 || toYear > 999_999) {
+            throw new IllegalArgumentException("invalid year range: " + fromYear + ".." + toYear);
+        }
+        return new EpochConverter(rules, fromYear, toYear);
+    }
+
+    public ZoneRules rules() {
+        return rules;
+    }
+
+    public int fromYear() {
+        return fromYear;
+    }
+
+    public int toYear() {
+        return toYear;
+    }
+
+    /**
+     * @return the number of offset transitions in the precomputed table.
+     */
+    public int transitionCount() {
+        return transitions.length;
+    }
+
+    // ====================== SINGLE VALUES ======================
+
+    /**
+     * @param epochMilli the instant, in milliseconds since the epoch.
+     * @return the offset from UTC in seconds at the specified instant.
+     */
+    public int offsetSecondsAt(final long epochMilli) {
+        return offsetSecondsAtEpochSecond(Math.floorDiv(epochMilli, 1000L));
+    }
+
+    /**
+     * @param epochSecond the instant, in seconds since the epoch.
+     * @return the offset from UTC in seconds at the specified instant.
+     */
+    public int offsetSecondsAtEpochSecond(final long epochSecond) {
+        if (epochSecond < startEpochSecond || epochSecond >= endEpochSecond) {
+            return fallbackOffsetSeconds(epochSecond);
+        }
+        return offsets[intervalOf(epochSecond)];
+    }
+
+    /**
+     * Converts a local date-time into an instant, with the same resolution as
+     * {@link java.time.ZonedDateTime#ofLocal}: a local time in a gap is shifted
+     * forward by the length of the gap, and a local time in an overlap uses the
+     * earlier offset.
+     *
+     * @param localEpochSecond the seconds since 1970-01-01T00:00 on the local
+     *                         time line.
+     * @return the instant, in seconds since the epoch.
+     */
+    public long toEpochSecond(final long localEpochSecond) {
+        if (localEpochSecond < startEpochSecond + CivilDays.SECONDS_PER_DAY
+                || localEpochSecond >= endEpochSecond - CivilDays.SECONDS_PER_DAY) {
+            return fallbackEpochSecond(localEpochSecond);
+        }
+        // last transition whose local discontinuity starts at or before the local time.
+        int low = 0;
+        int high = transitions.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (transitions[mid] + Math.min(offsets[mid], offsets[mid + 1]) <= localEpochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final int transition = low - 1;
+        if (transition < 0) {
+            return localEpochSecond - offsets[0];
+        }
+        final int before = offsets[transition];
+        final int after = offsets[transition + 1];
+        // within the gap or the overlap, the offset before the transition applies.
+        return localEpochSecond < transitions[transition] + Math.max(before, after)
+                ? localEpochSecond - before
+                : localEpochSecond - after;
+    }
+
+    /**
+     * @param epochMilli the instant, in milliseconds since the epoch.
+     * @return the milliseconds since 1970-01-01T00:00 on the local time line.
+     */
+    public long toLocalEpochMilli(final long epochMilli) {
+        return epochMilli + offsetSecondsAt(epochMilli) * 1000L;
+    }
+
+    /**
+     * @param epochMilli the instant, in milliseconds since the epoch.
+     * @return the local date-time fields, see {@link PackedDateTime}.
+     */
+    public long toPackedDateTime(final long epochMilli) {
+        return PackedDateTime.ofLocalEpochMilli(toLocalEpochMilli(epochMilli));
+    }
+
+    // ====================== BULK ======================
+
+    /**
+     * Converts instants into local epoch milliseconds.
+     *
+     * @param epochMillis the instants, in milliseconds since the epoch.
+     * @param from        the index of the first instant to convert.
+     * @param length      the number of instants to convert.
+     * @param localMillis receives the local epoch milliseconds, at the same
+     *                    indices as the instants. May be {@code epochMillis}
+     *                    itself.
+     */
+    public void toLocalEpochMillis(final long[] epochMillis, final int from, final int length,
+            final long[] localMillis) {
+        Objects.checkFromIndexSize(from, length, epochMillis.length);
+        Objects.checkFromIndexSize(from, length, localMillis.length);
+        int hint = 0;
+        for (int i = from; i < from + length; i++) {
+            final long epochSecond = Math.floorDiv(epochMillis[i], 1000L);
+            final int offsetSeconds;
+            if (epochSecond < startEpochSecond || epochSecond >= endEpochSecond) {
+                offsetSeconds = fallbackOffsetSeconds(epochSecond);
+            } else {
+                hint = intervalOf(epochSecond, hint);
+                offsetSeconds = offsets[hint];
+            }
+            localMillis[i] = epochMillis[i] + offsetSeconds * 1000L;
+        }
+    }
+
+    /**
+     * Converts instants into local epoch days and nanoseconds of the day.
+     *
+     * @param epochMillis the instants, in milliseconds since the epoch.
+     * @param from        the index of the first instant to convert.
+     * @param length      the number of instants to convert.
+     * @param epochDays   receives the local days since 1970-01-01, at the same
+     *                    indices as the instants.
+     * @param nanosOfDay  receives the local nanoseconds of the day, at the same
+     *                    indices as the instants.
+     */
+    public void toEpochDayAndNanoOfDay(final long[] epochMillis, final int from, final int length,
+            final long[] epochDays, final long[] nanosOfDay) {
+        Objects.checkFromIndexSize(from, length, epochDays.length);
+        toLocalEpochMillis(epochMillis, from, length, nanosOfDay);
+        for (int i = from; i < from + length; i++) {
+            final long local = nanosOfDay[i];
+            final long epochDay = Math.floorDiv(local, CivilDays.MILLIS_PER_DAY);
+            epochDays[i] = epochDay;
+            nanosOfDay[i] = (local - epochDay * CivilDays.MILLIS_PER_DAY) * CivilDays.NANOS_PER_MILLI;
+        }
+    }
+
+    /**
+     * Converts instants into packed local date-time fields.
+     *
+     * @param epochMillis the instants, in milliseconds since the epoch.
+     * @param from        the index of the first instant to convert.
+     * @param length      the number of instants to convert.
+     * @param packed      receives the local date-times, see
+     *                    {@link PackedDateTime}, at the same indices as the
+     *                    instants. May be {@code epochMillis} itself.
+     */
+    public void toPackedDateTimes(final long[] epochMillis, final int from, final int length, final long[] packed) {
+        toLocalEpochMillis(epochMillis, from, length, packed);
+        long cachedDay = Long.MIN_VALUE;
+        long cachedCivil = 0L;
+        for (int i = from; i < from + length; i++) {
+            final long local = packed[i];
+            final long epochDay = Math.floorDiv(local, CivilDays.MILLIS_PER_DAY);
+            if (epochDay != cachedDay) {
+                cachedDay = epochDay;
+                cachedCivil = CivilDays.toCivil(epochDay);
+            }
+            final int millisOfDay = (int) (local - epochDay * CivilDays.MILLIS_PER_DAY);
+            final int secondOfDay = millisOfDay / 1000;
+            packed[i] = PackedDateTime.pack(CivilDays.year(cachedCivil), CivilDays.month(cachedCivil),
+                    CivilDays.day(cachedCivil), secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60,
+                    millisOfDay % 1000);
+        }
+    }
+
+    // ====================== TABLE LOOKUP ======================
+
+    /**
+     * @return the index in {@link #offsets} of the interval containing the
+     *         specified second, which must be within the table range.
+     */
+    int intervalOf(final long epochSecond) {
+        final int found = Arrays.binarySearch(transitions, epochSecond);
+        // an exact match is the first second of the interval after that transition.
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    private int intervalOf(final long epochSecond, final int hint) {
+        final long[] t = transitions;
+        final boolean afterStart = hint == 0 || t[hint - 1] <= epochSecond;
+        final boolean beforeEnd = hint == t.length || epochSecond < t[hint];
+        return afterStart && beforeEnd ? hint : intervalOf(epochSecond);
+    }
+
+    private long fallbackEpochSecond(final long localEpochSecond) {
+        final LocalDateTime local = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+        final List<ZoneOffset> validOffsets = rules.getValidOffsets(local);
+        if (!validOffsets.isEmpty()) {
+            // in an overlap, the earlier offset comes first.
+            return localEpochSecond - validOffsets.get(0).getTotalSeconds();
+        }
+        return localEpochSecond - rules.getTransition(local).getOffsetBefore().getTotalSeconds();
+    }
+
+    private int fallbackOffsetSeconds(final long epochSecond) {
+        final ZoneOffset offset = rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        return offset.getTotalSeconds();
+    }
+}
@@ -0,0 +1,488 @@
+package eu.infolead.jtk.time;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Formats and parses ISO-8601 date-times with an offset, such as
+ * {@code 2024-03-31T03:15:42.123+02:00}, without allocating per value.
+ *
+ * <p>
+ * Formatting writes into a caller-supplied {@code char[]},
+ * {@link StringBuilder} or {@link ByteBuffer}, with a fixed number of
+ * fraction digits and the offset of the configured zone at the instant, taken
+ * from the cached transition table of {@link EpochConverter}. A zero offset is
+ * written {@code Z}; years outside {@code 0000..9999} are written with a sign,
+ * like {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+ *
+ * <p>
+ * Parsing reads a {@link CharSequence} or an ASCII {@code byte[]} range into a
+ * reusable {@link Timestamp} and reports malformed input with a
+ * {@code false} return value instead of an exception. It accepts 0 to 9
+ * fraction digits, and a {@code Z} or {@code ±HH:MM[:SS]} offset; date-times
+ * without an offset are resolved in the configured zone.
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class Iso8601 {
+    /**
+     * The maximum number of characters written for one date-time.
+     */
+    public static final int MAX_LENGTH = 45;
+
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000 };
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+    private static final ThreadLocal<AsciiView> ASCII_VIEWS = ThreadLocal.withInitial(AsciiView::new);
+
+    /**
+     * The number of fraction-of-second digits written by a formatter.
+     */
+    public enum Precision {
+        MILLIS(3),
+        MICROS(6),
+        NANOS(9);
+
+        private final int digits;
+
+        Precision(final int digits) {
+            this.digits = digits;
+        }
+
+        public int digits() {
+            return digits;
+        }
+    }
+
+    private final TZ zone;
+    private final Precision precision;
+
+    private Iso8601(final TZ zone, final Precision precision) {
+        this.zone = Objects.requireNonNull(zone, "zone cannot be null");
+        this.precision = Objects.requireNonNull(precision, "precision cannot be null");
+    }
+
+    /**
+     * @param zone      the zone whose offsets are written, and in which
+     *                  date-times without an offset are parsed.
+     * @param precision the number of fraction digits written.
+     * @return a formatter and parser.
+     */
+    public static Iso8601 of(@Nonnull final TZ zone, @Nonnull final Precision precision) {
+        return new Iso8601(zone, precision);
+    }
+
+    /**
+     * @param precision the number of fraction digits written.
+     * @return a formatter and parser for UTC.
+     */
+    public static Iso8601 utc(@Nonnull final Precision precision) {
+        return new Iso8601(TZ.UTC, precision);
+    }
+
+    public TZ zone() {
+        return zone;
+    }
+
+    public Precision precision() {
+        return precision;
+    }
+
+    // ====================== FORMATTING ======================
+
+    /**
+     * Writes the date-time of the specified instant.
+     *
+     * @param epochSecond  the seconds since the epoch.
+     * @param nanoOfSecond the nanoseconds within the second, from 0 to
+     *                     999,999,999; truncated to the precision.
+     * @param dst          the destination, which must have room for
+     *                     {@link #MAX_LENGTH} characters from {@code offset}.
+     * @param offset       the index of the first character to write.
+     * @return the number of characters written.
+     */
+    public int format(final long epochSecond, final int nanoOfSecond, final char[] dst, final int offset) {
+        if (nanoOfSecond < 0 || nanoOfSecond >= NANOS_PER_SECOND) {
+            throw new IllegalArgumentException("nanoOfSecond out of range: " + nanoOfSecond);
+        }
+        final int offsetSeconds = EpochConverter.of(zone).offsetSecondsAtEpochSecond(epochSecond);
+        final long local = epochSecond + offsetSeconds;
+        final long epochDay = Math.floorDiv(local, CivilDays.SECONDS_PER_DAY);
+        final int secondOfDay = (int) (local - epochDay * CivilDays.SECONDS_PER_DAY);
+        final long civil = CivilDays.toCivil(epochDay);
+
+        int p = writeYear(CivilDays.year(civil), dst, offset);
+        dst[p++] = '-';
+        p = writeDigits(CivilDays.month(civil), 2, dst, p);
+        dst[p++] = '-';
+        p = writeDigits(CivilDays.day(civil), 2, dst, p);
+        dst[p++] = 'T';
+        p = writeDigits(secondOfDay / 3600, 2, dst, p);
+        dst[p++] = ':';
+        p = writeDigits(secondOfDay / 60 % 60, 2, dst, p);
+        dst[p++] = ':';
+        p = writeDigits(secondOfDay % 60, 2, dst, p);
+        dst[p++] = '.';
+        p = writeDigits(nanoOfSecond / POWERS_OF_TEN[9 - precision.digits], precision.digits, dst, p);
+        p = writeOffset(offsetSeconds, dst, p);
+        return p - offset;
+    }
+
+    /**
+     * Writes the date-time of the specified instant.
+     *
+     * @param epochMilli the milliseconds since the epoch.
+     * @param dst        the destination, which must have room for
+     *                   {@link #MAX_LENGTH} characters from {@code offset}.
+     * @param offset     the index of the first character to write.
+     * @return the number of characters written.
+     */
+    public int formatEpochMilli(final long epochMilli, final char[] dst, final int offset) {
+        return format(Math.floorDiv(epochMilli, 1000L), (int) Math.floorMod(epochMilli, 1000L) * 1_000_000, dst,
+                offset);
+    }
+
+    /**
+     * Appends the date-time of the specified instant.
+     *
+     * @param epochSecond  the seconds since the epoch.
+     * @param nanoOfSecond the nanoseconds within the second.
+     * @param dst          the destination.
+     * @return the destination.
+     */
+    public StringBuilder formatTo(final long epochSecond, final int nanoOfSecond, final StringBuilder dst) {
+        final char[] scratch = SCRATCH.get();
+        return dst.append(scratch, 0, format(epochSecond, nanoOfSecond, scratch, 0));
+    }
+
+    /**
+     * Appends the date-time of the specified instant.
+     *
+     * @param epochMilli the milliseconds since the epoch.
+     * @param dst        the destination.
+     * @return the destination.
+     */
+    public StringBuilder formatEpochMilliTo(final long epochMilli, final StringBuilder dst) {
+        final char[] scratch = SCRATCH.get();
+        return dst.append(scratch, 0, formatEpochMilli(epochMilli, scratch, 0));
+    }
+
+    /**
+     * Writes the date-time of the specified instant as ASCII bytes at the
+     * position of the buffer, and advances the position.
+     *
+     * @param epochSecond  the seconds since the epoch.
+     * @param nanoOfSecond the nanoseconds within the second.
+     * @param dst          the destination.
+     * @return the number of bytes written.
+     */
+    public int format(final long epochSecond, final int nanoOfSecond, final ByteBuffer dst) {
+        final char[] scratch = SCRATCH.get();
+        return put(scratch, format(epochSecond, nanoOfSecond, scratch, 0), dst);
+    }
+
+    /**
+     * Writes the date-time of the specified instant as ASCII bytes at the
+     * position of the buffer, and advances the position.
+     *
+     * @param epochMilli the milliseconds since the epoch.
+     * @param dst        the destination.
+     * @return the number of bytes written.
+     */
+    public int formatEpochMilli(final long epochMilli, final ByteBuffer dst) {
+        final char[] scratch = SCRATCH.get();
+        return put(scratch, formatEpochMilli(epochMilli, scratch, 0), dst);
+    }
+
+    private static int put(final char[] chars, final int length, final ByteBuffer dst) {
+        for (int i = 0; i < length; i++) {
+            dst.put((byte) chars[i]);
+        }
+        return length;
+    }
+
+    private static int writeYear(final int year, final char[] dst, final int offset) {
+        if (year >= 0 && year <= 9999) {
+            return writeDigits(year, 4, dst, offset);
+        }
+        int p = offset;
+        dst[p++] = year < 0 ? '-' : '+';
+        final long abs = Math.abs((long) year);
+        int digits = 4;
+        while (digits < 10 && abs >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        long v = abs;
+        for (int i = p + digits - 1; i >= p; i--) {
+            dst[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return p + digits;
+    }
+
+    private static int writeDigits(final int value, final int digits, final char[] dst, final int offset) {
+        int v = value;
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return offset + digits;
+    }
+
+    private static int writeOffset(final int offsetSeconds, final char[] dst, final int offset) {
+        if (offsetSeconds == 0) {
+            dst[offset] = 'Z';
+            return offset + 1;
+        }
+        final int abs = Math.abs(offsetSeconds);
+        dst[offset] = offsetSeconds < 0 ? '-' : '+';
+        int p = writeDigits(abs / 3600, 2, dst, offset + 1);
+        dst[p++] = ':';
+        p = writeDigits(abs / 60 % 60, 2, dst, p);
+        if (abs % 60 != 0) {
+            dst[p++] = ':';
+            p = writeDigits(abs % 60, 2, dst, p);
+        }
+        return p;
+    }
+
+    // ====================== PARSING ======================
+
+    /**
+     * Parses a whole character sequence.
+     *
+     * @param text the text to parse.
+     * @param into receives the parsed instant.
+     * @return {@code true} if the text is a valid date-time; otherwise
+     *         {@code into} is left in an unspecified state.
+     */
+    public boolean parse(final CharSequence text, final Timestamp into) {
+        return parse(text, 0, text.length(), into);
+    }
+
+    /**
+     * Parses a range of a character sequence.
+     *
+     * @param text the text to parse.
+     * @param from the index of the first character, inclusive.
+     * @param to   the index of the last character, exclusive.
+     * @param into receives the parsed instant.
+     * @return {@code true} if the range is a valid date-time; otherwise
+     *         {@code into} is left in an unspecified state.
+     */
+    public boolean parse(final CharSequence text, final int from, final int to, final Timestamp into) {
+        Objects.checkFromToIndex(from, to, text.length());
+        int p = from;
+        // ---- date
+        final int sign = p < to && (text.charAt(p) == '+' || text.charAt(p) == '-') ? text.charAt(p++) : 0;
+        final int yearStart = p;
+        while (p < to && isDigit(text.charAt(p)) && p - yearStart < 10) {
+            p++;
+        }
+        final int yearDigits = p - yearStart;
+        if (sign == 0 ? yearDigits != 4 : yearDigits < 4) {
+            return false;
+        }
+        final long absYear = digits(text, yearStart, yearDigits);
+        final long year = sign == '-' ? -absYear : absYear;
+        if (year < Integer.MIN_VALUE || year > Integer.MAX_VALUE || to - p < 15
+                || text.charAt(p) != '-' || text.charAt(p + 3) != '-'
+                || text.charAt(p + 6) != 'T' && text.charAt(p + 6) != 't'
+                || text.charAt(p + 9) != ':' || text.charAt(p + 12) != ':') {
+            return false;
+        }
+        final int month = (int) digits(text, p + 1, 2);
+        final int day = (int) digits(text, p + 4, 2);
+        final int hour = (int) digits(text, p + 7, 2);
+        final int minute = (int) digits(text, p + 10, 2);
+        final int second = (int) digits(text, p + 13, 2);
+        if (month < 1 || month > 12 || day < 1 || day > CivilDays.lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return false;
+        }
+        p += 15;
+        // ---- fraction
+        int nano = 0;
+        if (p < to && (text.charAt(p) == '.' || text.charAt(p) == ',')) {
+            final int fractionStart = ++p;
+            while (p < to && isDigit(text.charAt(p)) && p - fractionStart < 9) {
+                p++;
+            }
+            final int fractionDigits = p - fractionStart;
+            if (fractionDigits == 0) {
+                return false;
+            }
+            nano = (int) digits(text, fractionStart, fractionDigits) * POWERS_OF_TEN[9 - fractionDigits];
+        }
+        // ---- offset
+        final long localEpochSecond = CivilDays.toEpochDay((int) year, month, day) * CivilDays.SECONDS_PER_DAY
+                + hour * 3600 + minute * 60 + second;
+        final int offsetSeconds;
+        if (p == to) {
+            into.explicitOffset = false;
+            into.epochSecond = EpochConverter.of(zone).toEpochSecond(localEpochSecond);
+            into.offsetSeconds = (int) (localEpochSecond - into.epochSecond);
+            into.nanoOfSecond = nano;
+            return true;
+        }
+        final char designator = text.charAt(p);
+        if (designator == 'Z' || designator == 'z') {
+            offsetSeconds = 0;
+            p++;
+        } else if ((designator == '+' || designator == '-') && to - p >= 6 && text.charAt(p + 3) == ':') {
+            final int offsetHours = (int) digits(text, p + 1, 2);
+            final int offsetMinutes = (int) digits(text, p + 4, 2);
+            int offsetSecondsPart = 0;
+            if (to - p >= 9 && text.charAt(p + 6) == ':') {
+                offsetSecondsPart = (int) digits(text, p + 7, 2);
+                p += 3;
+            }
+            if (offsetHours < 0 || offsetMinutes < 0 || offsetMinutes > 59 || offsetSecondsPart < 0
+                    || offsetSecondsPart > 59) {
+                return false;
+            }
+            final int abs = offsetHours * 3600 + offsetMinutes * 60 + offsetSecondsPart;
+            if (abs > MAX_OFFSET_SECONDS) {
+                return false;
+            }
+            offsetSeconds = designator == '-' ? -abs : abs;
+            p += 6;
+        } else {
+            return false;
+        }
+        if (p != to) {
+            return false;
+        }
+        into.explicitOffset = true;
+        into.epochSecond = localEpochSecond - offsetSeconds;
+        into.offsetSeconds = offsetSeconds;
+        into.nanoOfSecond = nano;
+        return true;
+    }
+
+    /**
+     * Parses a range of ASCII bytes.
+     *
+     * @param bytes the bytes to parse.
+     * @param from  the index of the first byte, inclusive.
+     * @param to    the index of the last byte, exclusive.
+     * @param into  receives the parsed instant.
+     * @return {@code true} if the range is a valid date-time; otherwise
+     *         {@code into} is left in an unspecified state.
+     */
+    public boolean parse(final byte[] bytes, final int from, final int to, final Timestamp into) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        final AsciiView view = ASCII_VIEWS.get();
+        view.bytes = bytes;
+        try {
+            return parse(view, from, to, into);
+        } finally {
+            view.bytes = null;
+        }
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return the value of the digits, or a negative value if one of the
+     *         characters is not a digit.
+     */
+    private static long digits(final CharSequence text, final int from, final int count) {
+        long value = 0;
+        for (int i = from; i < from + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * A reusable character view of an ASCII byte array, so that byte input goes
+     * through the same parser without being decoded first.
+     */
+    private static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (bytes[index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+
+    // ====================== PARSED VALUE ======================
+
+    /**
+     * A mutable holder of a parsed instant, meant to be reused across calls to
+     * avoid allocating one object per parsed value.
+     */
+    public static final class Timestamp {
+        private long epochSecond;
+        private int nanoOfSecond;
+        private int offsetSeconds;
+        private boolean explicitOffset;
+
+        public long epochSecond() {
+            return epochSecond;
+        }
+
+        public int nanoOfSecond() {
+            return nanoOfSecond;
+        }
+
+        /**
+         * @return the offset from UTC of the parsed text, or of the zone of the
+         *         parser if the text has no offset.
+         */
+        public int offsetSeconds() {
+            return offsetSeconds;
+        }
+
+        /**
+         * @return {@code true} if the parsed text had an offset, {@code false}
+         *         if it was resolved in the zone of the parser.
+         */
+        public boolean hasExplicitOffset() {
+            return explicitOffset;
+        }
+
+        public long toEpochMilli() {
+            return epochSecond * 1000L + nanoOfSecond / 1_000_000;
+        }
+
+        public Instant toInstant() {
+            return Instant.ofEpochSecond(epochSecond, nanoOfSecond);
+        }
+
+        @Override
+        public String toString() {
+            return toInstant().toString();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package eu.infolead.jtk.time;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local date-time fields packed into a single {@code long}, down to the
+ * millisecond, so that bulk conversions can fill a {@code long[]} instead of
+ * allocating one {@link LocalDateTime} per value.
+ *
+ * <p>
+ * Layout, from the most significant bits: year (28 bits, signed), month (4),
+ * day of month (5), hour (5), minute (6), second (6), millisecond (10). Packed
+ * values of years 0 and later compare in chronological order.
+ */
+public final class PackedDateTime {
+    private static final int MILLI_SHIFT = 0;
+    private static final int SECOND_SHIFT = 10;
+    private static final int MINUTE_SHIFT = 16;
+    private static final int HOUR_SHIFT = 22;
+    private static final int DAY_SHIFT = 27;
+    private static final int MONTH_SHIFT = 32;
+    private static final int YEAR_SHIFT = 36;
+
+    private PackedDateTime() {
+    }
+
+    /**
+     * Packs the specified fields. The fields are not validated.
+     *
+     * @return the packed date-time.
+     */
+    public static long pack(final int year, final int month, final int dayOfMonth, final int hour, final int minute,
+            final int second, final int millisOfSecond) {
+        return (long) year << YEAR_SHIFT
+                | (long) month << MONTH_SHIFT
+                | (long) dayOfMonth << DAY_SHIFT
+                | (long) hour << HOUR_SHIFT
+                | (long) minute << MINUTE_SHIFT
+                | (long) second << SECOND_SHIFT
+                | (long) millisOfSecond << MILLI_SHIFT;
+    }
+
+    /**
+     * Packs the local date-time at the specified local epoch milliseconds, that
+     * is the milliseconds since 1970-01-01T00:00 on the local time line.
+     *
+     * @param localEpochMilli the local epoch milliseconds.
+     * @return the packed date-time.
+     */
+    public static long ofLocalEpochMilli(final long localEpochMilli) {
+        final long epochDay = Math.floorDiv(localEpochMilli, CivilDays.MILLIS_PER_DAY);
+        final int millisOfDay = (int) (localEpochMilli - epochDay * CivilDays.MILLIS_PER_DAY);
+        final long civil = CivilDays.toCivil(epochDay);
+        final int secondOfDay = millisOfDay / 1000;
+        return pack(CivilDays.year(civil), CivilDays.month(civil), CivilDays.day(civil), secondOfDay / 3600,
+                secondOfDay / 60 % 60, secondOfDay % 60, millisOfDay % 1000);
+    }
+
+    public static int year(final long packed) {
+        return (int) (packed >> YEAR_SHIFT);
+    }
+
+    public static int month(final long packed) {
+        return (int) (packed >>> MONTH_SHIFT) & 0xF;
+    }
+
+    public static int dayOfMonth(final long packed) {
+        return (int) (packed >>> DAY_SHIFT) & 0x1F;
+    }
+
+    public static int hour(final long packed) {
+        return (int) (packed >>> HOUR_SHIFT) & 0x1F;
+    }
+
+    public static int minute(final long packed) {
+        return (int) (packed >>> MINUTE_SHIFT) & 0x3F;
+    }
+
+    public static int second(final long packed) {
+        return (int) (packed >>> SECOND_SHIFT) & 0x3F;
+    }
+
+    public static int millisOfSecond(final long packed) {
+        return (int) (packed >>> MILLI_SHIFT) & 0x3FF;
+    }
+
+    /**
+     * @param packed the packed date-time.
+     * @return the corresponding {@link LocalDateTime}.
+     */
+    public static LocalDateTime toLocalDateTime(final long packed) {
+        return LocalDateTime.of(year(packed), month(packed), dayOfMonth(packed), hour(packed), minute(packed),
+                second(packed), millisOfSecond(packed) * (int) CivilDays.NANOS_PER_MILLI);
+    }
+}
@@ -1,15 +1,24 @@
 package eu.infolead.jtk.time;
 
 import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.TimeZone;
 
+import eu.infolead.jtk.fp.Fn;
+import eu.infolead.jtk.fp.Lazy;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.lang.CompilerWarning;
+
 public enum TZ {
     AFRICA_ABIDJAN("Africa/Abidjan"),
     AFRICA_ACCRA("Africa/Accra"),
     AFRICA_ADDIS_ABABA("Africa/Addis_Ababa"),
     AFRICA_ALGIERS("Africa/Algiers"),
     AFRICA_ASMARA("Africa/Asmara"),
-    AFRICA_ASMERA("Africa/Asmera"),
+    AFRICA_ASMERA("Africa/Asmera", "Africa/Nairobi"),
     AFRICA_BAMAKO("Africa/Bamako"),
     AFRICA_BANGUI("Africa/Bangui"),
     AFRICA_BANJUL("Africa/Banjul"),
@@ -54,7 +63,7 @@ public enum TZ {
     AFRICA_OUAGADOUGOU("Africa/Ouagadougou"),
     AFRICA_PORTO_NOVO("Africa/Porto-Novo"),
     AFRICA_SAO_TOME("Africa/Sao_Tome"),
-    AFRICA_TIMBUKTU("Africa/Timbuktu"),
+    AFRICA_TIMBUKTU("Africa/Timbuktu", "Africa/Abidjan"),
     AFRICA_TRIPOLI("Africa/Tripoli"),
     AFRICA_TUNIS("Africa/Tunis"),
     AFRICA_WINDHOEK("Africa/Windhoek"),
@@ -65,7 +74,7 @@ public enum TZ {
     AMERICA_ARAGUAINA("America/Araguaina"),
     AMERICA_ARGENTINA("America/Argentina/Catamarca"),
     AMERICA_ARGENTINA_BUENOS_AIRES("America/Argentina/Buenos_Aires"),
-    AMERICA_ARGENTINA_COMOD_RIVADAVIA("America/Argentina/ComodRivadavia"),
+    AMERICA_ARGENTINA_COMOD_RIVADAVIA("America/Argentina/ComodRivadavia", "America/Argentina/Catamarca"),
     AMERICA_ARGENTINA_CORDOBA("America/Argentina/Cordoba"),
     AMERICA_ARGENTINA_JUJUY("America/Argentina/Jujuy"),
     AMERICA_ARGENTINA_LA_RIOJA("America/Argentina/La_Rioja"),
@@ -79,7 +88,7 @@ public enum TZ {
     AMERICA_ARUBA("America/Aruba"),
     AMERICA_ASUNCION("America/Asuncion"),
     AMERICA_ATIKOKAN("America/Atikokan"),
-    AMERICA_ATKA("America/Atka"),
+    AMERICA_ATKA("America/Atka", "America/Adak"),
     AMERICA_BAHIA("America/Bahia"),
     AMERICA_BAHIA_BANDERAS("America/Bahia_Banderas"),
     AMERICA_BARBADOS("America/Barbados"),
@@ -89,18 +98,18 @@ public enum TZ {
     AMERICA_BOA_VISTA("America/Boa_Vista"),
     AMERICA_BOGOTA("America/Bogota"),
     AMERICA_BOISE("America/Boise"),
-    AMERICA_BUENOS_AIRES("America/Buenos_Aires"),
+    AMERICA_BUENOS_AIRES("America/Buenos_Aires", "America/Argentina/Buenos_Aires"),
     AMERICA_CAMBRIDGE_BAY("America/Cambridge_Bay"),
     AMERICA_CAMPO_GRANDE("America/Campo_Grande"),
     AMERICA_CANCUN("America/Cancun"),
     AMERICA_CARACAS("America/Caracas"),
-    AMERICA_CATAMARCA("America/Catamarca"),
+    AMERICA_CATAMARCA("America/Catamarca", "America/Argentina/Catamarca"),
     AMERICA_CAYENNE("America/Cayenne"),
     AMERICA_CAYMAN("America/Cayman"),
     AMERICA_CHICAGO("America/Chicago"),
     AMERICA_CHIHUAHUA("America/Chihuahua"),
-    AMERICA_CORAL_HARBOUR("America/Coral_Harbour"),
-    AMERICA_CORDOBA("America/Cordoba"),
+    AMERICA_CORAL_HARBOUR("America/Coral_Harbour", "America/Panama"),
+    AMERICA_CORDOBA("America/Cordoba", "America/Argentina/Cordoba"),
     AMERICA_COSTA_RICA("America/Costa_Rica"),
     AMERICA_CRESTON("America/Creston"),
     AMERICA_CUIABA("America/Cuiaba"),
@@ -114,12 +123,12 @@ public enum TZ {
     AMERICA_EDMONTON("America/Edmonton"),
     AMERICA_EIRUNEPE("America/Eirunepe"),
     AMERICA_EL_SALVADOR("America/El_Salvador"),
-    AMERICA_ENSENADA("America/Ensenada"),
+    AMERICA_ENSENADA("America/Ensenada", "America/Tijuana"),
     AMERICA_FORTALEZA("America/Fortaleza"),
     AMERICA_FORT_NELSON("America/Fort_Nelson"),
-    AMERICA_FORT_WAYNE("America/Fort_Wayne"),
+    AMERICA_FORT_WAYNE("America/Fort_Wayne", "America/Indiana/Indianapolis"),
     AMERICA_GLACE_BAY("America/Glace_Bay"),
-    AMERICA_GODTHAB("America/Godthab"),
+    AMERICA_GODTHAB("America/Godthab", "America/Nuuk"),
     AMERICA_GOOSE_BAY("America/Goose_Bay"),
     AMERICA_GRAND_TURK("America/Grand_Turk"),
     AMERICA_GRENADA("America/Grenada"),
@@ -131,7 +140,7 @@ public enum TZ {
     AMERICA_HAVANA("America/Havana"),
     AMERICA_HERMOSILLO("America/Hermosillo"),
     AMERICA_INDIANA("America/Indiana/Petersburg"),
-    AMERICA_INDIANAPOLIS("America/Indianapolis"),
+    AMERICA_INDIANAPOLIS("America/Indianapolis", "America/Indiana/Indianapolis"),
     AMERICA_INDIANA_INDIANAPOLIS("America/Indiana/Indianapolis"),
     AMERICA_INDIANA_KNOX("America/Indiana/Knox"),
     AMERICA_INDIANA_MARENGO("America/Indiana/Marengo"),
@@ -142,25 +151,25 @@ public enum TZ {
     AMERICA_INUVIK("America/Inuvik"),
     AMERICA_IQALUIT("America/Iqaluit"),
     AMERICA_JAMAICA("America/Jamaica"),
-    AMERICA_JUJUY("America/Jujuy"),
+    AMERICA_JUJUY("America/Jujuy", "America/Argentina/Jujuy"),
     AMERICA_JUNEAU("America/Juneau"),
     AMERICA_KENTUCKY("America/Kentucky/Louisville"),
     AMERICA_KENTUCKY_MONTICELLO("America/Kentucky/Monticello"),
-    AMERICA_KNOX_IN("America/Knox_IN"),
-    AMERICA_KRALENDIJK("America/Kralendijk"),
+    AMERICA_KNOX_IN("America/Knox_IN", "America/Indiana/Knox"),
+    AMERICA_KRALENDIJK("America/Kralendijk", "America/Puerto_Rico"),
     AMERICA_LA_PAZ("America/La_Paz"),
     AMERICA_LIMA("America/Lima"),
     AMERICA_LOS_ANGELES("America/Los_Angeles"),
-    AMERICA_LOUISVILLE("America/Louisville"),
-    AMERICA_LOWER_PRINCES("America/Lower_Princes"),
+    AMERICA_LOUISVILLE("America/Louisville", "America/Kentucky/Louisville"),
+    AMERICA_LOWER_PRINCES("America/Lower_Princes", "America/Puerto_Rico"),
     AMERICA_MACEIO("America/Maceio"),
     AMERICA_MANAGUA("America/Managua"),
     AMERICA_MANAUS("America/Manaus"),
-    AMERICA_MARIGOT("America/Marigot"),
+    AMERICA_MARIGOT("America/Marigot", "America/Puerto_Rico"),
     AMERICA_MARTINIQUE("America/Martinique"),
     AMERICA_MATAMOROS("America/Matamoros"),
     AMERICA_MAZATLAN("America/Mazatlan"),
-    AMERICA_MENDOZA("America/Mendoza"),
+    AMERICA_MENDOZA("America/Mendoza", "America/Argentina/Mendoza"),
     AMERICA_MENOMINEE("America/Menominee"),
     AMERICA_MERIDA("America/Merida"),
     AMERICA_METLAKATLA("America/Metlakatla"),
@@ -169,11 +178,11 @@ public enum TZ {
     AMERICA_MONCTON("America/Moncton"),
     AMERICA_MONTERREY("America/Monterrey"),
     AMERICA_MONTEVIDEO("America/Montevideo"),
-    AMERICA_MONTREAL("America/Montreal"),
+    AMERICA_MONTREAL("America/Montreal", "America/Toronto"),
     AMERICA_MONTSERRAT("America/Montserrat"),
     AMERICA_NASSAU("America/Nassau"),
     AMERICA_NEW_YORK("America/New_York"),
-    AMERICA_NIPIGON("America/Nipigon"),
+    AMERICA_NIPIGON("America/Nipigon", "America/Toronto"),
     AMERICA_NOME("America/Nome"),
     AMERICA_NORONHA("America/Noronha"),
     AMERICA_NORTH_DAKOTA("America/North_Dakota/Beulah"),
@@ -182,31 +191,31 @@ public enum TZ {
     AMERICA_NUUK("America/Nuuk"),
     AMERICA_OJINAGA("America/Ojinaga"),
     AMERICA_PANAMA("America/Panama"),
-    AMERICA_PANGNIRTUNG("America/Pangnirtung"),
+    AMERICA_PANGNIRTUNG("America/Pangnirtung", "America/Iqaluit"),
     AMERICA_PARAMARIBO("America/Paramaribo"),
     AMERICA_PHOENIX("America/Phoenix"),
-    AMERICA_PORTO_ACRE("America/Porto_Acre"),
+    AMERICA_PORTO_ACRE("America/Porto_Acre", "America/Rio_Branco"),
     AMERICA_PORTO_VELHO("America/Porto_Velho"),
     AMERICA_PORT_AU_PRINCE("America/Port-au-Prince"),
     AMERICA_PORT_OF_SPAIN("America/Port_of_Spain"),
     AMERICA_PUERTO_RICO("America/Puerto_Rico"),
     AMERICA_PUNTA_ARENAS("America/Punta_Arenas"),
-    AMERICA_RAINY_RIVER("America/Rainy_River"),
+    AMERICA_RAINY_RIVER("America/Rainy_River", "America/Winnipeg"),
     AMERICA_RANKIN_INLET("America/Rankin_Inlet"),
     AMERICA_RECIFE("America/Recife"),
     AMERICA_REGINA("America/Regina"),
     AMERICA_RESOLUTE("America/Resolute"),
     AMERICA_RIO_BRANCO("America/Rio_Branco"),
-    AMERICA_ROSARIO("America/Rosario"),
+    AMERICA_ROSARIO("America/Rosario", "America/Argentina/Cordoba"),
     AMERICA_SANTAREM("America/Santarem"),
-    AMERICA_SANTA_ISABEL("America/Santa_Isabel"),
+    AMERICA_SANTA_ISABEL("America/Santa_Isabel", "America/Tijuana"),
     AMERICA_SANTIAGO("America/Santiago"),
     AMERICA_SANTO_DOMINGO("America/Santo_Domingo"),
     AMERICA_SAO_PAULO("America/Sao_Paulo"),
     AMERICA_SCORESBYSUND("America/Scoresbysund"),
-    AMERICA_SHIPROCK("America/Shiprock"),
+    AMERICA_SHIPROCK("America/Shiprock", "America/Denver"),
     AMERICA_SITKA("America/Sitka"),
-    AMERICA_ST_BARTHELEMY("America/St_Barthelemy"),
+    AMERICA_ST_BARTHELEMY("America/St_Barthelemy", "America/Puerto_Rico"),
     AMERICA_ST_JOHNS("America/St_Johns"),
     AMERICA_ST_KITTS("America/St_Kitts"),
     AMERICA_ST_LUCIA("America/St_Lucia"),
@@ -215,16 +224,16 @@ public enum TZ {
     AMERICA_SWIFT_CURRENT("America/Swift_Current"),
     AMERICA_TEGUCIGALPA("America/Tegucigalpa"),
     AMERICA_THULE("America/Thule"),
-    AMERICA_THUNDER_BAY("America/Thunder_Bay"),
+    AMERICA_THUNDER_BAY("America/Thunder_Bay", "America/Toronto"),
     AMERICA_TIJUANA("America/Tijuana"),
     AMERICA_TORONTO("America/Toronto"),
     AMERICA_TORTOLA("America/Tortola"),
     AMERICA_VANCOUVER("America/Vancouver"),
-    AMERICA_VIRGIN("America/Virgin"),
+    AMERICA_VIRGIN("America/Virgin", "America/Puerto_Rico"),
     AMERICA_WHITEHORSE("America/Whitehorse"),
     AMERICA_WINNIPEG("America/Winnipeg"),
     AMERICA_YAKUTAT("America/Yakutat"),
-    AMERICA_YELLOWKNIFE("America/Yellowknife"),
+    AMERICA_YELLOWKNIFE("America/Yellowknife", "America/Edmonton"),
     ANTARCTICA_CASEY("Antarctica/Casey"),
     ANTARCTICA_DAVIS("Antarctica/Davis"),
     ANTARCTICA_DUMONTDURVILLE("Antarctica/DumontDUrville"),
@@ -233,11 +242,11 @@ public enum TZ {
     ANTARCTICA_MCMURDO("Antarctica/McMurdo"),
     ANTARCTICA_PALMER("Antarctica/Palmer"),
     ANTARCTICA_ROTHERA("Antarctica/Rothera"),
-    ANTARCTICA_SOUTH_POLE("Antarctica/South_Pole"),
+    ANTARCTICA_SOUTH_POLE("Antarctica/South_Pole", "Pacific/Auckland"),
     ANTARCTICA_SYOWA("Antarctica/Syowa"),
     ANTARCTICA_TROLL("Antarctica/Troll"),
     ANTARCTICA_VOSTOK("Antarctica/Vostok"),
-    ARCTIC_LONGYEARBYEN("Arctic/Longyearbyen"),
+    ARCTIC_LONGYEARBYEN("Arctic/Longyearbyen", "Europe/Berlin"),
     ASIA_ADEN("Asia/Aden"),
     ASIA_ALMATY("Asia/Almaty"),
     ASIA_AMMAN("Asia/Amman"),
@@ -245,7 +254,7 @@ public enum TZ {
     ASIA_AQTAU("Asia/Aqtau"),
     ASIA_AQTOBE("Asia/Aqtobe"),
     ASIA_ASHGABAT("Asia/Ashgabat"),
-    ASIA_ASHKHABAD("Asia/Ashkhabad"),
+    ASIA_ASHKHABAD("Asia/Ashkhabad", "Asia/Ashgabat"),
     ASIA_ATYRAU("Asia/Atyrau"),
     ASIA_BAGHDAD("Asia/Baghdad"),
     ASIA_BAHRAIN("Asia/Bahrain"),
@@ -255,13 +264,13 @@ public enum TZ {
     ASIA_BEIRUT("Asia/Beirut"),
     ASIA_BISHKEK("Asia/Bishkek"),
     ASIA_BRUNEI("Asia/Brunei"),
-    ASIA_CALCUTTA("Asia/Calcutta"),
+    ASIA_CALCUTTA("Asia/Calcutta", "Asia/Kolkata"),
     ASIA_CHITA("Asia/Chita"),
-    ASIA_CHOIBALSAN("Asia/Choibalsan"),
-    ASIA_CHONGQING("Asia/Chongqing"),
-    ASIA_CHUNGKING("Asia/Chungking"),
+    ASIA_CHOIBALSAN("Asia/Choibalsan", "Asia/Ulaanbaatar"),
+    ASIA_CHONGQING("Asia/Chongqing", "Asia/Shanghai"),
+    ASIA_CHUNGKING("Asia/Chungking", "Asia/Shanghai"),
     ASIA_COLOMBO("Asia/Colombo"),
-    ASIA_DACCA("Asia/Dacca"),
+    ASIA_DACCA("Asia/Dacca", "Asia/Dhaka"),
     ASIA_DAMASCUS("Asia/Damascus"),
     ASIA_DHAKA("Asia/Dhaka"),
     ASIA_DILI("Asia/Dili"),
@@ -269,29 +278,29 @@ public enum TZ {
     ASIA_DUSHANBE("Asia/Dushanbe"),
     ASIA_FAMAGUSTA("Asia/Famagusta"),
     ASIA_GAZA("Asia/Gaza"),
-    ASIA_HARBIN("Asia/Harbin"),
+    ASIA_HARBIN("Asia/Harbin", "Asia/Shanghai"),
     ASIA_HEBRON("Asia/Hebron"),
     ASIA_HONG_KONG("Asia/Hong_Kong"),
     ASIA_HOVD("Asia/Hovd"),
     ASIA_HO_CHI_MINH("Asia/Ho_Chi_Minh"),
     ASIA_IRKUTSK("Asia/Irkutsk"),
-    ASIA_ISTANBUL("Asia/Istanbul"),
+    ASIA_ISTANBUL("Asia/Istanbul", "Europe/Istanbul"),
     ASIA_JAKARTA("Asia/Jakarta"),
     ASIA_JAYAPURA("Asia/Jayapura"),
     ASIA_JERUSALEM("Asia/Jerusalem"),
     ASIA_KABUL("Asia/Kabul"),
     ASIA_KAMCHATKA("Asia/Kamchatka"),
     ASIA_KARACHI("Asia/Karachi"),
-    ASIA_KASHGAR("Asia/Kashgar"),
+    ASIA_KASHGAR("Asia/Kashgar", "Asia/Urumqi"),
     ASIA_KATHMANDU("Asia/Kathmandu"),
-    ASIA_KATMANDU("Asia/Katmandu"),
+    ASIA_KATMANDU("Asia/Katmandu", "Asia/Kathmandu"),
     ASIA_KHANDYGA("Asia/Khandyga"),
     ASIA_KOLKATA("Asia/Kolkata"),
     ASIA_KRASNOYARSK("Asia/Krasnoyarsk"),
     ASIA_KUALA_LUMPUR("Asia/Kuala_Lumpur"),
     ASIA_KUCHING("Asia/Kuching"),
     ASIA_KUWAIT("Asia/Kuwait"),
-    ASIA_MACAO("Asia/Macao"),
+    ASIA_MACAO("Asia/Macao", "Asia/Macau"),
     ASIA_MACAU("Asia/Macau"),
     ASIA_MAGADAN("Asia/Magadan"),
     ASIA_MAKASSAR("Asia/Makassar"),
@@ -308,9 +317,9 @@ public enum TZ {
     ASIA_QATAR("Asia/Qatar"),
     ASIA_QOSTANAY("Asia/Qostanay"),
     ASIA_QYZYLORDA("Asia/Qyzylorda"),
-    ASIA_RANGOON("Asia/Rangoon"),
+    ASIA_RANGOON("Asia/Rangoon", "Asia/Yangon"),
     ASIA_RIYADH("Asia/Riyadh"),
-    ASIA_SAIGON("Asia/Saigon"),
+    ASIA_SAIGON("Asia/Saigon", "Asia/Ho_Chi_Minh"),
     ASIA_SAKHALIN("Asia/Sakhalin"),
     ASIA_SAMARKAND("Asia/Samarkand"),
     ASIA_SEOUL("Asia/Seoul"),
@@ -321,14 +330,14 @@ public enum TZ {
     ASIA_TASHKENT("Asia/Tashkent"),
     ASIA_TBILISI("Asia/Tbilisi"),
     ASIA_TEHRAN("Asia/Tehran"),
-    ASIA_TEL_AVIV("Asia/Tel_Aviv"),
-    ASIA_THIMBU("Asia/Thimbu"),
+    ASIA_TEL_AVIV("Asia/Tel_Aviv", "Asia/Jerusalem"),
+    ASIA_THIMBU("Asia/Thimbu", "Asia/Thimphu"),
     ASIA_THIMPHU("Asia/Thimphu"),
     ASIA_TOKYO("Asia/Tokyo"),
     ASIA_TOMSK("Asia/Tomsk"),
-    ASIA_UJUNG_PANDANG("Asia/Ujung_Pandang"),
+    ASIA_UJUNG_PANDANG("Asia/Ujung_Pandang", "Asia/Makassar"),
     ASIA_ULAANBAATAR("Asia/Ulaanbaatar"),
-    ASIA_ULAN_BATOR("Asia/Ulan_Bator"),
+    ASIA_ULAN_BATOR("Asia/Ulan_Bator", "Asia/Ulaanbaatar"),
     ASIA_URUMQI("Asia/Urumqi"),
     ASIA_USTNNERA("Asia/Ust-Nera"),
     ASIA_VIENTIANE("Asia/Vientiane"),
@@ -341,105 +350,105 @@ public enum TZ {
     ATLANTIC_BERMUDA("Atlantic/Bermuda"),
     ATLANTIC_CANARY("Atlantic/Canary"),
     ATLANTIC_CAPE_VERDE("Atlantic/Cape_Verde"),
-    ATLANTIC_FAEROE("Atlantic/Faeroe"),
+    ATLANTIC_FAEROE("Atlantic/Faeroe", "Atlantic/Faroe"),
     ATLANTIC_FAROE("Atlantic/Faroe"),
-    ATLANTIC_JAN_MAYEN("Atlantic/Jan_Mayen"),
+    ATLANTIC_JAN_MAYEN("Atlantic/Jan_Mayen", "Europe/Berlin"),
     ATLANTIC_MADEIRA("Atlantic/Madeira"),
     ATLANTIC_REYKJAVIK("Atlantic/Reykjavik"),
     ATLANTIC_SOUTH_GEORGIA("Atlantic/South_Georgia"),
     ATLANTIC_STANLEY("Atlantic/Stanley"),
     ATLANTIC_ST_HELENA("Atlantic/St_Helena"),
-    AUSTRALIA_ACT("Australia/ACT"),
+    AUSTRALIA_ACT("Australia/ACT", "Australia/Sydney"),
     AUSTRALIA_ADELAIDE("Australia/Adelaide"),
     AUSTRALIA_BRISBANE("Australia/Brisbane"),
     AUSTRALIA_BROKEN_HILL("Australia/Broken_Hill"),
-    AUSTRALIA_CANBERRA("Australia/Canberra"),
-    AUSTRALIA_CURRIE("Australia/Currie"),
+    AUSTRALIA_CANBERRA("Australia/Canberra", "Australia/Sydney"),
+    AUSTRALIA_CURRIE("Australia/Currie", "Australia/Hobart"),
     AUSTRALIA_DARWIN("Australia/Darwin"),
     AUSTRALIA_EUCLA("Australia/Eucla"),
     AUSTRALIA_HOBART("Australia/Hobart"),
-    AUSTRALIA_LHI("Australia/LHI"),
+    AUSTRALIA_LHI("Australia/LHI", "Australia/Lord_Howe"),
     AUSTRALIA_LINDEMAN("Australia/Lindeman"),
     AUSTRALIA_LORD_HOWE("Australia/Lord_Howe"),
     AUSTRALIA_MELBOURNE("Australia/Melbourne"),
-    AUSTRALIA_NORTH("Australia/North"),
-    AUSTRALIA_NSW("Australia/NSW"),
+    AUSTRALIA_NORTH("Australia/North", "Australia/Darwin"),
+    AUSTRALIA_NSW("Australia/NSW", "Australia/Sydney"),
     AUSTRALIA_PERTH("Australia/Perth"),
-    AUSTRALIA_QUEENSLAND("Australia/Queensland"),
-    AUSTRALIA_SOUTH("Australia/South"),
+    AUSTRALIA_QUEENSLAND("Australia/Queensland", "Australia/Brisbane"),
+    AUSTRALIA_SOUTH("Australia/South", "Australia/Adelaide"),
     AUSTRALIA_SYDNEY("Australia/Sydney"),
-    AUSTRALIA_TASMANIA("Australia/Tasmania"),
-    AUSTRALIA_VICTORIA("Australia/Victoria"),
-    AUSTRALIA_WEST("Australia/West"),
-    AUSTRALIA_YANCOWINNA("Australia/Yancowinna"),
-    BRAZIL_ACRE("Brazil/Acre"),
-    BRAZIL_DENORONHA("Brazil/DeNoronha"),
-    BRAZIL_EAST("Brazil/East"),
-    BRAZIL_WEST("Brazil/West"),
-    CANADA_ATLANTIC("Canada/Atlantic"),
-    CANADA_CENTRAL("Canada/Central"),
-    CANADA_EASTERN("Canada/Eastern"),
-    CANADA_MOUNTAIN("Canada/Mountain"),
-    CANADA_NEWFOUNDLAND("Canada/Newfoundland"),
-    CANADA_PACIFIC("Canada/Pacific"),
-    CANADA_SASKATCHEWAN("Canada/Saskatchewan"),
-    CANADA_YUKON("Canada/Yukon"),
+    AUSTRALIA_TASMANIA("Australia/Tasmania", "Australia/Hobart"),
+    AUSTRALIA_VICTORIA("Australia/Victoria", "Australia/Melbourne"),
+    AUSTRALIA_WEST("Australia/West", "Australia/Perth"),
+    AUSTRALIA_YANCOWINNA("Australia/Yancowinna", "Australia/Broken_Hill"),
+    BRAZIL_ACRE("Brazil/Acre", "America/Rio_Branco"),
+    BRAZIL_DENORONHA("Brazil/DeNoronha", "America/Noronha"),
+    BRAZIL_EAST("Brazil/East", "America/Sao_Paulo"),
+    BRAZIL_WEST("Brazil/West", "America/Manaus"),
+    CANADA_ATLANTIC("Canada/Atlantic", "America/Halifax"),
+    CANADA_CENTRAL("Canada/Central", "America/Winnipeg"),
+    CANADA_EASTERN("Canada/Eastern", "America/Toronto"),
+    CANADA_MOUNTAIN("Canada/Mountain", "America/Edmonton"),
+    CANADA_NEWFOUNDLAND("Canada/Newfoundland", "America/St_Johns"),
+    CANADA_PACIFIC("Canada/Pacific", "America/Vancouver"),
+    CANADA_SASKATCHEWAN("Canada/Saskatchewan", "America/Regina"),
+    CANADA_YUKON("Canada/Yukon", "America/Whitehorse"),
     CET("CET"),
-    CHILE_CONTINENTAL("Chile/Continental"),
-    CHILE_EASTERISLAND("Chile/EasterIsland"),
+    CHILE_CONTINENTAL("Chile/Continental", "America/Santiago"),
+    CHILE_EASTERISLAND("Chile/EasterIsland", "Pacific/Easter"),
     CST6CDT("CST6CDT"),
-    CUBA("Cuba"),
+    CUBA("Cuba", "America/Havana"),
     EET("EET"),
-    EGYPT("Egypt"),
-    EIRE("Eire"),
+    EGYPT("Egypt", "Africa/Cairo"),
+    EIRE("Eire", "Europe/Dublin"),
     EST5EDT("EST5EDT"),
     ETC_GMT("Etc/GMT"),
-    ETC_GMT0("Etc/GMT0"),
-    ETC_GMT_MINUS0("Etc/GMT_MINUS0"),
-    ETC_GMT_MINUS1("Etc/GMT_MINUS1"),
-    ETC_GMT_MINUS10("Etc/GMT_MINUS10"),
-    ETC_GMT_MINUS11("Etc/GMT_MINUS11"),
-    ETC_GMT_MINUS12("Etc/GMT_MINUS12"),
-    ETC_GMT_MINUS13("Etc/GMT_MINUS13"),
-    ETC_GMT_MINUS14("Etc/GMT_MINUS14"),
-    ETC_GMT_MINUS2("Etc/GMT_MINUS2"),
-    ETC_GMT_MINUS3("Etc/GMT_MINUS3"),
-    ETC_GMT_MINUS4("Etc/GMT_MINUS4"),
-    ETC_GMT_MINUS5("Etc/GMT_MINUS5"),
-    ETC_GMT_MINUS6("Etc/GMT_MINUS6"),
-    ETC_GMT_MINUS7("Etc/GMT_MINUS7"),
-    ETC_GMT_MINUS8("Etc/GMT_MINUS8"),
-    ETC_GMT_MINUS9("Etc/GMT_MINUS9"),
-    ETC_GMT_PLUS0("Etc/GMT_PLUS0"),
-    ETC_GMT_PLUS1("Etc/GMT_PLUS1"),
-    ETC_GMT_PLUS10("Etc/GMT_PLUS10"),
-    ETC_GMT_PLUS11("Etc/GMT_PLUS11"),
-    ETC_GMT_PLUS12("Etc/GMT_PLUS12"),
-    ETC_GMT_PLUS2("Etc/GMT_PLUS2"),
-    ETC_GMT_PLUS3("Etc/GMT_PLUS3"),
-    ETC_GMT_PLUS4("Etc/GMT_PLUS4"),
-    ETC_GMT_PLUS5("Etc/GMT_PLUS5"),
-    ETC_GMT_PLUS6("Etc/GMT_PLUS6"),
-    ETC_GMT_PLUS7("Etc/GMT_PLUS7"),
-    ETC_GMT_PLUS8("Etc/GMT_PLUS8"),
-    ETC_GMT_PLUS9("Etc/GMT_PLUS9"),
-    ETC_GREENWICH("Etc/Greenwich"),
-    ETC_UCT("Etc/UCT"),
-    ETC_UNIVERSAL("Etc/Universal"),
+    ETC_GMT0("Etc/GMT0", "Etc/GMT"),
+    ETC_GMT_MINUS0("Etc/GMT-0", "Etc/GMT"),
+    ETC_GMT_MINUS1("Etc/GMT-1"),
+    ETC_GMT_MINUS10("Etc/GMT-10"),
+    ETC_GMT_MINUS11("Etc/GMT-11"),
+    ETC_GMT_MINUS12("Etc/GMT-12"),
+    ETC_GMT_MINUS13("Etc/GMT-13"),
+    ETC_GMT_MINUS14("Etc/GMT-14"),
+    ETC_GMT_MINUS2("Etc/GMT-2"),
+    ETC_GMT_MINUS3("Etc/GMT-3"),
+    ETC_GMT_MINUS4("Etc/GMT-4"),
+    ETC_GMT_MINUS5("Etc/GMT-5"),
+    ETC_GMT_MINUS6("Etc/GMT-6"),
+    ETC_GMT_MINUS7("Etc/GMT-7"),
+    ETC_GMT_MINUS8("Etc/GMT-8"),
+    ETC_GMT_MINUS9("Etc/GMT-9"),
+    ETC_GMT_PLUS0("Etc/GMT+0", "Etc/GMT"),
+    ETC_GMT_PLUS1("Etc/GMT+1"),
+    ETC_GMT_PLUS10("Etc/GMT+10"),
+    ETC_GMT_PLUS11("Etc/GMT+11"),
+    ETC_GMT_PLUS12("Etc/GMT+12"),
+    ETC_GMT_PLUS2("Etc/GMT+2"),
+    ETC_GMT_PLUS3("Etc/GMT+3"),
+    ETC_GMT_PLUS4("Etc/GMT+4"),
+    ETC_GMT_PLUS5("Etc/GMT+5"),
+    ETC_GMT_PLUS6("Etc/GMT+6"),
+    ETC_GMT_PLUS7("Etc/GMT+7"),
+    ETC_GMT_PLUS8("Etc/GMT+8"),
+    ETC_GMT_PLUS9("Etc/GMT+9"),
+    ETC_GREENWICH("Etc/Greenwich", "Etc/GMT"),
+    ETC_UCT("Etc/UCT", "Etc/UTC"),
+    ETC_UNIVERSAL("Etc/Universal", "Etc/UTC"),
     ETC_UTC("Etc/UTC"),
-    ETC_ZULU("Etc/Zulu"),
+    ETC_ZULU("Etc/Zulu", "Etc/UTC"),
     EUROPE_AMSTERDAM("Europe/Amsterdam"),
     EUROPE_ANDORRA("Europe/Andorra"),
     EUROPE_ASTRAKHAN("Europe/Astrakhan"),
     EUROPE_ATHENS("Europe/Athens"),
-    EUROPE_BELFAST("Europe/Belfast"),
+    EUROPE_BELFAST("Europe/Belfast", "Europe/London"),
     EUROPE_BELGRADE("Europe/Belgrade"),
     EUROPE_BERLIN("Europe/Berlin"),
-    EUROPE_BRATISLAVA("Europe/Bratislava"),
+    EUROPE_BRATISLAVA("Europe/Bratislava", "Europe/Prague"),
     EUROPE_BRUSSELS("Europe/Brussels"),
     EUROPE_BUCHAREST("Europe/Bucharest"),
     EUROPE_BUDAPEST("Europe/Budapest"),
-    EUROPE_BUSINGEN("Europe/Busingen"),
+    EUROPE_BUSINGEN("Europe/Busingen", "Europe/Zurich"),
     EUROPE_CHISINAU("Europe/Chisinau"),
     EUROPE_COPENHAGEN("Europe/Copenhagen"),
     EUROPE_DUBLIN("Europe/Dublin"),
@@ -450,7 +459,7 @@ public enum TZ {
     EUROPE_ISTANBUL("Europe/Istanbul"),
     EUROPE_JERSEY("Europe/Jersey"),
     EUROPE_KALININGRAD("Europe/Kaliningrad"),
-    EUROPE_KIEV("Europe/Kiev"),
+    EUROPE_KIEV("Europe/Kiev", "Europe/Kyiv"),
     EUROPE_KIROV("Europe/Kirov"),
     EUROPE_KYIV("Europe/Kyiv"),
     EUROPE_LISBON("Europe/Lisbon"),
@@ -459,19 +468,19 @@ public enum TZ {
     EUROPE_LUXEMBOURG("Europe/Luxembourg"),
     EUROPE_MADRID("Europe/Madrid"),
     EUROPE_MALTA("Europe/Malta"),
-    EUROPE_MARIEHAMN("Europe/Mariehamn"),
+    EUROPE_MARIEHAMN("Europe/Mariehamn", "Europe/Helsinki"),
     EUROPE_MINSK("Europe/Minsk"),
     EUROPE_MONACO("Europe/Monaco"),
     EUROPE_MOSCOW("Europe/Moscow"),
-    EUROPE_NICOSIA("Europe/Nicosia"),
+    EUROPE_NICOSIA("Europe/Nicosia", "Asia/Nicosia"),
     EUROPE_OSLO("Europe/Oslo"),
     EUROPE_PARIS("Europe/Paris"),
-    EUROPE_PODGORICA("Europe/Podgorica"),
+    EUROPE_PODGORICA("Europe/Podgorica", "Europe/Belgrade"),
     EUROPE_PRAGUE("Europe/Prague"),
     EUROPE_RIGA("Europe/Riga"),
     EUROPE_ROME("Europe/Rome"),
     EUROPE_SAMARA("Europe/Samara"),
-    EUROPE_SAN_MARINO("Europe/San_Marino"),
+    EUROPE_SAN_MARINO("Europe/San_Marino", "Europe/Rome"),
     EUROPE_SARAJEVO("Europe/Sarajevo"),
     EUROPE_SARATOV("Europe/Saratov"),
     EUROPE_SIMFEROPOL("Europe/Simferopol"),
@@ -480,25 +489,25 @@ public enum TZ {
     EUROPE_STOCKHOLM("Europe/Stockholm"),
     EUROPE_TALLINN("Europe/Tallinn"),
     EUROPE_TIRANE("Europe/Tirane"),
-    EUROPE_TIRASPOL("Europe/Tiraspol"),
+    EUROPE_TIRASPOL("Europe/Tiraspol", "Europe/Chisinau"),
     EUROPE_ULYANOVSK("Europe/Ulyanovsk"),
-    EUROPE_UZHGOROD("Europe/Uzhgorod"),
+    EUROPE_UZHGOROD("Europe/Uzhgorod", "Europe/Kyiv"),
     EUROPE_VADUZ("Europe/Vaduz"),
-    EUROPE_VATICAN("Europe/Vatican"),
+    EUROPE_VATICAN("Europe/Vatican", "Europe/Rome"),
     EUROPE_VIENNA("Europe/Vienna"),
     EUROPE_VILNIUS("Europe/Vilnius"),
     EUROPE_VOLGOGRAD("Europe/Volgograd"),
     EUROPE_WARSAW("Europe/Warsaw"),
     EUROPE_ZAGREB("Europe/Zagreb"),
-    EUROPE_ZAPOROZHYE("Europe/Zaporozhye"),
+    EUROPE_ZAPOROZHYE("Europe/Zaporozhye", "Europe/Kyiv"),
     EUROPE_ZURICH("Europe/Zurich"),
-    GB("GB"),
-    GB_EIRE("GB-Eire"),
-    GMT("GMT"),
-    GMT0("GMT0"),
-    GREENWICH("Greenwich"),
-    HONGKONG("Hongkong"),
-    ICELAND("Iceland"),
+    GB("GB", "Europe/London"),
+    GB_EIRE("GB-Eire", "Europe/London"),
+    GMT("GMT", "Etc/GMT"),
+    GMT0("GMT0", "Etc/GMT"),
+    GREENWICH("Greenwich", "Etc/GMT"),
+    HONGKONG("Hongkong", "Asia/Hong_Kong"),
+    ICELAND("Iceland", "Africa/Abidjan"),
     INDIAN_ANTANANARIVO("Indian/Antananarivo"),
     INDIAN_CHAGOS("Indian/Chagos"),
     INDIAN_CHRISTMAS("Indian/Christmas"),
@@ -510,20 +519,20 @@ public enum TZ {
     INDIAN_MAURITIUS("Indian/Mauritius"),
     INDIAN_MAYOTTE("Indian/Mayotte"),
     INDIAN_REUNION("Indian/Reunion"),
-    IRAN("Iran"),
-    ISRAEL("Israel"),
-    JAMAICA("Jamaica"),
-    JAPAN("Japan"),
-    KWAJALEIN("Kwajalein"),
-    LIBYA("Libya"),
+    IRAN("Iran", "Asia/Tehran"),
+    ISRAEL("Israel", "Asia/Jerusalem"),
+    JAMAICA("Jamaica", "America/Jamaica"),
+    JAPAN("Japan", "Asia/Tokyo"),
+    KWAJALEIN("Kwajalein", "Pacific/Kwajalein"),
+    LIBYA("Libya", "Africa/Tripoli"),
     MET("MET"),
-    MEXICO_BAJANORTE("Mexico/BajaNorte"),
-    MEXICO_BAJASUR("Mexico/BajaSur"),
-    MEXICO_GENERAL("Mexico/General"),
+    MEXICO_BAJANORTE("Mexico/BajaNorte", "America/Tijuana"),
+    MEXICO_BAJASUR("Mexico/BajaSur", "America/Mazatlan"),
+    MEXICO_GENERAL("Mexico/General", "America/Mexico_City"),
     MST7MDT("MST7MDT"),
-    NAVAJO("Navajo"),
-    NZ("NZ"),
-    NZ_CHAT("NZ-CHAT"),
+    NAVAJO("Navajo", "America/Denver"),
+    NZ("NZ", "Pacific/Auckland"),
+    NZ_CHAT("NZ-CHAT", "Pacific/Chatham"),
     PACIFIC_APIA("Pacific/Apia"),
     PACIFIC_AUCKLAND("Pacific/Auckland"),
     PACIFIC_BOUGAINVILLE("Pacific/Bougainville"),
@@ -531,7 +540,7 @@ public enum TZ {
     PACIFIC_CHUUK("Pacific/Chuuk"),
     PACIFIC_EASTER("Pacific/Easter"),
     PACIFIC_EFATE("Pacific/Efate"),
-    PACIFIC_ENDERBURY("Pacific/Enderbury"),
+    PACIFIC_ENDERBURY("Pacific/Enderbury", "Pacific/Kanton"),
     PACIFIC_FAKAOFO("Pacific/Fakaofo"),
     PACIFIC_FIJI("Pacific/Fiji"),
     PACIFIC_FUNAFUTI("Pacific/Funafuti"),
@@ -540,7 +549,7 @@ public enum TZ {
     PACIFIC_GUADALCANAL("Pacific/Guadalcanal"),
     PACIFIC_GUAM("Pacific/Guam"),
     PACIFIC_HONOLULU("Pacific/Honolulu"),
-    PACIFIC_JOHNSTON("Pacific/Johnston"),
+    PACIFIC_JOHNSTON("Pacific/Johnston", "Pacific/Honolulu"),
     PACIFIC_KANTON("Pacific/Kanton"),
     PACIFIC_KIRITIMATI("Pacific/Kiritimati"),
     PACIFIC_KOSRAE("Pacific/Kosrae"),
@@ -556,24 +565,24 @@ public enum TZ {
     PACIFIC_PALAU("Pacific/Palau"),
     PACIFIC_PITCAIRN("Pacific/Pitcairn"),
     PACIFIC_POHNPEI("Pacific/Pohnpei"),
-    PACIFIC_PONAPE("Pacific/Ponape"),
+    PACIFIC_PONAPE("Pacific/Ponape", "Pacific/Guadalcanal"),
     PACIFIC_PORT_MORESBY("Pacific/Port_Moresby"),
     PACIFIC_RAROTONGA("Pacific/Rarotonga"),
     PACIFIC_SAIPAN("Pacific/Saipan"),
-    PACIFIC_SAMOA("Pacific/Samoa"),
+    PACIFIC_SAMOA("Pacific/Samoa", "Pacific/Pago_Pago"),
     PACIFIC_TAHITI("Pacific/Tahiti"),
     PACIFIC_TARAWA("Pacific/Tarawa"),
     PACIFIC_TONGATAPU("Pacific/Tongatapu"),
-    PACIFIC_TRUK("Pacific/Truk"),
+    PACIFIC_TRUK("Pacific/Truk", "Pacific/Port_Moresby"),
     PACIFIC_WAKE("Pacific/Wake"),
     PACIFIC_WALLIS("Pacific/Wallis"),
-    PACIFIC_YAP("Pacific/Yap"),
-    POLAND("Poland"),
-    PORTUGAL("Portugal"),
-    PRC("PRC"),
+    PACIFIC_YAP("Pacific/Yap", "Pacific/Port_Moresby"),
+    POLAND("Poland", "Europe/Warsaw"),
+    PORTUGAL("Portugal", "Europe/Lisbon"),
+    PRC("PRC", "Asia/Shanghai"),
     PST8PDT("PST8PDT"),
-    ROK("ROK"),
-    SINGAPORE("Singapore"),
+    ROK("ROK", "Asia/Seoul"),
+    SINGAPORE("Singapore", "Asia/Singapore"),
     SYSTEMV_AST4("SystemV/AST4"),
     SYSTEMV_AST4ADT("SystemV/AST4ADT"),
     SYSTEMV_CST6("SystemV/CST6"),
@@ -587,41 +596,226 @@ public enum TZ {
     SYSTEMV_PST8PDT("SystemV/PST8PDT"),
     SYSTEMV_YST9("SystemV/YST9"),
     SYSTEMV_YST9YDT("SystemV/YST9YDT"),
-    TURKEY("Turkey"),
-    UCT("UCT"),
-    UNIVERSAL("Universal"),
-    US_ALASKA("US/Alaska"),
-    US_ALEUTIAN("US/Aleutian"),
-    US_ARIZONA("US/Arizona"),
-    US_CENTRAL("US/Central"),
-    US_EASTERN("US/Eastern"),
-    US_EAST_INDIANA("US/East-Indiana"),
-    US_HAWAII("US/Hawaii"),
-    US_INDIANA_STARKE("US/Indiana-Starke"),
-    US_MICHIGAN("US/Michigan"),
-    US_MOUNTAIN("US/Mountain"),
-    US_PACIFIC("US/Pacific"),
-    US_SAMOA("US/Samoa"),
-    UTC("UTC"),
+    TURKEY("Turkey", "Europe/Istanbul"),
+    UCT("UCT", "Etc/UTC"),
+    UNIVERSAL("Universal", "Etc/UTC"),
+    US_ALASKA("US/Alaska", "America/Anchorage"),
+    US_ALEUTIAN("US/Aleutian", "America/Adak"),
+    US_ARIZONA("US/Arizona", "America/Phoenix"),
+    US_CENTRAL("US/Central", "America/Chicago"),
+    US_EASTERN("US/Eastern", "America/New_York"),
+    US_EAST_INDIANA("US/East-Indiana", "America/Indiana/Indianapolis"),
+    US_HAWAII("US/Hawaii", "Pacific/Honolulu"),
+    US_INDIANA_STARKE("US/Indiana-Starke", "America/Indiana/Knox"),
+    US_MICHIGAN("US/Michigan", "America/Detroit"),
+    US_MOUNTAIN("US/Mountain", "America/Denver"),
+    US_PACIFIC("US/Pacific", "America/Los_Angeles"),
+    US_SAMOA("US/Samoa", "Pacific/Pago_Pago"),
+    UTC("UTC", "Etc/UTC"),
     WET("WET"),
-    W_SU("W-SU"),
-    ZULU("Zulu");
+    W_SU("W-SU", "Europe/Moscow"),
+    ZULU("Zulu", "Etc/UTC");
 
     private final String id;
+    private final String canonicalId;
+    private final Lazy<ZoneId> zoneId;
+    private final Lazy<ZoneRules> jdkRules;
+    private final Lazy<TimeZone> timeZone;
 
     TZ(final String id) {
+        this(id, id);
+    }
+
+    /**
+     * @param id          the identifier of the zone.
+     * @param canonicalId the identifier of the zone this one is a backward link
+     *                    to in the IANA time zone database (2025b), if it is an
+     *                    alias.
+     */
+    TZ(final String id, final String canonicalId) {
         this.id = id;
+        this.canonicalId = canonicalId;
+        // resolution is idempotent: racing threads may resolve twice but all see the same instance afterwards.
+        this.zoneId = Lazy.of(Lazy.Mode.PUBLICATION, () -> ZoneId.of(id));
+        this.jdkRules = zoneId.map(ZoneId::getRules);
+        this.timeZone = zoneId.map(TimeZone::getTimeZone);
     }
 
     public String getId() {
         return id;
     }
 
+    /**
+     * Returns the zone id, resolved on first use and cached afterwards.
+     *
+     * @return the zone id.
+     */
     public ZoneId toZoneId() {
-        return ZoneId.of(id);
+        return zoneId.get();
+    }
+
+    /**
+     * Returns the rules of the zone in the current snapshot of the
+     * {@link TzRulesRegistry}, which are the rules of the JDK unless another
+     * time zone database has been loaded. They are resolved on first use and
+     * cached afterwards.
+     *
+     * @return the zone rules.
+     */
+    public ZoneRules toZoneRules() {
+        return TzRulesRegistry.current().rules(this);
+    }
+
+    ZoneRules jdkRules() {
+        return jdkRules.get();
     }
 
+    /**
+     * Returns a new {@link TimeZone} for this zone.
+     *
+     * <p>
+     * {@link TimeZone} is mutable, so each call returns a clone of a cached
+     * instance instead of going through the synchronized
+     * {@link TimeZone#getTimeZone(String)}.
+     *
+     * @return a new time zone instance.
+     */
     public TimeZone toJavaUtilTimeZone() {
-        return TimeZone.getTimeZone(id);
+        return (TimeZone) timeZone.get().clone();
+    }
+
+    /**
+     * Returns the canonical zone of this one: the zone it is a backward link to in
+     * the IANA time zone database, such as {@link #AMERICA_NEW_YORK} for
+     * {@link #US_EASTERN}, or this zone itself if it is not an alias.
+     *
+     * @return the canonical zone.
+     */
+    public TZ canonical() {
+        return Index.CANONICAL[ordinal()];
+    }
+
+    /**
+     * @return {@code true} if this zone is an alias of another one.
+     */
+    public boolean isAlias() {
+        return canonical() != this;
+    }
+
+    /**
+     * Looks up the constant with the specified zone id, such as
+     * {@code "Europe/Brussels"}. The lookup is case-sensitive.
+     *
+     * @param id the zone id.
+     * @return the matching constant, or none if no constant has this id.
+     */
+    public static Maybe<TZ> fromId(final String id) {
+        return id == null ? Maybe.none() : Index.lookup(id);
+    }
+
+    /**
+     * Perfect hash of the zone ids, built once when first needed.
+     *
+     * <p>
+     * The ids are distributed into buckets, and each bucket gets a displacement
+     * chosen so that all the ids of all the buckets land in distinct slots of the
+     * table (hash and displace). A lookup is then one hash of the id (cached by
+     * {@link String}), two array reads and one {@code equals}.
+     */
+    private static final class Index {
+        private static final int SLOT_BITS = 10;
+        private static final int BUCKETS = 256;
+        private static final TZ[] SLOTS = new TZ[1 << SLOT_BITS];
+        private static final int[] DISPLACEMENTS = new int[BUCKETS];
+        private static final Maybe<TZ>[] MAYBES = initMaybes();
+        private static final TZ[] CANONICAL;
+
+        static {
+            final TZ[] values = values();
+            final List<List<TZ>> buckets = new ArrayList<>(BUCKETS);
+            for (int b = 0; b < BUCKETS; b++) {
+                buckets.add(new ArrayList<>());
+            }
+            for (final TZ tz : values) {
+                buckets.get(bucket(tz.id.hashCode())).add(tz);
+            }
+            final Integer[] order = new Integer[BUCKETS];
+            Arrays.setAll(order, b -> b);
+            // place the largest buckets first, while the table is still mostly empty.
+            Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+            for (final int b : order) {
+                DISPLACEMENTS[b] = place(buckets.get(b));
+            }
+            CANONICAL = initCanonical(values);
+        }
+
+        private Index() {
+        }
+
+        static Maybe<TZ> lookup(final String id) {
+            final int hash = id.hashCode();
+            final TZ tz = SLOTS[slot(hash, DISPLACEMENTS[bucket(hash)])];
+            return tz != null && tz.id.equals(id) ? MAYBES[tz.ordinal()] : Maybe.none();
+        }
+
+        private static int place(final List<TZ> bucket) {
+            final int[] slots = new int[bucket.size()];
+            for (int displacement = 0; displacement < Integer.MAX_VALUE; displacement++) {
+                if (fits(bucket, displacement, slots)) {
+                    for (int i = 0; i < slots.length; i++) {
+                        SLOTS[slots[i]] = bucket.get(i);
+                    }
+                    return displacement;
+                }
+            }
+            throw new IllegalStateException("no perfect hash for the zone ids");
+        }
+
+        private static boolean fits(final List<TZ> bucket, final int displacement, final int[] slots) {
+            for (int i = 0; i < slots.length; i++) {
+                final int slot = slot(bucket.get(i).id.hashCode(), displacement);
+                if (SLOTS[slot] != null) {
+                    return false;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        return false;
+                    }
+                }
+                slots[i] = slot;
+            }
+            return true;
+        }
+
+        private static int bucket(final int hash) {
+            return mix(hash) & (BUCKETS - 1);
+        }
+
+        private static int slot(final int hash, final int displacement) {
+            return mix(hash ^ (displacement * 0x9E3779B9)) >>> (Integer.SIZE - SLOT_BITS);
+        }
+
+        private static int mix(final int hash) {
+            final int h = (hash ^ (hash >>> 16)) * 0x45D9F3B;
+            return h ^ (h >>> 16);
+        }
+
+        @SuppressWarnings(CompilerWarning.UNCHECKED)
+        private static Maybe<TZ>[] initMaybes() {
+            final TZ[] values = values();
+            final Maybe<TZ>[] maybes = new Maybe[values.length];
+            for (final TZ tz : values) {
+                maybes[tz.ordinal()] = Maybe.of(tz);
+            }
+            return maybes;
+        }
+
+        private static TZ[] initCanonical(final TZ[] values) {
+            final TZ[] canonical = new TZ[values.length];
+            for (final TZ tz : values) {
+                canonical[tz.ordinal()] = lookup(tz.canonicalId).fold(() -> tz, Fn::identity);
+            }
+            return canonical;
+        }
     }
 }
@@ -0,0 +1,253 @@
+package eu.infolead.jtk.time;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ResourceError;
+import eu.infolead.jtk.anomaly.SystemError;
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.either.Result;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Registry of the time zone rules used by {@link TZ#toZoneRules()} and
+ * {@link EpochConverter#of(TZ)}.
+ *
+ * <p>
+ * By default the rules are those of the JDK. They can be replaced at runtime
+ * by a file in the binary format of the JDK's {@code lib/tzdb.dat}, such as one
+ * produced by a newer JDK or by its tzdb compiler, so that rule updates do not
+ * require a JDK upgrade or a restart. The file is memory-mapped. When it is
+ * loaded, the rules of all the {@link TZ} zones are decoded, so that a
+ * corrupt file is rejected before it is used; the rules of other regions are
+ * decoded on first use. Zones missing from the file keep the JDK rules.
+ *
+ * <p>
+ * The rules in use form an immutable {@link Snapshot}. Loading a file builds
+ * a new snapshot and publishes it atomically; readers are never blocked and get
+ * the current snapshot with a single volatile read. Values derived from a
+ * snapshot, such as the {@link EpochConverter} of a zone, are cached in that
+ * snapshot and discarded with it.
+ *
+ * <p>
+ * A file can also be configured with the {@value #PATH_PROPERTY} system
+ * property, which is read once when this class is initialized. If it cannot be
+ * loaded, the JDK rules are used.
+ *
+ * <p>
+ * {@link TZ#toZoneId()} and {@link TZ#toJavaUtilTimeZone()} are not affected:
+ * the JDK does not allow replacing the rules of its registered zone ids.
+ */
+public final class TzRulesRegistry {
+    public static final String PATH_PROPERTY = "jtk.tzdb.path";
+
+    private static volatile Snapshot current = initial();
+
+    private TzRulesRegistry() {
+        // Utility class
+    }
+
+    /**
+     * @return the rules currently in use.
+     */
+    public static Snapshot current() {
+        return current;
+    }
+
+    /**
+     * Loads the rules of the specified file and makes them the current rules.
+     *
+     * @param file a file in the {@code tzdb.dat} format.
+     * @return the new current snapshot, or an error if the file cannot be read
+     *         or has an invalid format; the current rules are unchanged then.
+     */
+    public static Result<SystemError, Snapshot> load(@Nonnull final Path file) {
+        final Result<SystemError, Snapshot> loaded = read(file);
+        loaded.fold(error -> null, snapshot -> current = snapshot);
+        return loaded;
+    }
+
+    /**
+     * Reverts to the rules of the JDK.
+     *
+     * @return the new current snapshot.
+     */
+    public static Snapshot useJdkRules() {
+        final Snapshot snapshot = new Snapshot(null, null);
+        current = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Reads the rules of the specified file without making them current.
+     *
+     * @param file a file in the {@code tzdb.dat} format.
+     * @return the snapshot of the rules of the file, or an error.
+     */
+    public static Result<SystemError, Snapshot> read(@Nonnull final Path file) {
+        Objects.requireNonNull(file, "file cannot be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final Snapshot snapshot = new Snapshot(file, TzdbFile.read(buffer));
+            snapshot.decodeZoneRules();
+            return Result.success(snapshot);
+        } catch (NoSuchFileException e) {
+            return Result.failure(ResourceError.notFound("tzdb", file));
+        } catch (IOException | IllegalArgumentException | ZoneRulesException e) {
+            return Result.failure(ParameterError.invalidFormat("file", file));
+        }
+    }
+
+    private static Snapshot initial() {
+        final String path = System.getProperty(PATH_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return new Snapshot(null, null);
+        }
+        return read(Path.of(path)).fold(error -> new Snapshot(null, null), snapshot -> snapshot);
+    }
+
+    /**
+     * An immutable set of rules, with the values derived from them.
+     */
+    public static final class Snapshot {
+        private final Path file;
+        private final TzdbFile tzdb;
+        /** Rule index in the file of each {@link TZ}, by ordinal, or -1 for the JDK rules. */
+        private final int[] ruleIndexes;
+        private final AtomicReferenceArray<ZoneRules> decodedRules;
+        private final AtomicReferenceArray<ZoneRules> rules;
+        private final AtomicReferenceArray<EpochConverter> converters;
+
+        private Snapshot(final Path file, final TzdbFile tzdb) {
+            final TZ[] zones = TZ.values();
+            this.file = file;
+            this.tzdb = tzdb;
+            this.ruleIndexes = new int[zones.length];
+            Arrays.fill(ruleIndexes, -1);
+            if (tzdb != null) {
+                for (final TZ tz : zones) {
+                    ruleIndexes[tz.ordinal()] = tzdb.ruleIndex(tz.getId());
+                }
+            }
+            this.decodedRules = new AtomicReferenceArray<>(tzdb == null ? 0 : tzdb.ruleCount());
+            this.rules = new AtomicReferenceArray<>(zones.length);
+            this.converters = new AtomicReferenceArray<>(zones.length);
+        }
+
+        /**
+         * @return the file the rules were loaded from, or none for the JDK rules.
+         */
+        public Maybe<Path> file() {
+            return Maybe.ofNullable(file);
+        }
+
+        /**
+         * @return the version of the time zone database, such as {@code 2024a}.
+         */
+        public String version() {
+            return tzdb == null ? JdkRules.VERSION : tzdb.version();
+        }
+
+        /**
+         * @return the region ids of the file, which may include zones that have
+         *         no {@link TZ} constant; empty for the JDK rules.
+         */
+        public Set<String> regionIds() {
+            return tzdb == null ? Set.of() : tzdb.regionIds();
+        }
+
+        /**
+         * Returns the rules of the specified zone, decoded on first use.
+         *
+         * @param tz the zone.
+         * @return the rules of the zone.
+         */
+        public ZoneRules rules(@Nonnull final TZ tz) {
+            final int index = tz.ordinal();
+            ZoneRules zoneRules = rules.get(index);
+            if (zoneRules == null) {
+                // decoding is idempotent: racing threads may decode twice, either result may be kept.
+                final int ruleIndex = ruleIndexes[index];
+                zoneRules = ruleIndex < 0 ? tz.jdkRules() : decoded(ruleIndex);
+                rules.lazySet(index, zoneRules);
+            }
+            return zoneRules;
+        }
+
+        /**
+         * Returns the rules of the specified region id of the file, which need not
+         * have a {@link TZ} constant.
+         *
+         * @param regionId the region id, such as {@code Europe/Brussels}.
+         * @return the rules of the region, or none if the file does not have them
+         *         or if these are the JDK rules.
+         */
+        public Maybe<ZoneRules> rules(@Nonnull final String regionId) {
+            final int ruleIndex = tzdb == null ? -1 : tzdb.ruleIndex(regionId);
+            return ruleIndex < 0 ? Maybe.none() : Maybe.of(decoded(ruleIndex));
+        }
+
+        /**
+         * Returns the converter of the specified zone over the default range of
+         * years, built on first use.
+         *
+         * @param tz the zone.
+         * @return the converter of the zone.
+         */
+        public EpochConverter converter(@Nonnull final TZ tz) {
+            final int index = tz.ordinal();
+            EpochConverter converter = converters.get(index);
+            if (converter == null) {
+                converter = EpochConverter.of(rules(tz), EpochConverter.DEFAULT_FROM_YEAR,
+                        EpochConverter.DEFAULT_TO_YEAR);
+                converters.lazySet(index, converter);
+            }
+            return converter;
+        }
+
+        /**
+         * Decodes the rules of all the {@link TZ} zones of the file.
+         *
+         * @throws ZoneRulesException if rules of the file cannot be decoded.
+         */
+        private void decodeZoneRules() {
+            for (final int ruleIndex : ruleIndexes) {
+                if (ruleIndex >= 0) {
+                    decoded(ruleIndex);
+                }
+            }
+        }
+
+        private ZoneRules decoded(final int ruleIndex) {
+            ZoneRules zoneRules = decodedRules.get(ruleIndex);
+            if (zoneRules == null) {
+                zoneRules = tzdb.decode(ruleIndex);
+                decodedRules.lazySet(ruleIndex, zoneRules);
+            }
+            return zoneRules;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[" + version() + (file == null ? ", jdk" : ", " + file) + "]";
+        }
+    }
+
+    private static final class JdkRules {
+        static final String VERSION = java.time.zone.ZoneRulesProvider.getVersions("UTC").lastKey();
+
+        private JdkRules() {
+        }
+    }
+}
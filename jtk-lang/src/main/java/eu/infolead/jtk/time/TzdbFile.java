@@ -0,0 +1,264 @@
+package eu.infolead.jtk.time;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneOffsetTransitionRule.TimeDefinition;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reader of the binary time zone database format of the JDK
+ * ({@code lib/tzdb.dat}), as written by its {@code TzdbZoneRulesCompiler}.
+ *
+ * <p>
+ * Only the header is read up front: the region ids, the version and the
+ * position of the serialized rules of each region. Rules are decoded from the
+ * buffer on demand, with the same encoding as {@code java.time.zone.Ser}.
+ */
+final class TzdbFile {
+    private static final int FORMAT_VERSION = 1;
+    private static final String GROUP_ID = "TZDB";
+    private static final byte ZONE_RULES_TYPE = 1;
+
+    private final ByteBuffer buffer;
+    private final String version;
+    /** Position in the buffer of the serialized bytes of each rule. */
+    private final int[] rulePositions;
+    /** Rule index of each region id of the latest version. */
+    private final Map<String, Integer> ruleIndexByRegion;
+
+    private TzdbFile(final ByteBuffer buffer, final String version, final int[] rulePositions,
+            final Map<String, Integer> ruleIndexByRegion) {
+        this.buffer = buffer;
+        this.version = version;
+        this.rulePositions = rulePositions;
+        this.ruleIndexByRegion = ruleIndexByRegion;
+    }
+
+    /**
+     * Reads the header of the database.
+     *
+     * @param buffer the content of the file; it is not modified.
+     * @return the database.
+     * @throws IllegalArgumentException if the content is not a valid database.
+     */
+    static TzdbFile read(final ByteBuffer buffer) {
+        final ByteBuffer in = buffer.duplicate();
+        try {
+            if (in.get() != FORMAT_VERSION || !GROUP_ID.equals(readUtf(in))) {
+                throw new IllegalArgumentException("not a TZDB file");
+            }
+            final int versionCount = readCount(in);
+            String version = null;
+            for (int i = 0; i < versionCount; i++) {
+                version = readUtf(in);
+            }
+            final String[] regions = new String[readCount(in)];
+            for (int i = 0; i < regions.length; i++) {
+                regions[i] = readUtf(in);
+            }
+            final int[] rulePositions = new int[readCount(in)];
+            for (int i = 0; i < rulePositions.length; i++) {
+                final int length = in.getShort() & 0xFFFF;
+                rulePositions[i] = in.position();
+                in.position(in.position() + length);
+            }
+            final Map<String, Integer> ruleIndexByRegion = new HashMap<>();
+            for (int i = 0; i < versionCount; i++) {
+                // each version lists all its regions: the last one wins.
+                ruleIndexByRegion.clear();
+                final int regionCount = readCount(in);
+                for (int j = 0; j < regionCount; j++) {
+                    final String region = regions[in.getShort() & 0xFFFF];
+                    final int ruleIndex = in.getShort() & 0xFFFF;
+                    if (ruleIndex >= rulePositions.length) {
+                        throw new IllegalArgumentException("invalid rule index for " + region);
+                    }
+                    ruleIndexByRegion.put(region, ruleIndex);
+                }
+            }
+            if (version == null) {
+                throw new IllegalArgumentException("no version in TZDB file");
+            }
+            return new TzdbFile(buffer, version, rulePositions, Collections.unmodifiableMap(ruleIndexByRegion));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("truncated TZDB file", e);
+        }
+    }
+
+    String version() {
+        return version;
+    }
+
+    int ruleCount() {
+        return rulePositions.length;
+    }
+
+    /**
+     * @param regionId the region id, such as {@code Europe/Brussels}.
+     * @return the index of the rules of the region, or -1 if the database does
+     *         not have the region.
+     */
+    int ruleIndex(final String regionId) {
+        return ruleIndexByRegion.getOrDefault(regionId, -1);
+    }
+
+    Set<String> regionIds() {
+        return ruleIndexByRegion.keySet();
+    }
+
+    /**
+     * Decodes the rules at the specified index.
+     *
+     * @param ruleIndex the index of the rules.
+     * @return the rules.
+     * @throws ZoneRulesException if the rules cannot be decoded.
+     */
+    ZoneRules decode(final int ruleIndex) {
+        final ByteBuffer in = buffer.duplicate();
+        in.position(rulePositions[ruleIndex]);
+        try {
+            if (in.get() != ZONE_RULES_TYPE) {
+                throw new ZoneRulesException("unsupported rules type at index " + ruleIndex);
+            }
+            final long[] standardTransitions = new long[readLength(in)];
+            for (int i = 0; i < standardTransitions.length; i++) {
+                standardTransitions[i] = readEpochSecond(in);
+            }
+            final ZoneOffset[] standardOffsets = new ZoneOffset[standardTransitions.length + 1];
+            for (int i = 0; i < standardOffsets.length; i++) {
+                standardOffsets[i] = readOffset(in);
+            }
+            final long[] savingsTransitions = new long[readLength(in)];
+            for (int i = 0; i < savingsTransitions.length; i++) {
+                savingsTransitions[i] = readEpochSecond(in);
+            }
+            final ZoneOffset[] wallOffsets = new ZoneOffset[savingsTransitions.length + 1];
+            for (int i = 0; i < wallOffsets.length; i++) {
+                wallOffsets[i] = readOffset(in);
+            }
+            final List<ZoneOffsetTransitionRule> lastRules = new ArrayList<>();
+            final int ruleCount = in.get();
+            for (int i = 0; i < ruleCount; i++) {
+                lastRules.add(readTransitionRule(in));
+            }
+            return ZoneRules.of(standardOffsets[0], wallOffsets[0],
+                    transitions(standardTransitions, standardOffsets),
+                    transitions(savingsTransitions, wallOffsets), lastRules);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | DateTimeException e) {
+            throw new ZoneRulesException("invalid rules at index " + ruleIndex, e);
+        }
+    }
+
+    private static List<ZoneOffsetTransition> transitions(final long[] epochSeconds, final ZoneOffset[] offsets) {
+        final List<ZoneOffsetTransition> transitions = new ArrayList<>(epochSeconds.length);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            final ZoneOffset before = offsets[i];
+            transitions.add(ZoneOffsetTransition.of(LocalDateTime.ofEpochSecond(epochSeconds[i], 0, before), before,
+                    offsets[i + 1]));
+        }
+        return transitions;
+    }
+
+    // ====================== SER ENCODING ======================
+
+    /**
+     * Reads a count written with {@link java.io.DataOutput#writeShort(int)}, which
+     * is unsigned.
+     */
+    private static int readCount(final ByteBuffer in) {
+        return in.getShort() & 0xFFFF;
+    }
+
+    /**
+     * Reads the length of an array of transitions, checking that the remaining
+     * bytes can hold it before it is allocated.
+     */
+    private static int readLength(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("invalid transition count " + length);
+        }
+        return length;
+    }
+
+    private static long readEpochSecond(final ByteBuffer in) {
+        final int hi = in.get() & 0xFF;
+        if (hi == 0xFF) {
+            return in.getLong();
+        }
+        final int mid = in.get() & 0xFF;
+        final int lo = in.get() & 0xFF;
+        // quarter hours since 1825
+        return ((long) (hi << 16) + (mid << 8) + lo) * 900 - 4_575_744_000L;
+    }
+
+    private static ZoneOffset readOffset(final ByteBuffer in) {
+        final int quarterHours = in.get();
+        return ZoneOffset.ofTotalSeconds(quarterHours == 127 ? in.getInt() : quarterHours * 900);
+    }
+
+    private static ZoneOffsetTransitionRule readTransitionRule(final ByteBuffer in) {
+        final int data = in.getInt();
+        final Month month = Month.of(data >>> 28);
+        final int dayOfMonthIndicator = ((data & (63 << 22)) >>> 22) - 32;
+        final int dayOfWeekByte = (data & (7 << 19)) >>> 19;
+        final DayOfWeek dayOfWeek = dayOfWeekByte == 0 ? null : DayOfWeek.of(dayOfWeekByte);
+        final int timeByte = (data & (31 << 14)) >>> 14;
+        final TimeDefinition definition = TimeDefinition.values()[(data & (3 << 12)) >>> 12];
+        final int standardByte = (data & (255 << 4)) >>> 4;
+        final int beforeByte = (data & (3 << 2)) >>> 2;
+        final int afterByte = data & 3;
+        final LocalTime time = timeByte == 31 ? LocalTime.ofSecondOfDay(in.getInt()) : LocalTime.of(timeByte % 24, 0);
+        final ZoneOffset standard = ZoneOffset.ofTotalSeconds(
+                standardByte == 255 ? in.getInt() : (standardByte - 128) * 900);
+        final ZoneOffset before = ZoneOffset.ofTotalSeconds(
+                beforeByte == 3 ? in.getInt() : standard.getTotalSeconds() + beforeByte * 1800);
+        final ZoneOffset after = ZoneOffset.ofTotalSeconds(
+                afterByte == 3 ? in.getInt() : standard.getTotalSeconds() + afterByte * 1800);
+        return ZoneOffsetTransitionRule.of(month, dayOfMonthIndicator, dayOfWeek, time, timeByte == 24, definition,
+                standard, before, after);
+    }
+
+    /**
+     * Reads a string in the modified UTF-8 encoding of
+     * {@link java.io.DataInput#readUTF()}.
+     */
+    private static String readUtf(final ByteBuffer in) {
+        final int length = in.getShort() & 0xFFFF;
+        final int end = in.position() + length;
+        final StringBuilder sb = new StringBuilder(length);
+        while (in.position() < end) {
+            final int a = in.get() & 0xFF;
+            if (a < 0x80) {
+                sb.append((char) a);
+            } else if ((a & 0xE0) == 0xC0) {
+                sb.append((char) ((a & 0x1F) << 6 | in.get() & 0x3F));
+            } else if ((a & 0xF0) == 0xE0) {
+                final int b = in.get() & 0x3F;
+                sb.append((char) ((a & 0x0F) << 12 | b << 6 | in.get() & 0x3F));
+            } else {
+                throw new IllegalArgumentException("malformed string in TZDB file");
+            }
+        }
+        if (in.position() != end) {
+            throw new IllegalArgumentException("malformed string in TZDB file");
+        }
+        return sb.toString();
+    }
+}
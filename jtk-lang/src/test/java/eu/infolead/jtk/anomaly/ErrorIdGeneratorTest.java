@@ -0,0 +1,132 @@
+package eu.infolead.jtk.anomaly;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.fp.validation.ValidationError;
+
+/**
+ * Tests {@link ErrorIdGenerator} and {@link SnowflakeErrorIdGenerator}.
+ */
+class ErrorIdGeneratorTest {
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        final SnowflakeErrorIdGenerator generator = SnowflakeErrorIdGenerator.of(5);
+        final int threads = 8;
+        final int perThread = 50_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Set<Long> ids = new HashSet<>();
+            final Future<?>[] futures = new Future<?>[threads];
+            final long[][] results = new long[threads][perThread];
+            for (int t = 0; t < threads; t++) {
+                final long[] result = results[t];
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        result[i] = generator.nextId();
+                    }
+                });
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            for (final long[] result : results) {
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(i == 0 || result[i] > result[i - 1]);
+                    assertTrue(result[i] > 0);
+                    assertEquals(5, SnowflakeErrorIdGenerator.nodeIdOf(result[i]));
+                    ids.add(result[i]);
+                }
+            }
+            assertEquals(threads * perThread, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testIdsEncodeTimeAndNode() {
+        final long millis = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+        final SnowflakeErrorIdGenerator generator = new SnowflakeErrorIdGenerator(1023, () -> millis);
+        final long first = generator.nextId();
+        assertEquals(Instant.ofEpochMilli(millis), SnowflakeErrorIdGenerator.timestampOf(first));
+        assertEquals(1023, SnowflakeErrorIdGenerator.nodeIdOf(first));
+        assertEquals(1023, generator.nodeId());
+        assertEquals(first + 1, generator.nextId());
+    }
+
+    @Test
+    void testSequenceOverflowAndClockGoingBack() {
+        final AtomicLong clock = new AtomicLong(Instant.parse("2026-03-01T12:00:00Z").toEpochMilli());
+        final SnowflakeErrorIdGenerator generator = new SnowflakeErrorIdGenerator(0, clock::get);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            final long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertTrue(SnowflakeErrorIdGenerator.timestampOf(previous).toEpochMilli() > clock.get());
+
+        clock.addAndGet(-60_000);
+        final long afterClockChange = generator.nextId();
+        assertTrue(afterClockChange > previous);
+
+        clock.addAndGet(120_000);
+        assertEquals(Instant.ofEpochMilli(clock.get()),
+            SnowflakeErrorIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeErrorIdGenerator.of(-1));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeErrorIdGenerator.of(1024));
+    }
+
+    @Test
+    void testNodeIdFromSystemProperty() {
+        final String previous = System.getProperty(SnowflakeErrorIdGenerator.NODE_PROPERTY);
+        try {
+            System.setProperty(SnowflakeErrorIdGenerator.NODE_PROPERTY, "42");
+            assertEquals(42, SnowflakeErrorIdGenerator.fromSystemProperty().nodeId());
+            System.setProperty(SnowflakeErrorIdGenerator.NODE_PROPERTY, "not a number");
+            final int random = SnowflakeErrorIdGenerator.fromSystemProperty().nodeId();
+            assertTrue(random >= 0 && random <= SnowflakeErrorIdGenerator.MAX_NODE_ID);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(SnowflakeErrorIdGenerator.NODE_PROPERTY);
+            } else {
+                System.setProperty(SnowflakeErrorIdGenerator.NODE_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void testGeneratedErrorIdsUseTheCurrentGenerator() {
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(StandardErrorType.REQUIRED.generateErrorId());
+        }
+        assertEquals(10_000, ids.size());
+
+        final AtomicLong counter = new AtomicLong(100);
+        final ErrorIdGenerator previous = ErrorIdGenerator.setCurrent(counter::incrementAndGet);
+        try {
+            assertEquals("1001-101", StandardErrorType.REQUIRED.generateErrorId());
+            assertEquals("1001-102", ValidationError.requiredWithId("name").errorId().orNull());
+            assertEquals("1006-103",
+                ParameterError.empty("name").withGeneratedId().getErrorId().orNull());
+        } finally {
+            ErrorIdGenerator.setCurrent(previous);
+        }
+    }
+}
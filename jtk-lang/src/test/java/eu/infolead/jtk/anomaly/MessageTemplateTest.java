@@ -0,0 +1,149 @@
+package eu.infolead.jtk.anomaly;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.fp.either.Maybe;
+import eu.infolead.jtk.fp.validation.ValidationError;
+
+/**
+ * Tests that {@link MessageTemplate} renders the same text as {@link String#format}.
+ */
+class MessageTemplateTest {
+
+    private static final Formattable UPPER = (formatter, flags, width, precision) -> formatter.format("UPPER");
+
+    private static final Object[][] ARGUMENTS = {
+        {},
+        { "a" },
+        { 42 },
+        { "a", "b" },
+        { 1, 2 },
+        { 7L, -3L, "extra", "arguments" },
+        { BigInteger.TEN.pow(30).negate(), (short) 5, (byte) -1 },
+        { null, null, null },
+        { BigDecimal.ONE, 2.5 },
+        { UPPER, UPPER },
+        { new Object[] { "nested" } },
+    };
+
+    private static final List<ErrorType> ERROR_TYPES = new ArrayList<>();
+
+    static {
+        ERROR_TYPES.addAll(Arrays.asList(StandardErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(ParameterErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(PreconditionErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(PostconditionErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(InvariantErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(BusinessRuleErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(ResourceErrorType.values()));
+        ERROR_TYPES.addAll(Arrays.asList(AuthorizationErrorType.values()));
+    }
+
+    @Test
+    void testErrorTypesFormatLikeStringFormat() {
+        for (final ErrorType type : ERROR_TYPES) {
+            for (final Object[] args : ARGUMENTS) {
+                assertEquals(reference(type.getMessageTemplate(), args), type.formatMessage(args),
+                    () -> type + " " + Arrays.toString(args));
+            }
+        }
+    }
+
+    @Test
+    void testTemplatesAreCachedPerConstant() {
+        assertSame(MessageTemplate.of(StandardErrorType.TOO_LONG), MessageTemplate.of(StandardErrorType.TOO_LONG));
+        assertNotSame(MessageTemplate.of(StandardErrorType.TOO_LONG), MessageTemplate.of(StandardErrorType.TOO_SHORT));
+    }
+
+    @Test
+    void testOtherSpecifiersFallBackToStringFormat() {
+        final String[] templates = {
+            "%5d items", "%1$s and %1$s", "100%% of %s%n", "%S", "%.2f", "trailing %", "%q", "no placeholder", "",
+        };
+        for (final String template : templates) {
+            final MessageTemplate compiled = MessageTemplate.compile(template);
+            for (final Object[] args : ARGUMENTS) {
+                assertEquals(reference(template, args), compiled.format(args), () -> template + " " + Arrays.toString(args));
+            }
+        }
+    }
+
+    @Test
+    void testNullTemplate() {
+        final MessageTemplate compiled = MessageTemplate.compile(null);
+        for (final Object[] args : ARGUMENTS) {
+            assertNull(compiled.format(args), () -> Arrays.toString(args));
+        }
+    }
+
+    @Test
+    void testAppendToKeepsExistingContent() {
+        final MessageTemplate template = MessageTemplate.compile("%s has %d items");
+        final StringBuilder out = new StringBuilder("cart: ");
+        template.appendTo(out, "basket", 3);
+        assertEquals("cart: basket has 3 items", out.toString());
+
+        final Object failing = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException();
+            }
+        };
+        final StringBuilder partial = new StringBuilder("x: ");
+        template.appendTo(partial, failing, 1);
+        assertEquals("x: %s has %d items", partial.toString());
+        assertEquals("%s has %d items", template.format(failing, 1));
+    }
+
+    @Test
+    void testLocaleWithOtherDigits() {
+        final Locale previous = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("th-TH-u-nu-thai"));
+            for (final Object[] args : ARGUMENTS) {
+                assertEquals(reference(StandardErrorType.TOO_LONG.getMessageTemplate(), args),
+                    StandardErrorType.TOO_LONG.formatMessage(args));
+            }
+            assertNotEquals("Field exceeds maximum length of 12 characters",
+                StandardErrorType.TOO_LONG.formatMessage(12));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, previous);
+        }
+        assertEquals("Field exceeds maximum length of 12 characters", StandardErrorType.TOO_LONG.formatMessage(12));
+    }
+
+    @Test
+    void testErrorFormats() {
+        final ParameterError parameter = new ParameterError("size", ParameterErrorType.OUT_OF_RANGE,
+            new Object[] { 1, 10 }, Maybe.of(UPPER), Maybe.of("2001-7"));
+        assertEquals(String.format("[%s|%s] %s", parameter.getErrorType().getCode(), "2001-7",
+            String.format("%s: %s", "size", ParameterErrorType.OUT_OF_RANGE.formatMessage(1, 10)))
+            + String.format(" (actual value: %s)", UPPER), parameter.format());
+
+        final ValidationError validation = new ValidationError("user.name", StandardErrorType.TOO_LONG,
+            new Object[] { 20 }, Maybe.of("x".repeat(25)), Maybe.none());
+        assertEquals(String.format("[%s] %s: %s", "TOO_LONG", "user.name", validation.getMessage())
+            + String.format(" (rejected value: %s)", "x".repeat(25)), validation.format());
+    }
+
+    private static String reference(final String template, final Object... args) {
+        if (args.length == 0) {
+            return template;
+        }
+        try {
+            return String.format(template, args);
+        } catch (Exception e) {
+            return template;
+        }
+    }
+}
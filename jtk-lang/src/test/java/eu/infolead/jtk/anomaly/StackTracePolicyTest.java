@@ -0,0 +1,128 @@
+package eu.infolead.jtk.anomaly;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.fp.Contracts;
+
+/**
+ * Tests {@link StackTracePolicy} and the exceptions of {@link SystemError#toException()}.
+ */
+class StackTracePolicyTest {
+
+    private final StackTracePolicy initial = StackTracePolicy.current();
+
+    @AfterEach
+    void restorePolicy() {
+        StackTracePolicy.setCurrent(initial);
+    }
+
+    @Test
+    void testExceptionsKeepTheirJdkTypes() {
+        final List<SystemError> errors = List.of(
+            ParameterError.empty("name"),
+            AuthorizationError.notAuthenticated(),
+            BusinessRuleError.ageRestriction(18, 16),
+            ResourceError.notFound("user", 42),
+            new InvariantError("balance", InvariantErrorType.OBJECT_CONSISTENCY, "balance"),
+            new PreconditionError("ready", PreconditionErrorType.SYSTEM_NOT_READY, "ready"),
+            new ParameterError("mode", ParameterErrorType.EMPTY).withGeneratedId());
+        for (final SystemError error : errors) {
+            final RuntimeException exception = error.toException();
+            assertSame(expectedType(error.getCategory()), exception.getClass().getSuperclass(), error::format);
+            assertSame(error, ((SystemErrorException) exception).getError());
+            assertEquals(error.getCategory(), ((SystemErrorException) exception).getCategory());
+            assertEquals(error.format(), exception.getMessage());
+        }
+    }
+
+    @Test
+    void testMessagesSurviveSerialization() throws Exception {
+        final List<SystemError> errors = List.of(
+            ParameterError.empty("name"),
+            AuthorizationError.notAuthenticated(),
+            BusinessRuleError.ageRestriction(18, 16),
+            ResourceError.notFound("user", 42),
+            new InvariantError("balance", InvariantErrorType.OBJECT_CONSISTENCY, "balance"),
+            new PreconditionError("ready", PreconditionErrorType.SYSTEM_NOT_READY, "ready"));
+        for (final SystemError error : errors) {
+            final RuntimeException exception = error.toException();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(exception);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                final RuntimeException read = (RuntimeException) in.readObject();
+                assertSame(exception.getClass(), read.getClass());
+                assertEquals(error.format(), read.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void testFullStackTraces() {
+        StackTracePolicy.setCurrent(StackTracePolicy.full());
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> Contracts.requireNonNull(null, "name"));
+        assertTrue(exception.getStackTrace().length > 0);
+        assertInstanceOf(ValidationException.class, exception);
+    }
+
+    @Test
+    void testStacklessExceptions() {
+        StackTracePolicy.setCurrent(StackTracePolicy.none());
+        final IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> Contracts.requireState(false, "must hold"));
+        assertEquals(0, exception.getStackTrace().length);
+        assertTrue(exception.getMessage().contains("must hold"));
+        assertEquals("must hold",
+            ((InvariantError) ((SystemErrorException) exception).getError()).invariant());
+    }
+
+    @Test
+    void testSampledStackTraces() {
+        StackTracePolicy.setCurrent(StackTracePolicy.sampled(4));
+        int captured = 0;
+        for (int i = 0; i < 4000; i++) {
+            if (ParameterError.empty("name").toException().getStackTrace().length > 0) {
+                captured++;
+            }
+        }
+        assertTrue(captured > 700 && captured < 1300, "captured " + captured);
+
+        StackTracePolicy.setCurrent(StackTracePolicy.sampled(1));
+        assertTrue(ParameterError.empty("name").toException().getStackTrace().length > 0);
+    }
+
+    @Test
+    void testParse() {
+        assertSame(StackTracePolicy.full(), StackTracePolicy.parse(null));
+        assertSame(StackTracePolicy.full(), StackTracePolicy.parse("full"));
+        assertSame(StackTracePolicy.none(), StackTracePolicy.parse(" NONE "));
+        assertEquals(StackTracePolicy.DEFAULT_SAMPLE_RATE, StackTracePolicy.parse("sampled").sampleRate());
+        final StackTracePolicy sampled = StackTracePolicy.parse("sampled:1000");
+        assertEquals(StackTracePolicy.Mode.SAMPLED, sampled.mode());
+        assertEquals(1000, sampled.sampleRate());
+        assertEquals("sampled:1000", sampled.toString());
+        assertSame(StackTracePolicy.full(), StackTracePolicy.parse("sampled:0"));
+        assertSame(StackTracePolicy.full(), StackTracePolicy.parse("sometimes"));
+        assertThrows(IllegalArgumentException.class, () -> StackTracePolicy.sampled(0));
+    }
+
+    private static Class<?> expectedType(final ErrorType.ErrorCategory category) {
+        return switch (category) {
+            case VALIDATION -> IllegalArgumentException.class;
+            case CONTRACT, BUSINESS_LOGIC, RESOURCE -> IllegalStateException.class;
+            case SECURITY -> SecurityException.class;
+            default -> RuntimeException.class;
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package eu.infolead.jtk.fp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for partial application, currying and primitive specializations of the
+ * {@link Fn} function interfaces.
+ */
+class FnTest {
+
+    @Test
+    void testBindAndCurry() {
+        Fn.FN4<String, String, String, Integer, Integer> fn = (a, b, c, d) -> a + b + (c + d);
+
+        assertEquals("ab3", fn.bind("a").apply("b", 1, 2));
+        assertEquals("ab3", fn.bind("a", "b").apply(1, 2));
+        assertEquals("ab3", fn.curry().apply("a").bind("b").bind(1).apply(2));
+    }
+
+    @Test
+    void testBinderInternsBoundFunctionsByIdentity() {
+        Fn.FN3<String, StringBuilder, String, String> fn = (config, a, b) -> config + a + b;
+        var binder = fn.binder();
+        var config = new StringBuilder("cfg:");
+        var equalConfig = new StringBuilder("cfg:");
+
+        var first = binder.apply(config);
+        assertSame(first, binder.apply(config));
+        assertNotSame(first, binder.apply(equalConfig));
+        assertSame(first, binder.apply(config));
+        assertEquals(2, binder.size());
+        assertEquals("cfg:xy", first.apply("x", "y"));
+
+        binder.clear();
+        assertEquals(0, binder.size());
+        assertNotSame(first, binder.apply(config));
+    }
+
+    @Test
+    void testBinderKeepsEveryBoundFunctionWhenArgumentsAlternate() {
+        Fn.FN2<String, Object, String> fn = (config, a) -> config + a;
+        var binder = fn.binder();
+        var configs = new Object[100];
+        var functions = new ArrayList<Fn.FN1<String, String>>();
+        for (int i = 0; i < configs.length; i++) {
+            configs[i] = new Object();
+            functions.add(binder.apply(configs[i]));
+        }
+
+        assertEquals(configs.length, binder.size());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < configs.length; i++) {
+                assertSame(functions.get(i), binder.apply(configs[i]));
+            }
+        }
+        assertEquals(configs[7] + "x", functions.get(7).apply("x"));
+    }
+
+    @Test
+    void testPrimitivePipeline() {
+        Fn.IntFN1 twice = v -> v * 2;
+        Fn.IntToLongFN1 pipeline = twice.andThen(v -> v + 1).andThenToLong(v -> v * 10_000_000_000L);
+        Fn.ToIntFN1<String> length = String::length;
+
+        assertEquals(70_000_000_000L, pipeline.apply(3));
+        assertEquals(7, length.andThen(twice).apply("abc") + 1);
+        assertEquals(Integer.valueOf(5), Fn.IntFN2.of(Integer::sum).bind(2).boxed().map(3));
+
+        Mapper<Integer, String> mapper = String::length;
+        assertEquals("6", mapper.andThenToInt(v -> v * 2).andThenToObj(Integer::toString).apply("abc"));
+    }
+
+    @Test
+    void testComposeRunsBeforeAndThenRunsAfter() {
+        Fn.IntFN1 plusOne = v -> v + 1;
+        Fn.IntFN1 twice = v -> v * 2;
+
+        assertEquals(8, plusOne.andThen(twice).apply(3));
+        assertEquals(7, plusOne.compose(twice).apply(3));
+        assertEquals(7L, Fn.LongFN1.of(v -> v + 1).compose(v -> v * 2).apply(3L));
+        assertEquals(7.0, Fn.DoubleFN1.of(v -> v + 1).compose(v -> v * 2).apply(3.0));
+        assertEquals(4, Fn.ToIntFN1.<String>of(String::length).<Integer>compose(Object::toString).apply(1234));
+    }
+
+    @Test
+    void testLongAndDoublePipelines() {
+        Fn.LongFN2 product = (a, b) -> a * b;
+        Fn.DoubleFN2 hypot = Math::hypot;
+
+        assertEquals(6_000_000_000L, product.bind(3L).apply(2_000_000_000L));
+        assertEquals(1L, product.andThen(v -> v >>> 32).apply(1L << 16, 1L << 16));
+        assertEquals(5.0, hypot.apply(3.0, 4.0));
+        assertEquals(10L, hypot.bind(6.0).andThenToLong(Math::round).apply(8.0));
+        assertEquals(2.5, Fn.LongFN1.of(v -> v / 2).andThenToDouble(v -> v + 0.5).apply(5L));
+        assertEquals("25", Fn.LongFN1.of(v -> v * 5).andThenToObj(Long::toString).apply(5L));
+        assertEquals(3, Fn.DoubleToIntFN1.of(v -> (int) Math.floor(v)).apply(3.9));
+    }
+
+    @Test
+    void testBoxedAdaptersApplyTheSameFunction() {
+        assertEquals(Long.valueOf(9L), Fn.LongFN1.of(v -> v * v).boxed().map(3L));
+        assertEquals(Double.valueOf(1.5), Fn.DoubleFN1.of(v -> v / 2).boxed().map(3.0));
+        assertEquals(Integer.valueOf(3), Fn.ToIntFN1.<String>of(String::length).boxed().map("abc"));
+        assertEquals(Long.valueOf(12L), Fn.LongFN2.of(Long::sum).boxed().apply(5L, 7L));
+        assertEquals("x3", Fn.IntToObjFN1.<String>of(v -> "x" + v).boxed().map(3));
+    }
+}
@@ -0,0 +1,99 @@
+package eu.infolead.jtk.fp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Lazy}.
+ */
+class LazyTest {
+
+    @Test
+    void testSynchronizedEvaluatesOnceUnderContention() throws Exception {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Lazy<Integer> lazy = Lazy.of(() -> {
+            evaluations.incrementAndGet();
+            return 42;
+        });
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.get();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void testMapAndFlatMapStayLazy() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Lazy<String> lazy = Lazy.of(Lazy.Mode.NONE, () -> {
+            evaluations.incrementAndGet();
+            return "abc";
+        });
+        final Lazy<Integer> length = lazy.map(String::length);
+        final Lazy<Integer> doubled = length.flatMap(n -> Provider.of(n * 2));
+
+        assertEquals(0, evaluations.get());
+        assertFalse(doubled.isInitialized());
+        assertEquals(6, doubled.get());
+        assertEquals(3, length.get());
+        assertEquals(1, evaluations.get());
+        assertEquals(Lazy.Mode.NONE, doubled.mode());
+    }
+
+    @Test
+    void testResetAndExpiry() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Lazy<Integer> lazy = Lazy.of(Lazy.Mode.PUBLICATION, evaluations::incrementAndGet);
+
+        assertEquals(1, lazy.get());
+        assertEquals(1, lazy.get());
+        assertTrue(lazy.isInitialized());
+        lazy.reset();
+        assertFalse(lazy.isInitialized());
+        assertEquals(2, lazy.get());
+
+        final Lazy<Integer> expiring = Lazy.of(Lazy.Mode.SYNCHRONIZED, Duration.ofNanos(1), evaluations::incrementAndGet);
+        final int first = expiring.get();
+        assertTrue(expiring.get() > first);
+        assertThrows(IllegalArgumentException.class, () -> Lazy.of(Lazy.Mode.NONE, Duration.ZERO, () -> 1));
+    }
+
+    @Test
+    void testFailedInitializationIsNotCached() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Lazy<String> lazy = Provider.<String>ofNull().lazy().map(s -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return "ok";
+        });
+
+        assertThrows(IllegalStateException.class, lazy::get);
+        assertEquals("ok", lazy.get());
+    }
+}
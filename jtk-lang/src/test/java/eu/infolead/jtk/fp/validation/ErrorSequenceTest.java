@@ -0,0 +1,82 @@
+package eu.infolead.jtk.fp.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ErrorSequence} and its use by {@link ValidationResult}.
+ */
+class ErrorSequenceTest {
+
+    @Test
+    void testAppendAndConcat() {
+        final List<ValidationError> expected = new ArrayList<>();
+        ErrorSequence sequence = ErrorSequence.empty();
+        for (int i = 0; i < 10; i++) {
+            final ValidationError error = ValidationError.required("field" + i);
+            expected.add(error);
+            sequence = sequence.append(error);
+        }
+        final ErrorSequence twice = sequence.concat(sequence);
+        assertEquals(expected, sequence);
+        assertEquals(20, twice.size());
+        assertEquals(expected.get(3), twice.get(13));
+        assertSame(sequence, sequence.concat(List.of()));
+        assertSame(sequence, ErrorSequence.empty().concat(sequence));
+        assertSame(sequence, ErrorSequence.of(sequence));
+        assertThrows(IndexOutOfBoundsException.class, () -> twice.get(20));
+        assertThrows(UnsupportedOperationException.class, () -> twice.add(expected.get(0)));
+    }
+
+    @Test
+    void testAccumulationDoesNotCopy() {
+        final int count = 200_000;
+        ValidationResult<String> result = ValidationResult.success("value");
+        for (int i = 0; i < count; i++) {
+            result = result.combine(ValidationResult.failure(ValidationError.required("f" + i)), a -> b -> a);
+        }
+        final List<ValidationError> errors = result.getErrors();
+        assertEquals(count, errors.size());
+        assertEquals("f0", errors.get(0).fieldPath());
+        assertEquals("f" + (count - 1), errors.get(count - 1).fieldPath());
+        assertSame(errors, result.getErrors());
+
+        final List<ValidationResult<String>> results = List.of(ValidationResult.success("a"),
+                ValidationResult.failure(ValidationError.required("b")), ValidationResult.success("c"),
+                ValidationResult.failure(ValidationError.required("d"), ValidationError.required("e")));
+        assertEquals(List.of("b", "d", "e"), ValidationResult.sequence(results).getErrors().stream()
+                .map(ValidationError::fieldPath).toList());
+    }
+
+    @Test
+    void testAppendsBetweenReadsFillInPlace() {
+        final int count = 200_000;
+        ErrorSequence sequence = ErrorSequence.empty();
+        for (int i = 0; i < count; i++) {
+            sequence = sequence.append(ValidationError.required("f" + i));
+            assertEquals("f" + i, sequence.get(i).fieldPath());
+        }
+        assertEquals(count, sequence.size());
+        for (int i = 0; i < count; i += 997) {
+            assertEquals("f" + i, sequence.get(i).fieldPath());
+        }
+    }
+
+    @Test
+    void testBranchesDoNotOverwriteEachOther() {
+        ErrorSequence base = ErrorSequence.of(ValidationError.required("a")).append(ValidationError.required("b"));
+        assertEquals("a", base.get(0).fieldPath());
+        final ErrorSequence left = base.append(ValidationError.required("left"));
+        final ErrorSequence right = base.append(ValidationError.required("right"));
+        final ErrorSequence both = left.concat(right);
+        assertEquals(List.of("a", "b"), base.stream().map(ValidationError::fieldPath).toList());
+        assertEquals(List.of("a", "b", "left"), left.stream().map(ValidationError::fieldPath).toList());
+        assertEquals(List.of("a", "b", "right"), right.stream().map(ValidationError::fieldPath).toList());
+        assertEquals(List.of("a", "b", "left", "a", "b", "right"),
+                both.stream().map(ValidationError::fieldPath).toList());
+    }
+}
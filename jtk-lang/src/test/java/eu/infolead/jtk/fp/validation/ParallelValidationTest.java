@@ -0,0 +1,59 @@
+package eu.infolead.jtk.fp.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ValidationResult#validateAllParallel(List, Function, ForkJoinPool, int)}
+ * against {@link ValidationResult#validateAll(java.util.Collection, Function)}.
+ */
+class ParallelValidationTest {
+    private static final int SIZE = ParallelValidation.THRESHOLD * 20 + 7;
+
+    private static ValidationResult<String> validate(final Integer item) {
+        return item % 1000 == 7 ? ValidationResult.failure(ValidationError.required("items[" + item + "]"))
+                : ValidationResult.success("#" + item);
+    }
+
+    @Test
+    void testOrderedMerge() {
+        final List<Integer> items = IntStream.range(0, SIZE).boxed().toList();
+        final ValidationResult<List<String>> sequential = ValidationResult.validateAll(items,
+                ParallelValidationTest::validate);
+        final ValidationResult<List<String>> parallel = ValidationResult.validateAllParallel(items,
+                ParallelValidationTest::validate, ForkJoinPool.commonPool());
+        assertEquals(SIZE / 1000 + 1, parallel.getErrors().size());
+        assertEquals(paths(sequential), paths(parallel));
+
+        final List<Integer> valid = IntStream.range(0, SIZE).filter(i -> i % 1000 != 7).boxed().toList();
+        final List<String> values = ValidationResult.validateAllParallel(valid, ParallelValidationTest::validate,
+                ForkJoinPool.commonPool()).getValue().toOptional().orElseThrow();
+        assertEquals(ValidationResult.validateAll(valid, ParallelValidationTest::validate).getValue().toOptional()
+                .orElseThrow(), values);
+    }
+
+    @Test
+    void testErrorBudget() {
+        final List<Integer> items = IntStream.range(0, SIZE).boxed().toList();
+        final AtomicInteger validated = new AtomicInteger();
+        final ValidationResult<List<String>> result = ValidationResult.validateAllParallel(items, item -> {
+            validated.incrementAndGet();
+            return ValidationResult.<String>failure(ValidationError.required("items[" + item + "]"));
+        }, ForkJoinPool.commonPool(), 10);
+        assertTrue(result.getErrors().size() > 10);
+        assertTrue(validated.get() < SIZE);
+        assertThrows(IllegalArgumentException.class, () -> ValidationResult.validateAllParallel(items,
+                ParallelValidationTest::validate, ForkJoinPool.commonPool(), -1));
+    }
+
+    private static List<String> paths(final ValidationResult<?> result) {
+        return result.getErrors().stream().map(ValidationError::fieldPath).toList();
+    }
+}
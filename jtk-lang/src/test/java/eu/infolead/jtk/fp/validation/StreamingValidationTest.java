@@ -0,0 +1,53 @@
+package eu.infolead.jtk.fp.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link StreamingValidation}.
+ */
+class StreamingValidationTest {
+    private static final StreamingValidation<Long, Long> EVEN = StreamingValidation.of(
+            item -> item % 2 == 0 ? ValidationResult.success(item)
+                    : ValidationResult.failure(ValidationError.invalidFormat("rows[" + item + "]", item)),
+            3);
+
+    @Test
+    void testBoundedErrors() {
+        final List<StreamingValidation.Summary> progress = new ArrayList<>();
+        final long[] sum = { 0 };
+        final StreamingValidation.Summary summary = EVEN.onProgress(400_000, progress::add)
+                .validate(LongStream.range(0, 1_000_000).boxed(), value -> sum[0] += value);
+
+        assertEquals(1_000_000, summary.items());
+        assertEquals(500_000, summary.valid());
+        assertEquals(500_000, summary.invalid());
+        assertEquals(500_000, summary.errorCount());
+        assertEquals(499_997, summary.droppedErrors());
+        assertEquals(List.of("rows[1]", "rows[3]", "rows[5]"),
+                summary.errors().stream().map(ValidationError::fieldPath).toList());
+        assertEquals(249_999_500_000L, sum[0]);
+        assertEquals(List.of(400_000L, 800_000L), progress.stream().map(StreamingValidation.Summary::items).toList());
+        assertEquals(3, summary.toValidationResult().getErrors().size());
+    }
+
+    @Test
+    void testValidValues() {
+        final List<StreamingValidation.Summary> completed = new ArrayList<>();
+        final List<Long> values = EVEN.validValues(LongStream.range(0, 10).boxed(), completed::add).toList();
+        assertEquals(List.of(0L, 2L, 4L, 6L, 8L), values);
+        assertEquals(1, completed.size());
+        assertEquals(5, completed.get(0).invalid());
+
+        final StreamingValidation.Summary valid = EVEN.validate(IntStream.range(0, 5).mapToObj(i -> 2L * i)
+                .iterator(), value -> { });
+        assertEquals(5L, valid.toValidationResult().getValue().toOptional().orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> StreamingValidation.of(ValidationResult::success, 0));
+    }
+}
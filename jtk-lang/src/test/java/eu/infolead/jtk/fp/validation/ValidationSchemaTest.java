@@ -0,0 +1,67 @@
+package eu.infolead.jtk.fp.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.anomaly.StandardErrorType;
+
+/**
+ * Tests {@link ValidationSchema}.
+ */
+class ValidationSchemaTest {
+    private record Address(String city, String zip) {
+    }
+
+    private record User(String email, String name, int age, BigDecimal balance, Address address) {
+    }
+
+    private static final ValidationSchema<Address> ADDRESS = ValidationSchema.<Address>builder()
+            .required("city", Address::city)
+            .matches("zip", Address::zip, Pattern.compile("\\d{4,5}"), StandardErrorType.INVALID_FORMAT)
+            .build();
+
+    private static final ValidationSchema<User> USER = ValidationSchema.<User>builder()
+            .required("email", User::email)
+            .length("name", User::name, 2, 5)
+            .matches("email", User::email, Pattern.compile("[^@]+@[^@]+"), StandardErrorType.INVALID_EMAIL)
+            .range("age", User::age, 0, 120)
+            .between("balance", User::balance, BigDecimal.ZERO, BigDecimal.TEN)
+            .check("name", User::name, name -> Character.isUpperCase(name.charAt(0)),
+                    StandardErrorType.INVALID_FORMAT)
+            .nested("address", User::address, ADDRESS)
+            .build();
+
+    @Test
+    void testValid() {
+        final User user = new User("a@b.c", "Ann", 30, BigDecimal.ONE, new Address("Brussels", "1000"));
+        final ValidationResult<User> result = USER.validate(user);
+        assertTrue(result.isSuccess().toBoolean());
+        assertSame(user, result.getValue().toOptional().orElseThrow());
+        assertTrue(USER.validate(new User("a@b.c", null, 0, null, null)).isSuccess().toBoolean());
+    }
+
+    @Test
+    void testErrorsOfAllFields() {
+        final ValidationResult<User> result = USER.validate(
+                new User(null, "ann", 121, BigDecimal.valueOf(11), new Address(null, "B-1000")));
+        assertEquals(List.of("email", "name", "age", "balance", "address.city", "address.zip"),
+                result.getErrors().stream().map(ValidationError::fieldPath).toList());
+        assertEquals(List.of(StandardErrorType.REQUIRED, StandardErrorType.INVALID_FORMAT,
+                StandardErrorType.OUT_OF_RANGE, StandardErrorType.OUT_OF_RANGE, StandardErrorType.REQUIRED,
+                StandardErrorType.INVALID_FORMAT), result.getErrors().stream().map(ValidationError::errorType).toList());
+
+        // fields are checked in the order they are first declared, and their rules stop at the first failure.
+        final ValidationResult<User> shortName = USER.validate(new User("nope", "a", 1, null, null));
+        assertEquals(List.of(StandardErrorType.INVALID_EMAIL, StandardErrorType.TOO_SHORT),
+                shortName.getErrors().stream().map(ValidationError::errorType).toList());
+        assertEquals(List.of("email", "name"), shortName.getErrors().stream().map(ValidationError::fieldPath)
+                .toList());
+
+        assertFalse(USER.validate(null).isSuccess().toBoolean());
+    }
+}
@@ -0,0 +1,23 @@
+package eu.infolead.jtk.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the exception-free lookup of {@link HttpStatus} by code.
+ */
+class HttpStatusTest {
+
+    @Test
+    void testFromCode() {
+        assertEquals(HttpStatus.OK, HttpStatus.fromCode(200).fold(n -> null, s -> s));
+        assertSame(HttpStatus.fromCode(404), HttpStatus.fromCode(404));
+        assertTrue(HttpStatus.fromCode(511).toOptional().isPresent());
+        assertTrue(HttpStatus.fromCode(299).toOptional().isEmpty());
+        assertTrue(HttpStatus.fromCode(-1).toOptional().isEmpty());
+        assertTrue(HttpStatus.fromCode(1000).toOptional().isEmpty());
+        assertSame(HttpStatus.CREATED, HttpStatus.of(201, HttpStatus.CREATED.rfcReference(),
+                HttpStatus.CREATED.rfcSection(), "Created"));
+    }
+}
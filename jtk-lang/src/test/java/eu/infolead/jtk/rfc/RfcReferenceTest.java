@@ -0,0 +1,42 @@
+package eu.infolead.jtk.rfc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+
+import org.junit.jupiter.api.Test;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ParameterErrorType;
+import eu.infolead.jtk.fp.either.Result;
+
+/**
+ * Tests for the validated factories and cached URLs of {@link RfcReference}.
+ */
+class RfcReferenceTest {
+
+    @Test
+    void testUrlsAreBuiltOncePerNumber() {
+        final RfcReference reference = new RfcReference(9110);
+        final Result<Void, URL> url = reference.url();
+
+        assertTrue(url.isSuccess().toBoolean());
+        assertSame(url, new RfcReference(9110).url());
+        assertEquals("https://www.rfc-editor.org/rfc/rfc9110.json",
+                reference.jsonUrl().fold(f -> null, URL::toString));
+        assertEquals("https://www.rfc-editor.org/rfc/rfc9110#section-15.2.1",
+                reference.url("15.2.1").fold(f -> null, URL::toString));
+    }
+
+    @Test
+    void testInvalidInputIsRejectedWithoutBuildingUrls() {
+        assertEquals(ParameterErrorType.OUT_OF_RANGE,
+                RfcReference.of(0).fold(ParameterError::getErrorType, r -> null));
+        assertEquals("number", RfcReference.of(-1).fold(ParameterError::parameterName, r -> null));
+        assertEquals(new RfcReference(1), RfcReference.of(1).fold(e -> null, r -> r));
+        assertTrue(new RfcReference(-5).textUrl().isFailure().toBoolean());
+        assertTrue(new RfcReference(9110).url("1/../x").isFailure().toBoolean());
+        assertTrue(new RfcReference(9110).url("").isFailure().toBoolean());
+        assertTrue(new RfcReference(9110).url(null).isFailure().toBoolean());
+    }
+}
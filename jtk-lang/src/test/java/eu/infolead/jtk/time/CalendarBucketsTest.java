@@ -0,0 +1,99 @@
+package eu.infolead.jtk.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CalendarBuckets} against the truncation of {@link ZonedDateTime}.
+ */
+class CalendarBucketsTest {
+    private static final TZ[] ZONES = { TZ.EUROPE_BRUSSELS, TZ.AMERICA_NEW_YORK, TZ.AUSTRALIA_LORD_HOWE,
+            TZ.ASIA_KATHMANDU, TZ.UTC };
+
+    @Test
+    void testBucketsMatchZonedDateTime() {
+        final Random random = new Random(7);
+        final long[] epochMillis = new long[5_000];
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = -2_000_000_000_000L + (long) (random.nextDouble() * 6_000_000_000_000L);
+        }
+        for (final TZ tz : ZONES) {
+            for (final CalendarBuckets.Unit unit : CalendarBuckets.Unit.values()) {
+                final CalendarBuckets buckets = CalendarBuckets.of(tz, unit, DayOfWeek.SUNDAY);
+                final long[] bucketIds = new long[epochMillis.length];
+                buckets.bucketsOf(epochMillis, 0, epochMillis.length, bucketIds);
+                for (int i = 0; i < epochMillis.length; i++) {
+                    final long expected = expectedBucket(tz.toZoneId(), unit, DayOfWeek.SUNDAY, epochMillis[i]);
+                    assertEquals(expected, bucketIds[i], tz + " " + unit + " " + Instant.ofEpochMilli(epochMillis[i]));
+                    assertEquals(expected, buckets.bucketOf(epochMillis[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDstTransitions() {
+        final CalendarBuckets hours = CalendarBuckets.of(TZ.EUROPE_BRUSSELS, CalendarBuckets.Unit.HOUR);
+        // 2024-03-31 02:00 CET does not exist: the 01:00 bucket is followed by the 03:00 CEST one.
+        final long springOne = Instant.parse("2024-03-31T00:00:00Z").toEpochMilli();
+        assertEquals(Instant.parse("2024-03-31T01:00:00Z").toEpochMilli(), hours.nextBucket(springOne));
+        // 2024-10-27 02:00 CEST to 03:00 CET is a single two-hour bucket.
+        final long autumnTwo = Instant.parse("2024-10-27T00:00:00Z").toEpochMilli();
+        assertEquals(autumnTwo, hours.bucketOf(Instant.parse("2024-10-27T01:30:00Z").toEpochMilli()));
+        assertEquals(Instant.parse("2024-10-27T02:00:00Z").toEpochMilli(), hours.nextBucket(autumnTwo));
+
+        final CalendarBuckets days = CalendarBuckets.of(TZ.AMERICA_NEW_YORK, CalendarBuckets.Unit.DAY);
+        final long march10 = Instant.parse("2024-03-10T05:00:00Z").toEpochMilli();
+        assertEquals(23 * 3_600_000L, days.nextBucket(march10) - march10);
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        final Random random = new Random(11);
+        final long[] epochMillis = new long[100_000];
+        final double[] values = new double[epochMillis.length];
+        for (int i = 0; i < epochMillis.length; i++) {
+            epochMillis[i] = 1_600_000_000_000L + (long) (random.nextDouble() * 200_000_000_000L);
+            values[i] = random.nextInt(1000);
+        }
+        final CalendarBuckets buckets = CalendarBuckets.of(TZ.EUROPE_BRUSSELS, CalendarBuckets.Unit.DAY);
+        final BucketAccumulator sequential = buckets.aggregate(epochMillis, values, 0, epochMillis.length,
+                new BucketAccumulator());
+        final BucketAccumulator parallel = buckets.aggregate(epochMillis, values, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sequential.bucketIds(), parallel.bucketIds());
+        long total = 0;
+        for (final long bucketId : sequential.bucketIds()) {
+            assertEquals(sequential.count(bucketId), parallel.count(bucketId));
+            assertEquals(sequential.sum(bucketId), parallel.sum(bucketId));
+            total += sequential.count(bucketId);
+        }
+        assertEquals(epochMillis.length, total);
+        assertEquals(0L, sequential.count(42L));
+    }
+
+    private static long expectedBucket(final ZoneId zone, final CalendarBuckets.Unit unit,
+            final DayOfWeek firstDayOfWeek, final long epochMilli) {
+        final LocalDateTime local = Instant.ofEpochMilli(epochMilli).atZone(zone).toLocalDateTime();
+        final LocalDate date = local.toLocalDate();
+        final LocalDateTime start = switch (unit) {
+            case HOUR -> local.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> date.atStartOfDay();
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(firstDayOfWeek)).atStartOfDay();
+            case MONTH -> date.withDayOfMonth(1).atStartOfDay();
+        };
+        return ZonedDateTime.ofLocal(start, zone, null).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,62 @@
+package eu.infolead.jtk.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EpochConverter} against {@link ZonedDateTime}.
+ */
+class EpochConverterTest {
+    private static final TZ[] ZONES = { TZ.EUROPE_BRUSSELS, TZ.AMERICA_NEW_YORK, TZ.AUSTRALIA_LORD_HOWE,
+            TZ.ASIA_KATHMANDU, TZ.PACIFIC_APIA, TZ.UTC, TZ.AMERICA_ST_JOHNS };
+
+    @Test
+    void testBulkConversionMatchesZonedDateTime() {
+        final Random random = new Random(42);
+        final long[] epochMillis = new long[20_000];
+        for (int i = 0; i < epochMillis.length; i++) {
+            // mostly within the default table range, some values far outside of it.
+            epochMillis[i] = i % 10 == 0
+                    ? random.nextLong() % 200_000_000_000_000L
+                    : -2_500_000_000_000L + (long) (random.nextDouble() * 7_000_000_000_000L);
+        }
+        Arrays.sort(epochMillis, 0, epochMillis.length / 2);
+
+        for (final TZ tz : ZONES) {
+            final EpochConverter converter = EpochConverter.of(tz);
+            final long[] packed = new long[epochMillis.length];
+            final long[] epochDays = new long[epochMillis.length];
+            final long[] nanosOfDay = new long[epochMillis.length];
+            converter.toPackedDateTimes(epochMillis, 0, epochMillis.length, packed);
+            converter.toEpochDayAndNanoOfDay(epochMillis, 0, epochMillis.length, epochDays, nanosOfDay);
+
+            for (int i = 0; i < epochMillis.length; i++) {
+                final LocalDateTime expected = ZonedDateTime
+                        .ofInstant(Instant.ofEpochMilli(epochMillis[i]), tz.toZoneId()).toLocalDateTime();
+                assertEquals(expected, PackedDateTime.toLocalDateTime(packed[i]), tz + " " + epochMillis[i]);
+                assertEquals(expected.toLocalDate().toEpochDay(), epochDays[i]);
+                assertEquals(expected.toLocalTime().toNanoOfDay(), nanosOfDay[i]);
+                assertEquals(expected, PackedDateTime.toLocalDateTime(converter.toPackedDateTime(epochMillis[i])));
+            }
+        }
+    }
+
+    @Test
+    void testTransitionsAreExact() {
+        final EpochConverter converter = EpochConverter.of(TZ.EUROPE_BRUSSELS, 2020, 2030);
+        final long transition = ZonedDateTime.parse("2024-03-31T01:00:00Z").toInstant().toEpochMilli();
+
+        assertEquals(3600, converter.offsetSecondsAt(transition - 1));
+        assertEquals(7200, converter.offsetSecondsAt(transition));
+        assertEquals(22, converter.transitionCount());
+        assertSame(EpochConverter.of(TZ.EUROPE_BRUSSELS), EpochConverter.of(TZ.EUROPE_BRUSSELS));
+        assertThrows(IllegalArgumentException.class, () -> EpochConverter.of(TZ.UTC, 2030, 2020));
+    }
+}
@@ -0,0 +1,100 @@
+package eu.infolead.jtk.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Iso8601} against {@link DateTimeFormatter}.
+ */
+class Iso8601Test {
+    private static final DateTimeFormatter NANOS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSSXXXXX");
+    private static final DateTimeFormatter MILLIS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSXXXXX");
+
+    @Test
+    void testFormatMatchesDateTimeFormatter() {
+        final Random random = new Random(7);
+        final char[] buffer = new char[Iso8601.MAX_LENGTH];
+        for (final TZ tz : new TZ[] { TZ.UTC, TZ.EUROPE_BRUSSELS, TZ.AMERICA_ST_JOHNS, TZ.EUROPE_AMSTERDAM }) {
+            final Iso8601 nanos = Iso8601.of(tz, Iso8601.Precision.NANOS);
+            final Iso8601 millis = Iso8601.of(tz, Iso8601.Precision.MILLIS);
+            for (int i = 0; i < 5_000; i++) {
+                final long epochSecond = i % 100 == 0
+                        ? random.nextLong() % 300_000_000_000L
+                        : random.nextLong() % 5_000_000_000L;
+                final int nano = random.nextInt(1_000_000_000);
+                final var dateTime = Instant.ofEpochSecond(epochSecond, nano).atZone(tz.toZoneId());
+
+                final int length = nanos.format(epochSecond, nano, buffer, 0);
+                assertEquals(NANOS.format(dateTime), new String(buffer, 0, length));
+                final long epochMilli = Math.multiplyExact(epochSecond, 1000L) + nano / 1_000_000;
+                assertEquals(MILLIS.format(dateTime), millis.formatEpochMilliTo(epochMilli, new StringBuilder())
+                        .toString());
+            }
+        }
+    }
+
+    @Test
+    void testFormatIntoByteBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) '>');
+        final int length = Iso8601.of(TZ.ASIA_KOLKATA, Iso8601.Precision.MICROS)
+                .format(1_700_000_000L, 123_456_789, buffer);
+
+        assertEquals("2023-11-15T03:43:20.123456+05:30", new String(buffer.array(), 1, length,
+                StandardCharsets.US_ASCII));
+        assertEquals(1 + length, buffer.position());
+    }
+
+    @Test
+    void testParseRoundTrips() {
+        final Iso8601 iso = Iso8601.of(TZ.EUROPE_BRUSSELS, Iso8601.Precision.NANOS);
+        final Iso8601.Timestamp timestamp = new Iso8601.Timestamp();
+        final char[] buffer = new char[Iso8601.MAX_LENGTH];
+        final Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            final long epochSecond = random.nextLong() % 5_000_000_000L;
+            final int nano = random.nextInt(1_000_000_000);
+            final int length = iso.format(epochSecond, nano, buffer, 0);
+
+            assertTrue(iso.parse(new String(buffer, 0, length), timestamp));
+            assertEquals(epochSecond, timestamp.epochSecond());
+            assertEquals(nano, timestamp.nanoOfSecond());
+            final byte[] bytes = ("[" + new String(buffer, 0, length) + "]").getBytes(StandardCharsets.US_ASCII);
+            assertTrue(iso.parse(bytes, 1, bytes.length - 1, timestamp));
+            assertEquals(Instant.ofEpochSecond(epochSecond, nano), timestamp.toInstant());
+        }
+    }
+
+    @Test
+    void testParseVariants() {
+        final Iso8601 iso = Iso8601.of(TZ.EUROPE_BRUSSELS, Iso8601.Precision.MILLIS);
+        final Iso8601.Timestamp timestamp = new Iso8601.Timestamp();
+
+        assertTrue(iso.parse("2024-02-29T12:00:00.5-03:30", timestamp));
+        assertEquals(OffsetDateTime.parse("2024-02-29T12:00:00.5-03:30").toInstant(), timestamp.toInstant());
+        assertTrue(iso.parse("+12024-01-01T00:00:00Z", timestamp));
+        assertEquals(OffsetDateTime.parse("+12024-01-01T00:00:00Z").toInstant(), timestamp.toInstant());
+
+        // without offset: resolved in the zone, gaps shift forward and overlaps take the earlier offset.
+        assertTrue(iso.parse("2024-03-31T02:30:00", timestamp));
+        assertFalse(timestamp.hasExplicitOffset());
+        assertEquals(Instant.parse("2024-03-31T01:30:00Z"), timestamp.toInstant());
+        assertTrue(iso.parse("2024-10-27T02:30:00", timestamp));
+        assertEquals(Instant.parse("2024-10-27T00:30:00Z"), timestamp.toInstant());
+        assertEquals(7200, timestamp.offsetSeconds());
+
+        for (final String invalid : new String[] { "", "2024-02-30T12:00:00Z", "2023-02-29T12:00:00Z",
+                "2024-01-01 12:00:00Z", "2024-01-01T24:00:00Z", "2024-01-01T12:00:00.Z", "2024-01-01T12:00:00+19:00",
+                "2024-01-01T12:00:00+01", "2024-01-01T12:00:00Zx", "24-01-01T12:00:00Z", "2024-1-01T12:00:00Z" }) {
+            assertFalse(iso.parse(invalid, timestamp), invalid);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package eu.infolead.jtk.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the cached resolution and id lookup of {@link TZ}.
+ */
+class TZTest {
+
+    @Test
+    void testFromIdFindsEveryConstant() {
+        for (final TZ tz : TZ.values()) {
+            assertSame(tz, TZ.fromId(tz.getId()).fold(() -> null, t -> t), tz.getId());
+        }
+        assertTrue(TZ.fromId("Europe/Atlantis").toOptional().isEmpty());
+        assertTrue(TZ.fromId("europe/brussels").toOptional().isEmpty());
+        assertTrue(TZ.fromId("").toOptional().isEmpty());
+        assertTrue(TZ.fromId(null).toOptional().isEmpty());
+    }
+
+    @Test
+    void testEveryConstantResolves() {
+        for (final TZ tz : TZ.values()) {
+            assertEquals(ZoneId.of(tz.getId()), tz.toZoneId());
+            assertSame(tz.toZoneId(), tz.toZoneId());
+            assertSame(tz.toZoneRules(), tz.toZoneRules());
+        }
+    }
+
+    @Test
+    void testTimeZonesAreDefensiveCopies() {
+        final TimeZone first = TZ.EUROPE_BRUSSELS.toJavaUtilTimeZone();
+        first.setRawOffset(0);
+
+        final TimeZone second = TZ.EUROPE_BRUSSELS.toJavaUtilTimeZone();
+        assertNotSame(first, second);
+        assertEquals(TimeZone.getTimeZone("Europe/Brussels"), second);
+    }
+
+    @Test
+    void testCanonical() {
+        assertEquals(TZ.AMERICA_NEW_YORK, TZ.US_EASTERN.canonical());
+        assertEquals(TZ.AMERICA_ARGENTINA_BUENOS_AIRES, TZ.AMERICA_BUENOS_AIRES.canonical());
+        assertEquals(TZ.ETC_GMT, TZ.ETC_GMT_MINUS0.canonical());
+        assertEquals(TZ.EUROPE_BRUSSELS, TZ.EUROPE_BRUSSELS.canonical());
+        assertTrue(TZ.US_EASTERN.isAlias());
+        assertFalse(TZ.AMERICA_NEW_YORK.isAlias());
+        for (final TZ tz : TZ.values()) {
+            assertFalse(tz.canonical().isAlias(), tz.getId());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package eu.infolead.jtk.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import eu.infolead.jtk.anomaly.ParameterError;
+import eu.infolead.jtk.anomaly.ResourceError;
+
+/**
+ * Tests for {@link TzRulesRegistry}, loading the database of the running JDK.
+ */
+class TzRulesRegistryTest {
+    private static final Path JDK_TZDB = Path.of(System.getProperty("java.home"), "lib", "tzdb.dat");
+
+    @AfterEach
+    void restoreJdkRules() {
+        TzRulesRegistry.useJdkRules();
+    }
+
+    @Test
+    void testDecodedRulesMatchJdkRules() {
+        final TzRulesRegistry.Snapshot snapshot = TzRulesRegistry.read(JDK_TZDB).fold(e -> null, s -> s);
+
+        assertNotNull(snapshot);
+        assertEquals(TzRulesRegistry.current().version(), snapshot.version());
+        assertTrue(snapshot.regionIds().contains("Europe/Brussels"));
+        for (final TZ tz : TZ.values()) {
+            if (snapshot.regionIds().contains(tz.getId())) {
+                assertEquals(tz.toZoneId().getRules(), snapshot.rules(tz), tz.getId());
+            }
+        }
+    }
+
+    @Test
+    void testLoadSwapsSnapshotAtomically() {
+        final TzRulesRegistry.Snapshot jdk = TzRulesRegistry.current();
+        final EpochConverter jdkConverter = EpochConverter.of(TZ.EUROPE_PARIS);
+        assertSame(jdkConverter, EpochConverter.of(TZ.EUROPE_PARIS));
+
+        assertTrue(TzRulesRegistry.load(JDK_TZDB).isSuccess().toBoolean());
+        final TzRulesRegistry.Snapshot loaded = TzRulesRegistry.current();
+        assertNotSame(jdk, loaded);
+        assertEquals(JDK_TZDB, loaded.file().fold(() -> null, f -> f));
+        assertNotSame(jdkConverter, EpochConverter.of(TZ.EUROPE_PARIS));
+        assertSame(loaded.rules(TZ.EUROPE_PARIS), TZ.EUROPE_PARIS.toZoneRules());
+        assertEquals(jdkConverter.offsetSecondsAt(1_700_000_000_000L),
+                EpochConverter.of(TZ.EUROPE_PARIS).offsetSecondsAt(1_700_000_000_000L));
+        assertTrue(loaded.rules("Europe/Kyiv").toOptional().isPresent());
+    }
+
+    @Test
+    void testInvalidFilesKeepCurrentRules(@TempDir final Path directory) throws IOException {
+        final TzRulesRegistry.Snapshot before = TzRulesRegistry.current();
+        final Path garbage = Files.write(directory.resolve("tzdb.dat"), new byte[] { 1, 0, 4, 'T', 'Z' });
+
+        assertInstanceOf(ResourceError.class,
+                TzRulesRegistry.load(directory.resolve("missing.dat")).fold(e -> e, s -> null));
+        assertInstanceOf(ParameterError.class, TzRulesRegistry.load(garbage).fold(e -> e, s -> null));
+        assertSame(before, TzRulesRegistry.current());
+    }
+
+    @Test
+    void testCorruptCountsAndRulesAreRejected(@TempDir final Path directory) throws IOException {
+        final TzRulesRegistry.Snapshot before = TzRulesRegistry.current();
+        final ByteArrayOutputStream negativeCount = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(negativeCount)) {
+            out.writeByte(1);
+            out.writeUTF("TZDB");
+            out.writeShort(1);
+            out.writeUTF("2099z");
+            out.writeShort(0x8000);
+        }
+        final Path counts = Files.write(directory.resolve("counts.dat"), negativeCount.toByteArray());
+        assertInstanceOf(ParameterError.class, TzRulesRegistry.load(counts).fold(e -> e, s -> null));
+
+        // valid header, but the rules of Europe/Paris have an unknown type
+        final ByteArrayOutputStream badRules = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(badRules)) {
+            out.writeByte(1);
+            out.writeUTF("TZDB");
+            out.writeShort(1);
+            out.writeUTF("2099z");
+            out.writeShort(1);
+            out.writeUTF(TZ.EUROPE_PARIS.getId());
+            out.writeShort(1);
+            out.writeShort(5);
+            out.write(new byte[] { 2, 0, 0, 0, 0 });
+            out.writeShort(1);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+        final Path rules = Files.write(directory.resolve("rules.dat"), badRules.toByteArray());
+        assertInstanceOf(ParameterError.class, TzRulesRegistry.load(rules).fold(e -> e, s -> null));
+        assertSame(before, TzRulesRegistry.current());
+    }
+}